@@ -38,10 +38,12 @@ import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.core.edm.EdmProviderImpl;
 import org.apache.olingo.ext.proxy.api.AbstractTerm;
 import org.apache.olingo.ext.proxy.api.PersistenceManager;
+import org.apache.olingo.ext.proxy.commons.BatchPersistenceManagerImpl;
 import org.apache.olingo.ext.proxy.commons.EntityContainerInvocationHandler;
 import org.apache.olingo.ext.proxy.commons.NonTransactionalPersistenceManagerImpl;
 import org.apache.olingo.ext.proxy.commons.TransactionalPersistenceManagerImpl;
 import org.apache.olingo.ext.proxy.context.Context;
+import org.apache.olingo.ext.proxy.context.EntityCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,6 +64,16 @@ public abstract class AbstractService<C extends EdmEnabledODataClient> {
 
   private final boolean transactional;
 
+  private int flushBatchSize;
+
+  private boolean concurrentFlush;
+
+  private boolean minimalUpdates;
+
+  private boolean returnMinimal;
+
+  private EntityCache entityCache;
+
   private PersistenceManager persistenceManager;
 
   protected AbstractService(final String compressedMetadata, final String metadataETag,
@@ -122,12 +134,96 @@ public abstract class AbstractService<C extends EdmEnabledODataClient> {
     return transactional;
   }
 
+  public int getFlushBatchSize() {
+    return flushBatchSize;
+  }
+
+  /**
+   * Makes a non-transactional service send its changes as <tt>$batch</tt> requests: changes depending on each other
+   * are kept in the same changeset, independent changes are grouped in changesets of about the given number of
+   * requests. Transactional services are not affected, as they always send a single changeset.
+   *
+   * @param flushBatchSize maximum number of requests per changeset; <tt>0</tt> (default) sends each change as a
+   * separate request
+   */
+  public void setFlushBatchSize(final int flushBatchSize) {
+    if (flushBatchSize < 0) {
+      throw new IllegalArgumentException("Invalid flush batch size " + flushBatchSize);
+    }
+    synchronized (this) {
+      this.flushBatchSize = flushBatchSize;
+      this.persistenceManager = null;
+    }
+  }
+
+  public boolean isConcurrentFlush() {
+    return concurrentFlush;
+  }
+
+  /**
+   * When changes are sent as <tt>$batch</tt> requests (see {@link #setFlushBatchSize(int)}), sends independent
+   * batch requests concurrently using the client's executor.
+   *
+   * @param concurrentFlush whether batch requests are sent concurrently
+   */
+  public void setConcurrentFlush(final boolean concurrentFlush) {
+    synchronized (this) {
+      this.concurrentFlush = concurrentFlush;
+      this.persistenceManager = null;
+    }
+  }
+
+  public boolean isMinimalUpdates() {
+    return minimalUpdates;
+  }
+
+  /**
+   * Makes updates carry, for complex values changed in place, only their changed properties instead of the whole
+   * value; this relies on the service applying <tt>PATCH</tt> semantics to complex values as well.
+   *
+   * @param minimalUpdates whether complex values changed in place are sent as deltas
+   */
+  public void setMinimalUpdates(final boolean minimalUpdates) {
+    this.minimalUpdates = minimalUpdates;
+  }
+
+  public boolean isReturnMinimal() {
+    return returnMinimal;
+  }
+
+  /**
+   * Makes updates ask the service not to send back the updated entity (<tt>Prefer: return=minimal</tt>).
+   *
+   * @param returnMinimal whether updates prefer minimal responses
+   */
+  public void setReturnMinimal(final boolean returnMinimal) {
+    this.returnMinimal = returnMinimal;
+  }
+
+  public EntityCache getEntityCache() {
+    return entityCache;
+  }
+
+  /**
+   * Sets the second-level cache consulted when entities are retrieved by key; the same cache can be shared among
+   * services. Entities are invalidated when their changes are flushed.
+   *
+   * @param entityCache entity cache, null for none
+   */
+  public void setEntityCache(final EntityCache entityCache) {
+    this.entityCache = entityCache;
+  }
+
   public PersistenceManager getPersistenceManager() {
     synchronized (this) {
       if (persistenceManager == null) {
-        persistenceManager = transactional
-            ? new TransactionalPersistenceManagerImpl(this)
-            : new NonTransactionalPersistenceManagerImpl(this);
+        if (transactional) {
+          persistenceManager = new TransactionalPersistenceManagerImpl(this);
+        } else if (flushBatchSize > 0) {
+          persistenceManager = new BatchPersistenceManagerImpl(this, flushBatchSize, concurrentFlush);
+        } else {
+          persistenceManager = new NonTransactionalPersistenceManagerImpl(this);
+        }
       }
     }
     return persistenceManager;
@@ -20,6 +20,7 @@ package org.apache.olingo.ext.proxy.api;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Iterator;
 
 /**
  * Interface for synchronous CRUD operations on an EntitySet.
@@ -30,6 +31,17 @@ public interface AbstractEntitySet<
 
   boolean add(final T entity);
 
+  /**
+   * Returns a read-only iterator over all entities: each page is streamed entity by entity and next links are only
+   * followed once the current page has been consumed. Returned entities are not attached to the entity context and
+   * cannot be changed, so that they can be garbage collected as soon as they are not referenced any more.
+   * <br/>
+   * The returned iterator is also a {@link java.io.Closeable}: close it when not consumed until the end.
+   *
+   * @return read-only iterator over all entities
+   */
+  Iterator<T> readOnlyIterator();
+
   /**
    * Returns whether an entity with the given id exists.
    *
@@ -19,7 +19,6 @@
 package org.apache.olingo.ext.proxy.commons;
 
 import java.io.Serializable;
-import java.lang.reflect.Proxy;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -43,6 +42,7 @@ import org.apache.olingo.ext.proxy.api.Sort;
 import org.apache.olingo.ext.proxy.api.annotations.Namespace;
 import org.apache.olingo.ext.proxy.api.annotations.Term;
 import org.apache.olingo.ext.proxy.utils.CoreUtils;
+import org.apache.olingo.ext.proxy.utils.ProxyUtils;
 
 public abstract class AbstractCollectionInvocationHandler<T extends Serializable, EC extends Collection<T>>
         extends AbstractInvocationHandler implements Collection<T> {
@@ -61,6 +61,11 @@ public abstract class AbstractCollectionInvocationHandler<T extends Serializable
 
   protected final List<ClientAnnotation> annotations = new ArrayList<ClientAnnotation>();
 
+  /**
+   * Whether items have been added or removed since last load or flush.
+   */
+  protected boolean changed = false;
+
   private final Map<Class<? extends AbstractTerm>, Object> annotationsByTerm =
           new HashMap<Class<? extends AbstractTerm>, Object>();
 
@@ -165,19 +170,23 @@ public abstract class AbstractCollectionInvocationHandler<T extends Serializable
 
   @Override
   public boolean add(final T element) {
-    if (element instanceof Proxy && Proxy.getInvocationHandler(element) instanceof EntityInvocationHandler) {
-      final EntityInvocationHandler handler = EntityInvocationHandler.class.cast(Proxy.getInvocationHandler(element));
+    if (ProxyUtils.isProxy(element) && ProxyUtils.getInvocationHandler(element) instanceof EntityInvocationHandler) {
+      final EntityInvocationHandler handler =
+          EntityInvocationHandler.class.cast(ProxyUtils.getInvocationHandler(element));
       if (!service.getContext().entityContext().isAttached(handler) && baseURI != null) {
         handler.updateUUID(baseURI, itemRef, null);
         service.getContext().entityContext().attachNew(handler);
       }
     }
-    return items.add(element);
+    final boolean result = items.add(element);
+    changed |= result;
+    return result;
   }
 
   public <ET extends EntityType<?>> boolean addRef(final ET element) {
-    if (element instanceof Proxy && Proxy.getInvocationHandler(element) instanceof EntityInvocationHandler) {
-      final EntityInvocationHandler handler = EntityInvocationHandler.class.cast(Proxy.getInvocationHandler(element));
+    if (ProxyUtils.isProxy(element) && ProxyUtils.getInvocationHandler(element) instanceof EntityInvocationHandler) {
+      final EntityInvocationHandler handler =
+          EntityInvocationHandler.class.cast(ProxyUtils.getInvocationHandler(element));
       final URI id = handler.getEntity().getId();
       if (id == null) {
         return false;
@@ -229,7 +238,9 @@ public abstract class AbstractCollectionInvocationHandler<T extends Serializable
 
   @Override
   public boolean remove(final Object object) {
-    return items.remove(object);
+    final boolean result = items.remove(object);
+    changed |= result;
+    return result;
   }
 
   @Override
@@ -239,24 +250,67 @@ public abstract class AbstractCollectionInvocationHandler<T extends Serializable
 
   @Override
   public boolean addAll(final Collection<? extends T> collection) {
-    return items.addAll(collection);
+    final boolean result = items.addAll(collection);
+    changed |= result;
+    return result;
   }
 
   @Override
   public boolean removeAll(final Collection<?> collection) {
-    return items.removeAll(collection);
+    final boolean result = items.removeAll(collection);
+    changed |= result;
+    return result;
   }
 
   @Override
   public boolean retainAll(final Collection<?> collection) {
-    return items.retainAll(collection);
+    final boolean result = items.retainAll(collection);
+    changed |= result;
+    return result;
   }
 
   @Override
   public void clear() {
+    changed |= !items.isEmpty();
     items.clear();
   }
 
+  /**
+   * Tells whether items have been added or removed, or complex items have been changed, since last load or flush.
+   *
+   * @return whether this collection has been changed
+   */
+  public boolean isChanged() {
+    if (changed) {
+      return true;
+    }
+    if (items == null) {
+      return false;
+    }
+    for (T item : items) {
+      if (ProxyUtils.isProxy(item) && ProxyUtils.getInvocationHandler(item) instanceof ComplexInvocationHandler
+          && ((ComplexInvocationHandler) ProxyUtils.getInvocationHandler(item)).isChanged()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Marks the current items (and their changes, for complex items) as persisted.
+   */
+  public void applyChanges() {
+    changed = false;
+    if (items == null) {
+      return;
+    }
+    for (T item : items) {
+      if (ProxyUtils.isProxy(item) && ProxyUtils.getInvocationHandler(item) instanceof ComplexInvocationHandler) {
+        ((ComplexInvocationHandler) ProxyUtils.getInvocationHandler(item)).applyChanges();
+      }
+    }
+  }
+
   public void filter(final String filter) {
     if (this.uri != null) {
       this.uri.filter(filter);
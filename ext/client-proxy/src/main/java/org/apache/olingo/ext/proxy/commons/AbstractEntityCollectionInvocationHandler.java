@@ -18,7 +18,6 @@
  */
 package org.apache.olingo.ext.proxy.commons;
 
-import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.ArrayList;
@@ -40,6 +39,7 @@ import org.apache.olingo.ext.proxy.api.AbstractSingleton;
 import org.apache.olingo.ext.proxy.api.EntityCollection;
 import org.apache.olingo.ext.proxy.api.EntityType;
 import org.apache.olingo.ext.proxy.utils.ClassUtils;
+import org.apache.olingo.ext.proxy.utils.ProxyUtils;
 
 //CHECKSTYLE:OFF
 public abstract class AbstractEntityCollectionInvocationHandler<T extends EntityType<?>, EC extends EntityCollection<T, ?, ?>>
@@ -122,34 +122,52 @@ public abstract class AbstractEntityCollectionInvocationHandler<T extends Entity
     final List<T> res = new ArrayList<T>(entities.size());
 
     for (ClientEntity entity : entities) {
-      Class<?> actualRef = null;
-      if (entity.getTypeName() != null) {
-        actualRef = service.getEntityTypeClass(entity.getTypeName().toString());
-      }
-      if (actualRef == null) {
-        actualRef = typeRef;
-      }
-
-      final EntityInvocationHandler handler =
-          this instanceof EntitySetInvocationHandler
-              ? EntityInvocationHandler.getInstance(
-                  entity,
-                  EntitySetInvocationHandler.class.cast(this),
-                  actualRef)
-              : EntityInvocationHandler.getInstance(
-                  entity,
-                  targetEntitySetURI,
-                  actualRef,
-                  service);
-
-      final EntityInvocationHandler handlerInTheContext = getContext().entityContext().getEntity(handler.getUUID());
-
-      res.add((T) Proxy.newProxyInstance(
-          Thread.currentThread().getContextClassLoader(),
-          new Class<?>[] { actualRef },
-          handlerInTheContext == null ? handler : handlerInTheContext));
+      res.add(getEntityProxy(entity, typeRef, false));
     }
 
     return new ImmutableTriple<List<T>, URI, List<ClientAnnotation>>(res, next, anns);
   }
+
+  /**
+   * Wraps the given entity into a proxy of the most specific known type; unless read-only, the entity already
+   * available in the context (if any) is returned instead.
+   *
+   * @param entity entity
+   * @param typeRef type to be used if the entity type is not known
+   * @param readOnly whether the returned entity is read-only and never attached to the context
+   * @return entity proxy
+   */
+  @SuppressWarnings("unchecked")
+  protected T getEntityProxy(final ClientEntity entity, final Class<T> typeRef, final boolean readOnly) {
+    Class<?> actualRef = null;
+    if (entity.getTypeName() != null) {
+      actualRef = service.getEntityTypeClass(entity.getTypeName().toString());
+    }
+    if (actualRef == null) {
+      actualRef = typeRef;
+    }
+
+    final EntityInvocationHandler handler =
+        this instanceof EntitySetInvocationHandler
+            ? EntityInvocationHandler.getInstance(
+                entity,
+                EntitySetInvocationHandler.class.cast(this),
+                actualRef)
+            : EntityInvocationHandler.getInstance(
+                entity,
+                targetEntitySetURI,
+                actualRef,
+                service);
+
+    if (readOnly) {
+      handler.setReadOnly(true);
+      return (T) ProxyUtils.getStructuredProxy(actualRef, handler);
+    }
+
+    final EntityInvocationHandler handlerInTheContext = getContext().entityContext().getEntity(handler.getUUID());
+
+    return (T) ProxyUtils.getStructuredProxy(
+        actualRef,
+        handlerInTheContext == null ? handler : handlerInTheContext);
+  }
 }
@@ -22,10 +22,8 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.net.URI;
-import java.util.Arrays;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -45,7 +43,9 @@ import org.apache.olingo.ext.proxy.api.annotations.Singleton;
 import org.apache.olingo.ext.proxy.context.AttachedEntityStatus;
 import org.apache.olingo.ext.proxy.context.Context;
 import org.apache.olingo.ext.proxy.context.EntityContext;
+import org.apache.olingo.ext.proxy.utils.ClassMetadata;
 import org.apache.olingo.ext.proxy.utils.CoreUtils;
+import org.apache.olingo.ext.proxy.utils.ProxyUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,23 +71,18 @@ abstract class AbstractInvocationHandler implements InvocationHandler {
   }
 
   protected boolean isSelfMethod(final Method method) {
-    final Method[] selfMethods = getClass().getMethods();
-
-    boolean result = false;
-
-    for (int i = 0; i < selfMethods.length && !result; i++) {
-      result = method.getName().equals(selfMethods[i].getName())
-          && Arrays.equals(method.getParameterTypes(), selfMethods[i].getParameterTypes());
-    }
-
-    return result;
+    return ClassMetadata.of(getClass()).getPublicMethod(method) != null;
   }
 
   protected Object invokeSelfMethod(final Method method, final Object[] args)
       throws Throwable {
     //Try as per https://amitstechblog.wordpress.com/2011/07/24/java-proxies-and-undeclaredthrowableexception/
     try {
-      return getClass().getMethod(method.getName(), method.getParameterTypes()).invoke(this, args);
+      final Method selfMethod = ClassMetadata.of(getClass()).getPublicMethod(method);
+      if (selfMethod == null) {
+        throw new NoSuchMethodException(getClass().getName() + "." + method.getName());
+      }
+      return selfMethod.invoke(this, args);
     } catch (UndeclaredThrowableException e) {
       throw e.getCause();
     } catch(InvocationTargetException e) {
@@ -129,9 +124,7 @@ abstract class AbstractInvocationHandler implements InvocationHandler {
 
     complexHandler.setEntityHandler(handler);
 
-    final ComplexType<?> res = ComplexType.class.cast(Proxy.newProxyInstance(
-        Thread.currentThread().getContextClassLoader(),
-        new Class<?>[] { actualRef }, complexHandler));
+    final ComplexType<?> res = ComplexType.class.cast(ProxyUtils.getStructuredProxy(actualRef, complexHandler));
 
     return res;
   }
@@ -143,6 +136,7 @@ abstract class AbstractInvocationHandler implements InvocationHandler {
   }
 
   protected <S extends EntityType<?>> void deleteEntity(final EntityInvocationHandler handler, final URI entitySetURI) {
+    handler.checkChangeable();
     final EntityContext entityContext = getContext().entityContext();
 
     final URI baseURI = entitySetURI == null ? handler.getEntitySetURI() : entitySetURI;
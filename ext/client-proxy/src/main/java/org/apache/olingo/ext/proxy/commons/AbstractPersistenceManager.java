@@ -39,6 +39,7 @@ import org.apache.olingo.client.api.communication.request.cud.ODataEntityUpdateR
 import org.apache.olingo.client.api.communication.request.cud.ODataReferenceAddingRequest;
 import org.apache.olingo.client.api.communication.request.streamed.ODataMediaEntityUpdateRequest;
 import org.apache.olingo.client.api.communication.request.streamed.ODataStreamUpdateRequest;
+import org.apache.olingo.client.api.communication.response.ODataResponse;
 import org.apache.olingo.client.core.uri.URIUtils;
 import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.client.api.domain.ClientLink;
@@ -52,6 +53,7 @@ import org.apache.olingo.ext.proxy.context.AttachedEntityStatus;
 import org.apache.olingo.ext.proxy.context.EntityLinkDesc;
 import org.apache.olingo.ext.proxy.utils.ClassUtils;
 import org.apache.olingo.ext.proxy.utils.CoreUtils;
+import org.apache.olingo.ext.proxy.utils.ProxyUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -118,6 +120,29 @@ abstract class AbstractPersistenceManager implements PersistenceManager {
     service.getContext().detachAll();
   }
 
+  private ClientEntity newPayload(final ClientEntity entity) {
+    final ClientEntity payload = service.getClient().getObjectFactory().newEntity(entity.getTypeName());
+    payload.setId(entity.getId());
+    payload.setEditLink(entity.getEditLink());
+    payload.setETag(entity.getETag());
+    payload.setMediaEntity(entity.isMediaEntity());
+    payload.getMediaEditLinks().addAll(entity.getMediaEditLinks());
+    return payload;
+  }
+
+  /**
+   * Applies to the given handler the changes that the service accepted without returning the entity.
+   *
+   * @param handler entity handler
+   * @param response response
+   */
+  protected void applyChanges(final EntityInvocationHandler handler, final ODataResponse response) {
+    handler.applyChanges();
+    if (StringUtils.isNotBlank(response.getETag())) {
+      handler.setETag(response.getETag());
+    }
+  }
+
   private ClientLink buildNavigationLink(final String name, final URI uri, final ClientLinkType type) {
     ClientLink result;
 
@@ -146,15 +171,26 @@ abstract class AbstractPersistenceManager implements PersistenceManager {
     int posNumber = pos;
     items.put(handler, null);
 
-    final ClientEntity entity = handler.getEntity();
-    entity.getNavigationLinks().clear();
-
     final AttachedEntityStatus currentStatus = service.getContext().entityContext().getStatus(handler);
     LOG.debug("Process '{}({})'", handler, currentStatus);
 
+    if (currentStatus != AttachedEntityStatus.NEW && service.getEntityCache() != null) {
+      service.getEntityCache().invalidate(handler.getUUID());
+    }
+
+    // changes to existing entities are sent through a copy, leaving the entity untouched if no content is returned
+    final ClientEntity entity = currentStatus == AttachedEntityStatus.NEW
+        ? handler.getEntity()
+        : newPayload(handler.getEntity());
+    entity.getNavigationLinks().clear();
+
     if (AttachedEntityStatus.DELETED != currentStatus) {
       entity.getProperties().clear();
-      CoreUtils.addProperties(service.getClient(), handler.getPropertyChanges(), entity);
+      if (service.isMinimalUpdates() && currentStatus != AttachedEntityStatus.NEW) {
+        CoreUtils.addPropertyDeltas(service.getClient(), handler, entity);
+      } else {
+        CoreUtils.addProperties(service.getClient(), handler.getPropertyChanges(), entity);
+      }
 
       entity.getAnnotations().clear();
       CoreUtils.addAnnotations(service.getClient(), handler.getAnnotations(), entity);
@@ -175,7 +211,7 @@ abstract class AbstractPersistenceManager implements PersistenceManager {
       for (Object proxy : type == ClientLinkType.ENTITY_SET_NAVIGATION
           ? (Collection<?>) property.getValue() : Collections.singleton(property.getValue())) {
 
-        final EntityInvocationHandler target = (EntityInvocationHandler) Proxy.getInvocationHandler(proxy);
+        final EntityInvocationHandler target = (EntityInvocationHandler) ProxyUtils.getInvocationHandler(proxy);
 
         final AttachedEntityStatus status;
         if (!service.getContext().entityContext().isAttached(target)) {
@@ -396,7 +432,7 @@ abstract class AbstractPersistenceManager implements PersistenceManager {
     LOG.debug("Create '{}'", handler);
 
     changeset.addChange(service.getClient().getCUDRequestFactory().
-        getEntityCreateRequest(handler.getEntitySetURI(), entity), handler);
+        getEntityCreateRequest(handler.getEntitySetURI(), entity), handler, entity);
   }
 
   private void queueUpdateMediaEntity(
@@ -455,13 +491,15 @@ abstract class AbstractPersistenceManager implements PersistenceManager {
             getEntityUpdateRequest(handler.getEntityURI(),
                 org.apache.olingo.client.api.communication.request.cud.UpdateType.PATCH, changes);
 
-    req.setPrefer(new ODataPreferences().returnContent());
+    req.setPrefer(service.isReturnMinimal()
+        ? new ODataPreferences().returnMinimal()
+        : new ODataPreferences().returnContent());
 
     if (StringUtils.isNotBlank(handler.getETag())) {
       req.setIfMatch(handler.getETag());
     }
 
-    changeset.addChange(req, handler);
+    changeset.addChange(req, handler, changes);
   }
 
   private boolean queueUpdateLinkViaRef(
@@ -500,13 +538,15 @@ abstract class AbstractPersistenceManager implements PersistenceManager {
             getEntityUpdateRequest(uri,
                 org.apache.olingo.client.api.communication.request.cud.UpdateType.PATCH, changes);
 
-    req.setPrefer(new ODataPreferences().returnContent());
+    req.setPrefer(service.isReturnMinimal()
+        ? new ODataPreferences().returnMinimal()
+        : new ODataPreferences().returnContent());
 
     if (StringUtils.isNotBlank(handler.getETag())) {
       req.setIfMatch(handler.getETag());
     }
 
-    changeset.addChange(req, handler);
+    changeset.addChange(req, handler, changes);
   }
 
   private void queueDelete(
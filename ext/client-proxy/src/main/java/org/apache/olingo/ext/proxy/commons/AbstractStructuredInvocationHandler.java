@@ -19,7 +19,6 @@
 package org.apache.olingo.ext.proxy.commons;
 
 import java.io.InputStream;
-import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
@@ -64,6 +63,7 @@ import org.apache.olingo.ext.proxy.context.AttachedEntityStatus;
 import org.apache.olingo.ext.proxy.context.EntityContext;
 import org.apache.olingo.ext.proxy.context.EntityUUID;
 import org.apache.olingo.ext.proxy.utils.ClassUtils;
+import org.apache.olingo.ext.proxy.utils.ClassMetadata;
 import org.apache.olingo.ext.proxy.utils.CoreUtils;
 import org.apache.olingo.ext.proxy.utils.ProxyUtils;
 
@@ -161,16 +161,16 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
       // get method annotation and check if it exists as expected
 
       final Object res;
-      final Method getter = typeRef.getMethod(method.getName());
+      final ClassMetadata.Accessor getter = getGetter(method.getName());
 
-      final Property property = ClassUtils.getAnnotation(Property.class, getter);
+      final Property property = getter.getProperty();
       if (property == null) {
-        final NavigationProperty navProp = ClassUtils.getAnnotation(NavigationProperty.class, getter);
+        final NavigationProperty navProp = getter.getNavigationProperty();
         if (navProp == null) {
           throw new UnsupportedOperationException("Unsupported method " + method.getName());
         } else {
           // if the getter refers to a navigation property ... navigate and follow link if necessary
-          res = getNavigationPropertyValue(navProp, getter);
+          res = getNavigationPropertyValue(navProp, getter.getMethod());
         }
       } else {
         // if the getter refers to a property .... get property from wrapped entity
@@ -181,11 +181,11 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
     } else if (method.getName().startsWith("set")) {
       // get the corresponding getter method (see assumption above)
       final String getterName = method.getName().replaceFirst("set", "get");
-      final Method getter = typeRef.getMethod(getterName);
+      final ClassMetadata.Accessor getter = getGetter(getterName);
 
-      final Property property = ClassUtils.getAnnotation(Property.class, getter);
+      final Property property = getter.getProperty();
       if (property == null) {
-        final NavigationProperty navProp = ClassUtils.getAnnotation(NavigationProperty.class, getter);
+        final NavigationProperty navProp = getter.getNavigationProperty();
         if (navProp == null) {
           throw new UnsupportedOperationException("Unsupported method " + method.getName());
         } else {
@@ -238,7 +238,16 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
     }
   }
 
+  private ClassMetadata.Accessor getGetter(final String name) throws NoSuchMethodException {
+    final ClassMetadata.Accessor getter = ClassMetadata.of(typeRef).getGetter(name);
+    if (getter == null) {
+      throw new NoSuchMethodException(typeRef.getName() + "." + name + "()");
+    }
+    return getter;
+  }
+
   public void delete(final String name) {
+    checkChangeable();
     if (baseURI != null) {
       getContext().entityContext().addFurtherDeletes(
               getClient().newURIBuilder(baseURI.toASCIIString()).appendPropertySegment(name).appendValueSegment().
@@ -247,6 +256,7 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
   }
 
   public void delete() {
+    checkChangeable();
     final EntityContext entityContext = getContext().entityContext();
 
     if (this instanceof EntityInvocationHandler) {
@@ -266,6 +276,14 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
   }
 
   protected void attach(final AttachedEntityStatus status, final boolean override) {
+    final EntityInvocationHandler handler = getEntityHandler();
+    if (handler != null && handler.isReadOnly()) {
+      if (status != AttachedEntityStatus.ATTACHED) {
+        checkChangeable();
+      }
+      return;
+    }
+
     if (getContext().entityContext().isAttached(getEntityHandler())) {
       if (override) {
         getContext().entityContext().setStatus(getEntityHandler(), status);
@@ -393,6 +411,7 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
   }
 
   protected void setPropertyValue(final Property property, final Object value) {
+    checkChangeable();
     if (EdmPrimitiveTypeKind.Stream.getFullQualifiedName().toString().equalsIgnoreCase(property.type())) {
       setStreamedProperty(property, (EdmStreamValue) value);
     } else {
@@ -407,8 +426,8 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
         }
 
         for (Object item : coll) {
-          if (item instanceof Proxy) {
-            final InvocationHandler handler = Proxy.getInvocationHandler(item);
+          if (ProxyUtils.isProxy(item)) {
+            final InvocationHandler handler = ProxyUtils.getInvocationHandler(item);
             if ((handler instanceof ComplexInvocationHandler)
                     && ((ComplexInvocationHandler) handler).getEntityHandler() == null) {
               ((ComplexInvocationHandler) handler).setEntityHandler(getEntityHandler());
@@ -511,10 +530,7 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
           handler = null;
         }
 
-        navPropValue = handler == null ? null : Proxy.newProxyInstance(
-                Thread.currentThread().getContextClassLoader(),
-                new Class<?>[] {collItemType},
-                handler);
+        navPropValue = handler == null ? null : ProxyUtils.getStructuredProxy(collItemType, handler);
       }
     }
 
@@ -545,9 +561,26 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
       return structuredInvocationHandler.isChanged();
     }
 
+    final AbstractCollectionInvocationHandler<?, ?> collectionInvocationHandler =
+        getCollectionInvocationHandler(cachedValue);
+    if (collectionInvocationHandler != null) {
+      return collectionInvocationHandler.isChanged();
+    }
+
     return false;
   }
 
+  /**
+   * Tells whether a new value has been set for the given property, as opposed to its current value being changed in
+   * place.
+   *
+   * @param name property name
+   * @return whether a new value has been set
+   */
+  public boolean isPropertyValueSet(final String name) {
+    return propertyChanges.containsKey(name);
+  }
+
   public boolean isChanged() {
     return !linkChanges.isEmpty()
         || hasPropertyChanges();
@@ -589,11 +622,17 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
     if (structuredInvocationHandler != null) {
       structuredInvocationHandler.applyChanges();
     }
+
+    final AbstractCollectionInvocationHandler<?, ?> collectionInvocationHandler =
+        getCollectionInvocationHandler(cachedValue);
+    if (collectionInvocationHandler != null) {
+      collectionInvocationHandler.applyChanges();
+    }
   }
   
   protected AbstractStructuredInvocationHandler getStructuredInvocationHandler(final Object value) {
-    if (value != null && Proxy.isProxyClass(value.getClass())) {
-      InvocationHandler invocationHandler = Proxy.getInvocationHandler(value);
+    if (value != null && ProxyUtils.isProxy(value)) {
+      InvocationHandler invocationHandler = ProxyUtils.getInvocationHandler(value);
       if (invocationHandler instanceof AbstractStructuredInvocationHandler) {
         return (AbstractStructuredInvocationHandler) invocationHandler;
       }
@@ -602,20 +641,24 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
     return null;
   }
 
-  public Collection<String> readAdditionalPropertyNames() {
-    final Set<String> res = new HashSet<String>(propertyChanges.keySet());
-    final Set<String> propertyNames = new HashSet<String>();
-    for (Method method : typeRef.getMethods()) {
-      final Annotation ann = method.getAnnotation(Property.class);
-      if (ann != null) {
-        final String property = ((Property) ann).name();
-        propertyNames.add(property);
-
-        // maybe someone could add a normal attribute to the additional set
-        res.remove(property);
+  protected AbstractCollectionInvocationHandler<?, ?> getCollectionInvocationHandler(final Object value) {
+    if (value != null && ProxyUtils.isProxy(value)) {
+      InvocationHandler invocationHandler = ProxyUtils.getInvocationHandler(value);
+      if (invocationHandler instanceof PrimitiveCollectionInvocationHandler
+          || invocationHandler instanceof ComplexCollectionInvocationHandler) {
+        return (AbstractCollectionInvocationHandler<?, ?>) invocationHandler;
       }
     }
 
+    return null;
+  }
+
+  public Collection<String> readAdditionalPropertyNames() {
+    final Set<String> res = new HashSet<String>(propertyChanges.keySet());
+    final Set<String> propertyNames = ClassMetadata.of(typeRef).getPropertyNames();
+    // maybe someone could add a normal attribute to the additional set
+    res.removeAll(propertyNames);
+
     for (ClientProperty property : getInternalProperties()) {
       if (!propertyNames.contains(property.getName())) {
         res.add(property.getName());
@@ -626,6 +669,7 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
   }
 
   public void addAdditionalProperty(final String name, final Object value) {
+    checkChangeable();
     propertyChanges.put(name, value);
     attach(AttachedEntityStatus.CHANGED);
   }
@@ -635,6 +679,7 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
   }
 
   public void removeAdditionalProperty(final String name) {
+    checkChangeable();
     propertyChanges.remove(name);
     attach(AttachedEntityStatus.CHANGED);
   }
@@ -656,7 +701,19 @@ public abstract class AbstractStructuredInvocationHandler extends AbstractInvoca
     return streamedPropertyChanges;
   }
 
-  private void setNavigationPropertyValue(final NavigationProperty property, final Object value) {
+  /**
+   * Fails when the owning entity is read-only, before any change is recorded.
+   */
+  protected void checkChangeable() {
+    final EntityInvocationHandler handler = getEntityHandler();
+    if (handler != null && handler.isReadOnly()) {
+      throw new IllegalStateException("Read-only entity " + handler + " cannot be changed");
+    }
+  }
+
+  protected void setNavigationPropertyValue(final NavigationProperty property, final Object value) {
+    checkChangeable();
+
     // 1) attach source entity
     if (!getContext().entityContext().isAttached(getEntityHandler())) {
       getContext().entityContext().attach(getEntityHandler(), AttachedEntityStatus.CHANGED);
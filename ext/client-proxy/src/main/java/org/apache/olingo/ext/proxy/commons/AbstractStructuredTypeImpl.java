@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.proxy.commons;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Collection;
+import java.util.concurrent.Future;
+
+import org.apache.olingo.ext.proxy.api.AbstractOpenType;
+import org.apache.olingo.ext.proxy.api.AbstractTerm;
+import org.apache.olingo.ext.proxy.api.Annotatable;
+import org.apache.olingo.ext.proxy.api.EntityType;
+import org.apache.olingo.ext.proxy.api.StructuredType;
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+
+/**
+ * Base class of the entity and complex type implementations generated by the POJO generator.
+ * <p>Generated implementations bind their property getters and setters directly to the wrapped
+ * {@link AbstractStructuredInvocationHandler}, with the property annotations and types resolved
+ * once per class; this avoids the <tt>java.lang.reflect.Proxy</tt> dispatch and the per-call
+ * method lookups of {@link AbstractStructuredInvocationHandler#invoke(Object, Method, Object[])}.
+ * Property values and changes are still kept by the handler, so that loading, change tracking
+ * and flushing work the same as for dynamic proxies.</p>
+ * <p>All other methods are delegated to the handler as a dynamic proxy would do.</p>
+ *
+ * @param <T> the generated entity or complex type interface
+ */
+public abstract class AbstractStructuredTypeImpl<T> implements Serializable {
+
+  private static final long serialVersionUID = 8469837262451693405L;
+
+  private static final Method LOAD_ASYNC = method(StructuredType.class, "loadAsync");
+
+  private static final Method READ_ENTITY_REFERENCE_ID = method(EntityType.class, "readEntityReferenceID");
+
+  private static final Method ADD_ANNOTATION = method(Annotatable.class, "addAnnotation", Class.class, Object.class);
+
+  private static final Method REMOVE_ANNOTATION = method(Annotatable.class, "removeAnnotation", Class.class);
+
+  private static final Method READ_ANNOTATION = method(Annotatable.class, "readAnnotation", Class.class);
+
+  private static final Method READ_ANNOTATION_TERMS = method(Annotatable.class, "readAnnotationTerms");
+
+  private static final Method ADD_ADDITIONAL_PROPERTY =
+      method(AbstractOpenType.class, "addAdditionalProperty", String.class, Object.class);
+
+  private static final Method REMOVE_ADDITIONAL_PROPERTY =
+      method(AbstractOpenType.class, "removeAdditionalProperty", String.class);
+
+  private static final Method READ_ADDITIONAL_PROPERTY =
+      method(AbstractOpenType.class, "readAdditionalProperty", String.class);
+
+  private static final Method READ_ADDITIONAL_PROPERTY_NAMES =
+      method(AbstractOpenType.class, "readAdditionalPropertyNames");
+
+  private final AbstractStructuredInvocationHandler handler;
+
+  protected AbstractStructuredTypeImpl(final AbstractStructuredInvocationHandler handler) {
+    this.handler = handler;
+  }
+
+  /**
+   * Gets the handler wrapped by a generated implementation.
+   *
+   * @param instance generated implementation
+   * @return wrapped handler
+   */
+  public static AbstractStructuredInvocationHandler getInvocationHandler(final AbstractStructuredTypeImpl<?> instance) {
+    return instance.handler;
+  }
+
+  /**
+   * Looks up a public method; meant for the static initializers of generated implementations.
+   *
+   * @param ref class or interface declaring or inheriting the method
+   * @param name method name
+   * @param parameterTypes parameter types
+   * @return method
+   */
+  protected static Method method(final Class<?> ref, final String name, final Class<?>... parameterTypes) {
+    try {
+      return ref.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("Method " + name + " not found in " + ref.getName(), e);
+    }
+  }
+
+  protected static Property property(final Method getter) {
+    return getter.getAnnotation(Property.class);
+  }
+
+  protected static NavigationProperty navigationProperty(final Method getter) {
+    return getter.getAnnotation(NavigationProperty.class);
+  }
+
+  protected Object readProperty(final Property property, final Type type) {
+    return handler.getPropertyValue(property.name(), type);
+  }
+
+  protected void writeProperty(final Property property, final Object value) {
+    handler.setPropertyValue(property, value);
+  }
+
+  protected Object readNavigationProperty(final NavigationProperty property, final Method getter) {
+    return handler.getNavigationPropertyValue(property, getter);
+  }
+
+  protected void writeNavigationProperty(final NavigationProperty property, final Object value) {
+    handler.setNavigationPropertyValue(property, value);
+  }
+
+  /**
+   * Delegates a method call to the wrapped handler, exactly as a dynamic proxy would do.
+   *
+   * @param method invoked method
+   * @param args arguments
+   * @return result
+   */
+  protected Object invokeHandler(final Method method, final Object... args) {
+    // the handler may throw anything: mimic java.lang.reflect.Proxy
+    //CHECKSTYLE:OFF (Maven checkstyle)
+    try {
+      return handler.invoke(this, method, args);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new UndeclaredThrowableException(t);
+    }
+    //CHECKSTYLE:ON (Maven checkstyle)
+  }
+
+  @SuppressWarnings("unchecked")
+  public T load() {
+    handler.load();
+    return (T) this;
+  }
+
+  @SuppressWarnings("unchecked")
+  public Future<? extends T> loadAsync() {
+    return (Future<? extends T>) invokeHandler(LOAD_ASYNC);
+  }
+
+  public void delete() {
+    handler.delete();
+  }
+
+  public void delete(final String name) {
+    handler.delete(name);
+  }
+
+  @SuppressWarnings("unchecked")
+  public T refs() {
+    handler.refs();
+    return (T) this;
+  }
+
+  @SuppressWarnings("unchecked")
+  public T expand(final String... expand) {
+    handler.expand(expand);
+    return (T) this;
+  }
+
+  @SuppressWarnings("unchecked")
+  public T select(final String... select) {
+    handler.select(select);
+    return (T) this;
+  }
+
+  public void clearQueryOptions() {
+    handler.clearQueryOptions();
+  }
+
+  public String readEntityReferenceID() {
+    return (String) invokeHandler(READ_ENTITY_REFERENCE_ID);
+  }
+
+  public void addAnnotation(final Class<? extends AbstractTerm> term, final Object value) {
+    invokeHandler(ADD_ANNOTATION, term, value);
+  }
+
+  public void removeAnnotation(final Class<? extends AbstractTerm> term) {
+    invokeHandler(REMOVE_ANNOTATION, term);
+  }
+
+  public Object readAnnotation(final Class<? extends AbstractTerm> term) {
+    return invokeHandler(READ_ANNOTATION, term);
+  }
+
+  @SuppressWarnings("unchecked")
+  public Collection<Class<? extends AbstractTerm>> readAnnotationTerms() {
+    return (Collection<Class<? extends AbstractTerm>>) invokeHandler(READ_ANNOTATION_TERMS);
+  }
+
+  public void addAdditionalProperty(final String name, final Object value) {
+    invokeHandler(ADD_ADDITIONAL_PROPERTY, name, value);
+  }
+
+  public void removeAdditionalProperty(final String name) {
+    invokeHandler(REMOVE_ADDITIONAL_PROPERTY, name);
+  }
+
+  public Object readAdditionalProperty(final String name) {
+    return invokeHandler(READ_ADDITIONAL_PROPERTY, name);
+  }
+
+  @SuppressWarnings("unchecked")
+  public Collection<String> readAdditionalPropertyNames() {
+    return (Collection<String>) invokeHandler(READ_ADDITIONAL_PROPERTY_NAMES);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return handler.equals(obj);
+  }
+
+  @Override
+  public int hashCode() {
+    return handler.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return handler.toString();
+  }
+}
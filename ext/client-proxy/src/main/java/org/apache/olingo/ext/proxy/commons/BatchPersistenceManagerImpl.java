@@ -0,0 +1,456 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.proxy.commons;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.olingo.client.api.communication.ODataServerErrorException;
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.communication.request.ODataRequest;
+import org.apache.olingo.client.api.communication.request.ODataStreamedRequest;
+import org.apache.olingo.client.api.communication.request.batch.BatchManager;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchRequest;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchResponseItem;
+import org.apache.olingo.client.api.communication.request.batch.ODataChangeset;
+import org.apache.olingo.client.api.communication.response.ODataBatchResponse;
+import org.apache.olingo.client.api.communication.response.ODataEntityCreateResponse;
+import org.apache.olingo.client.api.communication.response.ODataEntityUpdateResponse;
+import org.apache.olingo.client.api.communication.response.ODataResponse;
+import org.apache.olingo.client.api.domain.ClientEntity;
+import org.apache.olingo.client.api.domain.ClientLink;
+import org.apache.olingo.client.core.communication.header.ODataErrorResponseChecker;
+import org.apache.olingo.client.core.communication.request.batch.ODataChangesetResponseItem;
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.ext.proxy.AbstractService;
+import org.apache.olingo.ext.proxy.api.ODataFlushException;
+import org.apache.olingo.ext.proxy.api.ODataResponseError;
+import org.apache.olingo.ext.proxy.context.EntityContext;
+
+/**
+ * {@link org.apache.olingo.ext.proxy.api.PersistenceManager} implementation sending changes as OData batch requests,
+ * without making them a single transaction.
+ * <p>
+ * Changes referring to each other (by <tt>$</tt>-prefixed Content-ID) or to the same entity are always sent in the
+ * same changeset; independent changes are packed into changesets of bounded size, each one sent as a separate batch
+ * request. Batch requests made of deletes only are sent after all the others. Batch requests can optionally be sent
+ * concurrently, using the client's executor.
+ * <p>
+ * Entities whose changes could not be applied stay attached to the context, so that they can be flushed again.
+ */
+public class BatchPersistenceManagerImpl extends AbstractPersistenceManager {
+
+  private static final long serialVersionUID = -2146870528634914716L;
+
+  private final int changesetSize;
+
+  private final boolean concurrent;
+
+  public BatchPersistenceManagerImpl(final AbstractService<?> factory, final int changesetSize,
+      final boolean concurrent) {
+
+    super(factory);
+    if (changesetSize <= 0) {
+      throw new IllegalArgumentException("Invalid changeset size " + changesetSize);
+    }
+    this.changesetSize = changesetSize;
+    this.concurrent = concurrent;
+  }
+
+  @Override
+  protected void doFlush(final PersistenceChanges changes, final TransactionItems items) {
+    final List<ODataBatchableRequest> requests = new ArrayList<ODataBatchableRequest>(changes.getChanges().keySet());
+
+    final List<List<Integer>> groups = group(requests, changes);
+    final List<List<Integer>> updates = new ArrayList<List<Integer>>();
+    final List<List<Integer>> deletes = new ArrayList<List<Integer>>();
+    for (List<Integer> group : groups) {
+      (isDeleteOnly(group, requests) ? deletes : updates).add(group);
+    }
+
+    final List<BatchResult> results = new ArrayList<BatchResult>();
+    results.addAll(send(pack(updates), requests, changes));
+    results.addAll(send(pack(deletes), requests, changes));
+
+    final List<ODataResponseError> errors = new ArrayList<ODataResponseError>();
+    int statusCode = 0;
+    for (BatchResult result : results) {
+      if (!result.errors.isEmpty() && errors.isEmpty()) {
+        statusCode = result.statusCode;
+      }
+      errors.addAll(result.errors);
+    }
+
+    if (!errors.isEmpty()) {
+      // keep in the context only what still has to be flushed
+      final EntityContext entityContext = service.getContext().entityContext();
+      for (BatchResult result : results) {
+        if (result.errors.isEmpty()) {
+          for (Integer index : result.indexes) {
+            final ODataBatchableRequest request = requests.get(index);
+            final EntityInvocationHandler handler = changes.getChanges().get(request);
+            if (handler == null) {
+              entityContext.getFurtherDeletes().remove(request.getURI());
+            } else if (entityContext.isAttached(handler)) {
+              entityContext.detach(handler);
+            }
+          }
+        }
+      }
+
+      Collections.sort(errors, new Comparator<ODataResponseError>() {
+        @Override
+        public int compare(final ODataResponseError error1, final ODataResponseError error2) {
+          return error1.getIndex() < error2.getIndex() ? -1 : error1.getIndex() == error2.getIndex() ? 0 : 1;
+        }
+      });
+      throw new ODataFlushException(statusCode, errors);
+    }
+  }
+
+  /**
+   * Splits the changes into groups to be sent in the same changeset, in order of their first change.
+   *
+   * @param requests change requests, in order
+   * @param changes changes
+   * @return groups of request indexes
+   */
+  private List<List<Integer>> group(final List<ODataBatchableRequest> requests, final PersistenceChanges changes) {
+    final int[] parents = new int[requests.size()];
+    for (int i = 0; i < parents.length; i++) {
+      parents[i] = i;
+    }
+
+    final Map<EntityInvocationHandler, Integer> lastByHandler = new HashMap<EntityInvocationHandler, Integer>();
+    for (int i = 0; i < requests.size(); i++) {
+      final ODataBatchableRequest request = requests.get(i);
+
+      final EntityInvocationHandler handler = changes.getChanges().get(request);
+      if (handler != null) {
+        final Integer previous = lastByHandler.put(handler, i);
+        if (previous != null) {
+          union(parents, previous, i);
+        }
+      }
+
+      union(parents, getReference(request.getURI(), requests.size()), i);
+
+      final ClientEntity payload = changes.getPayload(request);
+      if (payload != null) {
+        for (ClientLink link : payload.getNavigationLinks()) {
+          union(parents, getReference(link.getLink(), requests.size()), i);
+        }
+      }
+    }
+
+    final Map<Integer, List<Integer>> groups = new LinkedHashMap<Integer, List<Integer>>();
+    for (int i = 0; i < parents.length; i++) {
+      final int root = find(parents, i);
+      List<Integer> group = groups.get(root);
+      if (group == null) {
+        group = new ArrayList<Integer>();
+        groups.put(root, group);
+      }
+      group.add(i);
+    }
+    return new ArrayList<List<Integer>>(groups.values());
+  }
+
+  private static int find(final int[] parents, final int index) {
+    int root = index;
+    while (parents[root] != root) {
+      parents[root] = parents[parents[root]];
+      root = parents[root];
+    }
+    return root;
+  }
+
+  private static void union(final int[] parents, final int index1, final int index2) {
+    if (index1 >= 0 && index2 >= 0) {
+      final int root1 = find(parents, index1);
+      final int root2 = find(parents, index2);
+      if (root1 < root2) {
+        parents[root2] = root1;
+      } else if (root2 < root1) {
+        parents[root1] = root2;
+      }
+    }
+  }
+
+  /**
+   * Gets the index of the change referred by the given <tt>$</tt>-prefixed position, if any.
+   *
+   * @param uri URI, possibly starting with <tt>$</tt> followed by the (1-based) position of another change
+   * @param size number of changes
+   * @return referred change index, or <tt>-1</tt>
+   */
+  private static int getReference(final URI uri, final int size) {
+    final int end = getReferenceEnd(uri);
+    if (end < 0) {
+      return -1;
+    }
+    final int index = Integer.parseInt(uri.toASCIIString().substring(1, end)) - 1;
+    return index < size ? index : -1;
+  }
+
+  private static int getReferenceEnd(final URI uri) {
+    final String value = uri == null ? null : uri.toASCIIString();
+    if (value == null || value.length() < 2 || value.charAt(0) != '$') {
+      return -1;
+    }
+    int end = 1;
+    while (end < value.length() && value.charAt(end) >= '0' && value.charAt(end) <= '9') {
+      end++;
+    }
+    // no position, or too long to be one
+    return end == 1 || end > 10 ? -1 : end;
+  }
+
+  private static boolean isDeleteOnly(final List<Integer> group, final List<ODataBatchableRequest> requests) {
+    for (Integer index : group) {
+      if (requests.get(index).getMethod() != HttpMethod.DELETE) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Packs groups into changesets of at most {@link #changesetSize} requests; larger groups get their own changeset.
+   *
+   * @param groups groups of request indexes
+   * @return changesets, as request indexes
+   */
+  private List<List<Integer>> pack(final List<List<Integer>> groups) {
+    final List<List<Integer>> changesets = new ArrayList<List<Integer>>();
+
+    List<Integer> current = new ArrayList<Integer>();
+    for (List<Integer> group : groups) {
+      if (!current.isEmpty() && current.size() + group.size() > changesetSize) {
+        changesets.add(current);
+        current = new ArrayList<Integer>();
+      }
+      current.addAll(group);
+    }
+    if (!current.isEmpty()) {
+      changesets.add(current);
+    }
+
+    // references must precede in the changeset
+    for (List<Integer> changeset : changesets) {
+      Collections.sort(changeset);
+    }
+    return changesets;
+  }
+
+  private List<BatchResult> send(
+      final List<List<Integer>> changesets,
+      final List<ODataBatchableRequest> requests,
+      final PersistenceChanges changes) {
+
+    final BatchResult[] results = new BatchResult[changesets.size()];
+    final AtomicInteger next = new AtomicInteger();
+    final Runnable worker = new Runnable() {
+      @Override
+      public void run() {
+        for (int i = next.getAndIncrement(); i < results.length; i = next.getAndIncrement()) {
+          results[i] = sendChangeset(changesets.get(i), requests, changes);
+        }
+      }
+    };
+
+    final List<Future<?>> helpers = new ArrayList<Future<?>>();
+    if (concurrent) {
+      for (int i = 1; i < results.length; i++) {
+        helpers.add(service.getClient().getConfiguration().getExecutor().submit(worker));
+      }
+    }
+
+    // the current thread takes part as well, so that a busy executor cannot block the flush
+    worker.run();
+
+    for (Future<?> helper : helpers) {
+      if (!helper.cancel(false)) {
+        try {
+          helper.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new ODataRuntimeException(e);
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof RuntimeException) {
+            throw (RuntimeException) e.getCause();
+          }
+          throw new ODataRuntimeException(e);
+        }
+      }
+    }
+
+    final List<BatchResult> list = new ArrayList<BatchResult>(results.length);
+    Collections.addAll(list, results);
+    return list;
+  }
+
+  private BatchResult sendChangeset(
+      final List<Integer> indexes,
+      final List<ODataBatchableRequest> requests,
+      final PersistenceChanges changes) {
+
+    final BatchResult result = new BatchResult(indexes);
+
+    final ODataBatchRequest request =
+        service.getClient().getBatchRequestFactory().getBatchRequest(service.getClient().getServiceRoot());
+    ((ODataRequest) request).setAccept(
+        service.getClient().getConfiguration().getDefaultBatchAcceptFormat().toContentTypeString());
+
+    // Content-IDs restart from 1 in each changeset
+    final Map<Integer, Integer> contentIds = new HashMap<Integer, Integer>();
+    for (Integer index : indexes) {
+      contentIds.put(index, contentIds.size() + 1);
+    }
+
+    try {
+      final BatchManager batchManager = (BatchManager) ((ODataStreamedRequest<?, ?>) request).payloadManager();
+      final ODataChangeset changeset = batchManager.addChangeset();
+      for (Integer index : indexes) {
+        final ODataBatchableRequest item = requests.get(index);
+        item.setURI(rewrite(item.getURI(), contentIds, requests.size()));
+
+        final ClientEntity payload = changes.getPayload(item);
+        if (payload != null) {
+          for (ClientLink link : payload.getNavigationLinks()) {
+            link.setLink(rewrite(link.getLink(), contentIds, requests.size()));
+          }
+        }
+
+        changeset.addRequest(item);
+      }
+
+      final ODataBatchResponse response = batchManager.getResponse();
+      result.statusCode = response.getStatusCode();
+
+      // This should be 202 for service version <= 3.0 and 200 for service version >= 4.0 but it seems that
+      // many service implementations are not fully compliant in this respect.
+      if (response.getStatusCode() != 202 && response.getStatusCode() != 200) {
+        result.errors.add(new ODataResponseError(
+            new ODataServerErrorException(new ResponseStatusLine(response)),
+            indexes.get(0), requests.get(indexes.get(0))));
+      } else {
+        processResponse(response, indexes, requests, changes, (ODataRequest) request, result);
+      }
+      response.close();
+    } catch (ODataRuntimeException e) {
+      LOG.error("While sending changeset {}", indexes, e);
+      result.errors.add(new ODataResponseError(e, indexes.get(0), requests.get(indexes.get(0))));
+    }
+
+    return result;
+  }
+
+  private void processResponse(
+      final ODataBatchResponse response,
+      final List<Integer> indexes,
+      final List<ODataBatchableRequest> requests,
+      final PersistenceChanges changes,
+      final ODataRequest request,
+      final BatchResult result) {
+
+    final Iterator<ODataBatchResponseItem> batchResItor = response.getBody();
+    if (!batchResItor.hasNext()) {
+      throw new IllegalStateException("Unexpected operation result");
+    }
+
+    final ODataBatchResponseItem item = batchResItor.next();
+    if (!(item instanceof ODataChangesetResponseItem)) {
+      throw new IllegalStateException("Unexpected batch response item " + item.getClass().getSimpleName());
+    }
+
+    final ODataChangesetResponseItem chgres = (ODataChangesetResponseItem) item;
+
+    // a changeset is applied as a whole: apply the results only if no error was reported
+    final List<ODataResponse> responses = new ArrayList<ODataResponse>(indexes.size());
+    for (int i = 0; i < indexes.size() && chgres.hasNext(); i++) {
+      final ODataResponse res = chgres.next();
+      if (res.getStatusCode() >= 400) {
+        final int index = indexes.get(Math.min(i, indexes.size() - 1));
+        result.errors.add(new ODataResponseError(ODataErrorResponseChecker.checkResponse(
+            service.getClient(),
+            new ResponseStatusLine(res),
+            res.getRawResponse(),
+            request.getAccept()), index, requests.get(index)));
+      }
+      responses.add(res);
+    }
+    if (!result.errors.isEmpty()) {
+      return;
+    }
+
+    for (int i = 0; i < responses.size(); i++) {
+      final ODataResponse res = responses.get(i);
+      final EntityInvocationHandler handler = changes.getChanges().get(requests.get(indexes.get(i)));
+
+      if (handler != null) {
+        if (res instanceof ODataEntityCreateResponse && res.getStatusCode() == 201) {
+          handler.setEntity(((ODataEntityCreateResponse<?>) res).getBody());
+          LOG.debug("Upgrade created object '{}'", handler);
+        } else if (res instanceof ODataEntityUpdateResponse && res.getStatusCode() == 200) {
+          handler.setEntity(((ODataEntityUpdateResponse<?>) res).getBody());
+          LOG.debug("Upgrade updated object '{}'", handler);
+        } else if ((res instanceof ODataEntityCreateResponse || res instanceof ODataEntityUpdateResponse)
+            && res.getStatusCode() == 204) {
+          applyChanges(handler, res);
+        }
+      }
+    }
+  }
+
+  /**
+   * Replaces a <tt>$</tt>-prefixed position with the Content-ID of the referred change in the current changeset.
+   */
+  private static URI rewrite(final URI uri, final Map<Integer, Integer> contentIds, final int size) {
+    final int index = getReference(uri, size);
+    final Integer contentId = index < 0 ? null : contentIds.get(index);
+    return contentId == null
+        ? uri
+        : URI.create("$" + contentId + uri.toASCIIString().substring(getReferenceEnd(uri)));
+  }
+
+  private static final class BatchResult {
+
+    private final List<Integer> indexes;
+
+    private final List<ODataResponseError> errors = new ArrayList<ODataResponseError>();
+
+    private int statusCode;
+
+    BatchResult(final List<Integer> indexes) {
+      this.indexes = indexes;
+    }
+  }
+}
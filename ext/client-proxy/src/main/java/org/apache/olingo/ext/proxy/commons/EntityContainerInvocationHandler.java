@@ -41,6 +41,7 @@ import org.apache.olingo.ext.proxy.api.annotations.Namespace;
 import org.apache.olingo.ext.proxy.api.annotations.Singleton;
 import org.apache.olingo.ext.proxy.context.EntityUUID;
 import org.apache.olingo.ext.proxy.utils.ClassUtils;
+import org.apache.olingo.ext.proxy.utils.ProxyUtils;
 
 public final class EntityContainerInvocationHandler extends AbstractInvocationHandler {
 
@@ -133,17 +134,14 @@ public final class EntityContainerInvocationHandler extends AbstractInvocationHa
 
     return handler == null
             ? null
-            : Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(), new Class<?>[] {typeRef}, handler);
+            : ProxyUtils.getStructuredProxy(typeRef, handler);
   }
 
   @SuppressWarnings("unchecked")
   public <NE extends EntityType<?>> NE newEntityInstance(final Class<NE> ref) {
     final EntityInvocationHandler handler = EntityInvocationHandler.getInstance(ref, getService());
 
-    return (NE) Proxy.newProxyInstance(
-            Thread.currentThread().getContextClassLoader(),
-            new Class<?>[] {ref},
-            handler);
+    return (NE) ProxyUtils.getStructuredProxy(ref, handler);
   }
 
   @SuppressWarnings("unchecked")
@@ -157,10 +155,7 @@ public final class EntityContainerInvocationHandler extends AbstractInvocationHa
 
   @SuppressWarnings("unchecked")
   public <NE extends ComplexType<?>> NE newComplexInstance(final Class<NE> ref) {
-    return (NE) Proxy.newProxyInstance(
-            Thread.currentThread().getContextClassLoader(),
-            new Class<?>[] {ref},
-            ComplexInvocationHandler.getInstance(ref, getService()));
+    return (NE) ProxyUtils.getStructuredProxy(ref, ComplexInvocationHandler.getInstance(ref, getService()));
   }
 
   @SuppressWarnings("unchecked")
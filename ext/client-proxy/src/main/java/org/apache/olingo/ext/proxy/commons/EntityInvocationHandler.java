@@ -39,6 +39,7 @@ import org.apache.olingo.client.api.domain.ClientProperty;
 import org.apache.olingo.client.api.uri.URIBuilder;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
 import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.ext.proxy.AbstractService;
 import org.apache.olingo.ext.proxy.api.AbstractTerm;
 import org.apache.olingo.ext.proxy.api.Annotatable;
@@ -48,8 +49,10 @@ import org.apache.olingo.ext.proxy.api.annotations.Namespace;
 import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
 import org.apache.olingo.ext.proxy.api.annotations.Term;
 import org.apache.olingo.ext.proxy.context.AttachedEntityStatus;
+import org.apache.olingo.ext.proxy.context.EntityCache;
 import org.apache.olingo.ext.proxy.context.EntityUUID;
 import org.apache.olingo.ext.proxy.utils.CoreUtils;
+import org.apache.olingo.ext.proxy.utils.ProxyUtils;
 
 public class EntityInvocationHandler extends AbstractStructuredInvocationHandler implements Annotatable {
 
@@ -62,6 +65,8 @@ public class EntityInvocationHandler extends AbstractStructuredInvocationHandler
 
   private EntityUUID uuid;
 
+  private boolean readOnly = false;
+
   static EntityInvocationHandler getInstance(
       final ClientEntity entity,
       final EntitySetInvocationHandler<?, ?, ?> entitySet,
@@ -235,6 +240,19 @@ public class EntityInvocationHandler extends AbstractStructuredInvocationHandler
     this.annotations.clear();
   }
   
+  /**
+   * Tells whether this entity is read-only, i.e. it is never attached to the context and cannot be changed.
+   *
+   * @return whether this entity is read-only
+   */
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  void setReadOnly(final boolean readOnly) {
+    this.readOnly = readOnly;
+  }
+
   public EntityUUID getUUID() {
     return uuid;
   }
@@ -307,6 +325,7 @@ public class EntityInvocationHandler extends AbstractStructuredInvocationHandler
   }
 
   public void uploadStream(final EdmStreamValue stream) {
+    checkChangeable();
     if (typeRef.getAnnotation(EntityType.class).hasStream()) {
       if (this.stream != null) {
         this.stream.close();
@@ -372,6 +391,7 @@ public class EntityInvocationHandler extends AbstractStructuredInvocationHandler
 
   @Override
   public void addAnnotation(final Class<? extends AbstractTerm> term, final Object value) {
+    checkChangeable();
     this.annotations.put(term, value);
 
     if (value != null) {
@@ -383,8 +403,8 @@ public class EntityInvocationHandler extends AbstractStructuredInvocationHandler
       }
 
       for (Object item : coll) {
-        if (item instanceof Proxy) {
-          final InvocationHandler handler = Proxy.getInvocationHandler(item);
+        if (ProxyUtils.isProxy(item)) {
+          final InvocationHandler handler = ProxyUtils.getInvocationHandler(item);
           if ((handler instanceof ComplexInvocationHandler)
               && ((ComplexInvocationHandler) handler).getEntityHandler() == null) {
             ((ComplexInvocationHandler) handler).setEntityHandler(this);
@@ -398,6 +418,7 @@ public class EntityInvocationHandler extends AbstractStructuredInvocationHandler
 
   @Override
   public void removeAnnotation(final Class<? extends AbstractTerm> term) {
+    checkChangeable();
     this.annotations.remove(term);
     attach(AttachedEntityStatus.CHANGED);
   }
@@ -437,35 +458,96 @@ public class EntityInvocationHandler extends AbstractStructuredInvocationHandler
     return CoreUtils.getAnnotationTerms(service, getEntity().getAnnotations());
   }
 
+  /**
+   * Fills this entity from the second-level cache, if available and not expired.
+   *
+   * @return whether the entity has been found in the cache
+   */
+  boolean loadFromCache() {
+    final EntityCache.Entry cached = isCacheable() ? service.getEntityCache().get(uuid) : null;
+    if (cached == null || cached.isExpired()) {
+      return false;
+    }
+
+    setCachedEntity(cached);
+    return true;
+  }
+
+  private boolean isCacheable() {
+    // entities retrieved with query options (as $select or $expand) are not cached
+    return service.getEntityCache() != null && uuid.getKey() != null && uri != null && uri.build().equals(baseURI);
+  }
+
+  private void setCachedEntity(final EntityCache.Entry cached) {
+    setEntity(copyOf(cached.getEntity()));
+    setETag(cached.getETag());
+    closeStream();
+  }
+
+  /**
+   * Cached entities are shared, hence only copies of them are used; complex and collection values are copied too,
+   * as they can be changed in place.
+   */
+  private ClientEntity copyOf(final ClientEntity cachedEntity) {
+    return CoreUtils.copyEntity(getClient(), cachedEntity);
+  }
+
+  private void closeStream() {
+    if (this.stream != null) {
+      this.stream.close();
+      this.stream = null;
+    }
+  }
+
   @Override
   protected void load() {
+    final boolean cacheable = isCacheable();
+    final EntityCache.Entry cached = cacheable ? service.getEntityCache().get(uuid) : null;
+    if (cached != null && !cached.isExpired()) {
+      setCachedEntity(cached);
+      return;
+    }
+
     // Search against the service
     final Object key = uuid.getKey();
+    final EntityUUID cacheKey = uuid;
 
     try {
       final ODataEntityRequest<ClientEntity> req =
           getClient().getRetrieveRequestFactory().getEntityRequest(uri.build());
 
       req.setPrefer(getClient().newPreferences().includeAnnotations("*"));
+      if (cached != null) {
+        // expired entries are only kept if they can be revalidated
+        req.setIfNoneMatch(cached.getETag());
+      }
 
       final ODataRetrieveResponse<ClientEntity> res = req.execute();
 
+      if (cached != null && res.getStatusCode() == HttpStatusCode.NOT_MODIFIED.getStatusCode()) {
+        res.close();
+        service.getEntityCache().put(cacheKey, cached.getEntity(), cached.getETag());
+        setCachedEntity(cached);
+        return;
+      }
+
       final ClientEntity entity = res.getBody();
       if (entity == null) {
         throw new IllegalArgumentException("Invalid " + typeRef.getSimpleName() + "(" + key + ")");
       }
 
-      setEntity(entity);
+      setEntity(cacheable ? copyOf(entity) : entity);
       setETag(res.getETag());
 
       if (key != null && !key.equals(CoreUtils.getKey(getClient(), this, typeRef, entity))) {
         throw new IllegalArgumentException("Invalid " + typeRef.getSimpleName() + "(" + key + ")");
       }
 
-      if (this.stream != null) {
-        this.stream.close();
-        this.stream = null;
+      if (cacheable) {
+        service.getEntityCache().put(cacheKey, entity, res.getETag());
       }
+
+      closeStream();
     } catch (IllegalArgumentException e) {
       LOG.warn("Entity '" + uuid + "' not found", e);
       throw e;
@@ -46,6 +46,7 @@ import org.apache.olingo.ext.proxy.context.AttachedEntityStatus;
 import org.apache.olingo.ext.proxy.context.EntityContext;
 import org.apache.olingo.ext.proxy.context.EntityUUID;
 import org.apache.olingo.ext.proxy.utils.ClassUtils;
+import org.apache.olingo.ext.proxy.utils.ProxyUtils;
 
 public class EntitySetInvocationHandler<
         T extends EntityType<?>, KEY extends Serializable, EC extends EntityCollection<T, ?, ?>>
@@ -132,6 +133,7 @@ public class EntitySetInvocationHandler<
               typeRef.getAnnotation(Namespace.class).value(), ClassUtils.getEntityTypeName(typeRef)));
 
       handler = EntityInvocationHandler.getInstance(key, entity, this.baseURI, typeRef, service);
+      handler.loadFromCache();
     }
 
     if (isDeleted(handler)) {
@@ -141,10 +143,7 @@ public class EntitySetInvocationHandler<
     } else {
       // clear query options
       handler.clearQueryOptions();
-      return (S) Proxy.newProxyInstance(
-              Thread.currentThread().getContextClassLoader(),
-              new Class<?>[] {typeRef},
-              handler);
+      return (S) ProxyUtils.getStructuredProxy(typeRef, handler);
     }
   }
 
@@ -241,7 +240,7 @@ public class EntitySetInvocationHandler<
     if (entity == null) {
       // search for entity
       final T searched = getByKey(key);
-      entity = (EntityInvocationHandler) Proxy.getInvocationHandler(searched);
+      entity = (EntityInvocationHandler) ProxyUtils.getInvocationHandler(searched);
       entityContext.attach(entity, AttachedEntityStatus.DELETED);
     } else {
       entityContext.setStatus(entity, AttachedEntityStatus.DELETED);
@@ -250,7 +249,7 @@ public class EntitySetInvocationHandler<
 
   @Override
   public <S extends T> void delete(final S entity) {
-    deleteEntity((EntityInvocationHandler) Proxy.getInvocationHandler(entity), this.baseURI);
+    deleteEntity((EntityInvocationHandler) ProxyUtils.getInvocationHandler(entity), this.baseURI);
   }
 
   @Override
@@ -264,4 +263,10 @@ public class EntitySetInvocationHandler<
   public EntitySetIterator<T, KEY, EC> iterator() {
     return new EntitySetIterator<T, KEY, EC>(getClient().newURIBuilder(this.uri.build().toASCIIString()).build(), this);
   }
+
+  @Override
+  public ReadOnlyEntitySetIterator<T, KEY, EC> readOnlyIterator() {
+    return new ReadOnlyEntitySetIterator<T, KEY, EC>(
+        getClient().newURIBuilder(this.uri.build().toASCIIString()).build(), this);
+  }
 }
@@ -81,7 +81,7 @@ public class NonTransactionalPersistenceManagerImpl extends AbstractPersistenceM
             responses.put(index, entry.getValue().getEntityURI());
             LOG.debug("Upgrade created object '{}'", entry.getValue());
           } else {
-            entry.getValue().applyChanges();
+            applyChanges(entry.getValue(), response);
             responses.put(index, null);
           }
         } else if (entry.getValue() != null
@@ -92,7 +92,7 @@ public class NonTransactionalPersistenceManagerImpl extends AbstractPersistenceM
             responses.put(index, entry.getValue().getEntityURI());
             LOG.debug("Upgrade updated object '{}'", entry.getValue());
           } else {
-            entry.getValue().applyChanges();
+            applyChanges(entry.getValue(), response);
             responses.put(index, null);
           }
         } else {
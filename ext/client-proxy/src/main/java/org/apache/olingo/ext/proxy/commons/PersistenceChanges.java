@@ -19,7 +19,9 @@
 package org.apache.olingo.ext.proxy.commons;
 
 import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.domain.ClientEntity;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -28,11 +30,33 @@ public class PersistenceChanges {
   private final Map<ODataBatchableRequest, EntityInvocationHandler> requests =
           new LinkedHashMap<ODataBatchableRequest, EntityInvocationHandler>();
 
+  private final Map<ODataBatchableRequest, ClientEntity> payloads =
+          new HashMap<ODataBatchableRequest, ClientEntity>();
+
   public void addChange(final ODataBatchableRequest request, final EntityInvocationHandler handler) {
     this.requests.put(request, handler);
   }
 
+  /**
+   * Adds a change whose request body is the given entity; its navigation links may refer to other changes by
+   * <tt>$</tt>-prefixed position.
+   *
+   * @param request request
+   * @param handler entity handler, if any
+   * @param payload entity sent as request body
+   */
+  public void addChange(
+          final ODataBatchableRequest request, final EntityInvocationHandler handler, final ClientEntity payload) {
+
+    addChange(request, handler);
+    this.payloads.put(request, payload);
+  }
+
   public Map<ODataBatchableRequest, EntityInvocationHandler> getChanges() {
     return requests;
   }
+
+  public ClientEntity getPayload(final ODataBatchableRequest request) {
+    return payloads.get(request);
+  }
 }
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.proxy.commons;
+
+import java.io.Closeable;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.olingo.client.api.communication.request.retrieve.ODataEntitySetIteratorRequest;
+import org.apache.olingo.client.api.domain.ClientEntity;
+import org.apache.olingo.client.api.domain.ClientEntitySet;
+import org.apache.olingo.client.api.domain.ClientEntitySetIterator;
+import org.apache.olingo.ext.proxy.api.EntityCollection;
+import org.apache.olingo.ext.proxy.api.EntityType;
+
+/**
+ * Read-only iterator over an entity set: entities are read one by one from the response stream, next links are
+ * followed lazily and nothing is attached to the entity context, hence only the current entity is kept in memory.
+ */
+class ReadOnlyEntitySetIterator<T extends EntityType<?>, KEY extends Serializable, EC extends EntityCollection<T, ?, ?>>
+        implements Iterator<T>, Closeable {
+
+  private final EntitySetInvocationHandler<T, KEY, EC> esi;
+
+  private URI next;
+
+  private ClientEntitySetIterator<ClientEntitySet, ClientEntity> current;
+
+  ReadOnlyEntitySetIterator(final URI uri, final EntitySetInvocationHandler<T, KEY, EC> esi) {
+    this.esi = esi;
+    this.next = uri;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (current == null || !current.hasNext()) {
+      if (current != null) {
+        // the page has been consumed (and its stream closed): its next link is now available
+        next = current.getNext();
+        current = null;
+      }
+      if (next == null) {
+        return false;
+      }
+      goOn();
+    }
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No entity found");
+    }
+    return esi.getEntityProxy(current.next(), esi.getTypeRef(), true);
+  }
+
+  /**
+   * Unsupported operation.
+   */
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  /**
+   * Releases the page currently being read, if any; no further page will be requested.
+   */
+  @Override
+  public void close() {
+    if (current != null) {
+      current.close();
+      current = null;
+    }
+    next = null;
+  }
+
+  private void goOn() {
+    final ODataEntitySetIteratorRequest<ClientEntitySet, ClientEntity> req =
+        esi.getClient().getRetrieveRequestFactory().getEntitySetIteratorRequest(next);
+    req.setPrefer(esi.getClient().newPreferences().includeAnnotations("*"));
+
+    current = req.execute().getBody();
+    next = null;
+  }
+}
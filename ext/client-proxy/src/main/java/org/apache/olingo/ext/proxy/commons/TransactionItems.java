@@ -20,78 +20,94 @@ package org.apache.olingo.ext.proxy.commons;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 public class TransactionItems {
 
-  private final List<EntityInvocationHandler> keys = new ArrayList<EntityInvocationHandler>();
+  /**
+   * Values per key, in insertion order: the first one is the value returned by {@link #get(EntityInvocationHandler)}.
+   */
+  private final Map<EntityInvocationHandler, LinkedList<Integer>> values =
+      new HashMap<EntityInvocationHandler, LinkedList<Integer>>();
 
-  private final List<Integer> values = new ArrayList<Integer>();
+  private final Map<Integer, EntityInvocationHandler> keys = new HashMap<Integer, EntityInvocationHandler>();
+
+  private int size = 0;
 
   public EntityInvocationHandler get(final Integer value) {
-    if (value != null && values.contains(value)) {
-      return keys.get(values.indexOf(value));
-    } else {
-      return null;
-    }
+    return value == null ? null : keys.get(value);
   }
 
   public Integer get(final EntityInvocationHandler key) {
-    if (key != null && keys.contains(key)) {
-      return values.get(keys.indexOf(key));
-    } else {
-      return null;
-    }
+    return key == null || !values.containsKey(key) ? null : values.get(key).getFirst();
   }
 
   public void remove(final EntityInvocationHandler key) {
-    if (keys.contains(key)) {
-      values.remove(keys.indexOf(key));
-      keys.remove(key);
+    final LinkedList<Integer> keyValues = values.get(key);
+    if (keyValues != null) {
+      final Integer value = keyValues.removeFirst();
+      if (value != null) {
+        keys.remove(value);
+      }
+      if (keyValues.isEmpty()) {
+        values.remove(key);
+      }
+      size--;
     }
   }
 
   public void normalize() {
-    final Set<Integer> toBeRemoved = new HashSet<Integer>();
-    for (EntityInvocationHandler key : keys) {
-      int i = keys.indexOf(key);
-      if (values.get(i) == null) {
-        toBeRemoved.add(i);
+    for (final Iterator<LinkedList<Integer>> itor = values.values().iterator(); itor.hasNext();) {
+      final LinkedList<Integer> keyValues = itor.next();
+      final int before = keyValues.size();
+      keyValues.removeAll(Collections.singleton((Integer) null));
+      size -= before - keyValues.size();
+      if (keyValues.isEmpty()) {
+        itor.remove();
       }
     }
-
-    for (int i : toBeRemoved) {
-      keys.remove(i);
-      values.remove(i);
-    }
   }
 
   public void put(final EntityInvocationHandler key, final Integer value) {
     // replace just in case of null current value; otherwise add the new entry
-    if (key != null && keys.contains(key) && values.get(keys.indexOf(key)) == null) {
+    LinkedList<Integer> keyValues = values.get(key);
+    if (key != null && keyValues != null && keyValues.getFirst() == null) {
       remove(key);
+      keyValues = values.get(key);
+    }
+    if (keyValues == null) {
+      keyValues = new LinkedList<Integer>();
+      values.put(key, keyValues);
     }
-    keys.add(key);
-    values.add(value);
+    keyValues.add(value);
+    if (value != null && !keys.containsKey(value)) {
+      keys.put(value, key);
+    }
+    size++;
   }
 
   public List<Integer> sortedValues() {
-    final List<Integer> sortedValues = new ArrayList<Integer>(values);
+    final List<Integer> sortedValues = new ArrayList<Integer>(size);
+    for (List<Integer> keyValues : values.values()) {
+      sortedValues.addAll(keyValues);
+    }
     Collections.<Integer>sort(sortedValues);
     return sortedValues;
   }
 
   public boolean contains(final EntityInvocationHandler key) {
-    return keys.contains(key);
+    return values.containsKey(key);
   }
 
   public int size() {
-    return keys.size();
+    return size;
   }
 
   public boolean isEmpty() {
-    return keys.isEmpty();
+    return size == 0;
   }
 }
@@ -122,15 +122,15 @@ public class TransactionalPersistenceManagerImpl extends AbstractPersistenceMana
               handler.setEntity(((ODataEntityCreateResponse<?>) res).getBody());
               LOG.debug("Upgrade created object '{}'", handler);
             } else {
-              handler.applyChanges();
+              applyChanges(handler, res);
             }
           } else if (res instanceof ODataEntityUpdateResponse && (res.getStatusCode() == 200 || res
               .getStatusCode() == 204)) {
-            if (res.getStatusCode() == 201) {
+            if (res.getStatusCode() == 200) {
               handler.setEntity(((ODataEntityUpdateResponse<?>) res).getBody());
               LOG.debug("Upgrade updated object '{}'", handler);
             } else {
-              handler.applyChanges();
+              applyChanges(handler, res);
             }
           }
         }
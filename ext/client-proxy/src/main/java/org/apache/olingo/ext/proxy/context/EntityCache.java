@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.proxy.context;
+
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.olingo.client.api.domain.ClientEntity;
+
+/**
+ * Second-level entity cache: unlike {@link EntityContext}, it outlives units of work and can be shared, also
+ * concurrently, among services.
+ * <br/>
+ * Entries are read-only snapshots of entities as retrieved from the service, identified by {@link EntityUUID}; the
+ * least recently used entry is evicted when the maximum size is reached. Expired entries having an ETag are kept
+ * until revalidated against the service, the others are simply discarded.
+ */
+public class EntityCache {
+
+  private final int maxSize;
+
+  private final long timeToLive;
+
+  private final Map<EntityUUID, Entry> entries;
+
+  /**
+   * Constructor.
+   *
+   * @param maxSize maximum number of cached entities
+   * @param timeToLive time after which cached entities are to be revalidated, not positive for never
+   * @param unit time unit of <tt>timeToLive</tt>
+   */
+  public EntityCache(final int maxSize, final long timeToLive, final TimeUnit unit) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("Invalid cache size: " + maxSize);
+    }
+    this.maxSize = maxSize;
+    this.timeToLive = timeToLive > 0 ? unit.toNanos(timeToLive) : 0;
+    this.entries = new LinkedHashMap<EntityUUID, Entry>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = -2853049497062449286L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<EntityUUID, Entry> eldest) {
+        return size() > EntityCache.this.maxSize;
+      }
+    };
+  }
+
+  /**
+   * Gets the cached snapshot of the given entity.
+   *
+   * @param uuid entity identifier
+   * @return cached snapshot, possibly expired but revalidable by ETag; null if not available
+   */
+  public Entry get(final EntityUUID uuid) {
+    synchronized (entries) {
+      final Entry entry = entries.get(uuid);
+      if (entry != null && entry.isExpired() && entry.getETag() == null) {
+        entries.remove(uuid);
+        return null;
+      }
+      return entry;
+    }
+  }
+
+  /**
+   * Caches the given entity snapshot, which must not be changed afterwards.
+   *
+   * @param uuid entity identifier; not cached if without key
+   * @param entity entity snapshot
+   * @param eTag entity ETag, if any
+   */
+  public void put(final EntityUUID uuid, final ClientEntity entity, final String eTag) {
+    if (uuid.getKey() == null) {
+      return;
+    }
+    final Entry entry = new Entry(entity, StringUtils.isBlank(eTag) ? null : eTag,
+        timeToLive == 0 ? 0 : System.nanoTime() + timeToLive);
+    synchronized (entries) {
+      entries.put(uuid, entry);
+    }
+  }
+
+  /**
+   * Removes the given entity from this cache.
+   *
+   * @param uuid entity identifier
+   */
+  public void invalidate(final EntityUUID uuid) {
+    synchronized (entries) {
+      entries.remove(uuid);
+    }
+  }
+
+  /**
+   * Removes all entities of the given entity set from this cache.
+   *
+   * @param entitySetURI entity set URI
+   */
+  public void invalidate(final URI entitySetURI) {
+    synchronized (entries) {
+      for (Iterator<EntityUUID> itor = entries.keySet().iterator(); itor.hasNext();) {
+        if (entitySetURI.equals(itor.next().getEntitySetURI())) {
+          itor.remove();
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes all entities from this cache.
+   */
+  public void invalidateAll() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Cached entity snapshot.
+   */
+  public static final class Entry {
+
+    private final ClientEntity entity;
+
+    private final String eTag;
+
+    private final long expiration;
+
+    private Entry(final ClientEntity entity, final String eTag, final long expiration) {
+      this.entity = entity;
+      this.eTag = eTag;
+      this.expiration = expiration;
+    }
+
+    public ClientEntity getEntity() {
+      return entity;
+    }
+
+    public String getETag() {
+      return eTag;
+    }
+
+    public boolean isExpired() {
+      return expiration != 0 && System.nanoTime() - expiration >= 0;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.proxy.utils;
+
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Thread-safe cache of values computed per class, which does not keep classes (and their class loaders) from being
+ * unloaded: classes are weakly referenced and values, which usually refer to their class by reflection, are softly
+ * referenced, to be computed again if cleared.
+ *
+ * @param <V> value type
+ */
+final class ClassCache<V> {
+
+  private final Map<Class<?>, SoftReference<V>> values = new WeakHashMap<Class<?>, SoftReference<V>>();
+
+  /**
+   * Gets the value cached for the given class.
+   *
+   * @param reference class
+   * @return cached value, or <tt>null</tt> if not available
+   */
+  V get(final Class<?> reference) {
+    synchronized (values) {
+      final SoftReference<V> value = values.get(reference);
+      return value == null ? null : value.get();
+    }
+  }
+
+  /**
+   * Caches the given value for the given class, unless another value is already available.
+   *
+   * @param reference class
+   * @param value value
+   * @return value cached for the given class
+   */
+  V putIfAbsent(final Class<?> reference, final V value) {
+    synchronized (values) {
+      final V existing = get(reference);
+      if (existing != null) {
+        return existing;
+      }
+      values.put(reference, new SoftReference<V>(value));
+      return value;
+    }
+  }
+}
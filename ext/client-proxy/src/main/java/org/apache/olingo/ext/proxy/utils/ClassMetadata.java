@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.proxy.utils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.olingo.ext.proxy.api.annotations.CompoundKeyElement;
+import org.apache.olingo.ext.proxy.api.annotations.Key;
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reflective information about a proxied type (or invocation handler class), collected once per class and shared
+ * by all proxies of that class.
+ */
+public final class ClassMetadata {
+
+  /**
+   * Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(ClassMetadata.class);
+
+  private static final ClassCache<ClassMetadata> CACHE = new ClassCache<ClassMetadata>();
+
+  private static final Object NO_METHOD = new Object();
+
+  private final Class<?> reference;
+
+  private final Map<String, Accessor> getters;
+
+  private final Set<String> propertyNames;
+
+  private final List<CompoundKeyElementWrapper> compoundKeyElements;
+
+  private final String keyPropertyName;
+
+  private final ConcurrentMap<Class<? extends Annotation>, Map<String, Method>> annotatedGetters =
+      new ConcurrentHashMap<Class<? extends Annotation>, Map<String, Method>>();
+
+  private final ConcurrentMap<Method, Object> publicMethods = new ConcurrentHashMap<Method, Object>();
+
+  /**
+   * Gets the metadata of the given class, collecting it on first access.
+   *
+   * @param reference class
+   * @return metadata of the class
+   */
+  public static ClassMetadata of(final Class<?> reference) {
+    final ClassMetadata metadata = CACHE.get(reference);
+    return metadata == null ? CACHE.putIfAbsent(reference, new ClassMetadata(reference)) : metadata;
+  }
+
+  private ClassMetadata(final Class<?> reference) {
+    this.reference = reference;
+
+    final Map<String, Accessor> getters = new HashMap<String, Accessor>();
+    final Set<String> propertyNames = new HashSet<String>();
+    final List<CompoundKeyElementWrapper> compoundKeyElements = new ArrayList<CompoundKeyElementWrapper>();
+
+    for (Method method : reference.getMethods()) {
+      if (method.getParameterTypes().length == 0 && method.getName().startsWith("get")) {
+        // keep the most specific declaration in case of covariant return types, as Class.getMethod() does
+        final Accessor existing = getters.get(method.getName());
+        if (existing == null || existing.getMethod().getReturnType().isAssignableFrom(method.getReturnType())) {
+          getters.put(method.getName(), new Accessor(method));
+        }
+      }
+
+      final Property property = method.getAnnotation(Property.class);
+      if (property != null) {
+        propertyNames.add(property.name());
+      }
+
+      final CompoundKeyElement keyElement = method.getAnnotation(CompoundKeyElement.class);
+      if (keyElement != null) {
+        compoundKeyElements.add(new CompoundKeyElementWrapper(keyElement.name(), method, keyElement.position()));
+      }
+    }
+    Collections.sort(compoundKeyElements);
+
+    String keyPropertyName = null;
+    for (Method method : reference.getDeclaredMethods()) {
+      if (keyPropertyName == null && method.getAnnotation(Key.class) != null) {
+        final Property property = method.getAnnotation(Property.class);
+        if (property != null) {
+          keyPropertyName = property.name();
+        }
+      }
+    }
+
+    this.getters = getters;
+    this.propertyNames = Collections.unmodifiableSet(propertyNames);
+    this.compoundKeyElements = Collections.unmodifiableList(compoundKeyElements);
+    this.keyPropertyName = keyPropertyName;
+  }
+
+  public Class<?> getReference() {
+    return reference;
+  }
+
+  /**
+   * Gets the public no-argument getter with the given method name.
+   *
+   * @param methodName getter name, e.g. <tt>getName</tt>
+   * @return getter accessor, or <tt>null</tt> if none exists
+   */
+  public Accessor getGetter(final String methodName) {
+    return getters.get(methodName);
+  }
+
+  /**
+   * Gets the names of all properties annotated by {@link Property} on public methods.
+   *
+   * @return property names
+   */
+  public Set<String> getPropertyNames() {
+    return propertyNames;
+  }
+
+  /**
+   * Gets the {@link CompoundKeyElement} getters, sorted by position.
+   *
+   * @return compound key elements
+   */
+  public List<CompoundKeyElementWrapper> getCompoundKeyElements() {
+    return compoundKeyElements;
+  }
+
+  /**
+   * Gets the name of the first declared {@link Key} property.
+   *
+   * @return key property name, or <tt>null</tt> if none is declared
+   */
+  public String getKeyPropertyName() {
+    return keyPropertyName;
+  }
+
+  /**
+   * Finds the getter annotated by the given annotation whose <tt>name</tt> attribute equals the given name.
+   *
+   * @param ann annotation having a <tt>name</tt> attribute
+   * @param name annotated name
+   * @return getter, or <tt>null</tt> if not found
+   */
+  public Method getAnnotatedGetter(final Class<? extends Annotation> ann, final String name) {
+    Map<String, Method> byName = annotatedGetters.get(ann);
+    if (byName == null) {
+      byName = collectAnnotatedGetters(ann);
+      annotatedGetters.putIfAbsent(ann, byName);
+    }
+    return byName.get(name);
+  }
+
+  private Map<String, Method> collectAnnotatedGetters(final Class<? extends Annotation> ann) {
+    final Map<String, Method> byName = new HashMap<String, Method>();
+
+    Method nameAttribute = null;
+    try {
+      nameAttribute = ann.getMethod("name");
+    } catch (NoSuchMethodException e) {
+      LOG.warn("Annotation {} has no name attribute", ann.getName());
+    }
+
+    if (nameAttribute != null) {
+      for (Method method : reference.getMethods()) {
+        final Annotation annotation = method.getAnnotation(ann);
+        // Assumption: getter is always prefixed by 'get' word
+        if (annotation != null && method.getName().startsWith("get")) {
+          try {
+            final String name = (String) nameAttribute.invoke(annotation);
+            if (!byName.containsKey(name)) {
+              byName.put(name, method);
+            }
+          } catch (Exception e) {
+            LOG.warn("Error retrieving value annotation name for {}.{}", reference.getName(), method.getName());
+          }
+        }
+      }
+    }
+
+    return byName;
+  }
+
+  /**
+   * Finds the public method of this class having the same name and parameter types as the given one.
+   *
+   * @param method method, possibly declared by another class or interface
+   * @return matching public method, or <tt>null</tt> if none exists
+   */
+  public Method getPublicMethod(final Method method) {
+    Object found = publicMethods.get(method);
+    if (found == null) {
+      try {
+        found = reference.getMethod(method.getName(), method.getParameterTypes());
+      } catch (NoSuchMethodException e) {
+        found = NO_METHOD;
+      }
+      publicMethods.putIfAbsent(method, found);
+    }
+    return found == NO_METHOD ? null : (Method) found;
+  }
+
+  /**
+   * Getter together with the mapping annotations it carries.
+   */
+  public static final class Accessor {
+
+    private final Method method;
+
+    private final Property property;
+
+    private final NavigationProperty navigationProperty;
+
+    private final Type genericReturnType;
+
+    private Accessor(final Method method) {
+      this.method = method;
+      this.property = method.getAnnotation(Property.class);
+      this.navigationProperty = method.getAnnotation(NavigationProperty.class);
+      this.genericReturnType = method.getGenericReturnType();
+    }
+
+    public Method getMethod() {
+      return method;
+    }
+
+    public Property getProperty() {
+      return property;
+    }
+
+    public NavigationProperty getNavigationProperty() {
+      return navigationProperty;
+    }
+
+    public Type getGenericReturnType() {
+      return genericReturnType;
+    }
+  }
+}
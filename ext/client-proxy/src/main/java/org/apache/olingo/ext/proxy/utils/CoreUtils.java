@@ -23,7 +23,6 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.sql.Timestamp;
@@ -33,15 +32,15 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.olingo.client.api.EdmEnabledODataClient;
+import org.apache.olingo.client.api.ODataClient;
 import org.apache.olingo.client.api.uri.URIBuilder;
 import org.apache.olingo.client.core.uri.URIUtils;
 import org.apache.olingo.client.api.domain.ClientAnnotatable;
 import org.apache.olingo.client.api.domain.ClientAnnotation;
+import org.apache.olingo.client.api.domain.ClientCollectionValue;
 import org.apache.olingo.client.api.domain.ClientComplexValue;
 import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.client.api.domain.ClientEnumValue;
@@ -66,7 +65,6 @@ import org.apache.olingo.ext.proxy.api.annotations.ComplexType;
 import org.apache.olingo.ext.proxy.api.annotations.CompoundKey;
 import org.apache.olingo.ext.proxy.api.annotations.CompoundKeyElement;
 import org.apache.olingo.ext.proxy.api.annotations.EnumType;
-import org.apache.olingo.ext.proxy.api.annotations.Key;
 import org.apache.olingo.ext.proxy.api.annotations.Namespace;
 import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
 import org.apache.olingo.ext.proxy.api.annotations.Property;
@@ -112,7 +110,7 @@ public final class CoreUtils {
       }
     } else if (type.isComplexType()) {
 
-      final Object objHandler = Proxy.getInvocationHandler(obj);
+      final Object objHandler = ProxyUtils.getInvocationHandler(obj);
       if (objHandler instanceof ComplexInvocationHandler) {
         value = ((ComplexInvocationHandler) objHandler).getComplex();
 
@@ -247,7 +245,7 @@ public final class CoreUtils {
       final EdmTypeInfo type = guessPrimitiveType(client, ClassUtils.extractTypeArg(obj.getClass(),
           EntityCollection.class, ComplexCollection.class, Collection.class));
       return edmTypeInfo.setTypeExpression("Collection(" + type.getFullQualifiedName() + ")").build();
-    } else if (obj instanceof Proxy) {
+    } else if (ProxyUtils.isProxy(obj)) {
       final Class<?> typeRef = obj.getClass().getInterfaces()[0];
       final String ns = typeRef.getAnnotation(Namespace.class).value();
       final String name = typeRef.getAnnotation(ComplexType.class).name();
@@ -295,6 +293,138 @@ public final class CoreUtils {
     }
   }
 
+  /**
+   * Adds the changed properties of the given entity handler, for a <tt>PATCH</tt> request: complex values changed in
+   * place only carry their own changed properties, as services apply <tt>PATCH</tt> semantics to them as well.
+   * Values which have been set anew, as well as collections, are sent as a whole.
+   *
+   * @param client client
+   * @param handler entity handler
+   * @param entity entity to be sent
+   */
+  public static void addPropertyDeltas(
+      final EdmEnabledODataClient client,
+      final AbstractStructuredInvocationHandler handler,
+      final ClientEntity entity) {
+
+    for (Map.Entry<String, Object> entry : handler.getPropertyChanges().entrySet()) {
+      final EdmElement edmProperty =
+          client.getCachedEdm().getEntityType(entity.getTypeName()).getProperty(entry.getKey());
+      entity.getProperties().add(
+          getODataPropertyDelta(client, handler, edmProperty, entry.getKey(), entry.getValue()));
+    }
+  }
+
+  private static ClientProperty getODataPropertyDelta(
+      final EdmEnabledODataClient client,
+      final AbstractStructuredInvocationHandler owner,
+      final EdmElement edmProperty,
+      final String name,
+      final Object value) {
+
+    final InvocationHandler handler =
+        value == null || !ProxyUtils.isProxy(value) ? null : ProxyUtils.getInvocationHandler(value);
+    if (owner.isPropertyValueSet(name) || !(handler instanceof ComplexInvocationHandler)
+        || edmProperty == null || edmProperty.isCollection()) {
+      return getODataProperty(client, edmProperty, name, value);
+    }
+
+    final ComplexInvocationHandler complexHandler = (ComplexInvocationHandler) handler;
+    final FullQualifiedName typeName = edmProperty.getType().getFullQualifiedName();
+    final ClientComplexValue delta = client.getObjectFactory().newComplexValue(typeName.toString());
+    for (Map.Entry<String, Object> change : complexHandler.getPropertyChanges().entrySet()) {
+      delta.add(getODataPropertyDelta(
+          client,
+          complexHandler,
+          client.getCachedEdm().getComplexType(typeName).getProperty(change.getKey()),
+          change.getKey(),
+          change.getValue()));
+    }
+    return client.getObjectFactory().newComplexProperty(name, delta);
+  }
+
+  /**
+   * Copies the given entity, so that the copy can be changed without affecting the original: complex and collection
+   * values, which can be changed in place, are copied as well; primitive and enum values, which cannot, are shared.
+   *
+   * @param client client
+   * @param source entity to be copied
+   * @return copy of the given entity
+   */
+  public static ClientEntity copyEntity(final ODataClient client, final ClientEntity source) {
+    final ClientEntity entity = client.getObjectFactory().newEntity(source.getTypeName());
+    entity.setId(source.getId());
+    entity.setEditLink(source.getEditLink());
+    entity.setETag(source.getETag());
+    entity.setMediaContentType(source.getMediaContentType());
+    entity.setMediaContentSource(source.getMediaContentSource());
+    entity.setMediaETag(source.getMediaETag());
+    entity.getMediaEditLinks().addAll(source.getMediaEditLinks());
+    for (ClientProperty property : source.getProperties()) {
+      entity.getProperties().add(copyProperty(client, property));
+    }
+    entity.getNavigationLinks().addAll(source.getNavigationLinks());
+    entity.getAssociationLinks().addAll(source.getAssociationLinks());
+    entity.getOperations().addAll(source.getOperations());
+    copyAnnotations(client, source, entity);
+    return entity;
+  }
+
+  private static ClientProperty copyProperty(final ODataClient client, final ClientProperty source) {
+    final ClientProperty property;
+    if (source.hasComplexValue()) {
+      property = client.getObjectFactory().newComplexProperty(source.getName(),
+          copyValue(client, source.getComplexValue()).asComplex());
+    } else if (source.hasCollectionValue()) {
+      property = client.getObjectFactory().newCollectionProperty(source.getName(),
+          copyValue(client, source.getCollectionValue()).<ClientValue> asCollection());
+    } else if (source.hasEnumValue()) {
+      property = client.getObjectFactory().newEnumProperty(source.getName(), source.getEnumValue());
+    } else {
+      property = client.getObjectFactory().newPrimitiveProperty(source.getName(), source.getPrimitiveValue());
+    }
+    property.getOperations().addAll(source.getOperations());
+    copyAnnotations(client, source, property);
+    return property;
+  }
+
+  private static ClientValue copyValue(final ODataClient client, final ClientValue source) {
+    if (source == null) {
+      return null;
+    } else if (source.isComplex()) {
+      final ClientComplexValue value = client.getObjectFactory().newComplexValue(source.getTypeName());
+      for (ClientProperty property : source.asComplex()) {
+        value.add(copyProperty(client, property));
+      }
+      for (ClientLink link : source.asComplex().getNavigationLinks()) {
+        value.addLink(link);
+      }
+      for (ClientLink link : source.asComplex().getAssociationLinks()) {
+        value.addLink(link);
+      }
+      copyAnnotations(client, source.asComplex(), value);
+      return value;
+    } else if (source.isCollection()) {
+      final ClientCollectionValue<ClientValue> value = client.getObjectFactory().newCollectionValue(
+          source.getTypeName());
+      for (ClientValue item : source.<ClientValue> asCollection()) {
+        value.add(copyValue(client, item));
+      }
+      return value;
+    } else {
+      return source;
+    }
+  }
+
+  private static void copyAnnotations(
+      final ODataClient client, final ClientAnnotatable source, final ClientAnnotatable target) {
+
+    for (ClientAnnotation annotation : source.getAnnotations()) {
+      target.getAnnotations().add(new ClientAnnotationImpl(annotation.getTerm(),
+          copyValue(client, annotation.getValue())));
+    }
+  }
+
   public static void addProperties(
       final EdmEnabledODataClient client,
       final Map<String, Object> changes,
@@ -364,13 +494,12 @@ public final class CoreUtils {
 
   private static Class<?> getPropertyClass(final Class<?> entityClass, final String propertyName) {
     Class<?> propertyClass = null;
-    try {
-      final Method getter = entityClass.getMethod("get" + StringUtils.capitalize(propertyName));
-      if (getter != null) {
-        propertyClass = getter.getReturnType();
-      }
-    } catch (Exception e) {
-      LOG.error("Could not determine the Java type of {}", propertyName, e);
+    final ClassMetadata.Accessor getter =
+        ClassMetadata.of(entityClass).getGetter("get" + StringUtils.capitalize(propertyName));
+    if (getter == null) {
+      LOG.error("Could not determine the Java type of {}", propertyName);
+    } else {
+      propertyClass = getter.getMethod().getReturnType();
     }
     return propertyClass;
   }
@@ -400,19 +529,9 @@ public final class CoreUtils {
   }
 
   public static Map<String, Object> getCompoundKey(final Object key) {
-    final Set<CompoundKeyElementWrapper> elements = new TreeSet<CompoundKeyElementWrapper>();
-
-    for (Method method : key.getClass().getMethods()) {
-      final Annotation annotation = method.getAnnotation(CompoundKeyElement.class);
-      if (annotation instanceof CompoundKeyElement) {
-        elements.add(new CompoundKeyElementWrapper(
-            ((CompoundKeyElement) annotation).name(), method, ((CompoundKeyElement) annotation).position()));
-      }
-    }
-
     final LinkedHashMap<String, Object> map = new LinkedHashMap<String, Object>();
 
-    for (CompoundKeyElementWrapper element : elements) {
+    for (CompoundKeyElementWrapper element : ClassMetadata.of(key.getClass()).getCompoundKeyElements()) {
       try {
         map.put(element.getName(), element.getMethod().invoke(key));
       } catch (Exception e) {
@@ -462,8 +581,8 @@ public final class CoreUtils {
 
     if (bean != null) {
       final Class<?> typeRef;
-      if (bean instanceof Proxy) {
-        final InvocationHandler handler = Proxy.getInvocationHandler(bean);
+      if (ProxyUtils.isProxy(bean)) {
+        final InvocationHandler handler = ProxyUtils.getInvocationHandler(bean);
         if (handler instanceof AbstractStructuredInvocationHandler) {
           typeRef = ((ComplexInvocationHandler) handler).getTypeRef();
         } else {
@@ -502,9 +621,8 @@ public final class CoreUtils {
               setPropertyValue(bean, getter, primitiveValueToObject(
                   property.getPrimitiveValue(), getPropertyClass(typeRef, property.getName())));
             } else if (property.hasComplexValue()) {
-              final Object complex = Proxy.newProxyInstance(
-                  Thread.currentThread().getContextClassLoader(),
-                  new Class<?>[] { getter.getReturnType() },
+              final Object complex = ProxyUtils.getStructuredProxy(
+                  getter.getReturnType(),
                   ComplexInvocationHandler.getInstance(typeHandler, getter.getReturnType()));
 
               populate(client, typeHandler, complex, Property.class, property.getValue().asComplex().iterator());
@@ -526,9 +644,8 @@ public final class CoreUtils {
                   collection.add(primitiveValueToObject(
                       value.asPrimitive(), getPropertyClass(typeRef, property.getName())));
                 } else if (value.isComplex()) {
-                  final Object collItem = Proxy.newProxyInstance(
-                      Thread.currentThread().getContextClassLoader(),
-                      new Class<?>[] { collItemClass },
+                  final Object collItem = ProxyUtils.getStructuredProxy(
+                      collItemClass,
                       ComplexInvocationHandler.getInstance(typeHandler, collItemClass));
 
                   populate(client, typeHandler, collItem, Property.class, value.asComplex().iterator());
@@ -577,9 +694,8 @@ public final class CoreUtils {
     } else if (value.isComplex()) {
       // complex types supports inheritance in V4, best to re-read actual type
       Class<?> internalRef = getComplexTypeRef(service, value);
-      res = Proxy.newProxyInstance(
-          Thread.currentThread().getContextClassLoader(),
-          new Class<?>[] { internalRef },
+      res = ProxyUtils.getStructuredProxy(
+          internalRef,
           ComplexInvocationHandler.getInstance(value.asComplex(), internalRef, service));
     } else if (value.isCollection()) {
       final ArrayList<Object> collection = new ArrayList<Object>();
@@ -591,9 +707,8 @@ public final class CoreUtils {
           collection.add(CoreUtils.primitiveValueToObject(itemValue.asPrimitive(), ref));
         } else if (itemValue.isComplex()) {
           Class<?> internalRef = getComplexTypeRef(service, value);
-          final Object collItem = Proxy.newProxyInstance(
-              Thread.currentThread().getContextClassLoader(),
-              new Class<?>[] { internalRef },
+          final Object collItem = ProxyUtils.getStructuredProxy(
+              internalRef,
               ComplexInvocationHandler.getInstance(itemValue.asComplex(), internalRef, service));
 
           collection.add(collItem);
@@ -638,15 +753,7 @@ public final class CoreUtils {
   }
 
   private static String firstValidEntityKey(final Class<?> entityTypeRef) {
-    for (Method method : entityTypeRef.getDeclaredMethods()) {
-      if (method.getAnnotation(Key.class) != null) {
-        final Annotation ann = method.getAnnotation(Property.class);
-        if (ann != null) {
-          return ((Property) ann).name();
-        }
-      }
-    }
-    return null;
+    return ClassMetadata.of(entityTypeRef).getKeyPropertyName();
   }
 
   public static URI getMediaEditLink(final String name, final ClientEntity entity) {
@@ -15,6 +15,9 @@
  */
 package org.apache.olingo.ext.proxy.utils;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Proxy;
 import java.net.URI;
 import java.util.ArrayList;
@@ -28,6 +31,8 @@ import org.apache.olingo.client.api.uri.URIBuilder;
 import org.apache.olingo.ext.proxy.AbstractService;
 import org.apache.olingo.ext.proxy.api.AbstractEntitySet;
 import org.apache.olingo.ext.proxy.api.AbstractSingleton;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
 import org.apache.olingo.ext.proxy.commons.ComplexInvocationHandler;
 import org.apache.olingo.ext.proxy.commons.EntityCollectionInvocationHandler;
 import org.apache.olingo.ext.proxy.commons.EntityInvocationHandler;
@@ -36,6 +41,100 @@ import org.apache.olingo.ext.proxy.commons.InlineEntitySetInvocationHandler;
 
 public class ProxyUtils {
 
+  /**
+   * Suffix of the implementation classes optionally generated for entity and complex type interfaces.
+   */
+  public static final String IMPLEMENTATION_SUFFIX = "Impl";
+
+  /**
+   * Constructors of generated implementations, by type interface; types without generated implementation are
+   * mapped to the constructor of {@link Object}.
+   */
+  private static final ClassCache<Constructor<?>> IMPLEMENTATIONS = new ClassCache<Constructor<?>>();
+
+  private static final Constructor<?> NO_IMPLEMENTATION;
+
+  static {
+    try {
+      NO_IMPLEMENTATION = Object.class.getConstructor();
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Creates the object representing an entity or complex type instance: an instance of the generated implementation
+   * of the given type interface if available, a dynamic proxy otherwise.
+   *
+   * @param typeRef entity or complex type interface
+   * @param handler handler
+   * @return entity or complex type instance
+   */
+  public static Object getStructuredProxy(final Class<?> typeRef, final AbstractStructuredInvocationHandler handler) {
+    final Constructor<?> implementation = getImplementation(typeRef);
+    if (implementation == NO_IMPLEMENTATION) {
+      return Proxy.newProxyInstance(
+          Thread.currentThread().getContextClassLoader(),
+          new Class<?>[] { typeRef },
+          handler);
+    }
+
+    try {
+      return implementation.newInstance(handler);
+    } catch (InstantiationException e) {
+      throw new IllegalStateException(e);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException(e.getTargetException());
+    }
+  }
+
+  private static Constructor<?> getImplementation(final Class<?> typeRef) {
+    Constructor<?> implementation = IMPLEMENTATIONS.get(typeRef);
+    if (implementation == null) {
+      implementation = NO_IMPLEMENTATION;
+      try {
+        final ClassLoader classLoader = typeRef.getClassLoader() == null
+            ? Thread.currentThread().getContextClassLoader()
+            : typeRef.getClassLoader();
+        final Class<?> implRef = Class.forName(typeRef.getName() + IMPLEMENTATION_SUFFIX, true, classLoader);
+        if (typeRef.isAssignableFrom(implRef) && AbstractStructuredTypeImpl.class.isAssignableFrom(implRef)) {
+          implementation = implRef.getConstructor(AbstractStructuredInvocationHandler.class);
+        }
+      } catch (ClassNotFoundException e) {
+        // no generated implementation: use dynamic proxies
+      } catch (NoSuchMethodException e) {
+        // not a generated implementation
+      }
+      implementation = IMPLEMENTATIONS.putIfAbsent(typeRef, implementation);
+    }
+    return implementation;
+  }
+
+  /**
+   * Checks whether the given object is a dynamic proxy or a generated implementation.
+   *
+   * @param obj object
+   * @return <tt>true</tt> if the object is backed by an invocation handler
+   */
+  public static boolean isProxy(final Object obj) {
+    return obj instanceof Proxy || obj instanceof AbstractStructuredTypeImpl;
+  }
+
+  /**
+   * Gets the invocation handler of a dynamic proxy or of a generated implementation.
+   *
+   * @param proxy dynamic proxy or generated implementation
+   * @return invocation handler
+   * @throws IllegalArgumentException if the given object is neither a dynamic proxy nor a generated implementation
+   */
+  public static InvocationHandler getInvocationHandler(final Object proxy) {
+    return proxy instanceof AbstractStructuredTypeImpl
+        ? AbstractStructuredTypeImpl.getInvocationHandler((AbstractStructuredTypeImpl<?>) proxy)
+        : Proxy.getInvocationHandler(proxy);
+  }
+
   @SuppressWarnings({ "unchecked", "rawtypes" })
   public static Object getEntityCollectionProxy(
       final AbstractService<?> service,
@@ -116,10 +215,7 @@ public class ProxyUtils {
       handler.setEntity(entity);
     }
 
-    return Proxy.newProxyInstance(
-            Thread.currentThread().getContextClassLoader(),
-            new Class<?>[] {type},
-            handler);
+    return getStructuredProxy(type, handler);
   }
 
   public static Object getComplexProxy(
@@ -157,8 +253,6 @@ public class ProxyUtils {
 
     complexHandler.setEntityHandler(handler);
 
-    return Proxy.newProxyInstance(
-            Thread.currentThread().getContextClassLoader(),
-            new Class<?>[] {actualRef}, complexHandler);
+    return getStructuredProxy(actualRef, complexHandler);
   }
 }
@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.proxy.commons;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.client.api.EdmEnabledODataClient;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.ext.proxy.AbstractService;
+import org.apache.olingo.ext.proxy.api.AbstractEntitySet;
+import org.apache.olingo.ext.proxy.api.AbstractTerm;
+import org.apache.olingo.ext.proxy.api.PersistenceManager;
+import org.apache.olingo.ext.proxy.api.StructuredCollectionQuery;
+import org.apache.olingo.ext.proxy.api.StructuredQuery;
+import org.apache.olingo.ext.proxy.api.annotations.EntityContainer;
+import org.apache.olingo.ext.proxy.api.annotations.EntitySet;
+import org.apache.olingo.ext.proxy.api.annotations.EntityType;
+import org.apache.olingo.ext.proxy.api.annotations.Key;
+import org.apache.olingo.ext.proxy.api.annotations.Namespace;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.context.EntityCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Checks how entities retrieved by key go through the second-level {@link EntityCache}, against a minimal service
+ * answering conditional requests.
+ */
+public class EntityCacheServiceTest {
+
+  private static final String METADATA = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+      + "<edmx:Edmx Version=\"4.0\" xmlns:edmx=\"http://docs.oasis-open.org/odata/ns/edmx\">"
+      + "<edmx:DataServices><Schema Namespace=\"Test\" xmlns=\"http://docs.oasis-open.org/odata/ns/edm\">"
+      + "<EntityType Name=\"Person\"><Key><PropertyRef Name=\"PersonID\"/></Key>"
+      + "<Property Name=\"PersonID\" Type=\"Edm.Int32\" Nullable=\"false\"/>"
+      + "<Property Name=\"Name\" Type=\"Edm.String\"/></EntityType>"
+      + "<EntityContainer Name=\"Container\"><EntitySet Name=\"People\" EntityType=\"Test.Person\"/>"
+      + "</EntityContainer></Schema></edmx:DataServices></edmx:Edmx>";
+
+  private static final String ETAG = "W/\"1\"";
+
+  @Namespace("Test")
+  @EntityType(name = "Person")
+  public interface Person
+      extends org.apache.olingo.ext.proxy.api.EntityType<Person>, StructuredQuery<Person> {
+
+    @Key
+    @Property(name = "PersonID", type = "Edm.Int32", nullable = false)
+    Integer getPersonID();
+
+    void setPersonID(Integer personID);
+
+    @Property(name = "Name", type = "Edm.String")
+    String getName();
+
+    void setName(String name);
+  }
+
+  public interface PersonCollection extends StructuredCollectionQuery<PersonCollection>,
+      org.apache.olingo.ext.proxy.api.EntityCollection<Person, PersonCollection, PersonCollection> {
+  }
+
+  @EntitySet(name = "People", container = "Test.Container")
+  public interface People extends org.apache.olingo.ext.proxy.api.EntitySet<Person, PersonCollection>,
+      StructuredCollectionQuery<People>, AbstractEntitySet<Person, Integer, PersonCollection> {
+  }
+
+  @Namespace("Test")
+  @EntityContainer(name = "Container", namespace = "Test")
+  public interface Container extends PersistenceManager {
+
+    People getPeople();
+  }
+
+  private static class Service extends AbstractService<EdmEnabledODataClient> {
+
+    Service(final String compressedMetadata, final String serviceRoot) {
+      super(compressedMetadata, null, ODataServiceVersion.V40, serviceRoot, false);
+    }
+
+    @Override
+    public Class<?> getEntityTypeClass(final String name) {
+      return "Test.Person".equals(name) ? Person.class : null;
+    }
+
+    @Override
+    public Class<?> getComplexTypeClass(final String name) {
+      return null;
+    }
+
+    @Override
+    public Class<?> getEnumTypeClass(final String name) {
+      return null;
+    }
+
+    @Override
+    public Class<? extends AbstractTerm> getTermClass(final String name) {
+      return null;
+    }
+  }
+
+  /**
+   * Answers with <tt>304 Not Modified</tt> when the request carries the current ETag; records all requests.
+   */
+  private class PeopleHandler implements HttpHandler {
+
+    @Override
+    public void handle(final HttpExchange exchange) throws IOException {
+      final String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+      requests.add(exchange.getRequestMethod() + (ifNoneMatch == null ? "" : " " + ifNoneMatch));
+
+      if ("PATCH".equals(exchange.getRequestMethod())) {
+        IOUtils.toString(exchange.getRequestBody());
+        name = "Alice";
+        exchange.sendResponseHeaders(204, -1);
+      } else if (ETAG.equals(ifNoneMatch)) {
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        exchange.sendResponseHeaders(304, -1);
+      } else {
+        final byte[] body = ("{\"@odata.context\":\"" + serviceRoot + "/$metadata#People/$entity\","
+            + "\"@odata.type\":\"#Test.Person\",\"@odata.id\":\"" + serviceRoot + "/People(1)\","
+            + "\"@odata.editLink\":\"" + serviceRoot + "/People(1)\","
+            + "\"PersonID\":1,\"Name\":\"" + name + "\"}").getBytes("UTF-8");
+        exchange.getResponseHeaders().add("Content-Type", ContentType.JSON_FULL_METADATA.toContentTypeString());
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        exchange.sendResponseHeaders(200, body.length);
+        final OutputStream out = exchange.getResponseBody();
+        out.write(body);
+        out.close();
+      }
+      exchange.close();
+    }
+  }
+
+  private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+
+  private String name = "Bob";
+
+  private HttpServer server;
+
+  private String serviceRoot;
+
+  private Container container;
+
+  private Service service;
+
+  private static String compress(final String metadata) throws IOException {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    final ObjectOutputStream oos = new ObjectOutputStream(new GZIPOutputStream(baos));
+    try {
+      oos.writeObject(ODataClientFactory.getClient().getDeserializer(ContentType.APPLICATION_XML).
+          toMetadata(new ByteArrayInputStream(metadata.getBytes("UTF-8"))));
+    } finally {
+      oos.close();
+    }
+    return new String(Base64.encodeBase64(baos.toByteArray()), "UTF-8");
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/service/People", new PeopleHandler());
+    server.start();
+    serviceRoot = "http://localhost:" + server.getAddress().getPort() + "/service";
+
+    service = new Service(compress(METADATA), serviceRoot);
+    container = service.getEntityContainer(Container.class);
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  private String loadName() {
+    service.getContext().detachAll();
+    return container.getPeople().getByKey(1).load().getName();
+  }
+
+  @Test
+  public void reuseCachedEntity() {
+    service.setEntityCache(new EntityCache(10, 0, TimeUnit.SECONDS));
+
+    assertEquals("Bob", loadName());
+    assertEquals("Bob", loadName());
+    assertEquals(Collections.singletonList("GET"), requests);
+  }
+
+  @Test
+  public void revalidateExpiredEntity() throws InterruptedException {
+    service.setEntityCache(new EntityCache(10, 500, TimeUnit.MILLISECONDS));
+
+    assertEquals("Bob", loadName());
+    Thread.sleep(600);
+    assertEquals("Bob", loadName());
+    assertEquals(2, requests.size());
+    assertEquals("GET " + ETAG, requests.get(1));
+
+    // the entity answered with 304 has been renewed
+    assertEquals("Bob", loadName());
+    assertEquals(2, requests.size());
+  }
+
+  @Test
+  public void invalidateOnFlush() {
+    final EntityCache cache = new EntityCache(10, 0, TimeUnit.SECONDS);
+    service.setEntityCache(cache);
+
+    service.getContext().detachAll();
+    final Person person = container.getPeople().getByKey(1).load();
+    assertEquals(1, cache.size());
+
+    person.setName("Alice");
+    container.flush();
+    assertEquals(0, cache.size());
+
+    assertEquals("Alice", loadName());
+    assertEquals(3, requests.size());
+    assertEquals("PATCH", requests.get(1));
+    assertEquals("GET", requests.get(2));
+  }
+
+  @Test
+  public void changeCopiesOnly() {
+    final EntityCache cache = new EntityCache(10, 0, TimeUnit.SECONDS);
+    service.setEntityCache(cache);
+
+    service.getContext().detachAll();
+    container.getPeople().getByKey(1).load().setName("Carl");
+    assertEquals("Bob", loadName());
+    assertEquals(1, requests.size());
+  }
+
+  @Test
+  public void noCache() {
+    assertNull(service.getEntityCache());
+    assertEquals("Bob", loadName());
+    assertEquals("Bob", loadName());
+    assertEquals(2, requests.size());
+  }
+}
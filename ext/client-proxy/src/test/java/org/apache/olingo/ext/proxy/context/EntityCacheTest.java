@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.proxy.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.domain.ClientEntity;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.junit.Test;
+
+public class EntityCacheTest {
+
+  private static final ODataClient client = ODataClientFactory.getClient();
+
+  private static final URI PEOPLE = URI.create("http://localhost/service/People");
+
+  private static final URI ORDERS = URI.create("http://localhost/service/Orders");
+
+  private static EntityUUID uuid(final URI entitySetURI, final Object key) {
+    return new EntityUUID(entitySetURI, String.class, key);
+  }
+
+  private static ClientEntity entity() {
+    return client.getObjectFactory().newEntity(new FullQualifiedName("Namespace", "Person"));
+  }
+
+  @Test
+  public void evictLeastRecentlyUsed() {
+    final EntityCache cache = new EntityCache(2, 0, TimeUnit.SECONDS);
+    cache.put(uuid(PEOPLE, 1), entity(), null);
+    cache.put(uuid(PEOPLE, 2), entity(), null);
+    assertNotNull(cache.get(uuid(PEOPLE, 1)));
+
+    cache.put(uuid(PEOPLE, 3), entity(), null);
+    assertEquals(2, cache.size());
+    assertNotNull(cache.get(uuid(PEOPLE, 1)));
+    assertNull(cache.get(uuid(PEOPLE, 2)));
+    assertNotNull(cache.get(uuid(PEOPLE, 3)));
+  }
+
+  @Test
+  public void ignoreEntitiesWithoutKey() {
+    final EntityCache cache = new EntityCache(2, 0, TimeUnit.SECONDS);
+    cache.put(uuid(PEOPLE, null), entity(), null);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void expire() throws InterruptedException {
+    final EntityCache cache = new EntityCache(10, 200, TimeUnit.MILLISECONDS);
+    final ClientEntity tagged = entity();
+    cache.put(uuid(PEOPLE, 1), entity(), null);
+    cache.put(uuid(PEOPLE, 2), tagged, "W/\"1\"");
+    assertFalse(cache.get(uuid(PEOPLE, 1)).isExpired());
+
+    Thread.sleep(300);
+
+    // without ETag there is nothing to revalidate against
+    assertNull(cache.get(uuid(PEOPLE, 1)));
+    // with ETag the expired entry is kept, to be revalidated
+    final EntityCache.Entry entry = cache.get(uuid(PEOPLE, 2));
+    assertNotNull(entry);
+    assertTrue(entry.isExpired());
+    assertSame(tagged, entry.getEntity());
+    assertEquals("W/\"1\"", entry.getETag());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void neverExpire() throws InterruptedException {
+    final EntityCache cache = new EntityCache(10, 0, TimeUnit.MILLISECONDS);
+    cache.put(uuid(PEOPLE, 1), entity(), " ");
+    Thread.sleep(10);
+
+    final EntityCache.Entry entry = cache.get(uuid(PEOPLE, 1));
+    assertFalse(entry.isExpired());
+    assertNull(entry.getETag());
+  }
+
+  @Test
+  public void invalidate() {
+    final EntityCache cache = new EntityCache(10, 0, TimeUnit.SECONDS);
+    cache.put(uuid(PEOPLE, 1), entity(), null);
+    cache.put(uuid(PEOPLE, 2), entity(), null);
+    cache.put(uuid(ORDERS, 1), entity(), null);
+
+    cache.invalidate(uuid(PEOPLE, 1));
+    assertNull(cache.get(uuid(PEOPLE, 1)));
+    assertEquals(2, cache.size());
+
+    cache.invalidate(PEOPLE);
+    assertNull(cache.get(uuid(PEOPLE, 2)));
+    assertNotNull(cache.get(uuid(ORDERS, 1)));
+
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidSize() {
+    new EntityCache(0, 0, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.proxy.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class ClassCacheTest {
+
+  @Test
+  public void putIfAbsent() {
+    final ClassCache<String> cache = new ClassCache<String>();
+    assertNull(cache.get(String.class));
+
+    assertEquals("first", cache.putIfAbsent(String.class, "first"));
+    assertEquals("first", cache.putIfAbsent(String.class, "second"));
+    assertEquals("first", cache.get(String.class));
+    assertNull(cache.get(Integer.class));
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.proxy.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.olingo.ext.proxy.api.annotations.CompoundKeyElement;
+import org.apache.olingo.ext.proxy.api.annotations.Key;
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.junit.Test;
+
+public class ClassMetadataTest {
+
+  public interface Named {
+
+    @Property(name = "Name", type = "Edm.String")
+    String getName();
+
+    Object getValue();
+  }
+
+  public interface Person extends Named {
+
+    @Key
+    @Property(name = "PersonID", type = "Edm.Int32", nullable = false)
+    Integer getPersonID();
+
+    @Override
+    String getValue();
+
+    @NavigationProperty(name = "Parent", type = "Test.Person", targetSchema = "Test", targetContainer = "Container",
+        targetEntitySet = "People")
+    Person getParent();
+
+    void setParent(Person parent);
+  }
+
+  public static class PersonKey {
+
+    @CompoundKeyElement(name = "LastName", position = 1)
+    public String getLastName() {
+      return "Martelli";
+    }
+
+    @CompoundKeyElement(name = "Zip", position = 2)
+    public String getZip() {
+      return "65100";
+    }
+
+    @CompoundKeyElement(name = "FirstName", position = 0)
+    public String getFirstName() {
+      return "Fabio";
+    }
+  }
+
+  public interface Operations {
+
+    String format(int value);
+
+    String format(String value);
+
+    String parse(String value);
+  }
+
+  public static class Formatter {
+
+    public String format(final int value) {
+      return "int";
+    }
+
+    public String format(final String value) {
+      return "string";
+    }
+  }
+
+  @Test
+  public void sameInstance() {
+    assertSame(ClassMetadata.of(Person.class), ClassMetadata.of(Person.class));
+    assertSame(Person.class, ClassMetadata.of(Person.class).getReference());
+  }
+
+  @Test
+  public void inheritedGetters() throws NoSuchMethodException {
+    final ClassMetadata metadata = ClassMetadata.of(Person.class);
+
+    final ClassMetadata.Accessor name = metadata.getGetter("getName");
+    assertNotNull(name);
+    assertEquals(Named.class.getMethod("getName"), name.getMethod());
+    assertEquals("Name", name.getProperty().name());
+    assertNull(name.getNavigationProperty());
+    assertEquals(String.class, name.getGenericReturnType());
+
+    // the most specific declaration wins for covariant return types
+    assertEquals(String.class, metadata.getGetter("getValue").getMethod().getReturnType());
+
+    assertNull(metadata.getGetter("getUnknown"));
+    assertNull(metadata.getGetter("setParent"));
+  }
+
+  @Test
+  public void propertyMapping() {
+    final ClassMetadata metadata = ClassMetadata.of(Person.class);
+
+    assertEquals(new HashSet<String>(Arrays.asList("Name", "PersonID")), metadata.getPropertyNames());
+    assertEquals("PersonID", metadata.getKeyPropertyName());
+    assertNull(ClassMetadata.of(Named.class).getKeyPropertyName());
+
+    final ClassMetadata.Accessor parent = metadata.getGetter("getParent");
+    assertNull(parent.getProperty());
+    assertEquals("Parent", parent.getNavigationProperty().name());
+    assertEquals(Person.class, parent.getGenericReturnType());
+  }
+
+  @Test
+  public void annotatedGetters() throws NoSuchMethodException {
+    final ClassMetadata metadata = ClassMetadata.of(Person.class);
+
+    assertEquals(Named.class.getMethod("getName"), metadata.getAnnotatedGetter(Property.class, "Name"));
+    assertEquals(Person.class.getMethod("getPersonID"), metadata.getAnnotatedGetter(Property.class, "PersonID"));
+    assertEquals(Person.class.getMethod("getParent"), metadata.getAnnotatedGetter(NavigationProperty.class, "Parent"));
+    assertNull(metadata.getAnnotatedGetter(Property.class, "Parent"));
+    assertNull(metadata.getAnnotatedGetter(NavigationProperty.class, "Name"));
+    // annotations without name attribute
+    assertNull(metadata.getAnnotatedGetter(Key.class, "PersonID"));
+  }
+
+  @Test
+  public void compoundKeyElementOrder() {
+    final List<CompoundKeyElementWrapper> elements = ClassMetadata.of(PersonKey.class).getCompoundKeyElements();
+    assertEquals(3, elements.size());
+    assertEquals("FirstName", elements.get(0).getName());
+    assertEquals("LastName", elements.get(1).getName());
+    assertEquals("Zip", elements.get(2).getName());
+    assertEquals(0, elements.get(0).getPosition());
+    assertEquals("getZip", elements.get(2).getMethod().getName());
+
+    assertTrue(ClassMetadata.of(Person.class).getCompoundKeyElements().isEmpty());
+  }
+
+  @Test
+  public void publicMethods() throws Exception {
+    final ClassMetadata metadata = ClassMetadata.of(Formatter.class);
+
+    final Method formatInt = metadata.getPublicMethod(Operations.class.getMethod("format", int.class));
+    assertEquals(Formatter.class.getMethod("format", int.class), formatInt);
+    assertEquals("int", formatInt.invoke(new Formatter(), 1));
+
+    final Method formatString = metadata.getPublicMethod(Operations.class.getMethod("format", String.class));
+    assertEquals(Formatter.class.getMethod("format", String.class), formatString);
+    assertEquals("string", formatString.invoke(new Formatter(), "1"));
+
+    // unmatched methods, also when asked again
+    final Method parse = Operations.class.getMethod("parse", String.class);
+    assertNull(metadata.getPublicMethod(parse));
+    assertNull(metadata.getPublicMethod(parse));
+
+    // inherited public methods
+    assertEquals(Object.class.getMethod("toString"), metadata.getPublicMethod(Object.class.getMethod("toString")));
+  }
+}
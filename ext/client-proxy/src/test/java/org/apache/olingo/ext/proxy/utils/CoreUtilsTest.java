@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.proxy.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.net.URI;
+
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.domain.ClientCollectionValue;
+import org.apache.olingo.client.api.domain.ClientComplexValue;
+import org.apache.olingo.client.api.domain.ClientEntity;
+import org.apache.olingo.client.api.domain.ClientObjectFactory;
+import org.apache.olingo.client.api.domain.ClientValue;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.junit.Test;
+
+public class CoreUtilsTest {
+
+  private static final ODataClient client = ODataClientFactory.getClient();
+
+  @Test
+  public void copyEntity() {
+    final ClientObjectFactory factory = client.getObjectFactory();
+
+    final ClientComplexValue address = factory.newComplexValue("Namespace.Address");
+    address.add(factory.newPrimitiveProperty("City",
+        factory.newPrimitiveValueBuilder().buildString("Rome")));
+    final ClientCollectionValue<ClientValue> emails = factory.newCollectionValue("Collection(Edm.String)");
+    emails.add(factory.newPrimitiveValueBuilder().buildString("a@olingo.org"));
+
+    final ClientEntity source = factory.newEntity(new FullQualifiedName("Namespace", "Person"));
+    source.setId(URI.create("http://localhost/service/People(1)"));
+    source.setETag("W/\"1\"");
+    source.getProperties().add(factory.newPrimitiveProperty("Name",
+        factory.newPrimitiveValueBuilder().buildString("Bob")));
+    source.getProperties().add(factory.newComplexProperty("Address", address));
+    source.getProperties().add(factory.newCollectionProperty("Emails", emails));
+
+    final ClientEntity copy = CoreUtils.copyEntity(client, source);
+    assertEquals(source.getTypeName(), copy.getTypeName());
+    assertEquals(source.getId(), copy.getId());
+    assertEquals(source.getETag(), copy.getETag());
+    assertEquals(3, copy.getProperties().size());
+    assertSame(source.getProperty("Name").getPrimitiveValue(), copy.getProperty("Name").getPrimitiveValue());
+
+    // changing the copy in place must not affect the source
+    final ClientComplexValue copiedAddress = copy.getProperty("Address").getComplexValue();
+    assertNotSame(address, copiedAddress);
+    assertEquals("Rome", copiedAddress.get("City").getPrimitiveValue().toString());
+    copiedAddress.add(factory.newPrimitiveProperty("City",
+        factory.newPrimitiveValueBuilder().buildString("Milan")));
+    assertEquals("Rome", address.get("City").getPrimitiveValue().toString());
+
+    final ClientCollectionValue<ClientValue> copiedEmails = copy.getProperty("Emails").getCollectionValue();
+    assertNotSame(emails, copiedEmails);
+    copiedEmails.add(factory.newPrimitiveValueBuilder().buildString("b@olingo.org"));
+    assertEquals(2, copiedEmails.size());
+    assertEquals(1, emails.size());
+
+    copy.getProperties().clear();
+    assertEquals(3, source.getProperties().size());
+  }
+}
@@ -54,6 +54,7 @@ import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.EdmEnumType;
 import org.apache.olingo.commons.api.edm.EdmSchema;
+import org.apache.olingo.commons.api.edm.EdmStructuredType;
 import org.apache.olingo.commons.api.edm.EdmTerm;
 import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.velocity.Template;
@@ -88,6 +89,13 @@ public abstract class AbstractPOJOGenMojo extends AbstractMojo {
   @Parameter(property = "basePackage", required = false)
   protected String basePackage;
 
+  /**
+   * Whether to generate, besides the interfaces, implementation classes for entity and complex types: when available,
+   * these are used by the proxy layer instead of dynamic proxies.
+   */
+  @Parameter(property = "generateImplementations", defaultValue = "false")
+  protected boolean generateImplementations;
+
   protected final Set<String> namespaces = new HashSet<String>();
 
   protected static String TOOL_DIR = "ojc-plugin";
@@ -192,6 +200,13 @@ public abstract class AbstractPOJOGenMojo extends AbstractMojo {
     writeFile(out, base, ctx, template, append);
   }
 
+  protected void parseImplementation(final File base, final String pkg, final EdmStructuredType structuredType,
+      final String className) throws MojoExecutionException {
+
+    parseObj(base, pkg, "structuredTypeImpl", className + "Impl.java",
+        Collections.<String, Object> singletonMap("structuredType", structuredType));
+  }
+
   protected abstract void createUtility(Edm edm, EdmSchema schema, String basePackage);
 
   protected abstract AbstractUtility getUtility();
@@ -304,6 +319,9 @@ public abstract class AbstractPOJOGenMojo extends AbstractMojo {
                   "complexCollection", className + "Collection.java", objs);
           parseObj(typesBaseDir, typesPkg, 
                   "complexCollectionComposableInvoker", className + "CollectionComposableInvoker.java", objs);
+          if (generateImplementations) {
+            parseImplementation(typesBaseDir, typesPkg, complex, className);
+          }
         }
 
         for (EdmEntityType entity : schema.getEntityTypes()) {
@@ -348,6 +366,9 @@ public abstract class AbstractPOJOGenMojo extends AbstractMojo {
                   "entityCollection", className + "Collection.java", objs);
           parseObj(typesBaseDir, typesPkg, 
                   "entityCollectionComposableInvoker", className + "CollectionComposableInvoker.java", objs);
+          if (generateImplementations) {
+            parseImplementation(typesBaseDir, typesPkg, entity, className);
+          }
         }
 
         // write container and top entity sets into the base package
@@ -182,6 +182,23 @@ public abstract class AbstractUtility {
     return false;
   }
 
+  /**
+   * Gets the type declaring the given navigation property, i.e. the top-most type of the hierarchy of the given type
+   * which has the navigation property.
+   *
+   * @param type structured type
+   * @param property navigation property of the given type
+   * @return declaring type
+   */
+  public EdmStructuredType getDeclaringType(final EdmStructuredType type, final EdmNavigationProperty property) {
+    EdmStructuredType declaringType = type;
+    while (declaringType.getBaseType() != null
+            && declaringType.getBaseType().getNavigationProperty(property.getName()) != null) {
+      declaringType = declaringType.getBaseType();
+    }
+    return declaringType;
+  }
+
   public String getContainedEntitySet(final EdmNavigationProperty navProp) {
     return (StringUtils.isBlank(basePackage)
             ? new StringBuilder() : new StringBuilder().append(basePackage).append('.')).
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.sql;
+
+/**
+ * Column of the result of an SQL query, read into the primitive property of the same position.
+ */
+final class SqlColumn {
+
+  private final String propertyName;
+  private final String typeName;
+
+  SqlColumn(final String propertyName, final String typeName) {
+    this.propertyName = propertyName;
+    this.typeName = typeName;
+  }
+
+  String getPropertyName() {
+    return propertyName;
+  }
+
+  /** Gets the full-qualified name of the property type, or <code>null</code> if it is not known. */
+  String getTypeName() {
+    return typeName;
+  }
+}
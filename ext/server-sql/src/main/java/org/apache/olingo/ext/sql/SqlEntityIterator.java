@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.sql;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityIterator;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.serializer.SerializerException;
+import org.apache.olingo.server.api.uri.UriHelper;
+
+/**
+ * Entities read row by row from the result set of a {@link SqlQuery}.
+ * <br/>
+ * The statement is closed as soon as the last row has been read, or by {@link #close()}.
+ */
+public class SqlEntityIterator extends EntityIterator implements Closeable {
+
+  private final Statement statement;
+  private final ResultSet resultSet;
+  private final EdmEntitySet entitySet;
+  private final List<SqlColumn> columns;
+  private final String entityTypeName;
+  private final UriHelper uriHelper;
+  private Boolean hasNext;
+
+  SqlEntityIterator(final Statement statement, final ResultSet resultSet, final EdmEntitySet entitySet,
+      final List<SqlColumn> columns) {
+    this.statement = statement;
+    this.resultSet = resultSet;
+    this.entitySet = entitySet;
+    this.columns = columns;
+    entityTypeName = entitySet == null ? null :
+        entitySet.getEntityType().getFullQualifiedName().getFullQualifiedNameAsString();
+    uriHelper = entitySet == null ? null : OData.newInstance().createUriHelper();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (hasNext == null) {
+      try {
+        hasNext = resultSet.next();
+      } catch (final SQLException e) {
+        close();
+        throw new ODataRuntimeException("Reading the next row failed.", e);
+      }
+      if (!hasNext) {
+        close();
+      }
+    }
+    return hasNext;
+  }
+
+  @Override
+  public Entity next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    hasNext = null;
+    final Entity entity = new Entity();
+    try {
+      for (int index = 0; index < columns.size(); index++) {
+        final SqlColumn column = columns.get(index);
+        entity.addProperty(new Property(column.getTypeName(), column.getPropertyName(), ValueType.PRIMITIVE,
+            resultSet.getObject(index + 1)));
+      }
+    } catch (final SQLException e) {
+      close();
+      throw new ODataRuntimeException("Reading the row failed.", e);
+    }
+    if (entitySet != null) {
+      entity.setType(entityTypeName);
+      try {
+        entity.setId(URI.create(uriHelper.buildCanonicalURL(entitySet, entity)));
+      } catch (final SerializerException e) {
+        throw new ODataRuntimeException("Building the entity ID failed.", e);
+      }
+    }
+    return entity;
+  }
+
+  /**
+   * Closes the underlying statement and result set.
+   * Further calls of {@link #hasNext()} return <code>false</code>.
+   */
+  @Override
+  public void close() {
+    hasNext = false;
+    try {
+      statement.close();
+    } catch (final SQLException e) {
+      throw new ODataRuntimeException("Closing the statement failed.", e);
+    }
+  }
+}
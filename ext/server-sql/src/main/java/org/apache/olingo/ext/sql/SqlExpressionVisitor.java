@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.sql;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.olingo.commons.api.Constants;
+import org.apache.olingo.commons.api.edm.EdmEnumType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.EdmType;
+import org.apache.olingo.commons.api.edm.constants.EdmTypeKind;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourcePrimitiveProperty;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitor;
+import org.apache.olingo.server.api.uri.queryoption.expression.Literal;
+import org.apache.olingo.server.api.uri.queryoption.expression.Member;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.UnaryOperatorKind;
+
+/**
+ * Translates an expression into an SQL expression over the columns of a mapped table.
+ * <br/>
+ * Literals become parameters. An {@link ExpressionVisitException} is thrown for anything
+ * without a portable SQL counterpart; the expression then has to be evaluated by the application.
+ */
+class SqlExpressionVisitor implements ExpressionVisitor<SqlFragment> {
+
+  /** Escape character for LIKE patterns; chosen because it has no special meaning in any string literal syntax. */
+  static final char LIKE_ESCAPE = '!';
+
+  private final TableMapping table;
+  private final Set<String> allowedProperties;
+
+  /**
+   * @param table mapping of the table the expression is evaluated against
+   * @param allowedProperties names of the properties that can be referenced,
+   * or <code>null</code> if all mapped properties can
+   */
+  SqlExpressionVisitor(final TableMapping table, final Set<String> allowedProperties) {
+    this.table = table;
+    this.allowedProperties = allowedProperties;
+  }
+
+  @Override
+  public SqlFragment visitBinaryOperator(final BinaryOperatorKind operator, final SqlFragment left,
+      final SqlFragment right) throws ExpressionVisitException {
+    switch (operator) {
+    case AND:
+      return SqlFragment.compose("({0} AND {1})", EdmPrimitiveTypeKind.Boolean, left, right);
+    case OR:
+      return SqlFragment.compose("({0} OR {1})", EdmPrimitiveTypeKind.Boolean, left, right);
+    case EQ:
+    case NE:
+      if (left.isNullLiteral() || right.isNullLiteral()) {
+        if (left.isNullLiteral() && right.isNullLiteral()) {
+          return SqlFragment.of(operator == BinaryOperatorKind.EQ ? "(1 = 1)" : "(1 = 0)",
+              EdmPrimitiveTypeKind.Boolean);
+        }
+        return SqlFragment.compose(operator == BinaryOperatorKind.EQ ? "({0} IS NULL)" : "({0} IS NOT NULL)",
+            EdmPrimitiveTypeKind.Boolean, left.isNullLiteral() ? right : left).notNullable();
+      }
+      return comparison(operator == BinaryOperatorKind.EQ ? "=" : "<>", left, right);
+    case GT:
+      return comparison(">", left, right);
+    case GE:
+      return comparison(">=", left, right);
+    case LT:
+      return comparison("<", left, right);
+    case LE:
+      return comparison("<=", left, right);
+    case ADD:
+      return arithmetic("({0} + {1})", left, right);
+    case SUB:
+      return arithmetic("({0} - {1})", left, right);
+    case MUL:
+      return arithmetic("({0} * {1})", left, right);
+    case DIV:
+      return arithmetic("({0} / {1})", left, right);
+    case MOD:
+      return arithmetic("MOD({0}, {1})", left, right);
+    default:
+      throw unsupported("operator '" + operator.toString() + "'");
+    }
+  }
+
+  /**
+   * Compares two values as OData does. SQL comparisons with NULL are unknown, which a negation keeps unknown;
+   * in OData they are false, except that null equals null, and not equals any other value.
+   * So comparisons of values that may be null get explicit null checks, making them true or false in any case.
+   */
+  private SqlFragment comparison(final String operator, final SqlFragment left, final SqlFragment right)
+      throws ExpressionVisitException {
+    if (left.isNullLiteral() || right.isNullLiteral()) {
+      throw unsupported("comparison with null");
+    }
+    final boolean both = left.isNullable() && right.isNullable();
+    final String nullable = left.isNullable() ? "{0}" : "{1}";
+    final String template;
+    if (!left.isNullable() && !right.isNullable()) {
+      template = "({0} " + operator + " {1})";
+    } else if ("=".equals(operator)) {
+      template = both ?
+          "({0} = {1} AND {0} IS NOT NULL AND {1} IS NOT NULL OR {0} IS NULL AND {1} IS NULL)" :
+          "({0} = {1} AND " + nullable + " IS NOT NULL)";
+    } else if ("<>".equals(operator)) {
+      template = both ?
+          "(({0} <> {1} OR {0} IS NULL OR {1} IS NULL) AND NOT ({0} IS NULL AND {1} IS NULL))" :
+          "({0} <> {1} OR " + nullable + " IS NULL)";
+    } else {
+      template = both ?
+          "({0} " + operator + " {1} AND {0} IS NOT NULL AND {1} IS NOT NULL)" :
+          "({0} " + operator + " {1} AND " + nullable + " IS NOT NULL)";
+    }
+    return SqlFragment.compose(template, EdmPrimitiveTypeKind.Boolean, left, right).notNullable();
+  }
+
+  private SqlFragment arithmetic(final String template, final SqlFragment left, final SqlFragment right)
+      throws ExpressionVisitException {
+    if (!isNumeric(left.getKind()) || !isNumeric(right.getKind())) {
+      throw unsupported("arithmetic on non-numeric values");
+    }
+    return SqlFragment.compose(template, left.getKind(), left, right);
+  }
+
+  private static boolean isNumeric(final EdmPrimitiveTypeKind kind) {
+    return kind == EdmPrimitiveTypeKind.Byte || kind == EdmPrimitiveTypeKind.SByte
+        || kind == EdmPrimitiveTypeKind.Int16 || kind == EdmPrimitiveTypeKind.Int32
+        || kind == EdmPrimitiveTypeKind.Int64 || kind == EdmPrimitiveTypeKind.Decimal
+        || kind == EdmPrimitiveTypeKind.Single || kind == EdmPrimitiveTypeKind.Double;
+  }
+
+  @Override
+  public SqlFragment visitUnaryOperator(final UnaryOperatorKind operator, final SqlFragment operand)
+      throws ExpressionVisitException {
+    switch (operator) {
+    case NOT:
+      // Comparisons are never unknown, see comparison(); other conditions may be unknown only where
+      // their OData value is null, which the negation keeps null as in OData.
+      return SqlFragment.compose("(NOT {0})", EdmPrimitiveTypeKind.Boolean, operand);
+    case MINUS:
+      if (!isNumeric(operand.getKind())) {
+        throw unsupported("negation of non-numeric values");
+      }
+      return SqlFragment.compose("(- {0})", operand.getKind(), operand);
+    default:
+      throw unsupported("operator '" + operator.toString() + "'");
+    }
+  }
+
+  @Override
+  public SqlFragment visitMethodCall(final MethodKind methodCall, final List<SqlFragment> parameters)
+      throws ExpressionVisitException {
+    switch (methodCall) {
+    case CONTAINS:
+      return like(parameters, "%", "%");
+    case STARTSWITH:
+      return like(parameters, "", "%");
+    case ENDSWITH:
+      return like(parameters, "%", "");
+    case TOLOWER:
+      return SqlFragment.compose("LOWER({0})", EdmPrimitiveTypeKind.String, parameters.get(0));
+    case TOUPPER:
+      return SqlFragment.compose("UPPER({0})", EdmPrimitiveTypeKind.String, parameters.get(0));
+    case TRIM:
+      return SqlFragment.compose("TRIM({0})", EdmPrimitiveTypeKind.String, parameters.get(0));
+    case LENGTH:
+      return SqlFragment.compose("CHAR_LENGTH({0})", EdmPrimitiveTypeKind.Int32, parameters.get(0));
+    case CONCAT:
+      return SqlFragment.compose("({0} || {1})", EdmPrimitiveTypeKind.String, parameters.get(0), parameters.get(1));
+    case INDEXOF:
+      // OData counts from zero, SQL from one.
+      return SqlFragment.compose("(POSITION({1} IN {0}) - 1)", EdmPrimitiveTypeKind.Int32,
+          parameters.get(0), parameters.get(1));
+    case SUBSTRING:
+      return parameters.size() == 2 ?
+          SqlFragment.compose("SUBSTRING({0} FROM {1} + 1)", EdmPrimitiveTypeKind.String,
+              parameters.get(0), parameters.get(1)) :
+          SqlFragment.compose("SUBSTRING({0} FROM {1} + 1 FOR {2})", EdmPrimitiveTypeKind.String,
+              parameters.get(0), parameters.get(1), parameters.get(2));
+    case YEAR:
+      return extract("YEAR", parameters.get(0));
+    case MONTH:
+      return extract("MONTH", parameters.get(0));
+    case DAY:
+      return extract("DAY", parameters.get(0));
+    case HOUR:
+      return extract("HOUR", parameters.get(0));
+    case MINUTE:
+      return extract("MINUTE", parameters.get(0));
+    case ROUND:
+      return SqlFragment.compose("ROUND({0})", parameters.get(0).getKind(), parameters.get(0));
+    case FLOOR:
+      return SqlFragment.compose("FLOOR({0})", parameters.get(0).getKind(), parameters.get(0));
+    case CEILING:
+      return SqlFragment.compose("CEILING({0})", parameters.get(0).getKind(), parameters.get(0));
+    default:
+      throw unsupported("method '" + methodCall.toString() + "'");
+    }
+  }
+
+  private SqlFragment like(final List<SqlFragment> parameters, final String prefix, final String suffix)
+      throws ExpressionVisitException {
+    final SqlFragment pattern = parameters.get(1);
+    if (!pattern.isLiteral() || pattern.isNullLiteral()) {
+      throw unsupported("pattern that is not a string literal");
+    }
+    return SqlFragment.compose("({0} LIKE {1} ESCAPE '" + LIKE_ESCAPE + "')", EdmPrimitiveTypeKind.Boolean,
+        parameters.get(0),
+        SqlFragment.literal(prefix + escapeLike(pattern.getValue().toString()) + suffix, EdmPrimitiveTypeKind.String));
+  }
+
+  /** Escapes the characters with special meaning in LIKE patterns. */
+  static String escapeLike(final String value) {
+    StringBuilder result = null;
+    for (int index = 0; index < value.length(); index++) {
+      final char c = value.charAt(index);
+      if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+        if (result == null) {
+          result = new StringBuilder(value.length() + 8).append(value, 0, index);
+        }
+        result.append(LIKE_ESCAPE);
+      }
+      if (result != null) {
+        result.append(c);
+      }
+    }
+    return result == null ? value : result.toString();
+  }
+
+  private SqlFragment extract(final String field, final SqlFragment value) {
+    return SqlFragment.compose("EXTRACT(" + field + " FROM {0})", EdmPrimitiveTypeKind.Int32, value);
+  }
+
+  @Override
+  public SqlFragment visitLiteral(final Literal literal) throws ExpressionVisitException {
+    final EdmType type = literal.getType();
+    if (type == null) {
+      return SqlFragment.literal(null, null);
+    } else if (type.getKind() != EdmTypeKind.PRIMITIVE) {
+      throw unsupported("literal of type " + type.getFullQualifiedName().getFullQualifiedNameAsString());
+    }
+    final EdmPrimitiveType primitiveType = (EdmPrimitiveType) type;
+    final EdmPrimitiveTypeKind kind = EdmPrimitiveTypeKind.valueOfFQN(type.getFullQualifiedName());
+    try {
+      final String value = primitiveType.fromUriLiteral(literal.getText());
+      switch (kind) {
+      case Date:
+        return SqlFragment.literal(Date.valueOf(value), kind);
+      case TimeOfDay:
+        return SqlFragment.literal(Time.valueOf(value), kind);
+      case Duration:
+      case Stream:
+        throw unsupported("literal of type " + kind.toString());
+      default:
+        if (kind.isGeospatial()) {
+          throw unsupported("literal of type " + kind.toString());
+        }
+        return SqlFragment.literal(
+            primitiveType.valueOfString(value, null, null, Constants.DEFAULT_PRECISION, Constants.DEFAULT_SCALE, null,
+                primitiveType.getDefaultType()),
+            kind);
+      }
+    } catch (final EdmPrimitiveTypeException e) {
+      throw new ExpressionVisitException("Invalid literal '" + literal.getText() + "'.", e);
+    } catch (final IllegalArgumentException e) {
+      // Fractional seconds have no JDBC escape format.
+      throw unsupported("literal '" + literal.getText() + "'");
+    }
+  }
+
+  @Override
+  public SqlFragment visitMember(final Member member) throws ExpressionVisitException {
+    final List<UriResource> parts = member.getResourcePath().getUriResourceParts();
+    if (member.getStartTypeFilter() != null || parts.size() != 1
+        || !(parts.get(0) instanceof UriResourcePrimitiveProperty)) {
+      throw unsupported("member expression other than a primitive property");
+    }
+    final EdmProperty property = ((UriResourcePrimitiveProperty) parts.get(0)).getProperty();
+    final String column = table.getColumnName(property.getName());
+    if (property.isCollection() || column == null
+        || allowedProperties != null && !allowedProperties.contains(property.getName())) {
+      throw unsupported("property '" + property.getName() + "'");
+    }
+    return SqlFragment.of(column, property.getType().getKind() == EdmTypeKind.PRIMITIVE ?
+        EdmPrimitiveTypeKind.valueOfFQN(property.getType().getFullQualifiedName()) : null,
+        property.isNullable());
+  }
+
+  @Override
+  public SqlFragment visitLambdaExpression(final String lambdaFunction, final String lambdaVariable,
+      final Expression expression) throws ExpressionVisitException {
+    throw unsupported("lambda expression");
+  }
+
+  @Override
+  public SqlFragment visitAlias(final String aliasName) throws ExpressionVisitException {
+    throw unsupported("alias '" + aliasName + "'");
+  }
+
+  @Override
+  public SqlFragment visitTypeLiteral(final EdmType type) throws ExpressionVisitException {
+    throw unsupported("type literal");
+  }
+
+  @Override
+  public SqlFragment visitLambdaReference(final String variableName) throws ExpressionVisitException {
+    throw unsupported("lambda reference");
+  }
+
+  @Override
+  public SqlFragment visitEnum(final EdmEnumType type, final List<String> enumValues)
+      throws ExpressionVisitException, ODataApplicationException {
+    throw unsupported("enumeration value");
+  }
+
+  private static ExpressionVisitException unsupported(final String what) {
+    return new ExpressionVisitException("Unsupported " + what + ".");
+  }
+}
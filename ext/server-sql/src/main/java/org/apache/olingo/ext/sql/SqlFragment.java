@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+
+/**
+ * Part of an SQL statement together with the values of its parameters, in order of appearance.
+ */
+final class SqlFragment {
+
+  private final String sql;
+  private final List<Object> parameters;
+  private final EdmPrimitiveTypeKind kind;
+  private final boolean literal;
+  private final boolean nullable;
+
+  private SqlFragment(final String sql, final List<Object> parameters, final EdmPrimitiveTypeKind kind,
+      final boolean literal, final boolean nullable) {
+    this.sql = sql;
+    this.parameters = parameters;
+    this.kind = kind;
+    this.literal = literal;
+    this.nullable = nullable;
+  }
+
+  /** Creates a fragment without parameters whose value is never null, e.g., a key column reference. */
+  static SqlFragment of(final String sql, final EdmPrimitiveTypeKind kind) {
+    return of(sql, kind, false);
+  }
+
+  /** Creates a fragment without parameters, e.g., a column reference. */
+  static SqlFragment of(final String sql, final EdmPrimitiveTypeKind kind, final boolean nullable) {
+    return new SqlFragment(sql, Collections.<Object> emptyList(), kind, false, nullable);
+  }
+
+  /** Creates a parameter marker for a literal value; <code>null</code> is written as SQL NULL. */
+  static SqlFragment literal(final Object value, final EdmPrimitiveTypeKind kind) {
+    return value == null ?
+        new SqlFragment("NULL", Collections.<Object> emptyList(), null, true, true) :
+        new SqlFragment("?", Collections.<Object> singletonList(value), kind, true, false);
+  }
+
+  /**
+   * Creates a fragment by filling the placeholders <code>{0}</code>, <code>{1}</code>, ...
+   * of the given template with the given fragments; the parameters are collected in template order.
+   * The result may be null if any of the fragments may be.
+   */
+  static SqlFragment compose(final String template, final EdmPrimitiveTypeKind kind, final SqlFragment... parts) {
+    final StringBuilder sql = new StringBuilder(template.length() + 16 * parts.length);
+    final List<Object> parameters = new ArrayList<Object>();
+    boolean nullable = false;
+    for (final SqlFragment part : parts) {
+      nullable |= part.nullable;
+    }
+    int start = 0;
+    int open = template.indexOf('{');
+    while (open >= 0) {
+      final int close = template.indexOf('}', open);
+      final SqlFragment part = parts[Integer.parseInt(template.substring(open + 1, close))];
+      sql.append(template, start, open).append(part.sql);
+      parameters.addAll(part.parameters);
+      start = close + 1;
+      open = template.indexOf('{', start);
+    }
+    sql.append(template, start, template.length());
+    return new SqlFragment(sql.toString(), parameters, kind, false, nullable);
+  }
+
+  /** Returns this fragment marked as never being null, e.g., for a condition that cannot be unknown. */
+  SqlFragment notNullable() {
+    return nullable ? new SqlFragment(sql, parameters, kind, literal, false) : this;
+  }
+
+  String getSql() {
+    return sql;
+  }
+
+  List<Object> getParameters() {
+    return parameters;
+  }
+
+  /** Gets the primitive type kind of the value, or <code>null</code> if not known. */
+  EdmPrimitiveTypeKind getKind() {
+    return kind;
+  }
+
+  boolean isLiteral() {
+    return literal;
+  }
+
+  /**
+   * Tells whether the value may be null; for a condition, whether it may be unknown
+   * in SQL's three-valued logic.
+   */
+  boolean isNullable() {
+    return nullable;
+  }
+
+  boolean isNullLiteral() {
+    return literal && parameters.isEmpty();
+  }
+
+  /** Gets the value of a literal. */
+  Object getValue() {
+    return parameters.isEmpty() ? null : parameters.get(0);
+  }
+}
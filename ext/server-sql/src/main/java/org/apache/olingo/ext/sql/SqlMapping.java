@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+
+/**
+ * Mapping of entity sets to database tables.
+ * <br/>
+ * Entity sets are identified by name, so a mapping can be set up once and be used with any
+ * {@link org.apache.olingo.commons.api.edm.Edm Edm} instance of the service.
+ */
+public class SqlMapping {
+
+  private final Map<String, TableMapping> tables = new HashMap<String, TableMapping>();
+
+  /**
+   * Maps an entity set to a table.
+   * @param entitySetName name of the entity set
+   * @param tableName name of the table, used as-is in SQL statements
+   * @return the table mapping, to map the properties of the entity type to columns
+   */
+  public TableMapping table(final String entitySetName, final String tableName) {
+    final TableMapping table = new TableMapping(tableName);
+    tables.put(entitySetName, table);
+    return table;
+  }
+
+  /**
+   * Gets the table mapping of an entity set.
+   * @param entitySet entity set
+   * @return the table mapping, or <code>null</code> if the entity set is not mapped
+   */
+  public TableMapping getTable(final EdmEntitySet entitySet) {
+    return tables.get(entitySet.getName());
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind;
+
+/**
+ * Parameterized SQL query for a request, as created by {@link SqlQueryTranslator}.
+ * <br/>
+ * The query covers the system query options that could be pushed down; the ones in
+ * {@link #getUnsupportedOptions()} still have to be applied by the application to the entities read.
+ */
+public class SqlQuery {
+
+  private final String sql;
+  private final List<Object> parameters;
+  private final Set<SystemQueryOptionKind> unsupportedOptions;
+  private final EdmEntitySet entitySet;
+  private final List<SqlColumn> columns;
+  private final boolean aggregated;
+
+  SqlQuery(final String sql, final List<Object> parameters, final Set<SystemQueryOptionKind> unsupportedOptions,
+      final EdmEntitySet entitySet, final List<SqlColumn> columns, final boolean aggregated) {
+    this.sql = sql;
+    this.parameters = Collections.unmodifiableList(parameters);
+    this.unsupportedOptions = Collections.unmodifiableSet(unsupportedOptions);
+    this.entitySet = entitySet;
+    this.columns = columns;
+    this.aggregated = aggregated;
+  }
+
+  /** Gets the SQL statement, with a parameter marker for every literal value. */
+  public String getSql() {
+    return sql;
+  }
+
+  /** Gets the values of the parameters of the statement, in order. */
+  public List<Object> getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Gets the system query options present in the request that the query does not cover.
+   * If $filter or $search are among them, $top and $skip are as well, since they apply to the filtered result.
+   */
+  public Set<SystemQueryOptionKind> getUnsupportedOptions() {
+    return unsupportedOptions;
+  }
+
+  /**
+   * Whether the query covers an $apply aggregation. The entities read then consist of the grouping properties
+   * and the aggregated values, named by their aliases; they have neither a type nor an ID.
+   */
+  public boolean isAggregated() {
+    return aggregated;
+  }
+
+  /**
+   * Executes the query.
+   * <br/>
+   * The entities are read from the result set while iterating; the returned iterator has to be closed
+   * if it is not consumed completely.
+   * @param connection database connection
+   * @return iterator over the entities read
+   * @throws SQLException if the statement cannot be executed
+   */
+  public SqlEntityIterator execute(final Connection connection) throws SQLException {
+    final PreparedStatement statement = connection.prepareStatement(sql);
+    boolean executed = false;
+    try {
+      for (int index = 0; index < parameters.size(); index++) {
+        statement.setObject(index + 1, parameters.get(index));
+      }
+      final SqlEntityIterator iterator =
+          new SqlEntityIterator(statement, statement.executeQuery(), aggregated ? null : entitySet, columns);
+      executed = true;
+      return iterator;
+    } finally {
+      if (!executed) {
+        statement.close();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return sql + " " + parameters;
+  }
+}
@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.sql;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.constants.EdmTypeKind;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfoResource;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceCount;
+import org.apache.olingo.server.api.uri.UriResourcePrimitiveProperty;
+import org.apache.olingo.server.api.uri.queryoption.ApplyItem;
+import org.apache.olingo.server.api.uri.queryoption.ApplyOption;
+import org.apache.olingo.server.api.uri.queryoption.OrderByItem;
+import org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind;
+import org.apache.olingo.server.api.uri.queryoption.apply.Aggregate;
+import org.apache.olingo.server.api.uri.queryoption.apply.AggregateExpression;
+import org.apache.olingo.server.api.uri.queryoption.apply.GroupBy;
+import org.apache.olingo.server.api.uri.queryoption.apply.GroupByItem;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
+import org.apache.olingo.server.api.uri.queryoption.search.SearchBinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.search.SearchExpression;
+import org.apache.olingo.server.api.uri.queryoption.search.SearchUnaryOperatorKind;
+
+/**
+ * Translates the system query options of a request on an entity set into a parameterized SQL query
+ * on the table the entity set is mapped to.
+ * <br/>
+ * Supported are $filter, $search, $orderby, $top, $skip, and $apply with a single <code>aggregate</code>
+ * or <code>groupby</code> transformation (optionally with a nested <code>aggregate</code>) over mapped properties.
+ * Options that cannot be translated are reported by {@link SqlQuery#getUnsupportedOptions()};
+ * options that depend on them are reported as well, so that the application can evaluate all of them
+ * in memory, in the order the specification prescribes, on the entities read.
+ * <br/>
+ * The generated SQL follows the SQL:2008 standard; override {@link #appendPaging(StringBuilder, List, Integer,
+ * Integer)} for databases without <code>OFFSET</code> and <code>FETCH FIRST</code> clauses.
+ */
+public class SqlQueryTranslator {
+
+  private static final String DECIMAL = EdmPrimitiveTypeKind.Decimal.getFullQualifiedName()
+      .getFullQualifiedNameAsString();
+
+  private final SqlMapping mapping;
+
+  public SqlQueryTranslator(final SqlMapping mapping) {
+    this.mapping = mapping;
+  }
+
+  /**
+   * Translates the system query options of a request.
+   * @param entitySet the entity set the request is on
+   * @param uriInfo the parsed request URI
+   * @return the query
+   * @throws ODataApplicationException if the application's visitor hooks throw it
+   * @throws IllegalArgumentException if the entity set or its key properties are not mapped
+   */
+  public SqlQuery translate(final EdmEntitySet entitySet, final UriInfoResource uriInfo)
+      throws ODataApplicationException {
+    final TableMapping table = mapping.getTable(entitySet);
+    if (table == null) {
+      throw new IllegalArgumentException("Entity set '" + entitySet.getName() + "' is not mapped.");
+    }
+    final Set<SystemQueryOptionKind> unsupported = EnumSet.noneOf(SystemQueryOptionKind.class);
+    final List<SqlFragment> select = new ArrayList<SqlFragment>();
+    final List<SqlColumn> columns = new ArrayList<SqlColumn>();
+    final List<SqlFragment> groupBy = new ArrayList<SqlFragment>();
+    Set<String> groupingProperties = null;
+
+    // All other options apply to the result of $apply, so nothing can be pushed down without it.
+    boolean blocked = false;
+    final ApplyOption apply = uriInfo.getApplyOption();
+    if (apply != null) {
+      groupingProperties = new HashSet<String>();
+      if (!aggregate(apply, table, select, columns, groupBy, groupingProperties)) {
+        select.clear();
+        columns.clear();
+        groupBy.clear();
+        groupingProperties = null;
+        unsupported.add(SystemQueryOptionKind.APPLY);
+        blocked = true;
+      }
+    }
+    final boolean aggregated = apply != null && !blocked;
+    if (!aggregated) {
+      selectProperties(entitySet.getEntityType(), table, select, columns);
+    }
+
+    final SqlExpressionVisitor visitor = new SqlExpressionVisitor(table, groupingProperties);
+    // Whether the rows read are all rows $orderby, $top, and $skip have to be applied to.
+    boolean complete = !blocked;
+    SqlFragment where = null;
+    if (uriInfo.getFilterOption() != null) {
+      final SqlFragment condition = blocked || aggregated ? null :
+          translate(uriInfo.getFilterOption().getExpression(), visitor);
+      if (condition == null) {
+        unsupported.add(SystemQueryOptionKind.FILTER);
+        complete = false;
+      } else {
+        where = condition;
+      }
+    }
+    if (uriInfo.getSearchOption() != null) {
+      final SqlFragment condition = blocked || aggregated || table.getSearchColumns().isEmpty() ? null :
+          search(uriInfo.getSearchOption().getSearchExpression(), table.getSearchColumns());
+      if (condition == null) {
+        unsupported.add(SystemQueryOptionKind.SEARCH);
+        complete = false;
+      } else {
+        where = where == null ? condition : SqlFragment.compose("({0} AND {1})", null, where, condition);
+      }
+    }
+
+    final List<SqlFragment> orderBy = new ArrayList<SqlFragment>();
+    if (uriInfo.getOrderByOption() != null) {
+      for (final OrderByItem item : uriInfo.getOrderByOption().getOrders()) {
+        final SqlFragment value = blocked ? null : translate(item.getExpression(), visitor);
+        if (value == null) {
+          unsupported.add(SystemQueryOptionKind.ORDERBY);
+          orderBy.clear();
+          complete = false;
+          break;
+        }
+        orderBy.add(item.isDescending() ? SqlFragment.compose("{0} DESC", null, value) : value);
+      }
+    }
+
+    final Integer skip = uriInfo.getSkipOption() == null ? null : uriInfo.getSkipOption().getValue();
+    final Integer top = uriInfo.getTopOption() == null ? null : uriInfo.getTopOption().getValue();
+    if (!complete) {
+      if (skip != null) {
+        unsupported.add(SystemQueryOptionKind.SKIP);
+      }
+      if (top != null) {
+        unsupported.add(SystemQueryOptionKind.TOP);
+      }
+    } else if (skip != null || top != null) {
+      // Paging is only deterministic on a total order, so the rows are ordered by their keys last.
+      addUniqueOrder(orderBy, aggregated ? groupBy : getKeyColumns(entitySet.getEntityType(), table));
+    }
+
+    final StringBuilder sql = new StringBuilder("SELECT ");
+    final List<Object> parameters = new ArrayList<Object>();
+    append(sql, parameters, select);
+    sql.append(" FROM ").append(table.getTableName());
+    if (where != null) {
+      sql.append(" WHERE ");
+      append(sql, parameters, where);
+    }
+    if (!groupBy.isEmpty()) {
+      sql.append(" GROUP BY ");
+      append(sql, parameters, groupBy);
+    }
+    if (!orderBy.isEmpty()) {
+      sql.append(" ORDER BY ");
+      append(sql, parameters, orderBy);
+    }
+    if (complete && (skip != null || top != null)) {
+      appendPaging(sql, parameters, skip, top);
+    }
+    return new SqlQuery(sql.toString(), parameters, unsupported, entitySet, columns, aggregated);
+  }
+
+  /**
+   * Appends the clauses restricting the result to the given range of rows.
+   * @param sql the statement so far
+   * @param parameters the parameters of the statement so far, to add parameters to
+   * @param skip number of rows to skip, or <code>null</code>
+   * @param top maximum number of rows, or <code>null</code>
+   */
+  protected void appendPaging(final StringBuilder sql, final List<Object> parameters,
+      final Integer skip, final Integer top) {
+    if (skip != null) {
+      sql.append(" OFFSET ? ROWS");
+      parameters.add(skip);
+    }
+    if (top != null) {
+      sql.append(" FETCH FIRST ? ROWS ONLY");
+      parameters.add(top);
+    }
+  }
+
+  private List<SqlFragment> getKeyColumns(final EdmEntityType entityType, final TableMapping table) {
+    final List<SqlFragment> keyColumns = new ArrayList<SqlFragment>();
+    for (final String keyName : entityType.getKeyPredicateNames()) {
+      keyColumns.add(SqlFragment.of(table.getColumnName(keyName), null));
+    }
+    return keyColumns;
+  }
+
+  private void addUniqueOrder(final List<SqlFragment> orderBy, final List<SqlFragment> uniqueColumns) {
+    final Set<String> ordered = new HashSet<String>();
+    for (final SqlFragment item : orderBy) {
+      ordered.add(item.getSql());
+    }
+    for (final SqlFragment column : uniqueColumns) {
+      if (!ordered.contains(column.getSql()) && !ordered.contains(column.getSql() + " DESC")) {
+        orderBy.add(column);
+      }
+    }
+  }
+
+  private void selectProperties(final EdmEntityType entityType, final TableMapping table,
+      final List<SqlFragment> select, final List<SqlColumn> columns) {
+    for (final String keyName : entityType.getKeyPredicateNames()) {
+      if (table.getColumnName(keyName) == null) {
+        throw new IllegalArgumentException("Key property '" + keyName + "' is not mapped.");
+      }
+    }
+    for (final String propertyName : entityType.getPropertyNames()) {
+      final EdmProperty property = entityType.getStructuralProperty(propertyName);
+      final String column = table.getColumnName(propertyName);
+      if (column != null && property.getType().getKind() == EdmTypeKind.PRIMITIVE && !property.isCollection()) {
+        select.add(SqlFragment.of(column, null));
+        columns.add(new SqlColumn(propertyName, property.getType().getFullQualifiedName()
+            .getFullQualifiedNameAsString()));
+      }
+    }
+  }
+
+  private boolean aggregate(final ApplyOption apply, final TableMapping table,
+      final List<SqlFragment> select, final List<SqlColumn> columns, final List<SqlFragment> groupBy,
+      final Set<String> groupingProperties) throws ODataApplicationException {
+    if (apply.getApplyItems().size() != 1) {
+      return false;
+    }
+    final ApplyItem item = apply.getApplyItems().get(0);
+    Aggregate aggregate = null;
+    if (item.getKind() == ApplyItem.Kind.GROUP_BY) {
+      for (final GroupByItem groupByItem : ((GroupBy) item).getGroupByItems()) {
+        final EdmProperty property = getPrimitiveProperty(groupByItem.getPath());
+        final String column = property == null ? null : table.getColumnName(property.getName());
+        if (column == null || groupByItem.isRollupAll() || !groupByItem.getRollup().isEmpty()) {
+          return false;
+        }
+        final SqlFragment value = SqlFragment.of(column, null);
+        select.add(value);
+        groupBy.add(value);
+        columns.add(new SqlColumn(property.getName(),
+            property.getType().getFullQualifiedName().getFullQualifiedNameAsString()));
+        groupingProperties.add(property.getName());
+      }
+      final ApplyOption nested = ((GroupBy) item).getApplyOption();
+      if (nested != null) {
+        if (nested.getApplyItems().size() != 1
+            || nested.getApplyItems().get(0).getKind() != ApplyItem.Kind.AGGREGATE) {
+          return false;
+        }
+        aggregate = (Aggregate) nested.getApplyItems().get(0);
+      }
+    } else if (item.getKind() == ApplyItem.Kind.AGGREGATE) {
+      aggregate = (Aggregate) item;
+    } else {
+      return false;
+    }
+
+    if (aggregate != null) {
+      final SqlExpressionVisitor visitor = new SqlExpressionVisitor(table, null);
+      for (final AggregateExpression expression : aggregate.getExpressions()) {
+        if (expression.getAlias() == null || expression.getCustomMethod() != null
+            || expression.getInlineAggregateExpression() != null || !expression.getFrom().isEmpty()) {
+          return false;
+        }
+        String typeName = DECIMAL;
+        if (expression.getExpression() == null) {
+          if (expression.getPath().size() != 1 || !(expression.getPath().get(0) instanceof UriResourceCount)) {
+            return false;
+          }
+          select.add(SqlFragment.of("COUNT(*)", null));
+        } else {
+          final SqlFragment value = translate(expression.getExpression(), visitor);
+          if (value == null) {
+            return false;
+          }
+          switch (expression.getStandardMethod()) {
+          case SUM:
+            select.add(SqlFragment.compose("SUM({0})", null, value));
+            break;
+          case AVERAGE:
+            select.add(SqlFragment.compose("AVG({0})", null, value));
+            break;
+          case COUNT_DISTINCT:
+            select.add(SqlFragment.compose("COUNT(DISTINCT {0})", null, value));
+            break;
+          case MIN:
+          case MAX:
+            if (value.getKind() == null) {
+              return false;
+            }
+            select.add(SqlFragment.compose(expression.getStandardMethod().name() + "({0})", null, value));
+            typeName = value.getKind().getFullQualifiedName().getFullQualifiedNameAsString();
+            break;
+          default:
+            return false;
+          }
+        }
+        columns.add(new SqlColumn(expression.getAlias(), typeName));
+      }
+    }
+    return true;
+  }
+
+  private EdmProperty getPrimitiveProperty(final List<UriResource> path) {
+    return path.size() == 1 && path.get(0) instanceof UriResourcePrimitiveProperty
+        && !((UriResourcePrimitiveProperty) path.get(0)).getProperty().isCollection() ?
+        ((UriResourcePrimitiveProperty) path.get(0)).getProperty() :
+        null;
+  }
+
+  private SqlFragment search(final SearchExpression expression, final List<String> searchColumns) {
+    if (expression.isSearchTerm()) {
+      final SqlFragment pattern = SqlFragment.literal(
+          "%" + SqlExpressionVisitor.escapeLike(expression.asSearchTerm().getSearchTerm().toLowerCase(Locale.ROOT))
+              + "%",
+          EdmPrimitiveTypeKind.String);
+      SqlFragment result = null;
+      for (final String column : searchColumns) {
+        final SqlFragment condition = SqlFragment.compose(
+            "(LOWER(COALESCE({0}, '')) LIKE {1} ESCAPE '" + SqlExpressionVisitor.LIKE_ESCAPE + "')", null,
+            SqlFragment.of(column, null), pattern);
+        result = result == null ? condition : SqlFragment.compose("({0} OR {1})", null, result, condition);
+      }
+      return result;
+    } else if (expression.isSearchBinary()) {
+      return SqlFragment.compose(
+          expression.asSearchBinary().getOperator() == SearchBinaryOperatorKind.AND ?
+              "({0} AND {1})" : "({0} OR {1})",
+          null,
+          search(expression.asSearchBinary().getLeftOperand(), searchColumns),
+          search(expression.asSearchBinary().getRightOperand(), searchColumns));
+    } else if (expression.isSearchUnary()
+        && expression.asSearchUnary().getOperator() == SearchUnaryOperatorKind.NOT) {
+      return SqlFragment.compose("(NOT {0})", null, search(expression.asSearchUnary().getOperand(), searchColumns));
+    } else {
+      return null;
+    }
+  }
+
+  private SqlFragment translate(final Expression expression, final SqlExpressionVisitor visitor)
+      throws ODataApplicationException {
+    try {
+      return expression.accept(visitor);
+    } catch (final ExpressionVisitException e) {
+      return null;
+    }
+  }
+
+  private void append(final StringBuilder sql, final List<Object> parameters, final List<SqlFragment> fragments) {
+    boolean first = true;
+    for (final SqlFragment fragment : fragments) {
+      if (!first) {
+        sql.append(", ");
+      }
+      first = false;
+      append(sql, parameters, fragment);
+    }
+  }
+
+  private void append(final StringBuilder sql, final List<Object> parameters, final SqlFragment fragment) {
+    sql.append(fragment.getSql());
+    parameters.addAll(fragment.getParameters());
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapping of the primitive properties of an entity type to the columns of a table.
+ * <br/>
+ * Properties that are not mapped are neither read nor usable in pushed-down expressions.
+ */
+public class TableMapping {
+
+  private final String tableName;
+  private final Map<String, String> columns = new HashMap<String, String>();
+  private final List<String> searchColumns = new ArrayList<String>();
+
+  TableMapping(final String tableName) {
+    this.tableName = tableName;
+  }
+
+  /**
+   * Maps a primitive, single-valued property to a column.
+   * @param propertyName name of the property
+   * @param columnName name of the column, used as-is in SQL statements
+   * @return this table mapping
+   */
+  public TableMapping column(final String propertyName, final String columnName) {
+    columns.put(propertyName, columnName);
+    return this;
+  }
+
+  /**
+   * Declares the columns of mapped properties as the ones a $search is evaluated against;
+   * a term matches if any of them contains it, ignoring case.
+   * Without searchable columns, $search is not pushed down.
+   * @param propertyNames names of mapped properties of type Edm.String
+   * @return this table mapping
+   */
+  public TableMapping searchable(final String... propertyNames) {
+    for (final String propertyName : propertyNames) {
+      final String column = columns.get(propertyName);
+      if (column == null) {
+        throw new IllegalArgumentException("Property '" + propertyName + "' is not mapped.");
+      }
+      searchColumns.add(column);
+    }
+    return this;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  /**
+   * Gets the column of a property.
+   * @param propertyName name of the property
+   * @return name of the column, or <code>null</code> if the property is not mapped
+   */
+  public String getColumnName(final String propertyName) {
+    return columns.get(propertyName);
+  }
+
+  public List<String> getSearchColumns() {
+    return Collections.unmodifiableList(searchColumns);
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.ext.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind;
+import org.apache.olingo.server.core.uri.parser.Parser;
+import org.apache.olingo.server.tecsvc.provider.EdmTechProvider;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SqlQueryTranslatorTest {
+
+  private static final OData odata = OData.newInstance();
+  private static final Edm edm = odata.createServiceMetadata(
+      new EdmTechProvider(), Collections.<EdmxReference> emptyList()).getEdm();
+  private static final EdmEntitySet entitySet = edm.getEntityContainer().getEntitySet("ESAllPrim");
+
+  private static Connection connection;
+  private static SqlQueryTranslator translator;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    connection = DriverManager.getConnection("jdbc:h2:mem:");
+    final Statement statement = connection.createStatement();
+    statement.execute("CREATE TABLE ALL_PRIM (ID SMALLINT PRIMARY KEY, NAME VARCHAR(100),"
+        + " FLAG BOOLEAN, AMOUNT INT, START_DATE DATE)");
+    statement.execute("INSERT INTO ALL_PRIM VALUES (1, 'First', TRUE, 10, DATE '2012-12-03'),"
+        + " (2, 'Second', FALSE, 20, DATE '2013-01-01'), (3, 'Third 100%', TRUE, 30, DATE '2013-06-15'),"
+        + " (4, NULL, FALSE, 40, NULL)");
+    statement.close();
+
+    final SqlMapping mapping = new SqlMapping();
+    mapping.table("ESAllPrim", "ALL_PRIM")
+        .column("PropertyInt16", "ID")
+        .column("PropertyString", "NAME")
+        .column("PropertyBoolean", "FLAG")
+        .column("PropertyInt32", "AMOUNT")
+        .column("PropertyDate", "START_DATE")
+        .searchable("PropertyString");
+    translator = new SqlQueryTranslator(mapping);
+  }
+
+  @AfterClass
+  public static void tearDown() throws Exception {
+    connection.close();
+  }
+
+  @Test
+  public void filter() throws Exception {
+    final SqlQuery query = translate("$filter=PropertyInt32 gt 10 and startswith(PropertyString,'T')");
+    assertEquals("SELECT ID, NAME, FLAG, AMOUNT, START_DATE FROM ALL_PRIM"
+        + " WHERE ((AMOUNT > ? AND AMOUNT IS NOT NULL) AND (NAME LIKE ? ESCAPE '!'))", query.getSql());
+    assertEquals(Arrays.<Object> asList((byte) 10, "T%"), query.getParameters());
+    assertTrue(query.getUnsupportedOptions().isEmpty());
+    assertEquals(Arrays.asList(3), readKeys(query));
+  }
+
+  @Test
+  public void filterNull() throws Exception {
+    final SqlQuery query = translate("$filter=PropertyString eq null or PropertyDate lt 2013-01-01");
+    assertEquals(" WHERE ((NAME IS NULL) OR (START_DATE < ? AND START_DATE IS NOT NULL))", where(query));
+    assertEquals(Arrays.asList(1, 4), readKeys(query));
+  }
+
+  @Test
+  public void filterNotEqualsNull() throws Exception {
+    SqlQuery query = translate("$filter=PropertyString ne 'First'");
+    assertEquals(" WHERE (NAME <> ? OR NAME IS NULL)", where(query));
+    assertEquals(Arrays.asList(2, 3, 4), readKeys(query));
+
+    query = translate("$filter=PropertyString eq PropertyString");
+    assertEquals(Arrays.asList(1, 2, 3, 4), readKeys(query));
+    query = translate("$filter=PropertyString ne PropertyString");
+    assertEquals(Collections.emptyList(), readKeys(query));
+    query = translate("$filter=PropertyString ne PropertyString or PropertyInt16 eq 4");
+    assertEquals(Arrays.asList(4), readKeys(query));
+  }
+
+  @Test
+  public void filterNotNull() throws Exception {
+    // Comparisons with null are false, so their negations are true.
+    SqlQuery query = translate("$filter=not (PropertyDate lt 2013-01-01)");
+    assertEquals(Arrays.asList(2, 3, 4), readKeys(query));
+    query = translate("$filter=not (PropertyString eq 'First')");
+    assertEquals(Arrays.asList(2, 3, 4), readKeys(query));
+    query = translate("$filter=not (PropertyString ne PropertyString)");
+    assertEquals(Arrays.asList(1, 2, 3, 4), readKeys(query));
+
+    // Methods on null are null, and so are their negations.
+    query = translate("$filter=not contains(PropertyString,'d')");
+    assertEquals(Arrays.asList(1), readKeys(query));
+  }
+
+  @Test
+  public void filterEscapesLikePattern() throws Exception {
+    final SqlQuery query = translate("$filter=contains(PropertyString,'0%25')");
+    assertEquals(Arrays.<Object> asList("%0!%%"), query.getParameters());
+    assertEquals(Arrays.asList(3), readKeys(query));
+  }
+
+  @Test
+  public void filterArithmetic() throws Exception {
+    final SqlQuery query = translate("$filter=PropertyInt32 mod 20 eq 0 and length(PropertyString) ge 6");
+    assertEquals(" WHERE ((MOD(AMOUNT, ?) = ? AND MOD(AMOUNT, ?) IS NOT NULL)"
+        + " AND (CHAR_LENGTH(NAME) >= ? AND CHAR_LENGTH(NAME) IS NOT NULL))", where(query));
+    assertEquals(Arrays.asList(2), readKeys(query));
+  }
+
+  @Test
+  public void search() throws Exception {
+    final SqlQuery query = translate("$search=first OR third");
+    assertEquals(Arrays.<Object> asList("%first%", "%third%"), query.getParameters());
+    assertEquals(Arrays.asList(1, 3), readKeys(query));
+  }
+
+  @Test
+  public void orderByAndPaging() throws Exception {
+    final SqlQuery query = translate("$orderby=PropertyInt32 desc&$skip=1&$top=2");
+    assertEquals("SELECT ID, NAME, FLAG, AMOUNT, START_DATE FROM ALL_PRIM"
+        + " ORDER BY AMOUNT DESC, ID OFFSET ? ROWS FETCH FIRST ? ROWS ONLY", query.getSql());
+    assertEquals(Arrays.<Object> asList(1, 2), query.getParameters());
+    assertEquals(Arrays.asList(3, 2), readKeys(query));
+  }
+
+  @Test
+  public void pagingOrdersByKey() throws Exception {
+    SqlQuery query = translate("$skip=1&$top=2");
+    assertEquals("SELECT ID, NAME, FLAG, AMOUNT, START_DATE FROM ALL_PRIM"
+        + " ORDER BY ID OFFSET ? ROWS FETCH FIRST ? ROWS ONLY", query.getSql());
+    assertEquals(Arrays.asList(2, 3), readKeys(query));
+
+    query = translate("$orderby=PropertyInt16 desc&$top=1");
+    assertEquals("SELECT ID, NAME, FLAG, AMOUNT, START_DATE FROM ALL_PRIM"
+        + " ORDER BY ID DESC FETCH FIRST ? ROWS ONLY", query.getSql());
+
+    query = translate("$apply=groupby((PropertyBoolean))&$skip=1");
+    assertEquals("SELECT FLAG FROM ALL_PRIM GROUP BY FLAG ORDER BY FLAG OFFSET ? ROWS", query.getSql());
+  }
+
+  @Test
+  public void unsupportedFilterKeepsPaging() throws Exception {
+    // PropertyDuration is not mapped, so the application has to filter and page.
+    final SqlQuery query = translate("$filter=PropertyDuration eq duration'P1D'&$orderby=PropertyInt16&$top=1");
+    assertEquals(EnumSet.of(SystemQueryOptionKind.FILTER, SystemQueryOptionKind.TOP),
+        query.getUnsupportedOptions());
+    assertEquals("SELECT ID, NAME, FLAG, AMOUNT, START_DATE FROM ALL_PRIM ORDER BY ID", query.getSql());
+    assertEquals(Arrays.asList(1, 2, 3, 4), readKeys(query));
+  }
+
+  @Test
+  public void aggregate() throws Exception {
+    final SqlQuery query = translate(
+        "$apply=groupby((PropertyBoolean),aggregate(PropertyInt32 with sum as Total))&$orderby=PropertyBoolean");
+    assertTrue(query.isAggregated());
+    assertTrue(query.getUnsupportedOptions().isEmpty());
+    assertEquals("SELECT FLAG, SUM(AMOUNT) FROM ALL_PRIM GROUP BY FLAG ORDER BY FLAG", query.getSql());
+
+    final SqlEntityIterator iterator = query.execute(connection);
+    final Entity falseGroup = iterator.next();
+    assertEquals(false, falseGroup.getProperty("PropertyBoolean").getValue());
+    assertEquals(60, ((Number) falseGroup.getProperty("Total").getValue()).intValue());
+    assertEquals("Edm.Decimal", falseGroup.getProperty("Total").getType());
+    assertEquals(new BigDecimal(40),
+        new BigDecimal(iterator.next().getProperty("Total").getValue().toString()));
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void unsupportedApply() throws Exception {
+    final SqlQuery query = translate("$apply=identity&$filter=PropertyInt32 gt 10&$skip=1");
+    assertFalse(query.isAggregated());
+    assertEquals(EnumSet.of(SystemQueryOptionKind.APPLY, SystemQueryOptionKind.FILTER, SystemQueryOptionKind.SKIP),
+        query.getUnsupportedOptions());
+    assertEquals("SELECT ID, NAME, FLAG, AMOUNT, START_DATE FROM ALL_PRIM", query.getSql());
+  }
+
+  @Test
+  public void entities() throws Exception {
+    final SqlEntityIterator iterator = translate("$filter=PropertyInt16 eq 1").execute(connection);
+    final Entity entity = iterator.next();
+    assertEquals("ESAllPrim(1)", entity.getId().toASCIIString());
+    assertEquals("olingo.odata.test1.ETAllPrim", entity.getType());
+    assertEquals("First", entity.getProperty("PropertyString").getValue());
+    assertEquals(5, entity.getProperties().size());
+    assertFalse(iterator.hasNext());
+  }
+
+  private SqlQuery translate(final String query) throws Exception {
+    return translator.translate(entitySet, new Parser(edm, odata).parseUri("ESAllPrim", query, null, null));
+  }
+
+  private String where(final SqlQuery query) {
+    return query.getSql().substring(query.getSql().indexOf(" WHERE "));
+  }
+
+  private List<Integer> readKeys(final SqlQuery query) throws Exception {
+    List<Integer> keys = new ArrayList<Integer>();
+    final SqlEntityIterator iterator = query.execute(connection);
+    try {
+      while (iterator.hasNext()) {
+        keys.add(((Number) iterator.next().getProperty("PropertyInt16").getValue()).intValue());
+      }
+    } finally {
+      iterator.close();
+    }
+    return keys;
+  }
+}
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy;
+
+// CHECKSTYLE:OFF (Maven checkstyle)
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.olingo.client.api.EdmEnabledODataClient;
+import org.apache.olingo.client.core.http.DefaultHttpClientFactory;
+import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.ext.proxy.api.ODataFlushException;
+import org.apache.olingo.ext.proxy.api.PrimitiveCollection;
+import org.apache.olingo.ext.proxy.commons.EntityInvocationHandler;
+import org.apache.olingo.ext.proxy.utils.ProxyUtils;
+import org.apache.olingo.fit.proxy.staticservice.Service;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.InMemoryEntities;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Customer;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Order;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.OrderCollection;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Person;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+// CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Checks non-transactional flushes sent as batch requests, made of dependency-grouped changesets.
+ */
+public class BatchFlushTestITCase extends AbstractTestITCase {
+
+  /**
+   * Records the <tt>$batch</tt> requests sent.
+   */
+  private static class BatchCountingHttpClientFactory extends DefaultHttpClientFactory {
+
+    private final List<URI> batches = Collections.synchronizedList(new ArrayList<URI>());
+
+    @Override
+    public DefaultHttpClient create(final HttpMethod method, final URI uri) {
+      if (uri.getPath().endsWith("/$batch")) {
+        batches.add(uri);
+      }
+      return super.create(method, uri);
+    }
+  }
+
+  private static String compressedMetadata;
+
+  private Service<EdmEnabledODataClient> batchService;
+
+  private InMemoryEntities batchContainer;
+
+  private BatchCountingHttpClientFactory httpClientFactory;
+
+  @BeforeClass
+  public static void compressMetadata() throws IOException {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    final ObjectOutputStream oos = new ObjectOutputStream(new GZIPOutputStream(baos));
+    try {
+      oos.writeObject(service.getClient().getRetrieveRequestFactory().
+          getXMLMetadataRequest(testStaticServiceRootURL).execute().getBody());
+    } finally {
+      oos.close();
+    }
+    compressedMetadata = new String(Base64.encodeBase64(baos.toByteArray()), "UTF-8");
+  }
+
+  @Before
+  public void setUpBatchService() {
+    // Service.getV4() caches services by root URL, regardless of them being transactional
+    batchService = new Service<EdmEnabledODataClient>(
+        compressedMetadata, null, ODataServiceVersion.V40, testStaticServiceRootURL, false);
+    batchService.getClient().getConfiguration().setDefaultBatchAcceptFormat(ContentType.APPLICATION_OCTET_STREAM);
+    httpClientFactory = new BatchCountingHttpClientFactory();
+    batchService.getClient().getConfiguration().setHttpClientFactory(httpClientFactory);
+    batchContainer = batchService.getEntityContainer(InMemoryEntities.class);
+  }
+
+  @After
+  public void detachAll() {
+    batchService.getContext().detachAll();
+  }
+
+  private Order newOrder(final int id) {
+    final Order order = batchContainer.newEntityInstance(Order.class);
+    order.setOrderID(id);
+
+    final Calendar orderDate = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+    orderDate.clear();
+    orderDate.set(2011, 3, 4, 16, 3, 57);
+    order.setOrderDate(new Timestamp(orderDate.getTimeInMillis()));
+    order.setShelfLife(BigDecimal.TEN);
+
+    final PrimitiveCollection<BigDecimal> shelfLifes = batchContainer.newPrimitiveCollection(BigDecimal.class);
+    shelfLifes.add(BigDecimal.TEN);
+    order.setOrderShelfLifes(shelfLifes);
+    return order;
+  }
+
+  private Customer newCustomer(final int id) {
+    final Customer customer = batchContainer.newEntityInstance(Customer.class);
+    customer.setPersonID(id);
+    customer.setFirstName("Fabio");
+    customer.setLastName("Martelli");
+    customer.setCity("Pescara");
+
+    final PrimitiveCollection<String> emails = batchContainer.newPrimitiveCollection(String.class);
+    emails.add("fabio.martelli@tirasa.net");
+    customer.setEmails(emails);
+
+    final PrimitiveCollection<String> numbers = batchContainer.newPrimitiveCollection(String.class);
+    numbers.add("3204725072");
+    customer.setNumbers(numbers);
+    return customer;
+  }
+
+  /**
+   * Adds a new order with its new customer, linked both ways: all of their changes refer to each other.
+   */
+  private void addOrderWithCustomer(final int id) {
+    final Order order = newOrder(id);
+    final Customer customer = newCustomer(id);
+
+    final OrderCollection orders = batchContainer.newEntityCollection(OrderCollection.class);
+    orders.add(order);
+    customer.setOrders(orders);
+    order.setCustomerForOrder(customer);
+
+    batchContainer.getOrders().add(order);
+  }
+
+  private void checkAndDeleteOrderWithCustomer(final int id) {
+    batchService.getContext().detachAll();
+
+    final Order order = batchContainer.getOrders().getByKey(id).load();
+    assertEquals(id, order.getCustomerForOrder().load().getPersonID(), 0);
+
+    batchContainer.getOrders().delete(id);
+    batchContainer.getCustomers().delete(id);
+    batchContainer.flush();
+  }
+
+  @Test
+  public void dependentChangesShareChangeset() {
+    batchService.setFlushBatchSize(1);
+
+    addOrderWithCustomer(301);
+    batchContainer.flush();
+    assertEquals(1, httpClientFactory.batches.size());
+
+    checkAndDeleteOrderWithCustomer(301);
+  }
+
+  @Test
+  public void referencesAcrossChangesets() {
+    batchService.setFlushBatchSize(2);
+
+    // two independent groups, each one filling a changeset: Content-IDs restart in the second changeset
+    addOrderWithCustomer(302);
+    addOrderWithCustomer(303);
+    batchContainer.flush();
+    assertEquals(2, httpClientFactory.batches.size());
+
+    checkAndDeleteOrderWithCustomer(302);
+    checkAndDeleteOrderWithCustomer(303);
+  }
+
+  @Test
+  public void independentChangesSplit() {
+    batchService.setFlushBatchSize(1);
+
+    batchContainer.getCustomers().add(newCustomer(304));
+    batchContainer.getCustomers().add(newCustomer(305));
+    batchContainer.flush();
+    assertEquals(2, httpClientFactory.batches.size());
+
+    batchService.getContext().detachAll();
+    assertNotNull(readCustomer(batchContainer, 304));
+    assertNotNull(readCustomer(batchContainer, 305));
+
+    batchContainer.getCustomers().delete(304);
+    batchContainer.getCustomers().delete(305);
+    batchContainer.flush();
+  }
+
+  @Test
+  public void failureInConcurrentBatch() {
+    batchService.setFlushBatchSize(1);
+    batchService.setConcurrentFlush(true);
+
+    // no key: rejected by the service
+    final Person person = batchContainer.newEntityInstance(Person.class);
+    batchContainer.getPeople().add(person);
+
+    final Customer customer = newCustomer(306);
+    batchContainer.getCustomers().add(customer);
+
+    try {
+      batchContainer.flush();
+      fail();
+    } catch (ODataFlushException e) {
+      assertEquals(1, e.getErrors().size());
+      assertEquals(0, e.getErrors().get(0).getIndex());
+      assertNotNull(e.getErrors().get(0).getRequest());
+    }
+    assertEquals(2, httpClientFactory.batches.size());
+
+    // only what failed is still to be flushed
+    assertTrue(batchService.getContext().entityContext().isAttached(
+        (EntityInvocationHandler) ProxyUtils.getInvocationHandler(person)));
+    assertFalse(batchService.getContext().entityContext().isAttached(
+        (EntityInvocationHandler) ProxyUtils.getInvocationHandler(customer)));
+
+    batchService.getContext().detachAll();
+    assertNotNull(readCustomer(batchContainer, 306));
+    batchContainer.getCustomers().delete(306);
+    batchContainer.flush();
+  }
+}
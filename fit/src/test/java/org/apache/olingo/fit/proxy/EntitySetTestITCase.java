@@ -19,9 +19,17 @@
 package org.apache.olingo.fit.proxy;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
 
 import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Customer;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.IsBoss;
 import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Person;
 import org.junit.Assert;
 import org.junit.Test;
@@ -73,4 +81,71 @@ public class EntitySetTestITCase extends AbstractTestITCase {
     }
     assertEquals(count + 1, iterating);
   }
+
+  @Test
+  public void readOnlyIteratorRejectsChanges() throws IOException {
+    service.getContext().detachAll();
+
+    Person found = null;
+    final Iterator<Person> iterator = container.getPeople().readOnlyIterator();
+    while (found == null && iterator.hasNext()) {
+      final Person person = iterator.next();
+      if (person.getPersonID() == 1) {
+        found = person;
+      }
+    }
+    ((Closeable) iterator).close();
+    assertNotNull(found);
+    assertNotNull(found.getHomeAddress());
+
+    final Person person = found;
+    assertReadOnly(new Runnable() {
+      @Override
+      public void run() {
+        person.setFirstName("Changed");
+      }
+    });
+    assertReadOnly(new Runnable() {
+      @Override
+      public void run() {
+        person.getHomeAddress().setCity("Changed");
+      }
+    });
+    assertReadOnly(new Runnable() {
+      @Override
+      public void run() {
+        person.setParent(person);
+      }
+    });
+    assertReadOnly(new Runnable() {
+      @Override
+      public void run() {
+        person.addAnnotation(IsBoss.class, true);
+      }
+    });
+    assertReadOnly(new Runnable() {
+      @Override
+      public void run() {
+        person.annotations().getFirstNameAnnotations().addAnnotation(IsBoss.class, true);
+      }
+    });
+    assertReadOnly(new Runnable() {
+      @Override
+      public void run() {
+        container.getPeople().delete(person);
+      }
+    });
+
+    assertFalse(service.getContext().entityContext().iterator().hasNext());
+    assertEquals("Bob", person.getFirstName());
+  }
+
+  private void assertReadOnly(final Runnable change) {
+    try {
+      change.run();
+      fail("Read-only entity changed");
+    } catch (final IllegalStateException e) {
+      assertTrue(e.getMessage().startsWith("Read-only entity"));
+    }
+  }
 }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy;
+
+// CHECKSTYLE:OFF (Maven checkstyle)
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+
+import org.apache.olingo.ext.proxy.api.PrimitiveCollection;
+import org.apache.olingo.ext.proxy.commons.ComplexInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.EntityInvocationHandler;
+import org.apache.olingo.ext.proxy.utils.ProxyUtils;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Address;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Customer;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.CustomerImpl;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.HomeAddress;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.HomeAddressImpl;
+import org.junit.After;
+import org.junit.Test;
+// CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Checks the implementations generated for entity and complex types, used instead of dynamic proxies.
+ */
+public class GeneratedImplementationTestITCase extends AbstractTestITCase {
+
+  @After
+  public void detachAll() {
+    service.getContext().detachAll();
+  }
+
+  @Test
+  public void newInstances() {
+    final Customer customer = container.newEntityInstance(Customer.class);
+    assertTrue(customer instanceof CustomerImpl);
+    assertFalse(customer instanceof Proxy);
+    assertTrue(ProxyUtils.isProxy(customer));
+    assertTrue(ProxyUtils.getInvocationHandler(customer) instanceof EntityInvocationHandler);
+
+    final HomeAddress address = container.newComplexInstance(HomeAddress.class);
+    assertTrue(address instanceof HomeAddressImpl);
+    assertTrue(ProxyUtils.isProxy(address));
+    assertTrue(ProxyUtils.getInvocationHandler(address) instanceof ComplexInvocationHandler);
+
+    assertFalse(ProxyUtils.isProxy(new Object()));
+  }
+
+  @Test
+  public void roundTrip() {
+    final Customer customer = container.newEntityInstance(Customer.class);
+    assertNull(customer.getFirstName());
+
+    customer.setPersonID(977);
+    customer.setFirstName("Fabio");
+    customer.setCity("Pescara");
+    assertEquals(977, customer.getPersonID(), 0);
+    assertEquals("Fabio", customer.getFirstName());
+    assertEquals("Pescara", customer.getCity());
+
+    final PrimitiveCollection<String> emails = container.newPrimitiveCollection(String.class);
+    emails.add("fabio.martelli@tirasa.net");
+    customer.setEmails(emails);
+    assertEquals(1, customer.getEmails().size());
+    assertEquals("fabio.martelli@tirasa.net", customer.getEmails().iterator().next());
+
+    final HomeAddress address = container.newComplexInstance(HomeAddress.class);
+    address.setCity("Pescara");
+    address.setFamilyName("Martelli");
+    customer.setHomeAddress(address);
+    assertEquals("Pescara", customer.getHomeAddress().getCity());
+    assertEquals("Martelli", ((HomeAddress) customer.getHomeAddress()).getFamilyName());
+
+    final EntityInvocationHandler handler = (EntityInvocationHandler) ProxyUtils.getInvocationHandler(customer);
+    assertEquals("Fabio", handler.getPropertyChanges().get("FirstName"));
+  }
+
+  @Test
+  public void retrieved() {
+    final Customer customer = readCustomer(container, 1);
+    assertTrue(customer instanceof CustomerImpl);
+    assertEquals("Bob", customer.getFirstName());
+    assertEquals("London", customer.getCity());
+
+    final Address address = customer.getHomeAddress();
+    assertNotNull(address);
+    assertTrue(ProxyUtils.isProxy(address));
+
+    final EntityInvocationHandler handler = (EntityInvocationHandler) ProxyUtils.getInvocationHandler(customer);
+    assertFalse(handler.isChanged());
+    customer.setFirstName("Robert");
+    assertEquals("Robert", customer.getFirstName());
+    assertTrue(handler.isChanged());
+
+    // the same handler is bound to the instance returned when retrieving again
+    assertSame(handler, ProxyUtils.getInvocationHandler(container.getCustomers().getByKey(1)));
+  }
+}
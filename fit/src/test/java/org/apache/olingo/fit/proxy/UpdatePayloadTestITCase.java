@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy;
+
+// CHECKSTYLE:OFF (Maven checkstyle)
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+import org.apache.olingo.client.api.http.HttpClientFactory;
+import org.apache.olingo.client.core.http.DefaultHttpClientFactory;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.ext.proxy.commons.EntityInvocationHandler;
+import org.apache.olingo.ext.proxy.utils.ProxyUtils;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Address;
+import org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Customer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+// CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Checks the payloads of updates sent by the transactional persistence manager, and how responses to them are
+ * handled.
+ */
+public class UpdatePayloadTestITCase extends AbstractTestITCase {
+
+  /**
+   * Records the bodies of the requests sent.
+   */
+  private static class RecordingHttpClientFactory extends DefaultHttpClientFactory {
+
+    private final List<String> bodies = Collections.synchronizedList(new ArrayList<String>());
+
+    @Override
+    public DefaultHttpClient create(final HttpMethod method, final URI uri) {
+      final DefaultHttpClient client = super.create(method, uri);
+      client.addRequestInterceptor(new HttpRequestInterceptor() {
+
+        @Override
+        public void process(final HttpRequest request, final HttpContext context) throws HttpException, IOException {
+          if (request instanceof HttpEntityEnclosingRequest
+              && ((HttpEntityEnclosingRequest) request).getEntity() != null) {
+
+            final HttpEntityEnclosingRequest enclosing = (HttpEntityEnclosingRequest) request;
+            final BufferedHttpEntity entity = new BufferedHttpEntity(enclosing.getEntity());
+            enclosing.setEntity(entity);
+            bodies.add(EntityUtils.toString(entity, "UTF-8"));
+          }
+        }
+      });
+      return client;
+    }
+
+    private String getLastBody() {
+      return bodies.get(bodies.size() - 1);
+    }
+  }
+
+  private HttpClientFactory defaultHttpClientFactory;
+
+  private RecordingHttpClientFactory httpClientFactory;
+
+  @Before
+  public void recordRequests() {
+    defaultHttpClientFactory = service.getClient().getConfiguration().getHttpClientFactory();
+    httpClientFactory = new RecordingHttpClientFactory();
+    service.getClient().getConfiguration().setHttpClientFactory(httpClientFactory);
+  }
+
+  @After
+  public void restore() {
+    service.getClient().getConfiguration().setHttpClientFactory(defaultHttpClientFactory);
+    service.setMinimalUpdates(false);
+    service.setReturnMinimal(false);
+    service.getContext().detachAll();
+  }
+
+  @Test
+  public void changedPropertiesOnly() {
+    final Customer customer = readCustomer(container, 1);
+    final String lastName = customer.getLastName();
+
+    customer.setLastName("Changed");
+    container.flush();
+
+    final String body = httpClientFactory.getLastBody();
+    assertTrue(body.contains("\"LastName\""));
+    assertTrue(body.contains("Changed"));
+    assertFalse(body.contains("\"FirstName\""));
+    assertFalse(body.contains("\"HomeAddress\""));
+
+    customer.setLastName(lastName);
+    container.flush();
+  }
+
+  @Test
+  public void changedComplexPropertiesOnly() {
+    service.setMinimalUpdates(true);
+
+    final Customer customer = readCustomer(container, 1);
+    final Address address = customer.getHomeAddress();
+    final String city = address.getCity();
+
+    address.setCity("Pescara");
+    container.flush();
+
+    final String body = httpClientFactory.getLastBody();
+    assertTrue(body.contains("\"HomeAddress\""));
+    assertTrue(body.contains("Pescara"));
+    assertFalse(body.contains("\"PostalCode\""));
+    assertFalse(body.contains("\"Street\""));
+    assertFalse(body.contains("\"LastName\""));
+
+    service.getContext().detachAll();
+    final Customer actual = readCustomer(container, 1);
+    assertEquals("Pescara", actual.getHomeAddress().getCity());
+
+    actual.getHomeAddress().setCity(city);
+    container.flush();
+  }
+
+  @Test
+  public void returnMinimal() {
+    service.setReturnMinimal(true);
+
+    final Customer customer = readCustomer(container, 1);
+    final String lastName = customer.getLastName();
+    final String firstName = customer.getFirstName();
+
+    customer.setLastName("Changed");
+    container.flush();
+    assertTrue(httpClientFactory.getLastBody().contains("return=minimal"));
+
+    // the loaded state is kept, as the updated entity is not returned
+    final EntityInvocationHandler handler = (EntityInvocationHandler) ProxyUtils.getInvocationHandler(customer);
+    assertFalse(handler.isChanged());
+    assertEquals("Changed", customer.getLastName());
+    assertEquals(firstName, customer.getFirstName());
+
+    customer.setLastName(lastName);
+    container.flush();
+  }
+
+  @Test
+  public void returnRepresentation() {
+    final Customer customer = readCustomer(container, 1);
+    final String lastName = customer.getLastName();
+
+    customer.setLastName("Changed");
+    container.flush();
+    assertTrue(httpClientFactory.getLastBody().contains("return=representation"));
+
+    final EntityInvocationHandler handler = (EntityInvocationHandler) ProxyUtils.getInvocationHandler(customer);
+    assertFalse(handler.isChanged());
+    assertEquals("Changed", customer.getLastName());
+
+    customer.setLastName(lastName);
+    container.flush();
+  }
+}
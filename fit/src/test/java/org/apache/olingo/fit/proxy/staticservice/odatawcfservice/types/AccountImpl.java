@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link Account} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class AccountImpl extends AbstractStructuredTypeImpl<Account> implements Account {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_AccountID = method(Account.class, "getAccountID");
+  private static final Property PROPERTY_AccountID = property(GET_AccountID);
+  private static final Type TYPE_AccountID = GET_AccountID.getGenericReturnType();
+
+  private static final Method GET_Country = method(Account.class, "getCountry");
+  private static final Property PROPERTY_Country = property(GET_Country);
+  private static final Type TYPE_Country = GET_Country.getGenericReturnType();
+
+  private static final Method GET_AccountInfo = method(Account.class, "getAccountInfo");
+  private static final Property PROPERTY_AccountInfo = property(GET_AccountInfo);
+  private static final Type TYPE_AccountInfo = GET_AccountInfo.getGenericReturnType();
+
+  private static final Method GET_MyGiftCard = method(Account.class, "getMyGiftCard");
+  private static final NavigationProperty NAVIGATION_MyGiftCard = navigationProperty(GET_MyGiftCard);
+
+  private static final Method GET_MyPaymentInstruments = method(Account.class, "getMyPaymentInstruments");
+  private static final NavigationProperty NAVIGATION_MyPaymentInstruments = navigationProperty(GET_MyPaymentInstruments);
+
+  private static final Method GET_ActiveSubscriptions = method(Account.class, "getActiveSubscriptions");
+  private static final NavigationProperty NAVIGATION_ActiveSubscriptions = navigationProperty(GET_ActiveSubscriptions);
+
+  private static final Method GET_AvailableSubscriptionTemplatess = method(Account.class, "getAvailableSubscriptionTemplatess");
+  private static final NavigationProperty NAVIGATION_AvailableSubscriptionTemplatess = navigationProperty(GET_AvailableSubscriptionTemplatess);
+
+  private static final Method OPERATIONS = method(Account.class, "operations");
+
+  private static final Method ANNOTATIONS = method(Account.class, "annotations");
+
+  public AccountImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getAccountID() {
+    return (java.lang.Integer) readProperty(PROPERTY_AccountID, TYPE_AccountID);
+  }
+
+  @Override
+  public void setAccountID(final java.lang.Integer _accountID) {
+    writeProperty(PROPERTY_AccountID, _accountID);
+  }
+
+  @Override
+  public java.lang.String getCountry() {
+    return (java.lang.String) readProperty(PROPERTY_Country, TYPE_Country);
+  }
+
+  @Override
+  public void setCountry(final java.lang.String _country) {
+    writeProperty(PROPERTY_Country, _country);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.AccountInfo getAccountInfo() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.AccountInfo) readProperty(PROPERTY_AccountInfo, TYPE_AccountInfo);
+  }
+
+  @Override
+  public void setAccountInfo(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.AccountInfo _accountInfo) {
+    writeProperty(PROPERTY_AccountInfo, _accountInfo);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.GiftCard getMyGiftCard() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.GiftCard) readNavigationProperty(NAVIGATION_MyGiftCard, GET_MyGiftCard);
+  }
+
+  @Override
+  public void setMyGiftCard(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.GiftCard _myGiftCard) {
+    writeNavigationProperty(NAVIGATION_MyGiftCard, _myGiftCard);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Account.MyPaymentInstruments getMyPaymentInstruments() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Account.MyPaymentInstruments) readNavigationProperty(NAVIGATION_MyPaymentInstruments, GET_MyPaymentInstruments);
+  }
+
+  @Override
+  public void setMyPaymentInstruments(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Account.MyPaymentInstruments _myPaymentInstruments) {
+    writeNavigationProperty(NAVIGATION_MyPaymentInstruments, _myPaymentInstruments);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Account.ActiveSubscriptions getActiveSubscriptions() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Account.ActiveSubscriptions) readNavigationProperty(NAVIGATION_ActiveSubscriptions, GET_ActiveSubscriptions);
+  }
+
+  @Override
+  public void setActiveSubscriptions(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Account.ActiveSubscriptions _activeSubscriptions) {
+    writeNavigationProperty(NAVIGATION_ActiveSubscriptions, _activeSubscriptions);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.SubscriptionCollection getAvailableSubscriptionTemplatess() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.SubscriptionCollection) readNavigationProperty(NAVIGATION_AvailableSubscriptionTemplatess, GET_AvailableSubscriptionTemplatess);
+  }
+
+  @Override
+  public void setAvailableSubscriptionTemplatess(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.SubscriptionCollection _availableSubscriptionTemplatess) {
+    writeNavigationProperty(NAVIGATION_AvailableSubscriptionTemplatess, _availableSubscriptionTemplatess);
+  }
+
+  @Override
+  public Account.Operations operations() {
+    return (Account.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public Account.Annotations annotations() {
+    return (Account.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
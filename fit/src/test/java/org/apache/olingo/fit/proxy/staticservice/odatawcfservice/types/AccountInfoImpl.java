@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link AccountInfo} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class AccountInfoImpl extends AbstractStructuredTypeImpl<AccountInfo> implements AccountInfo {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_FirstName = method(AccountInfo.class, "getFirstName");
+  private static final Property PROPERTY_FirstName = property(GET_FirstName);
+  private static final Type TYPE_FirstName = GET_FirstName.getGenericReturnType();
+
+  private static final Method GET_LastName = method(AccountInfo.class, "getLastName");
+  private static final Property PROPERTY_LastName = property(GET_LastName);
+  private static final Type TYPE_LastName = GET_LastName.getGenericReturnType();
+
+  private static final Method OPERATIONS = method(AccountInfo.class, "operations");
+
+  private static final Method ANNOTATIONS = method(AccountInfo.class, "annotations");
+
+  public AccountInfoImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.String getFirstName() {
+    return (java.lang.String) readProperty(PROPERTY_FirstName, TYPE_FirstName);
+  }
+
+  @Override
+  public void setFirstName(final java.lang.String _firstName) {
+    writeProperty(PROPERTY_FirstName, _firstName);
+  }
+
+  @Override
+  public java.lang.String getLastName() {
+    return (java.lang.String) readProperty(PROPERTY_LastName, TYPE_LastName);
+  }
+
+  @Override
+  public void setLastName(final java.lang.String _lastName) {
+    writeProperty(PROPERTY_LastName, _lastName);
+  }
+
+  @Override
+  public AccountInfo.Operations operations() {
+    return (AccountInfo.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public AccountInfo.Annotations annotations() {
+    return (AccountInfo.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link Asset} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class AssetImpl extends AbstractStructuredTypeImpl<Asset> implements Asset {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_AssetID = method(Asset.class, "getAssetID");
+  private static final Property PROPERTY_AssetID = property(GET_AssetID);
+  private static final Type TYPE_AssetID = GET_AssetID.getGenericReturnType();
+
+  private static final Method GET_Name = method(Asset.class, "getName");
+  private static final Property PROPERTY_Name = property(GET_Name);
+  private static final Type TYPE_Name = GET_Name.getGenericReturnType();
+
+  private static final Method GET_Number = method(Asset.class, "getNumber");
+  private static final Property PROPERTY_Number = property(GET_Number);
+  private static final Type TYPE_Number = GET_Number.getGenericReturnType();
+
+  private static final Method OPERATIONS = method(Asset.class, "operations");
+
+  private static final Method ANNOTATIONS = method(Asset.class, "annotations");
+
+  public AssetImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getAssetID() {
+    return (java.lang.Integer) readProperty(PROPERTY_AssetID, TYPE_AssetID);
+  }
+
+  @Override
+  public void setAssetID(final java.lang.Integer _assetID) {
+    writeProperty(PROPERTY_AssetID, _assetID);
+  }
+
+  @Override
+  public java.lang.String getName() {
+    return (java.lang.String) readProperty(PROPERTY_Name, TYPE_Name);
+  }
+
+  @Override
+  public void setName(final java.lang.String _name) {
+    writeProperty(PROPERTY_Name, _name);
+  }
+
+  @Override
+  public java.lang.Integer getNumber() {
+    return (java.lang.Integer) readProperty(PROPERTY_Number, TYPE_Number);
+  }
+
+  @Override
+  public void setNumber(final java.lang.Integer _number) {
+    writeProperty(PROPERTY_Number, _number);
+  }
+
+  @Override
+  public Asset.Operations operations() {
+    return (Asset.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public Asset.Annotations annotations() {
+    return (Asset.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
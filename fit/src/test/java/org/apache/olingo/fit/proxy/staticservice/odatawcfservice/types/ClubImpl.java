@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link Club} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class ClubImpl extends AbstractStructuredTypeImpl<Club> implements Club {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_ClubID = method(Club.class, "getClubID");
+  private static final Property PROPERTY_ClubID = property(GET_ClubID);
+  private static final Type TYPE_ClubID = GET_ClubID.getGenericReturnType();
+
+  private static final Method GET_Name = method(Club.class, "getName");
+  private static final Property PROPERTY_Name = property(GET_Name);
+  private static final Type TYPE_Name = GET_Name.getGenericReturnType();
+
+  private static final Method OPERATIONS = method(Club.class, "operations");
+
+  private static final Method ANNOTATIONS = method(Club.class, "annotations");
+
+  public ClubImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getClubID() {
+    return (java.lang.Integer) readProperty(PROPERTY_ClubID, TYPE_ClubID);
+  }
+
+  @Override
+  public void setClubID(final java.lang.Integer _clubID) {
+    writeProperty(PROPERTY_ClubID, _clubID);
+  }
+
+  @Override
+  public java.lang.String getName() {
+    return (java.lang.String) readProperty(PROPERTY_Name, TYPE_Name);
+  }
+
+  @Override
+  public void setName(final java.lang.String _name) {
+    writeProperty(PROPERTY_Name, _name);
+  }
+
+  @Override
+  public Club.Operations operations() {
+    return (Club.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public Club.Annotations annotations() {
+    return (Club.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
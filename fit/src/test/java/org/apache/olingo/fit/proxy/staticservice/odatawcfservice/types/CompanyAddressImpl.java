@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link CompanyAddress} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class CompanyAddressImpl extends AbstractStructuredTypeImpl<CompanyAddress> implements CompanyAddress {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_Street = method(CompanyAddress.class, "getStreet");
+  private static final Property PROPERTY_Street = property(GET_Street);
+  private static final Type TYPE_Street = GET_Street.getGenericReturnType();
+
+  private static final Method GET_City = method(CompanyAddress.class, "getCity");
+  private static final Property PROPERTY_City = property(GET_City);
+  private static final Type TYPE_City = GET_City.getGenericReturnType();
+
+  private static final Method GET_PostalCode = method(CompanyAddress.class, "getPostalCode");
+  private static final Property PROPERTY_PostalCode = property(GET_PostalCode);
+  private static final Type TYPE_PostalCode = GET_PostalCode.getGenericReturnType();
+
+  private static final Method GET_CompanyName = method(CompanyAddress.class, "getCompanyName");
+  private static final Property PROPERTY_CompanyName = property(GET_CompanyName);
+  private static final Type TYPE_CompanyName = GET_CompanyName.getGenericReturnType();
+
+  private static final Method OPERATIONS = method(CompanyAddress.class, "operations");
+
+  private static final Method ANNOTATIONS = method(CompanyAddress.class, "annotations");
+
+  public CompanyAddressImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.String getStreet() {
+    return (java.lang.String) readProperty(PROPERTY_Street, TYPE_Street);
+  }
+
+  @Override
+  public void setStreet(final java.lang.String _street) {
+    writeProperty(PROPERTY_Street, _street);
+  }
+
+  @Override
+  public java.lang.String getCity() {
+    return (java.lang.String) readProperty(PROPERTY_City, TYPE_City);
+  }
+
+  @Override
+  public void setCity(final java.lang.String _city) {
+    writeProperty(PROPERTY_City, _city);
+  }
+
+  @Override
+  public java.lang.String getPostalCode() {
+    return (java.lang.String) readProperty(PROPERTY_PostalCode, TYPE_PostalCode);
+  }
+
+  @Override
+  public void setPostalCode(final java.lang.String _postalCode) {
+    writeProperty(PROPERTY_PostalCode, _postalCode);
+  }
+
+  @Override
+  public java.lang.String getCompanyName() {
+    return (java.lang.String) readProperty(PROPERTY_CompanyName, TYPE_CompanyName);
+  }
+
+  @Override
+  public void setCompanyName(final java.lang.String _companyName) {
+    writeProperty(PROPERTY_CompanyName, _companyName);
+  }
+
+  @Override
+  public CompanyAddress.Operations operations() {
+    return (CompanyAddress.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public CompanyAddress.Annotations annotations() {
+    return (CompanyAddress.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link Company} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class CompanyImpl extends AbstractStructuredTypeImpl<Company> implements Company {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_CompanyID = method(Company.class, "getCompanyID");
+  private static final Property PROPERTY_CompanyID = property(GET_CompanyID);
+  private static final Type TYPE_CompanyID = GET_CompanyID.getGenericReturnType();
+
+  private static final Method GET_CompanyCategory = method(Company.class, "getCompanyCategory");
+  private static final Property PROPERTY_CompanyCategory = property(GET_CompanyCategory);
+  private static final Type TYPE_CompanyCategory = GET_CompanyCategory.getGenericReturnType();
+
+  private static final Method GET_Revenue = method(Company.class, "getRevenue");
+  private static final Property PROPERTY_Revenue = property(GET_Revenue);
+  private static final Type TYPE_Revenue = GET_Revenue.getGenericReturnType();
+
+  private static final Method GET_Name = method(Company.class, "getName");
+  private static final Property PROPERTY_Name = property(GET_Name);
+  private static final Type TYPE_Name = GET_Name.getGenericReturnType();
+
+  private static final Method GET_Address = method(Company.class, "getAddress");
+  private static final Property PROPERTY_Address = property(GET_Address);
+  private static final Type TYPE_Address = GET_Address.getGenericReturnType();
+
+  private static final Method GET_Employees = method(Company.class, "getEmployees");
+  private static final NavigationProperty NAVIGATION_Employees = navigationProperty(GET_Employees);
+
+  private static final Method GET_VipCustomer = method(Company.class, "getVipCustomer");
+  private static final NavigationProperty NAVIGATION_VipCustomer = navigationProperty(GET_VipCustomer);
+
+  private static final Method GET_Departments = method(Company.class, "getDepartments");
+  private static final NavigationProperty NAVIGATION_Departments = navigationProperty(GET_Departments);
+
+  private static final Method GET_CoreDepartment = method(Company.class, "getCoreDepartment");
+  private static final NavigationProperty NAVIGATION_CoreDepartment = navigationProperty(GET_CoreDepartment);
+
+  private static final Method OPERATIONS = method(Company.class, "operations");
+
+  private static final Method ANNOTATIONS = method(Company.class, "annotations");
+
+  public CompanyImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getCompanyID() {
+    return (java.lang.Integer) readProperty(PROPERTY_CompanyID, TYPE_CompanyID);
+  }
+
+  @Override
+  public void setCompanyID(final java.lang.Integer _companyID) {
+    writeProperty(PROPERTY_CompanyID, _companyID);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.CompanyCategory getCompanyCategory() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.CompanyCategory) readProperty(PROPERTY_CompanyCategory, TYPE_CompanyCategory);
+  }
+
+  @Override
+  public void setCompanyCategory(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.CompanyCategory _companyCategory) {
+    writeProperty(PROPERTY_CompanyCategory, _companyCategory);
+  }
+
+  @Override
+  public java.lang.Long getRevenue() {
+    return (java.lang.Long) readProperty(PROPERTY_Revenue, TYPE_Revenue);
+  }
+
+  @Override
+  public void setRevenue(final java.lang.Long _revenue) {
+    writeProperty(PROPERTY_Revenue, _revenue);
+  }
+
+  @Override
+  public java.lang.String getName() {
+    return (java.lang.String) readProperty(PROPERTY_Name, TYPE_Name);
+  }
+
+  @Override
+  public void setName(final java.lang.String _name) {
+    writeProperty(PROPERTY_Name, _name);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Address getAddress() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Address) readProperty(PROPERTY_Address, TYPE_Address);
+  }
+
+  @Override
+  public void setAddress(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Address _address) {
+    writeProperty(PROPERTY_Address, _address);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.EmployeeCollection getEmployees() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.EmployeeCollection) readNavigationProperty(NAVIGATION_Employees, GET_Employees);
+  }
+
+  @Override
+  public void setEmployees(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.EmployeeCollection _employees) {
+    writeNavigationProperty(NAVIGATION_Employees, _employees);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Customer getVipCustomer() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Customer) readNavigationProperty(NAVIGATION_VipCustomer, GET_VipCustomer);
+  }
+
+  @Override
+  public void setVipCustomer(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Customer _vipCustomer) {
+    writeNavigationProperty(NAVIGATION_VipCustomer, _vipCustomer);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.DepartmentCollection getDepartments() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.DepartmentCollection) readNavigationProperty(NAVIGATION_Departments, GET_Departments);
+  }
+
+  @Override
+  public void setDepartments(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.DepartmentCollection _departments) {
+    writeNavigationProperty(NAVIGATION_Departments, _departments);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Department getCoreDepartment() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Department) readNavigationProperty(NAVIGATION_CoreDepartment, GET_CoreDepartment);
+  }
+
+  @Override
+  public void setCoreDepartment(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Department _coreDepartment) {
+    writeNavigationProperty(NAVIGATION_CoreDepartment, _coreDepartment);
+  }
+
+  @Override
+  public Company.Operations operations() {
+    return (Company.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public Company.Annotations annotations() {
+    return (Company.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link CreditCardPI} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class CreditCardPIImpl extends AbstractStructuredTypeImpl<CreditCardPI> implements CreditCardPI {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_PaymentInstrumentID = method(CreditCardPI.class, "getPaymentInstrumentID");
+  private static final Property PROPERTY_PaymentInstrumentID = property(GET_PaymentInstrumentID);
+  private static final Type TYPE_PaymentInstrumentID = GET_PaymentInstrumentID.getGenericReturnType();
+
+  private static final Method GET_FriendlyName = method(CreditCardPI.class, "getFriendlyName");
+  private static final Property PROPERTY_FriendlyName = property(GET_FriendlyName);
+  private static final Type TYPE_FriendlyName = GET_FriendlyName.getGenericReturnType();
+
+  private static final Method GET_CreatedDate = method(CreditCardPI.class, "getCreatedDate");
+  private static final Property PROPERTY_CreatedDate = property(GET_CreatedDate);
+  private static final Type TYPE_CreatedDate = GET_CreatedDate.getGenericReturnType();
+
+  private static final Method GET_CardNumber = method(CreditCardPI.class, "getCardNumber");
+  private static final Property PROPERTY_CardNumber = property(GET_CardNumber);
+  private static final Type TYPE_CardNumber = GET_CardNumber.getGenericReturnType();
+
+  private static final Method GET_CVV = method(CreditCardPI.class, "getCVV");
+  private static final Property PROPERTY_CVV = property(GET_CVV);
+  private static final Type TYPE_CVV = GET_CVV.getGenericReturnType();
+
+  private static final Method GET_HolderName = method(CreditCardPI.class, "getHolderName");
+  private static final Property PROPERTY_HolderName = property(GET_HolderName);
+  private static final Type TYPE_HolderName = GET_HolderName.getGenericReturnType();
+
+  private static final Method GET_Balance = method(CreditCardPI.class, "getBalance");
+  private static final Property PROPERTY_Balance = property(GET_Balance);
+  private static final Type TYPE_Balance = GET_Balance.getGenericReturnType();
+
+  private static final Method GET_ExperationDate = method(CreditCardPI.class, "getExperationDate");
+  private static final Property PROPERTY_ExperationDate = property(GET_ExperationDate);
+  private static final Type TYPE_ExperationDate = GET_ExperationDate.getGenericReturnType();
+
+  private static final Method GET_TheStoredPI = method(CreditCardPI.class, "getTheStoredPI");
+  private static final NavigationProperty NAVIGATION_TheStoredPI = navigationProperty(GET_TheStoredPI);
+
+  private static final Method GET_BillingStatements = method(CreditCardPI.class, "getBillingStatements");
+  private static final NavigationProperty NAVIGATION_BillingStatements = navigationProperty(GET_BillingStatements);
+
+  private static final Method GET_BackupStoredPI = method(CreditCardPI.class, "getBackupStoredPI");
+  private static final NavigationProperty NAVIGATION_BackupStoredPI = navigationProperty(GET_BackupStoredPI);
+
+  private static final Method GET_CreditRecords = method(CreditCardPI.class, "getCreditRecords");
+  private static final NavigationProperty NAVIGATION_CreditRecords = navigationProperty(GET_CreditRecords);
+
+  private static final Method OPERATIONS = method(CreditCardPI.class, "operations");
+
+  private static final Method ANNOTATIONS = method(CreditCardPI.class, "annotations");
+
+  public CreditCardPIImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getPaymentInstrumentID() {
+    return (java.lang.Integer) readProperty(PROPERTY_PaymentInstrumentID, TYPE_PaymentInstrumentID);
+  }
+
+  @Override
+  public void setPaymentInstrumentID(final java.lang.Integer _paymentInstrumentID) {
+    writeProperty(PROPERTY_PaymentInstrumentID, _paymentInstrumentID);
+  }
+
+  @Override
+  public java.lang.String getFriendlyName() {
+    return (java.lang.String) readProperty(PROPERTY_FriendlyName, TYPE_FriendlyName);
+  }
+
+  @Override
+  public void setFriendlyName(final java.lang.String _friendlyName) {
+    writeProperty(PROPERTY_FriendlyName, _friendlyName);
+  }
+
+  @Override
+  public java.sql.Timestamp getCreatedDate() {
+    return (java.sql.Timestamp) readProperty(PROPERTY_CreatedDate, TYPE_CreatedDate);
+  }
+
+  @Override
+  public void setCreatedDate(final java.sql.Timestamp _createdDate) {
+    writeProperty(PROPERTY_CreatedDate, _createdDate);
+  }
+
+  @Override
+  public java.lang.String getCardNumber() {
+    return (java.lang.String) readProperty(PROPERTY_CardNumber, TYPE_CardNumber);
+  }
+
+  @Override
+  public void setCardNumber(final java.lang.String _cardNumber) {
+    writeProperty(PROPERTY_CardNumber, _cardNumber);
+  }
+
+  @Override
+  public java.lang.String getCVV() {
+    return (java.lang.String) readProperty(PROPERTY_CVV, TYPE_CVV);
+  }
+
+  @Override
+  public void setCVV(final java.lang.String _cVV) {
+    writeProperty(PROPERTY_CVV, _cVV);
+  }
+
+  @Override
+  public java.lang.String getHolderName() {
+    return (java.lang.String) readProperty(PROPERTY_HolderName, TYPE_HolderName);
+  }
+
+  @Override
+  public void setHolderName(final java.lang.String _holderName) {
+    writeProperty(PROPERTY_HolderName, _holderName);
+  }
+
+  @Override
+  public java.lang.Double getBalance() {
+    return (java.lang.Double) readProperty(PROPERTY_Balance, TYPE_Balance);
+  }
+
+  @Override
+  public void setBalance(final java.lang.Double _balance) {
+    writeProperty(PROPERTY_Balance, _balance);
+  }
+
+  @Override
+  public java.sql.Timestamp getExperationDate() {
+    return (java.sql.Timestamp) readProperty(PROPERTY_ExperationDate, TYPE_ExperationDate);
+  }
+
+  @Override
+  public void setExperationDate(final java.sql.Timestamp _experationDate) {
+    writeProperty(PROPERTY_ExperationDate, _experationDate);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.StoredPI getTheStoredPI() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.StoredPI) readNavigationProperty(NAVIGATION_TheStoredPI, GET_TheStoredPI);
+  }
+
+  @Override
+  public void setTheStoredPI(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.StoredPI _theStoredPI) {
+    writeNavigationProperty(NAVIGATION_TheStoredPI, _theStoredPI);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.PaymentInstrument.BillingStatements getBillingStatements() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.PaymentInstrument.BillingStatements) readNavigationProperty(NAVIGATION_BillingStatements, GET_BillingStatements);
+  }
+
+  @Override
+  public void setBillingStatements(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.PaymentInstrument.BillingStatements _billingStatements) {
+    writeNavigationProperty(NAVIGATION_BillingStatements, _billingStatements);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.StoredPI getBackupStoredPI() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.StoredPI) readNavigationProperty(NAVIGATION_BackupStoredPI, GET_BackupStoredPI);
+  }
+
+  @Override
+  public void setBackupStoredPI(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.StoredPI _backupStoredPI) {
+    writeNavigationProperty(NAVIGATION_BackupStoredPI, _backupStoredPI);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.CreditCardPI.CreditRecords getCreditRecords() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.CreditCardPI.CreditRecords) readNavigationProperty(NAVIGATION_CreditRecords, GET_CreditRecords);
+  }
+
+  @Override
+  public void setCreditRecords(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.CreditCardPI.CreditRecords _creditRecords) {
+    writeNavigationProperty(NAVIGATION_CreditRecords, _creditRecords);
+  }
+
+  @Override
+  public CreditCardPI.Operations operations() {
+    return (CreditCardPI.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public CreditCardPI.Annotations annotations() {
+    return (CreditCardPI.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link CreditRecord} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class CreditRecordImpl extends AbstractStructuredTypeImpl<CreditRecord> implements CreditRecord {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_CreditRecordID = method(CreditRecord.class, "getCreditRecordID");
+  private static final Property PROPERTY_CreditRecordID = property(GET_CreditRecordID);
+  private static final Type TYPE_CreditRecordID = GET_CreditRecordID.getGenericReturnType();
+
+  private static final Method GET_IsGood = method(CreditRecord.class, "getIsGood");
+  private static final Property PROPERTY_IsGood = property(GET_IsGood);
+  private static final Type TYPE_IsGood = GET_IsGood.getGenericReturnType();
+
+  private static final Method GET_Reason = method(CreditRecord.class, "getReason");
+  private static final Property PROPERTY_Reason = property(GET_Reason);
+  private static final Type TYPE_Reason = GET_Reason.getGenericReturnType();
+
+  private static final Method GET_CreatedDate = method(CreditRecord.class, "getCreatedDate");
+  private static final Property PROPERTY_CreatedDate = property(GET_CreatedDate);
+  private static final Type TYPE_CreatedDate = GET_CreatedDate.getGenericReturnType();
+
+  private static final Method OPERATIONS = method(CreditRecord.class, "operations");
+
+  private static final Method ANNOTATIONS = method(CreditRecord.class, "annotations");
+
+  public CreditRecordImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getCreditRecordID() {
+    return (java.lang.Integer) readProperty(PROPERTY_CreditRecordID, TYPE_CreditRecordID);
+  }
+
+  @Override
+  public void setCreditRecordID(final java.lang.Integer _creditRecordID) {
+    writeProperty(PROPERTY_CreditRecordID, _creditRecordID);
+  }
+
+  @Override
+  public java.lang.Boolean getIsGood() {
+    return (java.lang.Boolean) readProperty(PROPERTY_IsGood, TYPE_IsGood);
+  }
+
+  @Override
+  public void setIsGood(final java.lang.Boolean _isGood) {
+    writeProperty(PROPERTY_IsGood, _isGood);
+  }
+
+  @Override
+  public java.lang.String getReason() {
+    return (java.lang.String) readProperty(PROPERTY_Reason, TYPE_Reason);
+  }
+
+  @Override
+  public void setReason(final java.lang.String _reason) {
+    writeProperty(PROPERTY_Reason, _reason);
+  }
+
+  @Override
+  public java.sql.Timestamp getCreatedDate() {
+    return (java.sql.Timestamp) readProperty(PROPERTY_CreatedDate, TYPE_CreatedDate);
+  }
+
+  @Override
+  public void setCreatedDate(final java.sql.Timestamp _createdDate) {
+    writeProperty(PROPERTY_CreatedDate, _createdDate);
+  }
+
+  @Override
+  public CreditRecord.Operations operations() {
+    return (CreditRecord.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public CreditRecord.Annotations annotations() {
+    return (CreditRecord.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
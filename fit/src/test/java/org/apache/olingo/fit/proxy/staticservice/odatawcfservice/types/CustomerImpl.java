@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link Customer} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class CustomerImpl extends AbstractStructuredTypeImpl<Customer> implements Customer {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_PersonID = method(Customer.class, "getPersonID");
+  private static final Property PROPERTY_PersonID = property(GET_PersonID);
+  private static final Type TYPE_PersonID = GET_PersonID.getGenericReturnType();
+
+  private static final Method GET_FirstName = method(Customer.class, "getFirstName");
+  private static final Property PROPERTY_FirstName = property(GET_FirstName);
+  private static final Type TYPE_FirstName = GET_FirstName.getGenericReturnType();
+
+  private static final Method GET_LastName = method(Customer.class, "getLastName");
+  private static final Property PROPERTY_LastName = property(GET_LastName);
+  private static final Type TYPE_LastName = GET_LastName.getGenericReturnType();
+
+  private static final Method GET_MiddleName = method(Customer.class, "getMiddleName");
+  private static final Property PROPERTY_MiddleName = property(GET_MiddleName);
+  private static final Type TYPE_MiddleName = GET_MiddleName.getGenericReturnType();
+
+  private static final Method GET_HomeAddress = method(Customer.class, "getHomeAddress");
+  private static final Property PROPERTY_HomeAddress = property(GET_HomeAddress);
+  private static final Type TYPE_HomeAddress = GET_HomeAddress.getGenericReturnType();
+
+  private static final Method GET_Home = method(Customer.class, "getHome");
+  private static final Property PROPERTY_Home = property(GET_Home);
+  private static final Type TYPE_Home = GET_Home.getGenericReturnType();
+
+  private static final Method GET_Numbers = method(Customer.class, "getNumbers");
+  private static final Property PROPERTY_Numbers = property(GET_Numbers);
+  private static final Type TYPE_Numbers = GET_Numbers.getGenericReturnType();
+
+  private static final Method GET_Emails = method(Customer.class, "getEmails");
+  private static final Property PROPERTY_Emails = property(GET_Emails);
+  private static final Type TYPE_Emails = GET_Emails.getGenericReturnType();
+
+  private static final Method GET_City = method(Customer.class, "getCity");
+  private static final Property PROPERTY_City = property(GET_City);
+  private static final Type TYPE_City = GET_City.getGenericReturnType();
+
+  private static final Method GET_Birthday = method(Customer.class, "getBirthday");
+  private static final Property PROPERTY_Birthday = property(GET_Birthday);
+  private static final Type TYPE_Birthday = GET_Birthday.getGenericReturnType();
+
+  private static final Method GET_TimeBetweenLastTwoOrders = method(Customer.class, "getTimeBetweenLastTwoOrders");
+  private static final Property PROPERTY_TimeBetweenLastTwoOrders = property(GET_TimeBetweenLastTwoOrders);
+  private static final Type TYPE_TimeBetweenLastTwoOrders = GET_TimeBetweenLastTwoOrders.getGenericReturnType();
+
+  private static final Method GET_Parent = method(Customer.class, "getParent");
+  private static final NavigationProperty NAVIGATION_Parent = navigationProperty(GET_Parent);
+
+  private static final Method GET_Orders = method(Customer.class, "getOrders");
+  private static final NavigationProperty NAVIGATION_Orders = navigationProperty(GET_Orders);
+
+  private static final Method GET_Company = method(Customer.class, "getCompany");
+  private static final NavigationProperty NAVIGATION_Company = navigationProperty(GET_Company);
+
+  private static final Method OPERATIONS = method(Customer.class, "operations");
+
+  private static final Method ANNOTATIONS = method(Customer.class, "annotations");
+
+  public CustomerImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getPersonID() {
+    return (java.lang.Integer) readProperty(PROPERTY_PersonID, TYPE_PersonID);
+  }
+
+  @Override
+  public void setPersonID(final java.lang.Integer _personID) {
+    writeProperty(PROPERTY_PersonID, _personID);
+  }
+
+  @Override
+  public java.lang.String getFirstName() {
+    return (java.lang.String) readProperty(PROPERTY_FirstName, TYPE_FirstName);
+  }
+
+  @Override
+  public void setFirstName(final java.lang.String _firstName) {
+    writeProperty(PROPERTY_FirstName, _firstName);
+  }
+
+  @Override
+  public java.lang.String getLastName() {
+    return (java.lang.String) readProperty(PROPERTY_LastName, TYPE_LastName);
+  }
+
+  @Override
+  public void setLastName(final java.lang.String _lastName) {
+    writeProperty(PROPERTY_LastName, _lastName);
+  }
+
+  @Override
+  public java.lang.String getMiddleName() {
+    return (java.lang.String) readProperty(PROPERTY_MiddleName, TYPE_MiddleName);
+  }
+
+  @Override
+  public void setMiddleName(final java.lang.String _middleName) {
+    writeProperty(PROPERTY_MiddleName, _middleName);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Address getHomeAddress() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Address) readProperty(PROPERTY_HomeAddress, TYPE_HomeAddress);
+  }
+
+  @Override
+  public void setHomeAddress(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Address _homeAddress) {
+    writeProperty(PROPERTY_HomeAddress, _homeAddress);
+  }
+
+  @Override
+  public org.apache.olingo.commons.api.edm.geo.Point getHome() {
+    return (org.apache.olingo.commons.api.edm.geo.Point) readProperty(PROPERTY_Home, TYPE_Home);
+  }
+
+  @Override
+  public void setHome(final org.apache.olingo.commons.api.edm.geo.Point _home) {
+    writeProperty(PROPERTY_Home, _home);
+  }
+
+  @Override
+  public org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.lang.String> getNumbers() {
+    return (org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.lang.String>) readProperty(PROPERTY_Numbers, TYPE_Numbers);
+  }
+
+  @Override
+  public void setNumbers(final org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.lang.String> _numbers) {
+    writeProperty(PROPERTY_Numbers, _numbers);
+  }
+
+  @Override
+  public org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.lang.String> getEmails() {
+    return (org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.lang.String>) readProperty(PROPERTY_Emails, TYPE_Emails);
+  }
+
+  @Override
+  public void setEmails(final org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.lang.String> _emails) {
+    writeProperty(PROPERTY_Emails, _emails);
+  }
+
+  @Override
+  public java.lang.String getCity() {
+    return (java.lang.String) readProperty(PROPERTY_City, TYPE_City);
+  }
+
+  @Override
+  public void setCity(final java.lang.String _city) {
+    writeProperty(PROPERTY_City, _city);
+  }
+
+  @Override
+  public java.sql.Timestamp getBirthday() {
+    return (java.sql.Timestamp) readProperty(PROPERTY_Birthday, TYPE_Birthday);
+  }
+
+  @Override
+  public void setBirthday(final java.sql.Timestamp _birthday) {
+    writeProperty(PROPERTY_Birthday, _birthday);
+  }
+
+  @Override
+  public java.math.BigDecimal getTimeBetweenLastTwoOrders() {
+    return (java.math.BigDecimal) readProperty(PROPERTY_TimeBetweenLastTwoOrders, TYPE_TimeBetweenLastTwoOrders);
+  }
+
+  @Override
+  public void setTimeBetweenLastTwoOrders(final java.math.BigDecimal _timeBetweenLastTwoOrders) {
+    writeProperty(PROPERTY_TimeBetweenLastTwoOrders, _timeBetweenLastTwoOrders);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Person getParent() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Person) readNavigationProperty(NAVIGATION_Parent, GET_Parent);
+  }
+
+  @Override
+  public void setParent(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Person _parent) {
+    writeNavigationProperty(NAVIGATION_Parent, _parent);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.OrderCollection getOrders() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.OrderCollection) readNavigationProperty(NAVIGATION_Orders, GET_Orders);
+  }
+
+  @Override
+  public void setOrders(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.OrderCollection _orders) {
+    writeNavigationProperty(NAVIGATION_Orders, _orders);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Company getCompany() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Company) readNavigationProperty(NAVIGATION_Company, GET_Company);
+  }
+
+  @Override
+  public void setCompany(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Company _company) {
+    writeNavigationProperty(NAVIGATION_Company, _company);
+  }
+
+  @Override
+  public Customer.Operations operations() {
+    return (Customer.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public Customer.Annotations annotations() {
+    return (Customer.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link Department} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class DepartmentImpl extends AbstractStructuredTypeImpl<Department> implements Department {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_DepartmentID = method(Department.class, "getDepartmentID");
+  private static final Property PROPERTY_DepartmentID = property(GET_DepartmentID);
+  private static final Type TYPE_DepartmentID = GET_DepartmentID.getGenericReturnType();
+
+  private static final Method GET_Name = method(Department.class, "getName");
+  private static final Property PROPERTY_Name = property(GET_Name);
+  private static final Type TYPE_Name = GET_Name.getGenericReturnType();
+
+  private static final Method GET_DepartmentNO = method(Department.class, "getDepartmentNO");
+  private static final Property PROPERTY_DepartmentNO = property(GET_DepartmentNO);
+  private static final Type TYPE_DepartmentNO = GET_DepartmentNO.getGenericReturnType();
+
+  private static final Method GET_Company = method(Department.class, "getCompany");
+  private static final NavigationProperty NAVIGATION_Company = navigationProperty(GET_Company);
+
+  private static final Method OPERATIONS = method(Department.class, "operations");
+
+  private static final Method ANNOTATIONS = method(Department.class, "annotations");
+
+  public DepartmentImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getDepartmentID() {
+    return (java.lang.Integer) readProperty(PROPERTY_DepartmentID, TYPE_DepartmentID);
+  }
+
+  @Override
+  public void setDepartmentID(final java.lang.Integer _departmentID) {
+    writeProperty(PROPERTY_DepartmentID, _departmentID);
+  }
+
+  @Override
+  public java.lang.String getName() {
+    return (java.lang.String) readProperty(PROPERTY_Name, TYPE_Name);
+  }
+
+  @Override
+  public void setName(final java.lang.String _name) {
+    writeProperty(PROPERTY_Name, _name);
+  }
+
+  @Override
+  public java.lang.String getDepartmentNO() {
+    return (java.lang.String) readProperty(PROPERTY_DepartmentNO, TYPE_DepartmentNO);
+  }
+
+  @Override
+  public void setDepartmentNO(final java.lang.String _departmentNO) {
+    writeProperty(PROPERTY_DepartmentNO, _departmentNO);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Company getCompany() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Company) readNavigationProperty(NAVIGATION_Company, GET_Company);
+  }
+
+  @Override
+  public void setCompany(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Company _company) {
+    writeNavigationProperty(NAVIGATION_Company, _company);
+  }
+
+  @Override
+  public Department.Operations operations() {
+    return (Department.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public Department.Annotations annotations() {
+    return (Department.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
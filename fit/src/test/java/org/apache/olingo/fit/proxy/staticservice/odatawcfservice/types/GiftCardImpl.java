@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link GiftCard} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class GiftCardImpl extends AbstractStructuredTypeImpl<GiftCard> implements GiftCard {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_GiftCardID = method(GiftCard.class, "getGiftCardID");
+  private static final Property PROPERTY_GiftCardID = property(GET_GiftCardID);
+  private static final Type TYPE_GiftCardID = GET_GiftCardID.getGenericReturnType();
+
+  private static final Method GET_GiftCardNO = method(GiftCard.class, "getGiftCardNO");
+  private static final Property PROPERTY_GiftCardNO = property(GET_GiftCardNO);
+  private static final Type TYPE_GiftCardNO = GET_GiftCardNO.getGenericReturnType();
+
+  private static final Method GET_Amount = method(GiftCard.class, "getAmount");
+  private static final Property PROPERTY_Amount = property(GET_Amount);
+  private static final Type TYPE_Amount = GET_Amount.getGenericReturnType();
+
+  private static final Method GET_ExperationDate = method(GiftCard.class, "getExperationDate");
+  private static final Property PROPERTY_ExperationDate = property(GET_ExperationDate);
+  private static final Type TYPE_ExperationDate = GET_ExperationDate.getGenericReturnType();
+
+  private static final Method GET_OwnerName = method(GiftCard.class, "getOwnerName");
+  private static final Property PROPERTY_OwnerName = property(GET_OwnerName);
+  private static final Type TYPE_OwnerName = GET_OwnerName.getGenericReturnType();
+
+  private static final Method OPERATIONS = method(GiftCard.class, "operations");
+
+  private static final Method ANNOTATIONS = method(GiftCard.class, "annotations");
+
+  public GiftCardImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getGiftCardID() {
+    return (java.lang.Integer) readProperty(PROPERTY_GiftCardID, TYPE_GiftCardID);
+  }
+
+  @Override
+  public void setGiftCardID(final java.lang.Integer _giftCardID) {
+    writeProperty(PROPERTY_GiftCardID, _giftCardID);
+  }
+
+  @Override
+  public java.lang.String getGiftCardNO() {
+    return (java.lang.String) readProperty(PROPERTY_GiftCardNO, TYPE_GiftCardNO);
+  }
+
+  @Override
+  public void setGiftCardNO(final java.lang.String _giftCardNO) {
+    writeProperty(PROPERTY_GiftCardNO, _giftCardNO);
+  }
+
+  @Override
+  public java.lang.Double getAmount() {
+    return (java.lang.Double) readProperty(PROPERTY_Amount, TYPE_Amount);
+  }
+
+  @Override
+  public void setAmount(final java.lang.Double _amount) {
+    writeProperty(PROPERTY_Amount, _amount);
+  }
+
+  @Override
+  public java.sql.Timestamp getExperationDate() {
+    return (java.sql.Timestamp) readProperty(PROPERTY_ExperationDate, TYPE_ExperationDate);
+  }
+
+  @Override
+  public void setExperationDate(final java.sql.Timestamp _experationDate) {
+    writeProperty(PROPERTY_ExperationDate, _experationDate);
+  }
+
+  @Override
+  public java.lang.String getOwnerName() {
+    return (java.lang.String) readProperty(PROPERTY_OwnerName, TYPE_OwnerName);
+  }
+
+  @Override
+  public void setOwnerName(final java.lang.String _ownerName) {
+    writeProperty(PROPERTY_OwnerName, _ownerName);
+  }
+
+  @Override
+  public GiftCard.Operations operations() {
+    return (GiftCard.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public GiftCard.Annotations annotations() {
+    return (GiftCard.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link LabourUnion} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class LabourUnionImpl extends AbstractStructuredTypeImpl<LabourUnion> implements LabourUnion {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_LabourUnionID = method(LabourUnion.class, "getLabourUnionID");
+  private static final Property PROPERTY_LabourUnionID = property(GET_LabourUnionID);
+  private static final Type TYPE_LabourUnionID = GET_LabourUnionID.getGenericReturnType();
+
+  private static final Method GET_Name = method(LabourUnion.class, "getName");
+  private static final Property PROPERTY_Name = property(GET_Name);
+  private static final Type TYPE_Name = GET_Name.getGenericReturnType();
+
+  private static final Method OPERATIONS = method(LabourUnion.class, "operations");
+
+  private static final Method ANNOTATIONS = method(LabourUnion.class, "annotations");
+
+  public LabourUnionImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getLabourUnionID() {
+    return (java.lang.Integer) readProperty(PROPERTY_LabourUnionID, TYPE_LabourUnionID);
+  }
+
+  @Override
+  public void setLabourUnionID(final java.lang.Integer _labourUnionID) {
+    writeProperty(PROPERTY_LabourUnionID, _labourUnionID);
+  }
+
+  @Override
+  public java.lang.String getName() {
+    return (java.lang.String) readProperty(PROPERTY_Name, TYPE_Name);
+  }
+
+  @Override
+  public void setName(final java.lang.String _name) {
+    writeProperty(PROPERTY_Name, _name);
+  }
+
+  @Override
+  public LabourUnion.Operations operations() {
+    return (LabourUnion.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public LabourUnion.Annotations annotations() {
+    return (LabourUnion.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
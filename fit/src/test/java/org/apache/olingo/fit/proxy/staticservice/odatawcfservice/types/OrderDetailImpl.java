@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link OrderDetail} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class OrderDetailImpl extends AbstractStructuredTypeImpl<OrderDetail> implements OrderDetail {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_OrderID = method(OrderDetail.class, "getOrderID");
+  private static final Property PROPERTY_OrderID = property(GET_OrderID);
+  private static final Type TYPE_OrderID = GET_OrderID.getGenericReturnType();
+
+  private static final Method GET_ProductID = method(OrderDetail.class, "getProductID");
+  private static final Property PROPERTY_ProductID = property(GET_ProductID);
+  private static final Type TYPE_ProductID = GET_ProductID.getGenericReturnType();
+
+  private static final Method GET_OrderPlaced = method(OrderDetail.class, "getOrderPlaced");
+  private static final Property PROPERTY_OrderPlaced = property(GET_OrderPlaced);
+  private static final Type TYPE_OrderPlaced = GET_OrderPlaced.getGenericReturnType();
+
+  private static final Method GET_Quantity = method(OrderDetail.class, "getQuantity");
+  private static final Property PROPERTY_Quantity = property(GET_Quantity);
+  private static final Type TYPE_Quantity = GET_Quantity.getGenericReturnType();
+
+  private static final Method GET_UnitPrice = method(OrderDetail.class, "getUnitPrice");
+  private static final Property PROPERTY_UnitPrice = property(GET_UnitPrice);
+  private static final Type TYPE_UnitPrice = GET_UnitPrice.getGenericReturnType();
+
+  private static final Method GET_ProductOrdered = method(OrderDetail.class, "getProductOrdered");
+  private static final NavigationProperty NAVIGATION_ProductOrdered = navigationProperty(GET_ProductOrdered);
+
+  private static final Method GET_AssociatedOrder = method(OrderDetail.class, "getAssociatedOrder");
+  private static final NavigationProperty NAVIGATION_AssociatedOrder = navigationProperty(GET_AssociatedOrder);
+
+  private static final Method OPERATIONS = method(OrderDetail.class, "operations");
+
+  private static final Method ANNOTATIONS = method(OrderDetail.class, "annotations");
+
+  public OrderDetailImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getOrderID() {
+    return (java.lang.Integer) readProperty(PROPERTY_OrderID, TYPE_OrderID);
+  }
+
+  @Override
+  public void setOrderID(final java.lang.Integer _orderID) {
+    writeProperty(PROPERTY_OrderID, _orderID);
+  }
+
+  @Override
+  public java.lang.Integer getProductID() {
+    return (java.lang.Integer) readProperty(PROPERTY_ProductID, TYPE_ProductID);
+  }
+
+  @Override
+  public void setProductID(final java.lang.Integer _productID) {
+    writeProperty(PROPERTY_ProductID, _productID);
+  }
+
+  @Override
+  public java.sql.Timestamp getOrderPlaced() {
+    return (java.sql.Timestamp) readProperty(PROPERTY_OrderPlaced, TYPE_OrderPlaced);
+  }
+
+  @Override
+  public void setOrderPlaced(final java.sql.Timestamp _orderPlaced) {
+    writeProperty(PROPERTY_OrderPlaced, _orderPlaced);
+  }
+
+  @Override
+  public java.lang.Integer getQuantity() {
+    return (java.lang.Integer) readProperty(PROPERTY_Quantity, TYPE_Quantity);
+  }
+
+  @Override
+  public void setQuantity(final java.lang.Integer _quantity) {
+    writeProperty(PROPERTY_Quantity, _quantity);
+  }
+
+  @Override
+  public java.lang.Float getUnitPrice() {
+    return (java.lang.Float) readProperty(PROPERTY_UnitPrice, TYPE_UnitPrice);
+  }
+
+  @Override
+  public void setUnitPrice(final java.lang.Float _unitPrice) {
+    writeProperty(PROPERTY_UnitPrice, _unitPrice);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.ProductCollection getProductOrdered() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.ProductCollection) readNavigationProperty(NAVIGATION_ProductOrdered, GET_ProductOrdered);
+  }
+
+  @Override
+  public void setProductOrdered(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.ProductCollection _productOrdered) {
+    writeNavigationProperty(NAVIGATION_ProductOrdered, _productOrdered);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Order getAssociatedOrder() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Order) readNavigationProperty(NAVIGATION_AssociatedOrder, GET_AssociatedOrder);
+  }
+
+  @Override
+  public void setAssociatedOrder(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Order _associatedOrder) {
+    writeNavigationProperty(NAVIGATION_AssociatedOrder, _associatedOrder);
+  }
+
+  @Override
+  public OrderDetail.Operations operations() {
+    return (OrderDetail.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public OrderDetail.Annotations annotations() {
+    return (OrderDetail.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link Order} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class OrderImpl extends AbstractStructuredTypeImpl<Order> implements Order {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_OrderID = method(Order.class, "getOrderID");
+  private static final Property PROPERTY_OrderID = property(GET_OrderID);
+  private static final Type TYPE_OrderID = GET_OrderID.getGenericReturnType();
+
+  private static final Method GET_OrderDate = method(Order.class, "getOrderDate");
+  private static final Property PROPERTY_OrderDate = property(GET_OrderDate);
+  private static final Type TYPE_OrderDate = GET_OrderDate.getGenericReturnType();
+
+  private static final Method GET_ShelfLife = method(Order.class, "getShelfLife");
+  private static final Property PROPERTY_ShelfLife = property(GET_ShelfLife);
+  private static final Type TYPE_ShelfLife = GET_ShelfLife.getGenericReturnType();
+
+  private static final Method GET_OrderShelfLifes = method(Order.class, "getOrderShelfLifes");
+  private static final Property PROPERTY_OrderShelfLifes = property(GET_OrderShelfLifes);
+  private static final Type TYPE_OrderShelfLifes = GET_OrderShelfLifes.getGenericReturnType();
+
+  private static final Method GET_LoggedInEmployee = method(Order.class, "getLoggedInEmployee");
+  private static final NavigationProperty NAVIGATION_LoggedInEmployee = navigationProperty(GET_LoggedInEmployee);
+
+  private static final Method GET_CustomerForOrder = method(Order.class, "getCustomerForOrder");
+  private static final NavigationProperty NAVIGATION_CustomerForOrder = navigationProperty(GET_CustomerForOrder);
+
+  private static final Method GET_OrderDetails = method(Order.class, "getOrderDetails");
+  private static final NavigationProperty NAVIGATION_OrderDetails = navigationProperty(GET_OrderDetails);
+
+  private static final Method OPERATIONS = method(Order.class, "operations");
+
+  private static final Method ANNOTATIONS = method(Order.class, "annotations");
+
+  public OrderImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getOrderID() {
+    return (java.lang.Integer) readProperty(PROPERTY_OrderID, TYPE_OrderID);
+  }
+
+  @Override
+  public void setOrderID(final java.lang.Integer _orderID) {
+    writeProperty(PROPERTY_OrderID, _orderID);
+  }
+
+  @Override
+  public java.sql.Timestamp getOrderDate() {
+    return (java.sql.Timestamp) readProperty(PROPERTY_OrderDate, TYPE_OrderDate);
+  }
+
+  @Override
+  public void setOrderDate(final java.sql.Timestamp _orderDate) {
+    writeProperty(PROPERTY_OrderDate, _orderDate);
+  }
+
+  @Override
+  public java.math.BigDecimal getShelfLife() {
+    return (java.math.BigDecimal) readProperty(PROPERTY_ShelfLife, TYPE_ShelfLife);
+  }
+
+  @Override
+  public void setShelfLife(final java.math.BigDecimal _shelfLife) {
+    writeProperty(PROPERTY_ShelfLife, _shelfLife);
+  }
+
+  @Override
+  public org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.math.BigDecimal> getOrderShelfLifes() {
+    return (org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.math.BigDecimal>) readProperty(PROPERTY_OrderShelfLifes, TYPE_OrderShelfLifes);
+  }
+
+  @Override
+  public void setOrderShelfLifes(final org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.math.BigDecimal> _orderShelfLifes) {
+    writeProperty(PROPERTY_OrderShelfLifes, _orderShelfLifes);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Employee getLoggedInEmployee() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Employee) readNavigationProperty(NAVIGATION_LoggedInEmployee, GET_LoggedInEmployee);
+  }
+
+  @Override
+  public void setLoggedInEmployee(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Employee _loggedInEmployee) {
+    writeNavigationProperty(NAVIGATION_LoggedInEmployee, _loggedInEmployee);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Customer getCustomerForOrder() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Customer) readNavigationProperty(NAVIGATION_CustomerForOrder, GET_CustomerForOrder);
+  }
+
+  @Override
+  public void setCustomerForOrder(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Customer _customerForOrder) {
+    writeNavigationProperty(NAVIGATION_CustomerForOrder, _customerForOrder);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.OrderDetailCollection getOrderDetails() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.OrderDetailCollection) readNavigationProperty(NAVIGATION_OrderDetails, GET_OrderDetails);
+  }
+
+  @Override
+  public void setOrderDetails(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.OrderDetailCollection _orderDetails) {
+    writeNavigationProperty(NAVIGATION_OrderDetails, _orderDetails);
+  }
+
+  @Override
+  public Order.Operations operations() {
+    return (Order.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public Order.Annotations annotations() {
+    return (Order.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
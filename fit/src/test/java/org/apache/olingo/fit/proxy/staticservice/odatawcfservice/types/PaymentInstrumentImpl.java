@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link PaymentInstrument} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class PaymentInstrumentImpl extends AbstractStructuredTypeImpl<PaymentInstrument> implements PaymentInstrument {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_PaymentInstrumentID = method(PaymentInstrument.class, "getPaymentInstrumentID");
+  private static final Property PROPERTY_PaymentInstrumentID = property(GET_PaymentInstrumentID);
+  private static final Type TYPE_PaymentInstrumentID = GET_PaymentInstrumentID.getGenericReturnType();
+
+  private static final Method GET_FriendlyName = method(PaymentInstrument.class, "getFriendlyName");
+  private static final Property PROPERTY_FriendlyName = property(GET_FriendlyName);
+  private static final Type TYPE_FriendlyName = GET_FriendlyName.getGenericReturnType();
+
+  private static final Method GET_CreatedDate = method(PaymentInstrument.class, "getCreatedDate");
+  private static final Property PROPERTY_CreatedDate = property(GET_CreatedDate);
+  private static final Type TYPE_CreatedDate = GET_CreatedDate.getGenericReturnType();
+
+  private static final Method GET_TheStoredPI = method(PaymentInstrument.class, "getTheStoredPI");
+  private static final NavigationProperty NAVIGATION_TheStoredPI = navigationProperty(GET_TheStoredPI);
+
+  private static final Method GET_BillingStatements = method(PaymentInstrument.class, "getBillingStatements");
+  private static final NavigationProperty NAVIGATION_BillingStatements = navigationProperty(GET_BillingStatements);
+
+  private static final Method GET_BackupStoredPI = method(PaymentInstrument.class, "getBackupStoredPI");
+  private static final NavigationProperty NAVIGATION_BackupStoredPI = navigationProperty(GET_BackupStoredPI);
+
+  private static final Method OPERATIONS = method(PaymentInstrument.class, "operations");
+
+  private static final Method ANNOTATIONS = method(PaymentInstrument.class, "annotations");
+
+  public PaymentInstrumentImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getPaymentInstrumentID() {
+    return (java.lang.Integer) readProperty(PROPERTY_PaymentInstrumentID, TYPE_PaymentInstrumentID);
+  }
+
+  @Override
+  public void setPaymentInstrumentID(final java.lang.Integer _paymentInstrumentID) {
+    writeProperty(PROPERTY_PaymentInstrumentID, _paymentInstrumentID);
+  }
+
+  @Override
+  public java.lang.String getFriendlyName() {
+    return (java.lang.String) readProperty(PROPERTY_FriendlyName, TYPE_FriendlyName);
+  }
+
+  @Override
+  public void setFriendlyName(final java.lang.String _friendlyName) {
+    writeProperty(PROPERTY_FriendlyName, _friendlyName);
+  }
+
+  @Override
+  public java.sql.Timestamp getCreatedDate() {
+    return (java.sql.Timestamp) readProperty(PROPERTY_CreatedDate, TYPE_CreatedDate);
+  }
+
+  @Override
+  public void setCreatedDate(final java.sql.Timestamp _createdDate) {
+    writeProperty(PROPERTY_CreatedDate, _createdDate);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.StoredPI getTheStoredPI() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.StoredPI) readNavigationProperty(NAVIGATION_TheStoredPI, GET_TheStoredPI);
+  }
+
+  @Override
+  public void setTheStoredPI(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.StoredPI _theStoredPI) {
+    writeNavigationProperty(NAVIGATION_TheStoredPI, _theStoredPI);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.PaymentInstrument.BillingStatements getBillingStatements() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.PaymentInstrument.BillingStatements) readNavigationProperty(NAVIGATION_BillingStatements, GET_BillingStatements);
+  }
+
+  @Override
+  public void setBillingStatements(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.PaymentInstrument.BillingStatements _billingStatements) {
+    writeNavigationProperty(NAVIGATION_BillingStatements, _billingStatements);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.StoredPI getBackupStoredPI() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.StoredPI) readNavigationProperty(NAVIGATION_BackupStoredPI, GET_BackupStoredPI);
+  }
+
+  @Override
+  public void setBackupStoredPI(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.StoredPI _backupStoredPI) {
+    writeNavigationProperty(NAVIGATION_BackupStoredPI, _backupStoredPI);
+  }
+
+  @Override
+  public PaymentInstrument.Operations operations() {
+    return (PaymentInstrument.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public PaymentInstrument.Annotations annotations() {
+    return (PaymentInstrument.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
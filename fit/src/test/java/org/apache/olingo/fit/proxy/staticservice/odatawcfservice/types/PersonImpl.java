@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link Person} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class PersonImpl extends AbstractStructuredTypeImpl<Person> implements Person {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_PersonID = method(Person.class, "getPersonID");
+  private static final Property PROPERTY_PersonID = property(GET_PersonID);
+  private static final Type TYPE_PersonID = GET_PersonID.getGenericReturnType();
+
+  private static final Method GET_FirstName = method(Person.class, "getFirstName");
+  private static final Property PROPERTY_FirstName = property(GET_FirstName);
+  private static final Type TYPE_FirstName = GET_FirstName.getGenericReturnType();
+
+  private static final Method GET_LastName = method(Person.class, "getLastName");
+  private static final Property PROPERTY_LastName = property(GET_LastName);
+  private static final Type TYPE_LastName = GET_LastName.getGenericReturnType();
+
+  private static final Method GET_MiddleName = method(Person.class, "getMiddleName");
+  private static final Property PROPERTY_MiddleName = property(GET_MiddleName);
+  private static final Type TYPE_MiddleName = GET_MiddleName.getGenericReturnType();
+
+  private static final Method GET_HomeAddress = method(Person.class, "getHomeAddress");
+  private static final Property PROPERTY_HomeAddress = property(GET_HomeAddress);
+  private static final Type TYPE_HomeAddress = GET_HomeAddress.getGenericReturnType();
+
+  private static final Method GET_Home = method(Person.class, "getHome");
+  private static final Property PROPERTY_Home = property(GET_Home);
+  private static final Type TYPE_Home = GET_Home.getGenericReturnType();
+
+  private static final Method GET_Numbers = method(Person.class, "getNumbers");
+  private static final Property PROPERTY_Numbers = property(GET_Numbers);
+  private static final Type TYPE_Numbers = GET_Numbers.getGenericReturnType();
+
+  private static final Method GET_Emails = method(Person.class, "getEmails");
+  private static final Property PROPERTY_Emails = property(GET_Emails);
+  private static final Type TYPE_Emails = GET_Emails.getGenericReturnType();
+
+  private static final Method GET_Parent = method(Person.class, "getParent");
+  private static final NavigationProperty NAVIGATION_Parent = navigationProperty(GET_Parent);
+
+  private static final Method OPERATIONS = method(Person.class, "operations");
+
+  private static final Method ANNOTATIONS = method(Person.class, "annotations");
+
+  public PersonImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getPersonID() {
+    return (java.lang.Integer) readProperty(PROPERTY_PersonID, TYPE_PersonID);
+  }
+
+  @Override
+  public void setPersonID(final java.lang.Integer _personID) {
+    writeProperty(PROPERTY_PersonID, _personID);
+  }
+
+  @Override
+  public java.lang.String getFirstName() {
+    return (java.lang.String) readProperty(PROPERTY_FirstName, TYPE_FirstName);
+  }
+
+  @Override
+  public void setFirstName(final java.lang.String _firstName) {
+    writeProperty(PROPERTY_FirstName, _firstName);
+  }
+
+  @Override
+  public java.lang.String getLastName() {
+    return (java.lang.String) readProperty(PROPERTY_LastName, TYPE_LastName);
+  }
+
+  @Override
+  public void setLastName(final java.lang.String _lastName) {
+    writeProperty(PROPERTY_LastName, _lastName);
+  }
+
+  @Override
+  public java.lang.String getMiddleName() {
+    return (java.lang.String) readProperty(PROPERTY_MiddleName, TYPE_MiddleName);
+  }
+
+  @Override
+  public void setMiddleName(final java.lang.String _middleName) {
+    writeProperty(PROPERTY_MiddleName, _middleName);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Address getHomeAddress() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Address) readProperty(PROPERTY_HomeAddress, TYPE_HomeAddress);
+  }
+
+  @Override
+  public void setHomeAddress(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Address _homeAddress) {
+    writeProperty(PROPERTY_HomeAddress, _homeAddress);
+  }
+
+  @Override
+  public org.apache.olingo.commons.api.edm.geo.Point getHome() {
+    return (org.apache.olingo.commons.api.edm.geo.Point) readProperty(PROPERTY_Home, TYPE_Home);
+  }
+
+  @Override
+  public void setHome(final org.apache.olingo.commons.api.edm.geo.Point _home) {
+    writeProperty(PROPERTY_Home, _home);
+  }
+
+  @Override
+  public org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.lang.String> getNumbers() {
+    return (org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.lang.String>) readProperty(PROPERTY_Numbers, TYPE_Numbers);
+  }
+
+  @Override
+  public void setNumbers(final org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.lang.String> _numbers) {
+    writeProperty(PROPERTY_Numbers, _numbers);
+  }
+
+  @Override
+  public org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.lang.String> getEmails() {
+    return (org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.lang.String>) readProperty(PROPERTY_Emails, TYPE_Emails);
+  }
+
+  @Override
+  public void setEmails(final org.apache.olingo.ext.proxy.api.PrimitiveCollection<java.lang.String> _emails) {
+    writeProperty(PROPERTY_Emails, _emails);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Person getParent() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Person) readNavigationProperty(NAVIGATION_Parent, GET_Parent);
+  }
+
+  @Override
+  public void setParent(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Person _parent) {
+    writeNavigationProperty(NAVIGATION_Parent, _parent);
+  }
+
+  @Override
+  public Person.Operations operations() {
+    return (Person.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public Person.Annotations annotations() {
+    return (Person.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link ProductDetail} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class ProductDetailImpl extends AbstractStructuredTypeImpl<ProductDetail> implements ProductDetail {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_ProductID = method(ProductDetail.class, "getProductID");
+  private static final Property PROPERTY_ProductID = property(GET_ProductID);
+  private static final Type TYPE_ProductID = GET_ProductID.getGenericReturnType();
+
+  private static final Method GET_ProductDetailID = method(ProductDetail.class, "getProductDetailID");
+  private static final Property PROPERTY_ProductDetailID = property(GET_ProductDetailID);
+  private static final Type TYPE_ProductDetailID = GET_ProductDetailID.getGenericReturnType();
+
+  private static final Method GET_ProductName = method(ProductDetail.class, "getProductName");
+  private static final Property PROPERTY_ProductName = property(GET_ProductName);
+  private static final Type TYPE_ProductName = GET_ProductName.getGenericReturnType();
+
+  private static final Method GET_Description = method(ProductDetail.class, "getDescription");
+  private static final Property PROPERTY_Description = property(GET_Description);
+  private static final Type TYPE_Description = GET_Description.getGenericReturnType();
+
+  private static final Method GET_RelatedProduct = method(ProductDetail.class, "getRelatedProduct");
+  private static final NavigationProperty NAVIGATION_RelatedProduct = navigationProperty(GET_RelatedProduct);
+
+  private static final Method GET_Reviews = method(ProductDetail.class, "getReviews");
+  private static final NavigationProperty NAVIGATION_Reviews = navigationProperty(GET_Reviews);
+
+  private static final Method OPERATIONS = method(ProductDetail.class, "operations");
+
+  private static final Method ANNOTATIONS = method(ProductDetail.class, "annotations");
+
+  public ProductDetailImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getProductID() {
+    return (java.lang.Integer) readProperty(PROPERTY_ProductID, TYPE_ProductID);
+  }
+
+  @Override
+  public void setProductID(final java.lang.Integer _productID) {
+    writeProperty(PROPERTY_ProductID, _productID);
+  }
+
+  @Override
+  public java.lang.Integer getProductDetailID() {
+    return (java.lang.Integer) readProperty(PROPERTY_ProductDetailID, TYPE_ProductDetailID);
+  }
+
+  @Override
+  public void setProductDetailID(final java.lang.Integer _productDetailID) {
+    writeProperty(PROPERTY_ProductDetailID, _productDetailID);
+  }
+
+  @Override
+  public java.lang.String getProductName() {
+    return (java.lang.String) readProperty(PROPERTY_ProductName, TYPE_ProductName);
+  }
+
+  @Override
+  public void setProductName(final java.lang.String _productName) {
+    writeProperty(PROPERTY_ProductName, _productName);
+  }
+
+  @Override
+  public java.lang.String getDescription() {
+    return (java.lang.String) readProperty(PROPERTY_Description, TYPE_Description);
+  }
+
+  @Override
+  public void setDescription(final java.lang.String _description) {
+    writeProperty(PROPERTY_Description, _description);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Product getRelatedProduct() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Product) readNavigationProperty(NAVIGATION_RelatedProduct, GET_RelatedProduct);
+  }
+
+  @Override
+  public void setRelatedProduct(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Product _relatedProduct) {
+    writeNavigationProperty(NAVIGATION_RelatedProduct, _relatedProduct);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.ProductReviewCollection getReviews() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.ProductReviewCollection) readNavigationProperty(NAVIGATION_Reviews, GET_Reviews);
+  }
+
+  @Override
+  public void setReviews(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.ProductReviewCollection _reviews) {
+    writeNavigationProperty(NAVIGATION_Reviews, _reviews);
+  }
+
+  @Override
+  public ProductDetail.Operations operations() {
+    return (ProductDetail.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public ProductDetail.Annotations annotations() {
+    return (ProductDetail.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
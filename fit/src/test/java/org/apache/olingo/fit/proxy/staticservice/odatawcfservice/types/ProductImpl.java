@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link Product} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class ProductImpl extends AbstractStructuredTypeImpl<Product> implements Product {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_ProductID = method(Product.class, "getProductID");
+  private static final Property PROPERTY_ProductID = property(GET_ProductID);
+  private static final Type TYPE_ProductID = GET_ProductID.getGenericReturnType();
+
+  private static final Method GET_Name = method(Product.class, "getName");
+  private static final Property PROPERTY_Name = property(GET_Name);
+  private static final Type TYPE_Name = GET_Name.getGenericReturnType();
+
+  private static final Method GET_QuantityPerUnit = method(Product.class, "getQuantityPerUnit");
+  private static final Property PROPERTY_QuantityPerUnit = property(GET_QuantityPerUnit);
+  private static final Type TYPE_QuantityPerUnit = GET_QuantityPerUnit.getGenericReturnType();
+
+  private static final Method GET_UnitPrice = method(Product.class, "getUnitPrice");
+  private static final Property PROPERTY_UnitPrice = property(GET_UnitPrice);
+  private static final Type TYPE_UnitPrice = GET_UnitPrice.getGenericReturnType();
+
+  private static final Method GET_QuantityInStock = method(Product.class, "getQuantityInStock");
+  private static final Property PROPERTY_QuantityInStock = property(GET_QuantityInStock);
+  private static final Type TYPE_QuantityInStock = GET_QuantityInStock.getGenericReturnType();
+
+  private static final Method GET_Discontinued = method(Product.class, "getDiscontinued");
+  private static final Property PROPERTY_Discontinued = property(GET_Discontinued);
+  private static final Type TYPE_Discontinued = GET_Discontinued.getGenericReturnType();
+
+  private static final Method GET_UserAccess = method(Product.class, "getUserAccess");
+  private static final Property PROPERTY_UserAccess = property(GET_UserAccess);
+  private static final Type TYPE_UserAccess = GET_UserAccess.getGenericReturnType();
+
+  private static final Method GET_SkinColor = method(Product.class, "getSkinColor");
+  private static final Property PROPERTY_SkinColor = property(GET_SkinColor);
+  private static final Type TYPE_SkinColor = GET_SkinColor.getGenericReturnType();
+
+  private static final Method GET_CoverColors = method(Product.class, "getCoverColors");
+  private static final Property PROPERTY_CoverColors = property(GET_CoverColors);
+  private static final Type TYPE_CoverColors = GET_CoverColors.getGenericReturnType();
+
+  private static final Method GET_Details = method(Product.class, "getDetails");
+  private static final NavigationProperty NAVIGATION_Details = navigationProperty(GET_Details);
+
+  private static final Method OPERATIONS = method(Product.class, "operations");
+
+  private static final Method ANNOTATIONS = method(Product.class, "annotations");
+
+  public ProductImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getProductID() {
+    return (java.lang.Integer) readProperty(PROPERTY_ProductID, TYPE_ProductID);
+  }
+
+  @Override
+  public void setProductID(final java.lang.Integer _productID) {
+    writeProperty(PROPERTY_ProductID, _productID);
+  }
+
+  @Override
+  public java.lang.String getName() {
+    return (java.lang.String) readProperty(PROPERTY_Name, TYPE_Name);
+  }
+
+  @Override
+  public void setName(final java.lang.String _name) {
+    writeProperty(PROPERTY_Name, _name);
+  }
+
+  @Override
+  public java.lang.String getQuantityPerUnit() {
+    return (java.lang.String) readProperty(PROPERTY_QuantityPerUnit, TYPE_QuantityPerUnit);
+  }
+
+  @Override
+  public void setQuantityPerUnit(final java.lang.String _quantityPerUnit) {
+    writeProperty(PROPERTY_QuantityPerUnit, _quantityPerUnit);
+  }
+
+  @Override
+  public java.lang.Float getUnitPrice() {
+    return (java.lang.Float) readProperty(PROPERTY_UnitPrice, TYPE_UnitPrice);
+  }
+
+  @Override
+  public void setUnitPrice(final java.lang.Float _unitPrice) {
+    writeProperty(PROPERTY_UnitPrice, _unitPrice);
+  }
+
+  @Override
+  public java.lang.Integer getQuantityInStock() {
+    return (java.lang.Integer) readProperty(PROPERTY_QuantityInStock, TYPE_QuantityInStock);
+  }
+
+  @Override
+  public void setQuantityInStock(final java.lang.Integer _quantityInStock) {
+    writeProperty(PROPERTY_QuantityInStock, _quantityInStock);
+  }
+
+  @Override
+  public java.lang.Boolean getDiscontinued() {
+    return (java.lang.Boolean) readProperty(PROPERTY_Discontinued, TYPE_Discontinued);
+  }
+
+  @Override
+  public void setDiscontinued(final java.lang.Boolean _discontinued) {
+    writeProperty(PROPERTY_Discontinued, _discontinued);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.AccessLevel getUserAccess() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.AccessLevel) readProperty(PROPERTY_UserAccess, TYPE_UserAccess);
+  }
+
+  @Override
+  public void setUserAccess(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.AccessLevel _userAccess) {
+    writeProperty(PROPERTY_UserAccess, _userAccess);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Color getSkinColor() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Color) readProperty(PROPERTY_SkinColor, TYPE_SkinColor);
+  }
+
+  @Override
+  public void setSkinColor(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Color _skinColor) {
+    writeProperty(PROPERTY_SkinColor, _skinColor);
+  }
+
+  @Override
+  public org.apache.olingo.ext.proxy.api.PrimitiveCollection<org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Color> getCoverColors() {
+    return (org.apache.olingo.ext.proxy.api.PrimitiveCollection<org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Color>) readProperty(PROPERTY_CoverColors, TYPE_CoverColors);
+  }
+
+  @Override
+  public void setCoverColors(final org.apache.olingo.ext.proxy.api.PrimitiveCollection<org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.Color> _coverColors) {
+    writeProperty(PROPERTY_CoverColors, _coverColors);
+  }
+
+  @Override
+  public org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.ProductDetailCollection getDetails() {
+    return (org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.ProductDetailCollection) readNavigationProperty(NAVIGATION_Details, GET_Details);
+  }
+
+  @Override
+  public void setDetails(final org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types.ProductDetailCollection _details) {
+    writeNavigationProperty(NAVIGATION_Details, _details);
+  }
+
+  @Override
+  public Product.Operations operations() {
+    return (Product.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public Product.Annotations annotations() {
+    return (Product.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
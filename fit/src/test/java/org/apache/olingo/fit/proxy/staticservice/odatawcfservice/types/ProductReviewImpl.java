@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link ProductReview} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class ProductReviewImpl extends AbstractStructuredTypeImpl<ProductReview> implements ProductReview {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_ProductID = method(ProductReview.class, "getProductID");
+  private static final Property PROPERTY_ProductID = property(GET_ProductID);
+  private static final Type TYPE_ProductID = GET_ProductID.getGenericReturnType();
+
+  private static final Method GET_ProductDetailID = method(ProductReview.class, "getProductDetailID");
+  private static final Property PROPERTY_ProductDetailID = property(GET_ProductDetailID);
+  private static final Type TYPE_ProductDetailID = GET_ProductDetailID.getGenericReturnType();
+
+  private static final Method GET_ReviewTitle = method(ProductReview.class, "getReviewTitle");
+  private static final Property PROPERTY_ReviewTitle = property(GET_ReviewTitle);
+  private static final Type TYPE_ReviewTitle = GET_ReviewTitle.getGenericReturnType();
+
+  private static final Method GET_RevisionID = method(ProductReview.class, "getRevisionID");
+  private static final Property PROPERTY_RevisionID = property(GET_RevisionID);
+  private static final Type TYPE_RevisionID = GET_RevisionID.getGenericReturnType();
+
+  private static final Method GET_Comment = method(ProductReview.class, "getComment");
+  private static final Property PROPERTY_Comment = property(GET_Comment);
+  private static final Type TYPE_Comment = GET_Comment.getGenericReturnType();
+
+  private static final Method GET_Author = method(ProductReview.class, "getAuthor");
+  private static final Property PROPERTY_Author = property(GET_Author);
+  private static final Type TYPE_Author = GET_Author.getGenericReturnType();
+
+  private static final Method OPERATIONS = method(ProductReview.class, "operations");
+
+  private static final Method ANNOTATIONS = method(ProductReview.class, "annotations");
+
+  public ProductReviewImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getProductID() {
+    return (java.lang.Integer) readProperty(PROPERTY_ProductID, TYPE_ProductID);
+  }
+
+  @Override
+  public void setProductID(final java.lang.Integer _productID) {
+    writeProperty(PROPERTY_ProductID, _productID);
+  }
+
+  @Override
+  public java.lang.Integer getProductDetailID() {
+    return (java.lang.Integer) readProperty(PROPERTY_ProductDetailID, TYPE_ProductDetailID);
+  }
+
+  @Override
+  public void setProductDetailID(final java.lang.Integer _productDetailID) {
+    writeProperty(PROPERTY_ProductDetailID, _productDetailID);
+  }
+
+  @Override
+  public java.lang.String getReviewTitle() {
+    return (java.lang.String) readProperty(PROPERTY_ReviewTitle, TYPE_ReviewTitle);
+  }
+
+  @Override
+  public void setReviewTitle(final java.lang.String _reviewTitle) {
+    writeProperty(PROPERTY_ReviewTitle, _reviewTitle);
+  }
+
+  @Override
+  public java.lang.Integer getRevisionID() {
+    return (java.lang.Integer) readProperty(PROPERTY_RevisionID, TYPE_RevisionID);
+  }
+
+  @Override
+  public void setRevisionID(final java.lang.Integer _revisionID) {
+    writeProperty(PROPERTY_RevisionID, _revisionID);
+  }
+
+  @Override
+  public java.lang.String getComment() {
+    return (java.lang.String) readProperty(PROPERTY_Comment, TYPE_Comment);
+  }
+
+  @Override
+  public void setComment(final java.lang.String _comment) {
+    writeProperty(PROPERTY_Comment, _comment);
+  }
+
+  @Override
+  public java.lang.String getAuthor() {
+    return (java.lang.String) readProperty(PROPERTY_Author, TYPE_Author);
+  }
+
+  @Override
+  public void setAuthor(final java.lang.String _author) {
+    writeProperty(PROPERTY_Author, _author);
+  }
+
+  @Override
+  public ProductReview.Operations operations() {
+    return (ProductReview.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public ProductReview.Annotations annotations() {
+    return (ProductReview.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link Statement} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class StatementImpl extends AbstractStructuredTypeImpl<Statement> implements Statement {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_StatementID = method(Statement.class, "getStatementID");
+  private static final Property PROPERTY_StatementID = property(GET_StatementID);
+  private static final Type TYPE_StatementID = GET_StatementID.getGenericReturnType();
+
+  private static final Method GET_TransactionType = method(Statement.class, "getTransactionType");
+  private static final Property PROPERTY_TransactionType = property(GET_TransactionType);
+  private static final Type TYPE_TransactionType = GET_TransactionType.getGenericReturnType();
+
+  private static final Method GET_TransactionDescription = method(Statement.class, "getTransactionDescription");
+  private static final Property PROPERTY_TransactionDescription = property(GET_TransactionDescription);
+  private static final Type TYPE_TransactionDescription = GET_TransactionDescription.getGenericReturnType();
+
+  private static final Method GET_Amount = method(Statement.class, "getAmount");
+  private static final Property PROPERTY_Amount = property(GET_Amount);
+  private static final Type TYPE_Amount = GET_Amount.getGenericReturnType();
+
+  private static final Method OPERATIONS = method(Statement.class, "operations");
+
+  private static final Method ANNOTATIONS = method(Statement.class, "annotations");
+
+  public StatementImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getStatementID() {
+    return (java.lang.Integer) readProperty(PROPERTY_StatementID, TYPE_StatementID);
+  }
+
+  @Override
+  public void setStatementID(final java.lang.Integer _statementID) {
+    writeProperty(PROPERTY_StatementID, _statementID);
+  }
+
+  @Override
+  public java.lang.String getTransactionType() {
+    return (java.lang.String) readProperty(PROPERTY_TransactionType, TYPE_TransactionType);
+  }
+
+  @Override
+  public void setTransactionType(final java.lang.String _transactionType) {
+    writeProperty(PROPERTY_TransactionType, _transactionType);
+  }
+
+  @Override
+  public java.lang.String getTransactionDescription() {
+    return (java.lang.String) readProperty(PROPERTY_TransactionDescription, TYPE_TransactionDescription);
+  }
+
+  @Override
+  public void setTransactionDescription(final java.lang.String _transactionDescription) {
+    writeProperty(PROPERTY_TransactionDescription, _transactionDescription);
+  }
+
+  @Override
+  public java.lang.Double getAmount() {
+    return (java.lang.Double) readProperty(PROPERTY_Amount, TYPE_Amount);
+  }
+
+  @Override
+  public void setAmount(final java.lang.Double _amount) {
+    writeProperty(PROPERTY_Amount, _amount);
+  }
+
+  @Override
+  public Statement.Operations operations() {
+    return (Statement.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public Statement.Annotations annotations() {
+    return (Statement.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link StoredPI} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class StoredPIImpl extends AbstractStructuredTypeImpl<StoredPI> implements StoredPI {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_StoredPIID = method(StoredPI.class, "getStoredPIID");
+  private static final Property PROPERTY_StoredPIID = property(GET_StoredPIID);
+  private static final Type TYPE_StoredPIID = GET_StoredPIID.getGenericReturnType();
+
+  private static final Method GET_PIName = method(StoredPI.class, "getPIName");
+  private static final Property PROPERTY_PIName = property(GET_PIName);
+  private static final Type TYPE_PIName = GET_PIName.getGenericReturnType();
+
+  private static final Method GET_PIType = method(StoredPI.class, "getPIType");
+  private static final Property PROPERTY_PIType = property(GET_PIType);
+  private static final Type TYPE_PIType = GET_PIType.getGenericReturnType();
+
+  private static final Method GET_CreatedDate = method(StoredPI.class, "getCreatedDate");
+  private static final Property PROPERTY_CreatedDate = property(GET_CreatedDate);
+  private static final Type TYPE_CreatedDate = GET_CreatedDate.getGenericReturnType();
+
+  private static final Method OPERATIONS = method(StoredPI.class, "operations");
+
+  private static final Method ANNOTATIONS = method(StoredPI.class, "annotations");
+
+  public StoredPIImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getStoredPIID() {
+    return (java.lang.Integer) readProperty(PROPERTY_StoredPIID, TYPE_StoredPIID);
+  }
+
+  @Override
+  public void setStoredPIID(final java.lang.Integer _storedPIID) {
+    writeProperty(PROPERTY_StoredPIID, _storedPIID);
+  }
+
+  @Override
+  public java.lang.String getPIName() {
+    return (java.lang.String) readProperty(PROPERTY_PIName, TYPE_PIName);
+  }
+
+  @Override
+  public void setPIName(final java.lang.String _pIName) {
+    writeProperty(PROPERTY_PIName, _pIName);
+  }
+
+  @Override
+  public java.lang.String getPIType() {
+    return (java.lang.String) readProperty(PROPERTY_PIType, TYPE_PIType);
+  }
+
+  @Override
+  public void setPIType(final java.lang.String _pIType) {
+    writeProperty(PROPERTY_PIType, _pIType);
+  }
+
+  @Override
+  public java.sql.Timestamp getCreatedDate() {
+    return (java.sql.Timestamp) readProperty(PROPERTY_CreatedDate, TYPE_CreatedDate);
+  }
+
+  @Override
+  public void setCreatedDate(final java.sql.Timestamp _createdDate) {
+    writeProperty(PROPERTY_CreatedDate, _createdDate);
+  }
+
+  @Override
+  public StoredPI.Operations operations() {
+    return (StoredPI.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public StoredPI.Annotations annotations() {
+    return (StoredPI.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.fit.proxy.staticservice.odatawcfservice.types;
+//CHECKSTYLE:OFF (Maven checkstyle)
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.apache.olingo.ext.proxy.api.annotations.NavigationProperty;
+import org.apache.olingo.ext.proxy.api.annotations.Property;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredInvocationHandler;
+import org.apache.olingo.ext.proxy.commons.AbstractStructuredTypeImpl;
+//CHECKSTYLE:ON (Maven checkstyle)
+
+/**
+ * Implementation of {@link Subscription} binding property accessors directly to the proxy layer.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class SubscriptionImpl extends AbstractStructuredTypeImpl<Subscription> implements Subscription {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Method GET_SubscriptionID = method(Subscription.class, "getSubscriptionID");
+  private static final Property PROPERTY_SubscriptionID = property(GET_SubscriptionID);
+  private static final Type TYPE_SubscriptionID = GET_SubscriptionID.getGenericReturnType();
+
+  private static final Method GET_TemplateGuid = method(Subscription.class, "getTemplateGuid");
+  private static final Property PROPERTY_TemplateGuid = property(GET_TemplateGuid);
+  private static final Type TYPE_TemplateGuid = GET_TemplateGuid.getGenericReturnType();
+
+  private static final Method GET_Title = method(Subscription.class, "getTitle");
+  private static final Property PROPERTY_Title = property(GET_Title);
+  private static final Type TYPE_Title = GET_Title.getGenericReturnType();
+
+  private static final Method GET_Category = method(Subscription.class, "getCategory");
+  private static final Property PROPERTY_Category = property(GET_Category);
+  private static final Type TYPE_Category = GET_Category.getGenericReturnType();
+
+  private static final Method GET_CreatedDate = method(Subscription.class, "getCreatedDate");
+  private static final Property PROPERTY_CreatedDate = property(GET_CreatedDate);
+  private static final Type TYPE_CreatedDate = GET_CreatedDate.getGenericReturnType();
+
+  private static final Method OPERATIONS = method(Subscription.class, "operations");
+
+  private static final Method ANNOTATIONS = method(Subscription.class, "annotations");
+
+  public SubscriptionImpl(final AbstractStructuredInvocationHandler handler) {
+    super(handler);
+  }
+
+  @Override
+  public java.lang.Integer getSubscriptionID() {
+    return (java.lang.Integer) readProperty(PROPERTY_SubscriptionID, TYPE_SubscriptionID);
+  }
+
+  @Override
+  public void setSubscriptionID(final java.lang.Integer _subscriptionID) {
+    writeProperty(PROPERTY_SubscriptionID, _subscriptionID);
+  }
+
+  @Override
+  public java.lang.String getTemplateGuid() {
+    return (java.lang.String) readProperty(PROPERTY_TemplateGuid, TYPE_TemplateGuid);
+  }
+
+  @Override
+  public void setTemplateGuid(final java.lang.String _templateGuid) {
+    writeProperty(PROPERTY_TemplateGuid, _templateGuid);
+  }
+
+  @Override
+  public java.lang.String getTitle() {
+    return (java.lang.String) readProperty(PROPERTY_Title, TYPE_Title);
+  }
+
+  @Override
+  public void setTitle(final java.lang.String _title) {
+    writeProperty(PROPERTY_Title, _title);
+  }
+
+  @Override
+  public java.lang.String getCategory() {
+    return (java.lang.String) readProperty(PROPERTY_Category, TYPE_Category);
+  }
+
+  @Override
+  public void setCategory(final java.lang.String _category) {
+    writeProperty(PROPERTY_Category, _category);
+  }
+
+  @Override
+  public java.sql.Timestamp getCreatedDate() {
+    return (java.sql.Timestamp) readProperty(PROPERTY_CreatedDate, TYPE_CreatedDate);
+  }
+
+  @Override
+  public void setCreatedDate(final java.sql.Timestamp _createdDate) {
+    writeProperty(PROPERTY_CreatedDate, _createdDate);
+  }
+
+  @Override
+  public Subscription.Operations operations() {
+    return (Subscription.Operations) invokeHandler(OPERATIONS);
+  }
+
+  @Override
+  public Subscription.Annotations annotations() {
+    return (Subscription.Annotations) invokeHandler(ANNOTATIONS);
+  }
+}
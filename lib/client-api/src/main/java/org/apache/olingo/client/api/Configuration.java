@@ -20,7 +20,9 @@ package org.apache.olingo.client.api;
 
 import java.util.concurrent.ExecutorService;
 
+import org.apache.olingo.client.api.edm.EdmMetadataCache;
 import org.apache.olingo.client.api.http.HttpClientFactory;
+import org.apache.olingo.client.api.http.HttpResponseCache;
 import org.apache.olingo.client.api.http.HttpUriRequestFactory;
 import org.apache.olingo.commons.api.format.ContentType;
 
@@ -253,6 +255,50 @@ public interface Configuration {
    */
   void setContinueOnError(boolean value);
 
+  /**
+   * Gets the HTTP response cache used to execute retrieve requests.
+   *
+   * @return configured HTTP response cache; null if responses are not cached (default).
+   */
+  HttpResponseCache getResponseCache();
+
+  /**
+   * Sets the HTTP response cache used to execute retrieve requests.
+   *
+   * @param responseCache HTTP response cache; null to disable caching.
+   */
+  void setResponseCache(HttpResponseCache responseCache);
+
+  /**
+   * Gets the persistent store of parsed metadata documents used by Edm-enabled clients.
+   *
+   * @return configured metadata cache; null if metadata are always downloaded (default).
+   */
+  EdmMetadataCache getMetadataCache();
+
+  /**
+   * Sets the persistent store of parsed metadata documents used by Edm-enabled clients.
+   *
+   * @param metadataCache metadata cache; null to disable it.
+   */
+  void setMetadataCache(EdmMetadataCache metadataCache);
+
+  /**
+   * Checks whether metadata documents are only indexed when read, de-serializing schema elements when first
+   * requested.
+   *
+   * @return whether metadata are read lazily (default false).
+   */
+  boolean isLazyMetadata();
+
+  /**
+   * Sets whether metadata documents (also the ones used by Edm-enabled clients) are only indexed when read,
+   * de-serializing schema elements when first requested.
+   *
+   * @param value whether to read metadata lazily.
+   */
+  void setLazyMetadata(boolean value);
+
   /**
    * Retrieves request executor service.
    *
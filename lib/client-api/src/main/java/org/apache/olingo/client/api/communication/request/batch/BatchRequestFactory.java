@@ -18,6 +18,7 @@
  */
 package org.apache.olingo.client.api.communication.request.batch;
 
+import java.util.concurrent.TimeUnit;
 
 public interface BatchRequestFactory {
 
@@ -28,4 +29,15 @@ public interface BatchRequestFactory {
    * @return new ODataBatchRequest instance.
    */
   ODataBatchRequest getBatchRequest(String serviceRoot);
+
+  /**
+   * Gets an auto-batcher instance, coalescing the submitted requests into batch requests.
+   *
+   * @param serviceRoot service root.
+   * @param maxItems maximum number of requests per batch request.
+   * @param window maximum delay between the first submitted request and the batch request being sent.
+   * @param unit time unit of the window.
+   * @return new ODataAutoBatcher instance.
+   */
+  ODataAutoBatcher getAutoBatcher(String serviceRoot, int maxItems, long window, TimeUnit unit);
 }
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.api.communication.request.batch;
+
+import java.util.concurrent.Future;
+
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.communication.response.ODataResponse;
+
+/**
+ * Opt-in coalescing of independent requests into <tt>$batch</tt> requests.
+ * <p>
+ * Requests submitted within the configured time window (or until the configured number of items is reached) are sent
+ * as a single batch request: retrieve requests as single batch items, any other request into its own changeset.
+ * Each caller gets back a future completed with the response of its own batch item.
+ */
+public interface ODataAutoBatcher {
+
+  /**
+   * Queues the given request for the next batch request.
+   * <p>
+   * Please note that the request will be consumed (execution won't be possible anymore). The returned future fails
+   * with an <tt>ODataClientErrorException</tt> or <tt>ODataServerErrorException</tt> if the batch item reports an
+   * error.
+   *
+   * @param request request to be batched.
+   * @return future response of the given request; cast it to the response type of the submitted request.
+   */
+  Future<ODataResponse> submit(ODataBatchableRequest request);
+
+  /**
+   * Sends the pending requests without waiting for the end of the current time window.
+   */
+  void flush();
+
+  /**
+   * Sends the pending requests and stops accepting new ones.
+   */
+  void close();
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.api.edm;
+
+/**
+ * Persistent store of parsed metadata documents, used by Edm-enabled clients to avoid downloading and parsing
+ * <tt>$metadata</tt> at each start.
+ * <p>
+ * A stored snapshot is always revalidated against the service through its metadata ETag before being used.
+ */
+public interface EdmMetadataCache {
+
+  /**
+   * Loads the metadata snapshot stored for the given service root.
+   *
+   * @param serviceRoot service root.
+   * @return stored snapshot; null if none is available or it cannot be read.
+   */
+  EdmMetadataSnapshot load(String serviceRoot);
+
+  /**
+   * Stores the given metadata snapshot for the given service root, replacing any previous one.
+   *
+   * @param serviceRoot service root.
+   * @param snapshot metadata snapshot.
+   */
+  void store(String serviceRoot, EdmMetadataSnapshot snapshot);
+
+  /**
+   * Removes the metadata snapshot stored for the given service root.
+   *
+   * @param serviceRoot service root.
+   */
+  void invalidate(String serviceRoot);
+}
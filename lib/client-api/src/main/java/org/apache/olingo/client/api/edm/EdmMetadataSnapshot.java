@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.api.edm;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import org.apache.olingo.commons.api.edm.provider.CsdlSchema;
+
+/**
+ * Parsed metadata document (external references included), together with the ETag it was served with.
+ */
+public class EdmMetadataSnapshot implements Serializable {
+
+  private static final long serialVersionUID = -2361709396474389458L;
+
+  private final String metadataETag;
+
+  private final Map<String, CsdlSchema> schemas;
+
+  /**
+   * Constructor.
+   *
+   * @param metadataETag ETag of the metadata document.
+   * @param schemas parsed schemas by namespace and alias.
+   */
+  public EdmMetadataSnapshot(final String metadataETag, final Map<String, CsdlSchema> schemas) {
+    this.metadataETag = metadataETag;
+    this.schemas = schemas;
+  }
+
+  /**
+   * Gets the ETag of the metadata document.
+   *
+   * @return metadata ETag.
+   */
+  public String getMetadataETag() {
+    return metadataETag;
+  }
+
+  /**
+   * Gets the parsed schemas by namespace and alias.
+   *
+   * @return schemas.
+   */
+  public Map<String, CsdlSchema> getSchemas() {
+    return schemas;
+  }
+}
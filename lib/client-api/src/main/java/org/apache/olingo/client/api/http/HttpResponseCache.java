@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.api.http;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Interface used by ODataRequest implementations to execute requests through an HTTP response cache.
+ * <p>
+ * Implementations are expected to follow HTTP semantics: cached responses are revalidated with
+ * <tt>If-None-Match</tt> and served again when the service answers <tt>304 Not Modified</tt>.
+ */
+public interface HttpResponseCache {
+
+  /**
+   * Executes the given request, serving the response from the cache when the service reports it as unchanged.
+   *
+   * @param httpClient HTTP client to be used for execution.
+   * @param request request to be executed.
+   * @return the HTTP response.
+   * @throws IOException in case of communication problems.
+   */
+  HttpResponse execute(HttpClient httpClient, HttpUriRequest request) throws IOException;
+
+  /**
+   * Removes all cached responses about the given URI.
+   *
+   * @param uri request URI.
+   */
+  void invalidate(URI uri);
+
+  /**
+   * Removes all cached responses.
+   */
+  void clear();
+
+  /**
+   * Gets the number of responses served from the cache after revalidation.
+   *
+   * @return hit count.
+   */
+  long getHitCount();
+
+  /**
+   * Gets the number of cacheable requests whose response has been fetched from the service.
+   *
+   * @return miss count.
+   */
+  long getMissCount();
+
+  /**
+   * Gets the number of responses evicted in order to keep the cache within its memory bound.
+   *
+   * @return eviction count.
+   */
+  long getEvictionCount();
+
+  /**
+   * Gets the number of cached responses.
+   *
+   * @return number of cached responses.
+   */
+  int size();
+
+  /**
+   * Gets the number of payload bytes currently held by the cache.
+   *
+   * @return cached bytes.
+   */
+  long getCachedBytes();
+}
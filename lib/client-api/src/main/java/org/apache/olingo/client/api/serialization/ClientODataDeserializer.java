@@ -29,6 +29,14 @@ public interface ClientODataDeserializer extends ODataDeserializer {
 
   XMLMetadata toMetadata(InputStream input);
 
+  /**
+   * Indexes a metadata document; schema elements are de-serialized only when first requested.
+   *
+   * @param input stream to de-serialize.
+   * @return metadata representation; its references are de-serialized but not followed.
+   */
+  XMLMetadata toLazyMetadata(InputStream input);
+
   /**
    * Gets the ServiceDocument object represented by the given InputStream.
    *
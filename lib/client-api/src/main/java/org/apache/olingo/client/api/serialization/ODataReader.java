@@ -57,6 +57,17 @@ public interface ODataReader {
    */
   Edm readMetadata(Map<String, CsdlSchema> xmlSchemas);
 
+  /**
+   * Parses a stream into a metadata representation whose entity types, functions, annotation groups and other
+   * schema elements are de-serialized only when first requested.
+   * <br/>
+   * Referenced (via <tt>&lt;edmx:Reference/&gt;</tt>) metadata documents are not followed.
+   *
+   * @param input stream to de-serialize.
+   * @return metadata representation.
+   */
+  Edm readLazyMetadata(InputStream input);
+
   /**
    * Parses an OData service document.
    *
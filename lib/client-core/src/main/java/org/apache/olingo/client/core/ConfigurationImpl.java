@@ -24,7 +24,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.apache.olingo.client.api.Configuration;
+import org.apache.olingo.client.api.edm.EdmMetadataCache;
 import org.apache.olingo.client.api.http.HttpClientFactory;
+import org.apache.olingo.client.api.http.HttpResponseCache;
 import org.apache.olingo.client.api.http.HttpUriRequestFactory;
 import org.apache.olingo.client.core.http.DefaultHttpClientFactory;
 import org.apache.olingo.client.core.http.DefaultHttpUriRequestFactory;
@@ -58,6 +60,12 @@ public class ConfigurationImpl implements Configuration {
 
   private static final String CONTINUE_ON_ERROR = "continueOnError";
 
+  private static final String RESPONSE_CACHE = "responseCache";
+
+  private static final String METADATA_CACHE = "metadataCache";
+
+  private static final String LAZY_METADATA = "lazyMetadata";
+
   private final Map<String, Object> CONF = new HashMap<String, Object>();
 
   private transient ExecutorService executor = Executors.newFixedThreadPool(10);
@@ -220,6 +228,36 @@ public class ConfigurationImpl implements Configuration {
     setProperty(CONTINUE_ON_ERROR, value);
   }
 
+  @Override
+  public HttpResponseCache getResponseCache() {
+    return (HttpResponseCache) getProperty(RESPONSE_CACHE, null);
+  }
+
+  @Override
+  public void setResponseCache(final HttpResponseCache responseCache) {
+    setProperty(RESPONSE_CACHE, responseCache);
+  }
+
+  @Override
+  public EdmMetadataCache getMetadataCache() {
+    return (EdmMetadataCache) getProperty(METADATA_CACHE, null);
+  }
+
+  @Override
+  public void setMetadataCache(final EdmMetadataCache metadataCache) {
+    setProperty(METADATA_CACHE, metadataCache);
+  }
+
+  @Override
+  public boolean isLazyMetadata() {
+    return (Boolean) getProperty(LAZY_METADATA, false);
+  }
+
+  @Override
+  public void setLazyMetadata(final boolean value) {
+    setProperty(LAZY_METADATA, value);
+  }
+
   @Override
   public ExecutorService getExecutor() {
     return executor;
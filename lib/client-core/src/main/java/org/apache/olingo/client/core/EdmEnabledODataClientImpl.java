@@ -21,11 +21,16 @@ package org.apache.olingo.client.core;
 import org.apache.olingo.client.api.EdmEnabledODataClient;
 import org.apache.olingo.client.api.communication.request.invoke.EdmEnabledInvokeRequestFactory;
 import org.apache.olingo.client.api.communication.request.retrieve.EdmMetadataRequest;
+import org.apache.olingo.client.api.communication.request.retrieve.XMLMetadataRequest;
 import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
+import org.apache.olingo.client.api.edm.EdmMetadataCache;
+import org.apache.olingo.client.api.edm.EdmMetadataSnapshot;
+import org.apache.olingo.client.api.edm.xml.XMLMetadata;
 import org.apache.olingo.client.api.uri.URIBuilder;
 import org.apache.olingo.client.core.communication.request.invoke.EdmEnabledInvokeRequestFactoryImpl;
 import org.apache.olingo.client.core.uri.URIBuilderImpl;
 import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
 
 public class EdmEnabledODataClientImpl extends ODataClientImpl implements EdmEnabledODataClient {
 
@@ -54,15 +59,57 @@ public class EdmEnabledODataClientImpl extends ODataClientImpl implements EdmEna
   public Edm getEdm(final String metadataETag) {
     synchronized (this) {
       if (this.edm == null || (metadataETag != null && !metadataETag.equals(this.metadataETag))) {
-        final EdmMetadataRequest metadataReq = getRetrieveRequestFactory().getMetadataRequest(serviceRoot);
-        final ODataRetrieveResponse<Edm> metadataRes = metadataReq.execute();
-        this.metadataETag = metadataRes.getETag();
-        this.edm = metadataRes.getBody();
+        final EdmMetadataCache metadataCache = getConfiguration().getMetadataCache();
+        if (metadataCache == null) {
+          final EdmMetadataRequest metadataReq = getRetrieveRequestFactory().getMetadataRequest(serviceRoot);
+          final ODataRetrieveResponse<Edm> metadataRes = metadataReq.execute();
+          this.metadataETag = metadataRes.getETag();
+          this.edm = metadataRes.getBody();
+        } else {
+          loadEdm(metadataCache, metadataETag);
+        }
       }
     }
     return this.edm;
   }
 
+  /**
+   * Loads the Edm from the stored metadata snapshot, if still valid; downloads and stores metadata otherwise.
+   *
+   * @param metadataCache metadata cache.
+   * @param expectedETag metadata ETag expected by the caller; null if unknown.
+   */
+  private void loadEdm(final EdmMetadataCache metadataCache, final String expectedETag) {
+    final EdmMetadataSnapshot snapshot = metadataCache.load(serviceRoot);
+
+    EdmMetadataSnapshot current = null;
+    if (snapshot != null && expectedETag != null && expectedETag.equals(snapshot.getMetadataETag())) {
+      current = snapshot;
+    } else {
+      final XMLMetadataRequest metadataReq = getRetrieveRequestFactory().getXMLMetadataRequest(serviceRoot);
+      if (snapshot != null) {
+        metadataReq.setIfNoneMatch(snapshot.getMetadataETag());
+      }
+      final ODataRetrieveResponse<XMLMetadata> metadataRes = metadataReq.execute();
+
+      if (snapshot != null && metadataRes.getStatusCode() == HttpStatusCode.NOT_MODIFIED.getStatusCode()) {
+        metadataRes.close();
+        current = snapshot;
+      } else {
+        current = new EdmMetadataSnapshot(metadataRes.getETag(), metadataRes.getBody().getSchemaByNsOrAlias());
+        if (current.getMetadataETag() == null) {
+          // no way to revalidate later on
+          metadataCache.invalidate(serviceRoot);
+        } else {
+          metadataCache.store(serviceRoot, current);
+        }
+      }
+    }
+
+    this.metadataETag = current.getMetadataETag();
+    this.edm = getReader().readMetadata(current.getSchemas());
+  }
+
   @Override
   public Edm getCachedEdm() {
     if (this.edm == null) {
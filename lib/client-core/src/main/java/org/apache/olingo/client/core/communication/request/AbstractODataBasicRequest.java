@@ -111,7 +111,11 @@ public abstract class AbstractODataBasicRequest<T extends ODataResponse>
 
       final InputStream payload = getPayload();
       if (payload != null) {
-        req.rawAppend(IOUtils.toByteArray(getPayload()));
+        try {
+          streamPayload(req, payload);
+        } finally {
+          IOUtils.closeQuietly(payload);
+        }
       }
     } catch (IOException e) {
       throw new IllegalStateException(e);
@@ -39,8 +39,10 @@ import org.apache.olingo.client.api.ODataClient;
 import org.apache.olingo.client.api.communication.header.ODataHeaders;
 import org.apache.olingo.client.api.communication.request.ODataRequest;
 import org.apache.olingo.client.api.communication.request.ODataStreamer;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchRequest;
 import org.apache.olingo.client.api.communication.response.ODataResponse;
 import org.apache.olingo.client.api.http.HttpClientException;
+import org.apache.olingo.client.api.http.HttpResponseCache;
 import org.apache.olingo.commons.api.ex.ODataRuntimeException;
 import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.format.ContentType;
@@ -58,6 +60,11 @@ public abstract class AbstractODataRequest extends AbstractRequest implements OD
   protected final ODataClient odataClient;
   private static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
 
+  /**
+   * Size of the chunks used to stream payloads onto batch requests.
+   */
+  private static final int BATCH_CHUNK_SIZE = 8 * 1024;
+
   /**
    * OData request method.
    */
@@ -248,6 +255,22 @@ public abstract class AbstractODataRequest extends AbstractRequest implements OD
     }
   }
 
+  /**
+   * Streams the given payload onto the given batch request, chunk by chunk, so that the payload of a batch item is
+   * never fully loaded in memory.
+   *
+   * @param req destination batch request.
+   * @param payload payload to be streamed.
+   * @throws IOException in case of failure reading the payload or writing onto the batch request.
+   */
+  protected void streamPayload(final ODataBatchRequest req, final InputStream payload) throws IOException {
+    final byte[] buffer = new byte[BATCH_CHUNK_SIZE];
+    int read;
+    while ((read = payload.read(buffer)) != -1) {
+      req.rawAppend(buffer, 0, read);
+    }
+  }
+
   @Override
   public InputStream rawExecute() {
      HttpEntity httpEntity = null;
@@ -298,7 +321,10 @@ public abstract class AbstractODataRequest extends AbstractRequest implements OD
 
     HttpResponse response;
     try {
-      response = httpClient.execute(request);
+      final HttpResponseCache responseCache = odataClient.getConfiguration().getResponseCache();
+      response = responseCache == null || method != HttpMethod.GET
+          ? httpClient.execute(request)
+          : responseCache.execute(httpClient, request);
     } catch (IOException e) {
       throw new HttpClientException(e);
     } catch (RuntimeException e) {
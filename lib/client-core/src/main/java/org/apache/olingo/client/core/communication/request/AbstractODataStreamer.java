@@ -19,9 +19,7 @@
 package org.apache.olingo.client.core.communication.request;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.PipedOutputStream;
-import java.util.Arrays;
 
 import org.apache.olingo.client.api.communication.request.ODataStreamer;
 import org.slf4j.Logger;
@@ -57,7 +55,11 @@ public abstract class AbstractODataStreamer implements ODataStreamer {
    * @param src byte array to be written.
    */
   protected void stream(final byte[] src) {
-    new Writer(src, bodyStreamWriter).run();
+    try {
+      bodyStreamWriter.write(src);
+    } catch (IOException e) {
+      LOG.error("Error streaming object", e);
+    }
   }
 
   /**
@@ -76,28 +78,4 @@ public abstract class AbstractODataStreamer implements ODataStreamer {
   public PipedOutputStream getBodyStreamWriter() {
     return bodyStreamWriter;
   }
-
-  /**
-   * Writer thread.
-   */
-  private class Writer implements Runnable {
-
-    final OutputStream os;
-
-    final byte[] src;
-
-    public Writer(final byte[] src, final OutputStream os) {
-      this.os = os;
-      this.src = Arrays.copyOf(src, src.length);
-    }
-
-    @Override
-    public void run() {
-      try {
-        os.write(src);
-      } catch (IOException e) {
-        LOG.error("Error streaming object", e);
-      }
-    }
-  }
 }
@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.request.batch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.header.ODataPreferences;
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.communication.request.batch.BatchManager;
+import org.apache.olingo.client.api.communication.request.batch.ODataAutoBatcher;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchResponseItem;
+import org.apache.olingo.client.api.communication.response.ODataBatchResponse;
+import org.apache.olingo.client.api.communication.response.ODataResponse;
+import org.apache.olingo.client.core.communication.header.ODataErrorResponseChecker;
+import org.apache.olingo.client.core.communication.response.AbstractODataResponse;
+import org.apache.olingo.client.core.communication.response.AsyncResponseImpl;
+import org.apache.olingo.client.core.communication.response.batch.ODataBatchResponseManager;
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Auto-batcher implementation.
+ * <p>
+ * Pending requests are sent from a dedicated daemon thread; the batch request itself is executed by the executor
+ * configured on the client. Batch requests are always sent with the <tt>odata.continue-on-error</tt> preference, so
+ * that a failing item does not affect the other callers.
+ */
+public class ODataAutoBatcherImpl implements ODataAutoBatcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ODataAutoBatcherImpl.class);
+
+  private final ODataClient odataClient;
+
+  private final String serviceRoot;
+
+  private final int maxItems;
+
+  private final long windowMillis;
+
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * Requests waiting for the next batch request.
+   */
+  private List<PendingItem> pending = new ArrayList<PendingItem>();
+
+  /**
+   * Incremented each time pending requests are taken: lets a window expiration recognize its own batch.
+   */
+  private long generation = 0;
+
+  private boolean closed = false;
+
+  public ODataAutoBatcherImpl(final ODataClient odataClient, final String serviceRoot,
+      final int maxItems, final long window, final TimeUnit unit) {
+
+    if (maxItems <= 0) {
+      throw new IllegalArgumentException("Maximum number of batch items must be positive");
+    }
+
+    this.odataClient = odataClient;
+    this.serviceRoot = serviceRoot;
+    this.maxItems = maxItems;
+    this.windowMillis = unit.toMillis(window);
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, "odata-auto-batcher");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  @Override
+  public synchronized Future<ODataResponse> submit(final ODataBatchableRequest request) {
+    if (closed) {
+      throw new IllegalStateException("Auto-batcher has been closed");
+    }
+
+    final PendingItem item = new PendingItem(request);
+    pending.add(item);
+
+    if (pending.size() >= maxItems) {
+      scheduleFlush(-1, 0);
+    } else if (pending.size() == 1) {
+      scheduleFlush(generation, windowMillis);
+    }
+
+    return item.future;
+  }
+
+  @Override
+  public synchronized void flush() {
+    if (!pending.isEmpty()) {
+      scheduleFlush(-1, 0);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (!closed) {
+      closed = true;
+      flush();
+      scheduler.shutdown();
+    }
+  }
+
+  private void scheduleFlush(final long expectedGeneration, final long delay) {
+    scheduler.schedule(new Runnable() {
+      @Override
+      public void run() {
+        // Requests exceeding the maximum number of items are sent right after, in further batch requests:
+        // rescheduling is not an option since the scheduler might have been shut down meanwhile.
+        List<PendingItem> items = takePending(expectedGeneration);
+        while (!items.isEmpty()) {
+          send(items);
+          items = takePending(-1);
+        }
+      }
+    }, delay, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Takes the pending requests.
+   *
+   * @param expectedGeneration generation the caller is expecting, -1 to take pending requests anyway.
+   * @return pending requests, empty if they have been already taken.
+   */
+  private synchronized List<PendingItem> takePending(final long expectedGeneration) {
+    if (pending.isEmpty() || (expectedGeneration >= 0 && expectedGeneration != generation)) {
+      return new ArrayList<PendingItem>();
+    }
+
+    final List<PendingItem> items;
+    if (pending.size() > maxItems) {
+      items = new ArrayList<PendingItem>(pending.subList(0, maxItems));
+      pending = new ArrayList<PendingItem>(pending.subList(maxItems, pending.size()));
+    } else {
+      items = pending;
+      pending = new ArrayList<PendingItem>();
+    }
+    generation++;
+    return items;
+  }
+
+  /**
+   * Sends the given requests as a single batch request and completes the related futures.
+   *
+   * @param items requests to be sent.
+   */
+  protected void send(final List<PendingItem> items) {
+    int completed = 0;
+    ODataBatchResponse response = null;
+    try {
+      final ODataBatchRequestImpl request = new ODataBatchRequestImpl(
+          odataClient, odataClient.newURIBuilder(serviceRoot).appendBatchSegment().build());
+      request.setPrefer(new ODataPreferences().continueOnError());
+
+      final BatchManager payload = request.payloadManager();
+      for (PendingItem item : items) {
+        if (item.request.getMethod() == HttpMethod.GET) {
+          payload.addRequest(item.request);
+        } else {
+          payload.addChangeset().addRequest(item.request);
+        }
+      }
+
+      response = payload.getResponse();
+      final Iterator<ODataBatchResponseItem> resItems =
+          new ODataBatchResponseManager(response, request.expectedResItems, true);
+      while (resItems.hasNext() && completed < items.size()) {
+        final ODataBatchResponseItem resItem = resItems.next();
+        final PendingItem item = items.get(completed);
+        if (resItem.hasNext()) {
+          complete(item, resItem.next());
+        } else {
+          item.future.fail(new ODataRuntimeException("No response found for the batched request"));
+        }
+        completed++;
+      }
+    } catch (RuntimeException e) {
+      LOG.error("Error sending auto-batched requests", e);
+      for (PendingItem item : items.subList(completed, items.size())) {
+        item.future.fail(e);
+      }
+      completed = items.size();
+    } finally {
+      for (PendingItem item : items.subList(completed, items.size())) {
+        item.future.fail(new ODataRuntimeException("The batched request has not been processed"));
+      }
+      if (response != null) {
+        response.close();
+      }
+    }
+  }
+
+  private void complete(final PendingItem item, final ODataResponse res) {
+    if (res.getStatusCode() >= HttpStatus.SC_BAD_REQUEST) {
+      item.future.fail(ODataErrorResponseChecker.checkResponse(
+          odataClient,
+          new BasicStatusLine(HttpVersion.HTTP_1_1, res.getStatusCode(), res.getStatusMessage()),
+          res.getRawResponse(),
+          item.request.getAccept()));
+    } else {
+      if (res instanceof AbstractODataResponse && !(res instanceof AsyncResponseImpl)) {
+        // the batch response moves on to the next item: keep this payload around for the caller
+        ((AbstractODataResponse) res).bufferBatchPayload();
+      }
+      item.future.complete(res);
+    }
+  }
+
+  /**
+   * Request waiting to be batched, with the future to be completed by its response.
+   */
+  protected static class PendingItem {
+
+    private final ODataBatchableRequest request;
+
+    private final ItemFuture future = new ItemFuture();
+
+    PendingItem(final ODataBatchableRequest request) {
+      this.request = request;
+    }
+  }
+
+  /**
+   * Future completed once the batch response item has been read.
+   */
+  private static class ItemFuture implements Future<ODataResponse> {
+
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private ODataResponse response;
+
+    private RuntimeException exception;
+
+    void complete(final ODataResponse response) {
+      this.response = response;
+      done.countDown();
+    }
+
+    void fail(final RuntimeException exception) {
+      this.exception = exception;
+      done.countDown();
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+      return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return false;
+    }
+
+    @Override
+    public boolean isDone() {
+      return done.getCount() == 0;
+    }
+
+    @Override
+    public ODataResponse get() throws InterruptedException, ExecutionException {
+      done.await();
+      return getResult();
+    }
+
+    @Override
+    public ODataResponse get(final long timeout, final TimeUnit unit)
+        throws InterruptedException, ExecutionException, TimeoutException {
+
+      if (!done.await(timeout, unit)) {
+        throw new TimeoutException();
+      }
+      return getResult();
+    }
+
+    private ODataResponse getResult() throws ExecutionException {
+      if (exception != null) {
+        throw new ExecutionException(exception);
+      }
+      return response;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.request.batch;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import org.apache.olingo.client.api.communication.request.ODataStreamer;
+import org.apache.olingo.commons.api.Constants;
+
+/**
+ * Input stream over the payload of a single batch item.
+ * <p>
+ * Lines are pulled from the batch line iterator of the given controller only when the caller asks for more bytes, up
+ * to the item delimiter (boundary): no intermediate buffer and no pump thread are needed, so the payload of each
+ * batch response item is available as soon as its bytes arrive.
+ */
+public class ODataBatchPartInputStream extends InputStream {
+
+  private static final Charset DEFAULT_CHARSET = Charset.forName(Constants.UTF8);
+
+  /**
+   * Batch controller providing source and delimiter.
+   */
+  private final ODataBatchController controller;
+
+  /**
+   * Bytes of the latest read line (CRLF included).
+   */
+  private byte[] buffer = new byte[0];
+
+  /**
+   * Position into the buffer.
+   */
+  private int pos = 0;
+
+  /**
+   * First read check: the current line of the iterator must be verified against the delimiter.
+   */
+  private boolean first = true;
+
+  /**
+   * End of item check.
+   */
+  private boolean finished = false;
+
+  /**
+   * Constructor.
+   *
+   * @param controller batch controller.
+   */
+  public ODataBatchPartInputStream(final ODataBatchController controller) {
+    this.controller = controller;
+  }
+
+  @Override
+  public int read() {
+    if (pos >= buffer.length && !fill()) {
+      return -1;
+    }
+    return buffer[pos++] & 0xFF;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) {
+    if (len == 0) {
+      return 0;
+    }
+    if (pos >= buffer.length && !fill()) {
+      return -1;
+    }
+
+    int read = 0;
+    while (read < len && (pos < buffer.length || fill())) {
+      final int count = Math.min(len - read, buffer.length - pos);
+      System.arraycopy(buffer, pos, b, off + read, count);
+      pos += count;
+      read += count;
+    }
+    return read;
+  }
+
+  @Override
+  public int available() {
+    return buffer.length - pos;
+  }
+
+  @Override
+  public void close() {
+    finished = true;
+    buffer = new byte[0];
+    pos = 0;
+  }
+
+  /**
+   * Reads the next line of the item, if any.
+   *
+   * @return 'TRUE' if a new line has been loaded into the buffer; 'FALSE' if the end of item has been reached.
+   */
+  private boolean fill() {
+    if (finished) {
+      return false;
+    }
+
+    synchronized (controller.getBatchLineIterator()) {
+      if (first) {
+        first = false;
+        if (!ODataBatchUtilities.isNotEndLine(controller, controller.getBatchLineIterator().getCurrent())) {
+          finished = true;
+          return false;
+        }
+      }
+
+      if (!controller.isValidBatch() || !controller.getBatchLineIterator().hasNext()) {
+        finished = true;
+        return false;
+      }
+
+      final String line = controller.getBatchLineIterator().nextLine();
+      if (!ODataBatchUtilities.isNotEndLine(controller, line)) {
+        finished = true;
+        return false;
+      }
+
+      final byte[] bytes = line.getBytes(DEFAULT_CHARSET);
+      buffer = new byte[bytes.length + ODataStreamer.CRLF.length];
+      System.arraycopy(bytes, 0, buffer, 0, bytes.length);
+      System.arraycopy(ODataStreamer.CRLF, 0, buffer, bytes.length, ODataStreamer.CRLF.length);
+      pos = 0;
+      return true;
+    }
+  }
+}
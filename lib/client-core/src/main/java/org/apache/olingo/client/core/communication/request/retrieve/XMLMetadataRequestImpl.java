@@ -31,6 +31,7 @@ import org.apache.olingo.client.api.edm.xml.Include;
 import org.apache.olingo.client.api.edm.xml.IncludeAnnotations;
 import org.apache.olingo.client.api.edm.xml.Reference;
 import org.apache.olingo.client.api.edm.xml.XMLMetadata;
+import org.apache.olingo.client.api.serialization.ClientODataDeserializer;
 import org.apache.olingo.commons.api.edm.provider.CsdlAnnotation;
 import org.apache.olingo.commons.api.edm.provider.CsdlAnnotations;
 import org.apache.olingo.commons.api.edm.provider.CsdlSchema;
@@ -175,7 +176,10 @@ public class XMLMetadataRequestImpl
         public XMLMetadata getBody() {
           if (metadata == null) {
             try {
-              metadata = odataClient.getDeserializer(ContentType.APPLICATION_XML).toMetadata(getRawResponse());
+              final ClientODataDeserializer deserializer = odataClient.getDeserializer(ContentType.APPLICATION_XML);
+              metadata = odataClient.getConfiguration().isLazyMetadata()
+                  ? deserializer.toLazyMetadata(getRawResponse())
+                  : deserializer.toMetadata(getRawResponse());
             } finally {
               this.close();
             }
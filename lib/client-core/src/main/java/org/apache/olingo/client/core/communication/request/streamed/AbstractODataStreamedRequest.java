@@ -158,7 +158,7 @@ public abstract class AbstractODataStreamedRequest<V extends ODataResponse, T ex
       req.rawAppend(ODataStreamer.CRLF);
 
       try {
-        req.rawAppend(IOUtils.toByteArray(input));
+        streamPayload(req, input);
       } catch (Exception e) {
         LOG.debug("Invalid stream", e);
         req.rawAppend(new byte[0]);
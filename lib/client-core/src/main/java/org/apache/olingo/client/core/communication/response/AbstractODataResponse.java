@@ -22,8 +22,6 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
@@ -42,6 +40,7 @@ import org.apache.olingo.client.api.communication.response.ODataResponse;
 import org.apache.olingo.client.api.http.NoContentException;
 import org.apache.olingo.client.core.communication.request.batch.ODataBatchController;
 import org.apache.olingo.client.core.communication.request.batch.ODataBatchLineIteratorImpl;
+import org.apache.olingo.client.core.communication.request.batch.ODataBatchPartInputStream;
 import org.apache.olingo.client.core.communication.request.batch.ODataBatchUtilities;
 import org.apache.olingo.commons.api.Constants;
 import org.apache.olingo.commons.api.ex.ODataRuntimeException;
@@ -241,6 +240,24 @@ public abstract class AbstractODataResponse implements ODataResponse {
     }
   }
 
+  /**
+   * Reads the remaining payload of a batch item response into memory.
+   * <p>
+   * Use this method to keep the response available after the batch response moves on to the next item.
+   */
+  public void bufferBatchPayload() {
+    if (payload == null && batchInfo != null && batchInfo.isValidBatch()
+        && HttpStatus.SC_NO_CONTENT != getStatusCode()) {
+
+      try {
+        payload = new ByteArrayInputStream(IOUtils.toByteArray(new ODataBatchPartInputStream(batchInfo)));
+      } catch (IOException e) {
+        LOG.error("Error buffering batch item payload", e);
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
   @Override
   public void close() {
     odataClient.getConfiguration().getHttpClientFactory().close(httpClient);
@@ -257,28 +274,8 @@ public abstract class AbstractODataResponse implements ODataResponse {
     }
 
     if (payload == null && batchInfo.isValidBatch()) {
-      // get input stream till the end of item
-      payload = new PipedInputStream();
-
-      try {
-        final PipedOutputStream os = new PipedOutputStream((PipedInputStream) payload);
-
-        new Thread(new Runnable() {
-          @Override
-          public void run() {
-            try {
-              ODataBatchUtilities.readBatchPart(batchInfo, os, true);
-            } catch (Exception e) {
-              LOG.error("Error streaming batch item payload", e);
-            } finally {
-              IOUtils.closeQuietly(os);
-            }
-          }
-        }).start();
-      } catch (IOException e) {
-        LOG.error("Error streaming payload response", e);
-        throw new IllegalStateException(e);
-      }
+      // get input stream till the end of item, pulling lines from the batch only when read
+      payload = new ODataBatchPartInputStream(batchInfo);
     }
 
     return payload;
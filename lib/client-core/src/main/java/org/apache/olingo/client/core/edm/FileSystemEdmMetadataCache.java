@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.edm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.client.api.edm.EdmMetadataCache;
+import org.apache.olingo.client.api.edm.EdmMetadataSnapshot;
+import org.apache.olingo.commons.api.Constants;
+import org.apache.olingo.commons.core.RestrictedObjectInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metadata cache storing one compressed binary snapshot file per service root in the given directory.
+ * <p>
+ * Snapshots that cannot be read (e.g. written by an incompatible library version, or holding classes other than
+ * the library's own and basic <tt>java.lang</tt> / <tt>java.util</tt> types) are ignored and removed, so that
+ * metadata are downloaded and parsed again.
+ */
+public class FileSystemEdmMetadataCache implements EdmMetadataCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FileSystemEdmMetadataCache.class);
+
+  private static final String SUFFIX = ".edm";
+
+  private final File directory;
+
+  /**
+   * Constructor.
+   *
+   * @param directory directory holding snapshot files; created if missing.
+   */
+  public FileSystemEdmMetadataCache(final File directory) {
+    this.directory = directory;
+  }
+
+  @Override
+  public EdmMetadataSnapshot load(final String serviceRoot) {
+    final File file = getFile(serviceRoot);
+    if (!file.isFile()) {
+      return null;
+    }
+
+    ObjectInputStream input = null;
+    try {
+      // only library classes can be read back: a tampered snapshot cannot instantiate anything else
+      input = new RestrictedObjectInputStream(
+          new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))));
+      final String storedServiceRoot = input.readUTF();
+      if (!storedServiceRoot.equals(serviceRoot)) {
+        return null;
+      }
+      return (EdmMetadataSnapshot) input.readObject();
+    } catch (Exception e) {
+      LOG.warn("Discarding unreadable metadata snapshot {}", file, e);
+      IOUtils.closeQuietly(input);
+      input = null;
+      invalidate(serviceRoot);
+      return null;
+    } finally {
+      IOUtils.closeQuietly(input);
+    }
+  }
+
+  @Override
+  public void store(final String serviceRoot, final EdmMetadataSnapshot snapshot) {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      LOG.warn("Cannot create metadata cache directory {}", directory);
+      return;
+    }
+
+    final File file = getFile(serviceRoot);
+    ObjectOutputStream output = null;
+    File temp = null;
+    try {
+      // write aside, then move in place: concurrent readers never see a partial snapshot
+      temp = File.createTempFile(file.getName(), ".tmp", directory);
+      output = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(temp))));
+      output.writeUTF(serviceRoot);
+      output.writeObject(snapshot);
+      output.close();
+      output = null;
+
+      if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+        throw new IOException("Cannot move " + temp + " to " + file);
+      }
+    } catch (IOException e) {
+      LOG.warn("Cannot store metadata snapshot {}", file, e);
+      IOUtils.closeQuietly(output);
+      if (temp != null && !temp.delete()) {
+        temp.deleteOnExit();
+      }
+    }
+  }
+
+  @Override
+  public void invalidate(final String serviceRoot) {
+    final File file = getFile(serviceRoot);
+    if (file.exists() && !file.delete()) {
+      LOG.warn("Cannot delete metadata snapshot {}", file);
+    }
+  }
+
+  private File getFile(final String serviceRoot) {
+    try {
+      final byte[] digest = MessageDigest.getInstance("SHA-1").digest(serviceRoot.getBytes(Constants.UTF8));
+      final StringBuilder name = new StringBuilder(digest.length * 2 + SUFFIX.length());
+      for (byte b : digest) {
+        name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return new File(directory, name.append(SUFFIX).toString());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
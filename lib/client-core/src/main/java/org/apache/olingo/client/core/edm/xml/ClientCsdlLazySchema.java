@@ -0,0 +1,468 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.edm.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.olingo.client.api.edm.xml.XMLMetadata;
+import org.apache.olingo.client.core.edm.ClientCsdlXMLMetadata;
+import org.apache.olingo.commons.api.edm.provider.CsdlAction;
+import org.apache.olingo.commons.api.edm.provider.CsdlAnnotation;
+import org.apache.olingo.commons.api.edm.provider.CsdlAnnotations;
+import org.apache.olingo.commons.api.edm.provider.CsdlComplexType;
+import org.apache.olingo.commons.api.edm.provider.CsdlEntityContainer;
+import org.apache.olingo.commons.api.edm.provider.CsdlEntityType;
+import org.apache.olingo.commons.api.edm.provider.CsdlEnumType;
+import org.apache.olingo.commons.api.edm.provider.CsdlFunction;
+import org.apache.olingo.commons.api.edm.provider.CsdlSchema;
+import org.apache.olingo.commons.api.edm.provider.CsdlTerm;
+import org.apache.olingo.commons.api.edm.provider.CsdlTypeDefinition;
+import org.codehaus.stax2.XMLStreamReader2;
+
+import com.fasterxml.aalto.stax.InputFactoryImpl;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+/**
+ * Schema backed by an index of the raw metadata document.
+ * <br/>
+ * Indexing only records the byte range of every schema child element; an element is de-serialized (and then kept)
+ * the first time it is requested by name. List getters materialize every element of the requested kind.
+ */
+public final class ClientCsdlLazySchema extends CsdlSchema {
+
+  private static final long serialVersionUID = -3126473390374858329L;
+
+  private static final String UTF_8 = "UTF-8";
+
+  /** Nesting depth of schema children: Edmx / DataServices / Schema / child. */
+  private static final int ELEMENT_DEPTH = 4;
+
+  private final transient Document document;
+
+  private final Map<String, Element> entityTypeIndex = new LinkedHashMap<String, Element>();
+
+  private final Map<String, Element> complexTypeIndex = new LinkedHashMap<String, Element>();
+
+  private final Map<String, Element> enumTypeIndex = new LinkedHashMap<String, Element>();
+
+  private final Map<String, Element> typeDefinitionIndex = new LinkedHashMap<String, Element>();
+
+  private final Map<String, Element> termIndex = new LinkedHashMap<String, Element>();
+
+  private final Map<String, List<Element>> actionIndex = new LinkedHashMap<String, List<Element>>();
+
+  private final Map<String, List<Element>> functionIndex = new LinkedHashMap<String, List<Element>>();
+
+  private final Map<String, List<Element>> annotationGroupIndex = new LinkedHashMap<String, List<Element>>();
+
+  private final List<Element> annotationIndex = new ArrayList<Element>();
+
+  private Element entityContainerElement;
+
+  private ClientCsdlLazySchema(final Document document) {
+    this.document = document;
+  }
+
+  /**
+   * Indexes the schemas of an Edmx document without de-serializing any of their elements.
+   * <br/>
+   * <tt>&lt;edmx:Reference/&gt;</tt> elements are de-serialized right away, but not followed.
+   *
+   * @param content the raw metadata document.
+   * @param xmlMapper mapper used to de-serialize indexed elements on demand.
+   * @return indexed metadata, or <tt>null</tt> if the document encoding does not allow indexing by byte offset.
+   * @throws XMLStreamException if the document is not well-formed.
+   */
+  public static XMLMetadata index(final byte[] content, final XmlMapper xmlMapper) throws XMLStreamException {
+    final XMLStreamReader2 reader = (XMLStreamReader2) new InputFactoryImpl().createXMLStreamReader(
+        new ByteArrayInputStream(content));
+    final ClientCsdlEdmx edmx = new ClientCsdlEdmx();
+    final ClientCsdlDataServices dataServices = new ClientCsdlDataServices();
+    edmx.setDataServices(dataServices);
+    try {
+      final String encoding = reader.getEncoding();
+      if (encoding != null && !UTF_8.equalsIgnoreCase(encoding)
+          && !"US-ASCII".equalsIgnoreCase(encoding) && !"ISO-8859-1".equalsIgnoreCase(encoding)) {
+        return null;
+      }
+      final Document document = new Document(content, xmlMapper);
+      final Map<String, String> namespaces = new LinkedHashMap<String, String>();
+      Map<String, String> schemaNamespaces = null;
+      ClientCsdlLazySchema schema = null;
+      String declarations = null;
+      String kind = null;
+      String name = null;
+      String qualifier = null;
+      String elementDeclarations = null;
+      int start = -1;
+      int depth = 0;
+
+      while (reader.hasNext()) {
+        final int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          depth++;
+          if (depth == 1) {
+            edmx.setVersion(reader.getAttributeValue(null, "Version"));
+          }
+          if (depth == ELEMENT_DEPTH - 2 && "Reference".equals(reader.getLocalName())) {
+            kind = reader.getLocalName();
+            name = reader.getAttributeValue(null, "Uri");
+            elementDeclarations = declarations(namespaces, reader);
+            start = (int) reader.getLocationInfo().getStartingByteOffset();
+          } else if (depth < ELEMENT_DEPTH - 1) {
+            putNamespaces(namespaces, reader);
+          } else if (depth == ELEMENT_DEPTH - 1) {
+            schemaNamespaces = new LinkedHashMap<String, String>(namespaces);
+            putNamespaces(schemaNamespaces, reader);
+            if ("Schema".equals(reader.getLocalName())) {
+              declarations = declarations(schemaNamespaces, null);
+              schema = new ClientCsdlLazySchema(document);
+              schema.setNamespace(reader.getAttributeValue(null, "Namespace"));
+              schema.setAlias(reader.getAttributeValue(null, "Alias"));
+              dataServices.getSchemas().add(schema);
+            }
+          } else if (depth == ELEMENT_DEPTH && schema != null) {
+            kind = reader.getLocalName();
+            name = reader.getAttributeValue(null, "Annotations".equals(kind) ? "Target" : "Name");
+            qualifier = reader.getAttributeValue(null, "Qualifier");
+            elementDeclarations = reader.getNamespaceCount() == 0
+                ? declarations
+                : declarations(schemaNamespaces, reader);
+            start = (int) reader.getLocationInfo().getStartingByteOffset();
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          if (depth == ELEMENT_DEPTH - 2 && "Reference".equals(kind)) {
+            final int end = (int) reader.getLocationInfo().getEndingByteOffset();
+            edmx.getReferences().add(document.<ClientCsdlReference> read(
+                new Element(kind, name, null, elementDeclarations, start, end), ClientCsdlReference.class));
+            kind = null;
+          } else if (depth == ELEMENT_DEPTH && schema != null) {
+            final int end = (int) reader.getLocationInfo().getEndingByteOffset();
+            schema.addElement(kind, new Element(kind, name, qualifier, elementDeclarations, start, end));
+          } else if (depth == ELEMENT_DEPTH - 1) {
+            schema = null;
+          }
+          depth--;
+        }
+      }
+    } finally {
+      reader.close();
+    }
+    return new ClientCsdlXMLMetadata(edmx);
+  }
+
+  private static void putNamespaces(final Map<String, String> namespaces, final XMLStreamReader2 reader) {
+    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+      namespaces.put(StringUtils.defaultString(reader.getNamespacePrefix(i)), reader.getNamespaceURI(i));
+    }
+  }
+
+  /**
+   * Builds the declarations of the given in-scope namespaces, omitting those redeclared by the current element
+   * (if any).
+   */
+  private static String declarations(final Map<String, String> namespaces, final XMLStreamReader2 reader) {
+    final Map<String, String> redeclared = new HashMap<String, String>();
+    if (reader != null) {
+      putNamespaces(redeclared, reader);
+    }
+    final StringBuilder declarations = new StringBuilder();
+    for (Map.Entry<String, String> namespace : namespaces.entrySet()) {
+      if (!redeclared.containsKey(namespace.getKey())) {
+        declarations.append(namespace.getKey().length() == 0 ? " xmlns" : " xmlns:" + namespace.getKey())
+            .append("=\"").append(StringUtils.replaceEach(namespace.getValue(),
+                new String[] { "&", "\"", "<" }, new String[] { "&amp;", "&quot;", "&lt;" })).append('"');
+      }
+    }
+    return declarations.toString();
+  }
+
+  private void addElement(final String kind, final Element element) {
+    if ("EntityType".equals(kind)) {
+      entityTypeIndex.put(element.name, element);
+    } else if ("ComplexType".equals(kind)) {
+      complexTypeIndex.put(element.name, element);
+    } else if ("EnumType".equals(kind)) {
+      enumTypeIndex.put(element.name, element);
+    } else if ("TypeDefinition".equals(kind)) {
+      typeDefinitionIndex.put(element.name, element);
+    } else if ("Term".equals(kind)) {
+      termIndex.put(element.name, element);
+    } else if ("Action".equals(kind)) {
+      addElement(actionIndex, element);
+    } else if ("Function".equals(kind)) {
+      addElement(functionIndex, element);
+    } else if ("Annotations".equals(kind)) {
+      addElement(annotationGroupIndex, element);
+    } else if ("Annotation".equals(kind)) {
+      annotationIndex.add(element);
+    } else if ("EntityContainer".equals(kind)) {
+      entityContainerElement = element;
+    }
+  }
+
+  private static void addElement(final Map<String, List<Element>> index, final Element element) {
+    List<Element> elements = index.get(element.name);
+    if (elements == null) {
+      elements = new ArrayList<Element>();
+      index.put(element.name, elements);
+    }
+    elements.add(element);
+  }
+
+  private synchronized <T> T materialize(final Element element, final Class<? extends T> type) {
+    if (element == null) {
+      return null;
+    }
+    if (element.value == null) {
+      element.value = document.read(element, type);
+    }
+    return type.cast(element.value);
+  }
+
+  private <T> List<T> materialize(final List<Element> elements, final Class<? extends T> type) {
+    if (elements == null) {
+      return null;
+    }
+    final List<T> result = new ArrayList<T>(elements.size());
+    for (Element element : elements) {
+      result.add(this.<T> materialize(element, type));
+    }
+    return result;
+  }
+
+  private synchronized <T> List<T> materializeAll(final List<T> target, final Iterable<Element> elements,
+      final Class<? extends T> type) {
+
+    if (target.isEmpty()) {
+      for (Element element : elements) {
+        target.add(this.<T> materialize(element, type));
+      }
+    }
+    return target;
+  }
+
+  private static List<Element> flatten(final Map<String, List<Element>> index) {
+    final List<Element> elements = new ArrayList<Element>();
+    for (List<Element> named : index.values()) {
+      elements.addAll(named);
+    }
+    return elements;
+  }
+
+  @Override
+  public List<CsdlEnumType> getEnumTypes() {
+    return materializeAll(super.getEnumTypes(), enumTypeIndex.values(), ClientCsdlEnumType.class);
+  }
+
+  @Override
+  public CsdlEnumType getEnumType(final String name) {
+    return materialize(enumTypeIndex.get(name), ClientCsdlEnumType.class);
+  }
+
+  @Override
+  public List<CsdlTypeDefinition> getTypeDefinitions() {
+    return materializeAll(super.getTypeDefinitions(), typeDefinitionIndex.values(), ClientCsdlTypeDefinition.class);
+  }
+
+  @Override
+  public CsdlTypeDefinition getTypeDefinition(final String name) {
+    return materialize(typeDefinitionIndex.get(name), ClientCsdlTypeDefinition.class);
+  }
+
+  @Override
+  public List<CsdlEntityType> getEntityTypes() {
+    return materializeAll(super.getEntityTypes(), entityTypeIndex.values(), ClientCsdlEntityType.class);
+  }
+
+  @Override
+  public CsdlEntityType getEntityType(final String name) {
+    return materialize(entityTypeIndex.get(name), ClientCsdlEntityType.class);
+  }
+
+  @Override
+  public List<CsdlComplexType> getComplexTypes() {
+    return materializeAll(super.getComplexTypes(), complexTypeIndex.values(), ClientCsdlComplexType.class);
+  }
+
+  @Override
+  public CsdlComplexType getComplexType(final String name) {
+    return materialize(complexTypeIndex.get(name), ClientCsdlComplexType.class);
+  }
+
+  @Override
+  public List<CsdlAction> getActions() {
+    return materializeAll(super.getActions(), flatten(actionIndex), ClientCsdlAction.class);
+  }
+
+  @Override
+  public List<CsdlAction> getActions(final String name) {
+    return this.<CsdlAction> materialize(actionIndex.get(name), ClientCsdlAction.class);
+  }
+
+  @Override
+  public List<CsdlFunction> getFunctions() {
+    return materializeAll(super.getFunctions(), flatten(functionIndex), ClientCsdlFunction.class);
+  }
+
+  @Override
+  public List<CsdlFunction> getFunctions(final String name) {
+    return this.<CsdlFunction> materialize(functionIndex.get(name), ClientCsdlFunction.class);
+  }
+
+  @Override
+  public CsdlEntityContainer getEntityContainer() {
+    return materialize(entityContainerElement, ClientCsdlEntityContainer.class);
+  }
+
+  @Override
+  public List<CsdlTerm> getTerms() {
+    return materializeAll(super.getTerms(), termIndex.values(), ClientCsdlTerm.class);
+  }
+
+  @Override
+  public CsdlTerm getTerm(final String name) {
+    return materialize(termIndex.get(name), ClientCsdlTerm.class);
+  }
+
+  @Override
+  public List<CsdlAnnotations> getAnnotationGroups() {
+    return materializeAll(super.getAnnotationGroups(), flatten(annotationGroupIndex), ClientCsdlAnnotations.class);
+  }
+
+  @Override
+  public CsdlAnnotations getAnnotationGroup(final String target, final String qualifier) {
+    final List<Element> elements = annotationGroupIndex.get(target);
+    Element result = null;
+    if (elements != null) {
+      for (Element element : elements) {
+        if (qualifier == element.qualifier || (qualifier != null && qualifier.equals(element.qualifier))) {
+          result = element;
+        }
+      }
+    }
+    return materialize(result, ClientCsdlAnnotations.class);
+  }
+
+  @Override
+  public List<CsdlAnnotation> getAnnotations() {
+    return materializeAll(super.getAnnotations(), annotationIndex, ClientCsdlAnnotation.class);
+  }
+
+  /**
+   * Replaces this schema with a fully materialized copy when serialized, since the document index is not kept.
+   *
+   * @return materialized schema.
+   */
+  private Object writeReplace() {
+    return new CsdlSchema()
+        .setNamespace(getNamespace())
+        .setAlias(getAlias())
+        .setEnumTypes(getEnumTypes())
+        .setTypeDefinitions(getTypeDefinitions())
+        .setEntityTypes(getEntityTypes())
+        .setComplexTypes(getComplexTypes())
+        .setActions(getActions())
+        .setFunctions(getFunctions())
+        .setEntityContainer(getEntityContainer())
+        .setTerms(getTerms())
+        .setAnnotationsGroup(getAnnotationGroups())
+        .setAnnotations(getAnnotations());
+  }
+
+  /**
+   * Raw metadata document shared by all schemas indexed from it.
+   */
+  private static final class Document {
+
+    private final byte[] content;
+
+    private final XmlMapper xmlMapper;
+
+    Document(final byte[] content, final XmlMapper xmlMapper) {
+      this.content = content;
+      this.xmlMapper = xmlMapper;
+    }
+
+    /**
+     * De-serializes one indexed element; namespace declarations of the enclosing elements are copied into its
+     * start tag so that it can be parsed on its own.
+     */
+    <T> T read(final Element element, final Class<? extends T> type) {
+      try {
+        final StringBuilder fragment = new StringBuilder(
+            new String(content, element.start, element.end - element.start, UTF_8));
+        int nameEnd = 1;
+        while (nameEnd < fragment.length() && !Character.isWhitespace(fragment.charAt(nameEnd))
+            && fragment.charAt(nameEnd) != '>' && fragment.charAt(nameEnd) != '/') {
+          nameEnd++;
+        }
+        fragment.insert(nameEnd, element.namespaceDeclarations);
+        return xmlMapper.readValue(fragment.toString(), type);
+      } catch (final UnsupportedEncodingException e) {
+        throw new IllegalStateException(e);
+      } catch (final IOException e) {
+        throw new IllegalArgumentException(
+            "Could not parse " + element.kind + " '" + element.name + "' from Edmx document", e);
+      }
+    }
+  }
+
+  /**
+   * Byte range of a schema child element, together with its de-serialized value once requested.
+   */
+  private static final class Element {
+
+    private final String kind;
+
+    private final String name;
+
+    private final String qualifier;
+
+    private final String namespaceDeclarations;
+
+    private final int start;
+
+    private final int end;
+
+    private Object value;
+
+    Element(final String kind, final String name, final String qualifier, final String namespaceDeclarations,
+        final int start, final int end) {
+
+      this.kind = kind;
+      this.name = name;
+      this.qualifier = qualifier;
+      this.namespaceDeclarations = namespaceDeclarations;
+      this.start = start;
+      this.end = end;
+    }
+  }
+}
@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.olingo.client.api.http.HttpResponseCache;
+import org.apache.olingo.commons.api.http.HttpHeader;
+
+/**
+ * Default in-memory HTTP response cache.
+ * <p>
+ * Successful <tt>GET</tt> responses carrying an <tt>ETag</tt> are stored by request URI and <tt>Accept</tt> header,
+ * within a total payload size bound; least recently used responses are evicted first. Cached responses are always
+ * revalidated with <tt>If-None-Match</tt>: the cached payload is served only when the service answers
+ * <tt>304 Not Modified</tt>.
+ */
+public class DefaultHttpResponseCache implements HttpResponseCache {
+
+  private static final String NO_STORE = "no-store";
+
+  /**
+   * Headers not to be replayed with cached payloads.
+   */
+  private static final String[] SKIPPED_HEADERS = new String[] {
+    HttpHeader.CONTENT_LENGTH, HttpHeader.CONTENT_ENCODING, "Transfer-Encoding" };
+
+  private final long maxBytes;
+
+  private final int maxEntryBytes;
+
+  /**
+   * Cached responses, in access order.
+   */
+  private final LinkedHashMap<String, CachedResponse> entries =
+      new LinkedHashMap<String, CachedResponse>(16, 0.75f, true);
+
+  private long cachedBytes = 0;
+
+  private long hitCount = 0;
+
+  private long missCount = 0;
+
+  private long evictionCount = 0;
+
+  /**
+   * Constructor.
+   *
+   * @param maxBytes maximum number of payload bytes held by the cache.
+   * @param maxEntryBytes maximum payload size of a single cached response.
+   */
+  public DefaultHttpResponseCache(final long maxBytes, final int maxEntryBytes) {
+    if (maxBytes <= 0 || maxEntryBytes <= 0) {
+      throw new IllegalArgumentException("Cache size bounds must be positive");
+    }
+    this.maxBytes = maxBytes;
+    this.maxEntryBytes = maxEntryBytes;
+  }
+
+  @Override
+  public HttpResponse execute(final HttpClient httpClient, final HttpUriRequest request) throws IOException {
+    if (request.containsHeader(HttpHeader.IF_NONE_MATCH) || request.containsHeader(HttpHeader.IF_MATCH)) {
+      // conditions set by the caller must reach the service untouched
+      return httpClient.execute(request);
+    }
+
+    final String key = getKey(request);
+    final CachedResponse cached = get(key);
+    if (cached != null) {
+      request.setHeader(HttpHeader.IF_NONE_MATCH, cached.etag);
+    }
+
+    final HttpResponse response = httpClient.execute(request);
+    final int statusCode = response.getStatusLine().getStatusCode();
+
+    if (cached != null && statusCode == HttpStatus.SC_NOT_MODIFIED) {
+      consume(response.getEntity());
+      synchronized (this) {
+        hitCount++;
+      }
+      return cached.toResponse();
+    }
+
+    synchronized (this) {
+      missCount++;
+    }
+
+    final Header etag = response.getFirstHeader(HttpHeader.ETAG);
+    if (statusCode != HttpStatus.SC_OK || etag == null || response.getEntity() == null || isNoStore(response)) {
+      remove(key);
+      return response;
+    }
+
+    return store(key, etag.getValue(), response);
+  }
+
+  @Override
+  public synchronized void invalidate(final URI uri) {
+    final String prefix = uri.toASCIIString() + '\n';
+    for (final Iterator<Map.Entry<String, CachedResponse>> itor = entries.entrySet().iterator(); itor.hasNext();) {
+      final Map.Entry<String, CachedResponse> entry = itor.next();
+      if (entry.getKey().startsWith(prefix)) {
+        cachedBytes -= entry.getValue().body.length;
+        itor.remove();
+      }
+    }
+  }
+
+  @Override
+  public synchronized void clear() {
+    entries.clear();
+    cachedBytes = 0;
+  }
+
+  @Override
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  @Override
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  @Override
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  @Override
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  @Override
+  public synchronized long getCachedBytes() {
+    return cachedBytes;
+  }
+
+  private String getKey(final HttpUriRequest request) {
+    final StringBuilder key = new StringBuilder(request.getURI().toASCIIString()).append('\n');
+    for (Header accept : request.getHeaders(HttpHeader.ACCEPT)) {
+      key.append(accept.getValue()).append(',');
+    }
+    return key.toString();
+  }
+
+  private synchronized CachedResponse get(final String key) {
+    return entries.get(key);
+  }
+
+  private synchronized void remove(final String key) {
+    final CachedResponse removed = entries.remove(key);
+    if (removed != null) {
+      cachedBytes -= removed.body.length;
+    }
+  }
+
+  private synchronized void put(final String key, final CachedResponse cached) {
+    remove(key);
+    entries.put(key, cached);
+    cachedBytes += cached.body.length;
+
+    final Iterator<CachedResponse> itor = entries.values().iterator();
+    while (cachedBytes > maxBytes && itor.hasNext()) {
+      cachedBytes -= itor.next().body.length;
+      itor.remove();
+      evictionCount++;
+    }
+  }
+
+  /**
+   * Reads the response payload and caches it, unless it exceeds the maximum entry size: in that case the payload
+   * read so far is handed back to the caller followed by the rest of the stream.
+   */
+  private HttpResponse store(final String key, final String etag, final HttpResponse response) throws IOException {
+    final HttpEntity entity = response.getEntity();
+    if (entity.getContentLength() > maxEntryBytes) {
+      remove(key);
+      return response;
+    }
+
+    final InputStream content = entity.getContent();
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream(
+        entity.getContentLength() < 0 ? 4096 : (int) entity.getContentLength());
+    final byte[] chunk = new byte[4096];
+    int read;
+    while ((read = content.read(chunk)) != -1) {
+      buffer.write(chunk, 0, read);
+      if (buffer.size() > maxEntryBytes) {
+        remove(key);
+        final InputStreamEntity partial = new InputStreamEntity(
+            new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), content), -1);
+        partial.setContentType(entity.getContentType());
+        response.setEntity(partial);
+        return response;
+      }
+    }
+    content.close();
+
+    final List<Header> headers = new ArrayList<Header>();
+    for (Header header : response.getAllHeaders()) {
+      if (!isSkipped(header.getName())) {
+        headers.add(header);
+      }
+    }
+    final CachedResponse cached = new CachedResponse(etag, response.getStatusLine(),
+        headers.toArray(new Header[headers.size()]), buffer.toByteArray());
+    put(key, cached);
+    return cached.toResponse();
+  }
+
+  private static boolean isSkipped(final String name) {
+    for (String skipped : SKIPPED_HEADERS) {
+      if (skipped.equalsIgnoreCase(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isNoStore(final HttpResponse response) {
+    for (Header header : response.getHeaders(HttpHeader.CACHE_CONTROL)) {
+      if (header.getValue().toLowerCase().contains(NO_STORE)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void consume(final HttpEntity entity) throws IOException {
+    if (entity != null) {
+      final InputStream content = entity.getContent();
+      if (content != null) {
+        content.close();
+      }
+    }
+  }
+
+  /**
+   * Cached response: validator, status line, headers and payload.
+   */
+  private static class CachedResponse {
+
+    private final String etag;
+
+    private final StatusLine statusLine;
+
+    private final Header[] headers;
+
+    private final byte[] body;
+
+    CachedResponse(final String etag, final StatusLine statusLine, final Header[] headers, final byte[] body) {
+      this.etag = etag;
+      this.statusLine = statusLine;
+      this.headers = headers;
+      this.body = body;
+    }
+
+    HttpResponse toResponse() {
+      final BasicHttpResponse response = new BasicHttpResponse(statusLine);
+      response.setHeaders(headers);
+      final ByteArrayEntity entity = new ByteArrayEntity(body);
+      final Header contentType = response.getFirstHeader(HttpHeader.CONTENT_TYPE);
+      if (contentType != null) {
+        entity.setContentType(contentType);
+      }
+      response.setEntity(entity);
+      return response;
+    }
+  }
+}
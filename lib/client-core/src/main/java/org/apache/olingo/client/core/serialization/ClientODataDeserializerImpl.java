@@ -23,6 +23,7 @@ import java.io.InputStream;
 
 import javax.xml.stream.XMLStreamException;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.olingo.client.api.data.ResWrap;
 import org.apache.olingo.client.api.data.ServiceDocument;
 import org.apache.olingo.client.api.edm.xml.XMLMetadata;
@@ -33,6 +34,7 @@ import org.apache.olingo.client.core.data.JSONServiceDocumentDeserializer;
 import org.apache.olingo.client.core.data.XMLServiceDocumentDeserializer;
 import org.apache.olingo.client.core.edm.ClientCsdlXMLMetadata;
 import org.apache.olingo.client.core.edm.xml.ClientCsdlEdmx;
+import org.apache.olingo.client.core.edm.xml.ClientCsdlLazySchema;
 import org.apache.olingo.commons.api.data.Delta;
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
@@ -118,6 +120,21 @@ public class ClientODataDeserializerImpl implements ClientODataDeserializer {
     }
   }
 
+  @Override
+  public XMLMetadata toLazyMetadata(final InputStream input) {
+    try {
+      final byte[] content = IOUtils.toByteArray(input);
+      final XmlMapper xmlMapper = getXmlMapper();
+      final XMLMetadata metadata = ClientCsdlLazySchema.index(content, xmlMapper);
+      // documents not encoded in UTF-8 (or one of its subsets) cannot be indexed by byte offset
+      return metadata == null
+          ? new ClientCsdlXMLMetadata(xmlMapper.readValue(content, ClientCsdlEdmx.class))
+          : metadata;
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Could not parse as Edmx document", e);
+    }
+  }
+
   @Override
   public ResWrap<ServiceDocument> toServiceDocument(final InputStream input) throws ODataDeserializerException {
     return contentType.isCompatible(ContentType.APPLICATION_XML) ?
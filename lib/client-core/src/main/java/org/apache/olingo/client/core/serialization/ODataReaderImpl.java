@@ -66,6 +66,12 @@ public class ODataReaderImpl implements ODataReader {
     return readMetadata(client.getDeserializer(ContentType.APPLICATION_XML).toMetadata(input).getSchemaByNsOrAlias());
   }
 
+  @Override
+  public Edm readLazyMetadata(final InputStream input) {
+    return readMetadata(
+        client.getDeserializer(ContentType.APPLICATION_XML).toLazyMetadata(input).getSchemaByNsOrAlias());
+  }
+
   @Override
   public Edm readMetadata(final Map<String, CsdlSchema> xmlSchemas) {
     ClientCsdlEdmProvider prov = new ClientCsdlEdmProvider(xmlSchemas);
@@ -23,8 +23,13 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.olingo.client.api.edm.xml.XMLMetadata;
 import org.apache.olingo.commons.api.Constants;
@@ -414,4 +419,88 @@ public class MetadataTest extends AbstractTest {
     assertNotNull(deleteRestrictions);
     assertEquals("Capabilities.DeleteRestrictionsType", deleteRestrictions.getType());
   }
+
+  @Test
+  public void lazy() {
+    final Map<String, CsdlSchema> eager = client.getDeserializer(ContentType.APPLICATION_XML).
+        toMetadata(getClass().getResourceAsStream("metadata.xml")).getSchemaByNsOrAlias();
+    final Map<String, CsdlSchema> lazy = client.getDeserializer(ContentType.APPLICATION_XML).
+        toLazyMetadata(getClass().getResourceAsStream("metadata.xml")).getSchemaByNsOrAlias();
+    assertEquals(eager.keySet(), lazy.keySet());
+
+    for (Map.Entry<String, CsdlSchema> entry : eager.entrySet()) {
+      final CsdlSchema schema = lazy.get(entry.getKey());
+      assertEquals(entry.getValue().getAlias(), schema.getAlias());
+      for (CsdlEntityType entityType : entry.getValue().getEntityTypes()) {
+        final CsdlEntityType lazyEntityType = schema.getEntityType(entityType.getName());
+        assertNotNull(lazyEntityType);
+        assertEquals(entityType.getProperties().size(), lazyEntityType.getProperties().size());
+        assertEquals(entityType.getNavigationProperties().size(), lazyEntityType.getNavigationProperties().size());
+      }
+      assertEquals(entry.getValue().getEntityTypes().size(), schema.getEntityTypes().size());
+      assertEquals(entry.getValue().getComplexTypes().size(), schema.getComplexTypes().size());
+      assertEquals(entry.getValue().getEnumTypes().size(), schema.getEnumTypes().size());
+      assertEquals(entry.getValue().getActions().size(), schema.getActions().size());
+      assertEquals(entry.getValue().getFunctions().size(), schema.getFunctions().size());
+    }
+
+    final Edm edm = client.getReader().readLazyMetadata(getClass().getResourceAsStream("metadata.xml"));
+    final EdmAction move = edm.getBoundAction(
+        new FullQualifiedName("Microsoft.Exchange.Services.OData.Model", "Move"),
+        new FullQualifiedName("Microsoft.Exchange.Services.OData.Model", "Folder"),
+        false);
+    assertNotNull(move);
+    assertEquals(2, move.getParameterNames().size());
+
+    final EdmEntityContainer container = edm.getEntityContainer(
+        new FullQualifiedName("Microsoft.Exchange.Services.OData.Model", "EntityContainer"));
+    assertNotNull(container);
+    assertEquals(container.getEntitySet("Folders"), container.getEntitySet("Users").getRelatedBindingTarget("Folders"));
+  }
+
+  @Test
+  public void lazyReferences() {
+    final XMLMetadata metadata = client.getDeserializer(ContentType.APPLICATION_XML).
+        toLazyMetadata(getClass().getResourceAsStream("fromdoc1-metadata.xml"));
+    assertEquals(2, metadata.getReferences().size());
+    assertEquals("Org.OData.Measures.V1", metadata.getReferences().get(1).getIncludes().get(0).getNamespace());
+    assertEquals("UoM", metadata.getReferences().get(1).getIncludes().get(0).getAlias());
+    assertTrue(metadata.getSchema("ODataDemo").getEntityType("Product").hasStream());
+  }
+
+  @Test
+  public void lazyAnnotations() {
+    final Edm edm = client.getReader().readLazyMetadata(getClass().getResourceAsStream("fromdoc4-metadata.xml"));
+    final EdmAnnotations edmGroup = edm.getSchemas().get(0).getAnnotationGroups().get(0);
+    assertNotNull(edmGroup);
+    assertTrue(edmGroup.getAnnotations().get(0).getExpression().asDynamic().isCast());
+
+    final CsdlSchema eager = client.getDeserializer(ContentType.APPLICATION_XML).
+        toMetadata(getClass().getResourceAsStream("fromdoc3-metadata.xml")).getSchema("Annotations");
+    final CsdlSchema lazy = client.getDeserializer(ContentType.APPLICATION_XML).
+        toLazyMetadata(getClass().getResourceAsStream("fromdoc3-metadata.xml")).getSchema("Annotations");
+    final CsdlAnnotations group = lazy.getAnnotationGroup("Test", null);
+    assertNotNull(group);
+    assertEquals(eager.getAnnotationGroup("Test", null).getAnnotations().size(), group.getAnnotations().size());
+    assertEquals("TimeOfDay", group.getAnnotations().get(0).getExpression().asConstant().getType().name());
+  }
+
+  @Test
+  public void lazySchemaSerialization() throws Exception {
+    final CsdlSchema schema = client.getDeserializer(ContentType.APPLICATION_XML).
+        toLazyMetadata(getClass().getResourceAsStream("Metadata-With-Capabilities.xml")).getSchema("Capabilities");
+    assertNotNull(schema.getTerm("DeleteRestrictions"));
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final ObjectOutputStream output = new ObjectOutputStream(bytes);
+    output.writeObject(schema);
+    output.close();
+    final CsdlSchema copy = (CsdlSchema) new ObjectInputStream(
+        new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+    assertEquals(CsdlSchema.class, copy.getClass());
+    assertEquals("Org.OData.Capabilities.V1", copy.getNamespace());
+    assertEquals(23, copy.getTerms().size());
+    assertEquals("Capabilities.DeleteRestrictionsType", copy.getTerm("DeleteRestrictions").getType());
+  }
 }
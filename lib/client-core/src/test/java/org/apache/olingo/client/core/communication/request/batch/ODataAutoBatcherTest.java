@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.request.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.ODataClientErrorException;
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.communication.request.batch.ODataAutoBatcher;
+import org.apache.olingo.client.api.communication.response.ODataResponse;
+import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
+import org.apache.olingo.client.api.domain.ClientEntity;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.commons.api.Constants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class ODataAutoBatcherTest {
+
+  private static final String RESPONSE = "--batchresp\r\n"
+      + "Content-Type: application/http\r\n"
+      + "Content-Transfer-Encoding: binary\r\n"
+      + "\r\n"
+      + "HTTP/1.1 200 OK\r\n"
+      + "Content-Type: application/json;odata.metadata=minimal\r\n"
+      + "\r\n"
+      + "{\"@odata.context\":\"$metadata#ESAllPrim/$entity\",\"PropertyInt16\":1}\r\n"
+      + "--batchresp\r\n"
+      + "Content-Type: multipart/mixed;boundary=csresp\r\n"
+      + "\r\n"
+      + "--csresp\r\n"
+      + "Content-Type: application/http\r\n"
+      + "Content-Transfer-Encoding: binary\r\n"
+      + "Content-ID: 1\r\n"
+      + "\r\n"
+      + "HTTP/1.1 204 No Content\r\n"
+      + "\r\n"
+      + "\r\n"
+      + "--csresp--\r\n"
+      + "--batchresp\r\n"
+      + "Content-Type: application/http\r\n"
+      + "Content-Transfer-Encoding: binary\r\n"
+      + "\r\n"
+      + "HTTP/1.1 404 Not Found\r\n"
+      + "Content-Type: application/json\r\n"
+      + "\r\n"
+      + "{\"error\":{\"code\":null,\"message\":\"Not found\"}}\r\n"
+      + "--batchresp--\r\n";
+
+  private HttpServer server;
+
+  private final AtomicInteger batchRequests = new AtomicInteger();
+
+  private String serviceRoot;
+
+  @Before
+  public void start() throws Exception {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) {
+        try {
+          batchRequests.incrementAndGet();
+          IOUtils.toByteArray(exchange.getRequestBody());
+
+          final byte[] body = RESPONSE.getBytes(Constants.UTF8);
+          exchange.getResponseHeaders().add("Content-Type", "multipart/mixed;boundary=batchresp");
+          exchange.sendResponseHeaders(200, body.length);
+          final OutputStream output = exchange.getResponseBody();
+          output.write(body);
+          output.close();
+        } catch (Exception e) {
+          exchange.close();
+        }
+      }
+    });
+    server.start();
+    serviceRoot = "http://localhost:" + server.getAddress().getPort() + "/odata.svc";
+  }
+
+  @After
+  public void stop() {
+    server.stop(0);
+  }
+
+  @Test
+  public void requestsAreCoalesced() throws Exception {
+    final ODataClient client = ODataClientFactory.getClient();
+    final ODataAutoBatcher batcher =
+        client.getBatchRequestFactory().getAutoBatcher(serviceRoot, 3, 1, TimeUnit.MINUTES);
+
+    final Future<ODataResponse> read = batcher.submit(client.getRetrieveRequestFactory().getEntityRequest(
+        URI.create(serviceRoot + "/ESAllPrim(1)")));
+    final Future<ODataResponse> delete = batcher.submit(client.getCUDRequestFactory().getDeleteRequest(
+        URI.create(serviceRoot + "/ESAllPrim(2)")));
+    final Future<ODataResponse> missing = batcher.submit(client.getRetrieveRequestFactory().getEntityRequest(
+        URI.create(serviceRoot + "/ESAllPrim(3)")));
+
+    @SuppressWarnings("unchecked")
+    final ODataRetrieveResponse<ClientEntity> entity =
+        (ODataRetrieveResponse<ClientEntity>) read.get(10, TimeUnit.SECONDS);
+    assertEquals(200, entity.getStatusCode());
+    assertEquals(1, entity.getBody().getProperty("PropertyInt16").getPrimitiveValue().toValue());
+
+    assertEquals(204, delete.get(10, TimeUnit.SECONDS).getStatusCode());
+
+    try {
+      missing.get(10, TimeUnit.SECONDS);
+      fail("Expected an error for the missing entity");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof ODataClientErrorException);
+      assertEquals(404, ((ODataClientErrorException) e.getCause()).getStatusLine().getStatusCode());
+    }
+
+    assertEquals(1, batchRequests.get());
+    batcher.close();
+  }
+
+  @Test
+  public void closeSendsAllPendingRequests() throws Exception {
+    final ODataClient client = ODataClientFactory.getClient();
+    final CountDownLatch sending = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ODataAutoBatcher batcher = new ODataAutoBatcherImpl(client, serviceRoot, 2, 1, TimeUnit.MINUTES) {
+      @Override
+      protected void send(final List<PendingItem> items) {
+        sending.countDown();
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        super.send(items);
+      }
+    };
+
+    final List<Future<ODataResponse>> futures = new ArrayList<Future<ODataResponse>>();
+    futures.add(batcher.submit(newRequest(client, 1)));
+    futures.add(batcher.submit(newRequest(client, 2)));
+    assertTrue(sending.await(10, TimeUnit.SECONDS));
+
+    // while the first batch is on its way, more than the maximum number of items pile up
+    for (int i = 3; i <= 7; i++) {
+      futures.add(batcher.submit(newRequest(client, i)));
+    }
+    batcher.close();
+    release.countDown();
+
+    for (Future<ODataResponse> future : futures) {
+      try {
+        future.get(10, TimeUnit.SECONDS);
+      } catch (final ExecutionException e) {
+        // failed items are completed as well
+      }
+      assertTrue(future.isDone());
+    }
+    assertEquals(4, batchRequests.get());
+  }
+
+  private ODataBatchableRequest newRequest(final ODataClient client, final int key) {
+    return client.getRetrieveRequestFactory().getEntityRequest(URI.create(serviceRoot + "/ESAllPrim(" + key + ")"));
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.request.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.commons.api.Constants;
+import org.junit.Test;
+
+public class ODataBatchPartInputStreamTest {
+
+  private static final String BOUNDARY = "--batch_123";
+
+  private static ODataBatchLineIteratorImpl iterator(final String batch) throws Exception {
+    return new ODataBatchLineIteratorImpl(
+        IOUtils.lineIterator(new ByteArrayInputStream(batch.getBytes(Constants.UTF8)), Constants.UTF8));
+  }
+
+  @Test
+  public void itemsAreReadOneAfterTheOther() throws Exception {
+    final ODataBatchLineIteratorImpl iterator = iterator(
+        BOUNDARY + "\r\n"
+        + "Content-Type: application/http\r\n"
+        + "Content-Transfer-Encoding: binary\r\n"
+        + "\r\n"
+        + "HTTP/1.1 200 OK\r\n"
+        + "Content-Type: application/json\r\n"
+        + "\r\n"
+        + "{\"value\":1}\r\n"
+        + BOUNDARY + "\r\n"
+        + "Content-Type: application/http\r\n"
+        + "\r\n"
+        + "HTTP/1.1 200 OK\r\n"
+        + "\r\n"
+        + "{\"value\":2}\r\n"
+        + BOUNDARY + "--\r\n");
+
+    Map<String, Collection<String>> itemHeaders = ODataBatchUtilities.nextItemHeaders(iterator, BOUNDARY);
+    assertEquals(2, itemHeaders.size());
+    assertEquals(ODataBatchUtilities.BatchItemType.RETRIEVE, ODataBatchUtilities.getItemType(itemHeaders));
+
+    assertEquals(Integer.valueOf(200), ODataBatchUtilities.readResponseLine(iterator).getKey());
+    final Map<String, Collection<String>> headers = ODataBatchUtilities.readHeaders(iterator);
+    assertEquals("application/json", headers.get("content-type").iterator().next());
+
+    final ODataBatchPartInputStream first =
+        new ODataBatchPartInputStream(new ODataBatchController(iterator, BOUNDARY));
+    assertEquals("{\"value\":1}\r\n", IOUtils.toString(first, Constants.UTF8));
+    assertEquals(-1, first.read());
+
+    itemHeaders = ODataBatchUtilities.nextItemHeaders(iterator, BOUNDARY);
+    assertFalse(itemHeaders.isEmpty());
+    ODataBatchUtilities.readResponseLine(iterator);
+    assertTrue(ODataBatchUtilities.readHeaders(iterator).isEmpty());
+
+    final ODataBatchPartInputStream second =
+        new ODataBatchPartInputStream(new ODataBatchController(iterator, BOUNDARY));
+    final byte[] buffer = new byte[4];
+    assertEquals(4, second.read(buffer, 0, buffer.length));
+    assertEquals("{\"va", new String(buffer, Constants.UTF8));
+    assertEquals("lue\":2}\r\n", IOUtils.toString(second, Constants.UTF8));
+  }
+
+  @Test
+  public void invalidatedItemStopsStreaming() throws Exception {
+    final ODataBatchLineIteratorImpl iterator = iterator("\r\nline1\r\nline2\r\n" + BOUNDARY + "--\r\n");
+    iterator.nextLine();
+
+    final ODataBatchController controller = new ODataBatchController(iterator, BOUNDARY);
+    final ODataBatchPartInputStream input = new ODataBatchPartInputStream(controller);
+    assertEquals('l', input.read());
+
+    controller.setValidBatch(false);
+    assertEquals("ine1\r\n", IOUtils.toString(input, Constants.UTF8));
+    assertEquals("line2", iterator.nextLine());
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.edm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.client.api.EdmEnabledODataClient;
+import org.apache.olingo.client.api.edm.EdmMetadataCache;
+import org.apache.olingo.client.api.edm.EdmMetadataSnapshot;
+import org.apache.olingo.client.core.AbstractTest;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.client.core.edm.xml.ClientCsdlLazySchema;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmSchema;
+import org.apache.olingo.commons.api.edm.provider.CsdlSchema;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class FileSystemEdmMetadataCacheTest extends AbstractTest {
+
+  private File directory;
+
+  @Before
+  public void createDirectory() throws Exception {
+    directory = File.createTempFile("olingo-edm", "");
+    directory.delete();
+  }
+
+  @After
+  public void deleteDirectory() throws Exception {
+    FileUtils.deleteDirectory(directory);
+  }
+
+  private Map<String, CsdlSchema> parse(final String resource) {
+    return client.getDeserializer(ContentType.APPLICATION_XML).toMetadata(
+        AbstractTest.class.getResourceAsStream(resource)).getSchemaByNsOrAlias();
+  }
+
+  private void assertSameEdm(final Edm expected, final Edm actual) {
+    assertEquals(expected.getSchemas().size(), actual.getSchemas().size());
+    for (EdmSchema schema : expected.getSchemas()) {
+      final EdmSchema actualSchema = actual.getSchema(schema.getNamespace());
+      assertNotNull(actualSchema);
+      assertEquals(schema.getEntityTypes().size(), actualSchema.getEntityTypes().size());
+      assertEquals(schema.getComplexTypes().size(), actualSchema.getComplexTypes().size());
+      assertEquals(schema.getAnnotationGroups().size(), actualSchema.getAnnotationGroups().size());
+      for (EdmEntityType entityType : schema.getEntityTypes()) {
+        assertEquals(entityType.getPropertyNames(),
+            actual.getEntityType(entityType.getFullQualifiedName()).getPropertyNames());
+      }
+    }
+  }
+
+  @Test
+  public void roundTrip() {
+    final FileSystemEdmMetadataCache cache = new FileSystemEdmMetadataCache(directory);
+    for (String resource : new String[] { "metadata.xml", "demo-metadata.xml", "Metadata-With-Capabilities.xml" }) {
+      final Map<String, CsdlSchema> schemas = parse(resource);
+      cache.store("http://localhost/" + resource, new EdmMetadataSnapshot("W/\"1\"", schemas));
+
+      final EdmMetadataSnapshot loaded = cache.load("http://localhost/" + resource);
+      assertNotNull(loaded);
+      assertEquals("W/\"1\"", loaded.getMetadataETag());
+      assertSameEdm(client.getReader().readMetadata(schemas), client.getReader().readMetadata(loaded.getSchemas()));
+    }
+
+    assertNull(cache.load("http://localhost/other"));
+    cache.invalidate("http://localhost/metadata.xml");
+    assertNull(cache.load("http://localhost/metadata.xml"));
+  }
+
+  @Test
+  public void unreadableSnapshot() throws Exception {
+    final FileSystemEdmMetadataCache cache = new FileSystemEdmMetadataCache(directory);
+    cache.store("http://localhost/", new EdmMetadataSnapshot("W/\"1\"", parse("metadata.xml")));
+
+    final File[] files = directory.listFiles();
+    assertEquals(1, files.length);
+    final OutputStream output = new FileOutputStream(files[0]);
+    output.write(new byte[] { 1, 2, 3 });
+    output.close();
+
+    assertNull(cache.load("http://localhost/"));
+    assertEquals(0, directory.listFiles().length);
+  }
+
+  @Test
+  public void disallowedClass() throws Exception {
+    final FileSystemEdmMetadataCache cache = new FileSystemEdmMetadataCache(directory);
+    // readable as such, but not made of allowed classes only
+    cache.store("http://localhost/", new EdmMetadataSnapshot("W/\"1\"",
+        new ConcurrentHashMap<String, CsdlSchema>(parse("metadata.xml"))));
+    assertEquals(1, directory.listFiles().length);
+
+    assertNull(cache.load("http://localhost/"));
+    assertEquals(0, directory.listFiles().length);
+  }
+
+  private HttpServer startServer(final String resource, final AtomicInteger downloads) throws Exception {
+    final byte[] metadata = IOUtils.toByteArray(AbstractTest.class.getResourceAsStream(resource));
+
+    final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) {
+        try {
+          exchange.getResponseHeaders().add("ETag", "W/\"v1\"");
+          if ("W/\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+          } else {
+            downloads.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/xml");
+            exchange.sendResponseHeaders(200, metadata.length);
+            final OutputStream output = exchange.getResponseBody();
+            output.write(metadata);
+            output.close();
+          }
+        } catch (Exception e) {
+          // ignore: the client will fail
+        } finally {
+          exchange.close();
+        }
+      }
+    });
+    server.start();
+    return server;
+  }
+
+  @Test
+  public void revalidation() throws Exception {
+    final AtomicInteger downloads = new AtomicInteger();
+    final HttpServer server = startServer("demo-metadata.xml", downloads);
+    try {
+      final String serviceRoot = "http://localhost:" + server.getAddress().getPort() + "/odata.svc";
+
+      final EdmEnabledODataClient first = ODataClientFactory.getEdmEnabledClient(serviceRoot);
+      first.getConfiguration().setMetadataCache(new FileSystemEdmMetadataCache(directory));
+      final Edm downloaded = first.getCachedEdm();
+
+      final EdmEnabledODataClient second = ODataClientFactory.getEdmEnabledClient(serviceRoot);
+      second.getConfiguration().setMetadataCache(new FileSystemEdmMetadataCache(directory));
+      final Edm revalidated = second.getCachedEdm();
+
+      assertEquals(1, downloads.get());
+      assertSameEdm(downloaded, revalidated);
+
+      // a known ETag lets the snapshot be used without any request
+      final EdmEnabledODataClient third = ODataClientFactory.getEdmEnabledClient(serviceRoot);
+      third.getConfiguration().setMetadataCache(new FileSystemEdmMetadataCache(directory));
+      server.stop(0);
+      assertSameEdm(downloaded, third.getEdm("W/\"v1\""));
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  public void lazyMetadata() throws Exception {
+    final HttpServer server = startServer("metadata.xml", new AtomicInteger());
+    try {
+      final String serviceRoot = "http://localhost:" + server.getAddress().getPort() + "/odata.svc";
+      final FileSystemEdmMetadataCache fileSystemCache = new FileSystemEdmMetadataCache(directory);
+      final List<EdmMetadataSnapshot> stored = new ArrayList<EdmMetadataSnapshot>();
+
+      final EdmEnabledODataClient lazyClient = ODataClientFactory.getEdmEnabledClient(serviceRoot);
+      lazyClient.getConfiguration().setLazyMetadata(true);
+      lazyClient.getConfiguration().setMetadataCache(new EdmMetadataCache() {
+
+        @Override
+        public EdmMetadataSnapshot load(final String serviceRoot) {
+          return fileSystemCache.load(serviceRoot);
+        }
+
+        @Override
+        public void store(final String serviceRoot, final EdmMetadataSnapshot snapshot) {
+          stored.add(snapshot);
+          fileSystemCache.store(serviceRoot, snapshot);
+        }
+
+        @Override
+        public void invalidate(final String serviceRoot) {
+          fileSystemCache.invalidate(serviceRoot);
+        }
+      });
+      final Edm lazy = lazyClient.getCachedEdm();
+
+      assertEquals(1, stored.size());
+      for (CsdlSchema schema : stored.get(0).getSchemas().values()) {
+        assertTrue(schema instanceof ClientCsdlLazySchema);
+      }
+      assertSameEdm(client.getReader().readMetadata(parse("metadata.xml")), lazy);
+      assertSameEdm(lazy, client.getReader().readMetadata(fileSystemCache.load(serviceRoot).getSchemas()));
+    } finally {
+      server.stop(0);
+    }
+  }
+}
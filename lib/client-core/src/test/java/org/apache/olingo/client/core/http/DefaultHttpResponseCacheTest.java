@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.http;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.request.retrieve.ODataEntityRequest;
+import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
+import org.apache.olingo.client.api.domain.ClientEntity;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.commons.api.Constants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class DefaultHttpResponseCacheTest {
+
+  private HttpServer server;
+
+  private final AtomicInteger notModified = new AtomicInteger();
+
+  private String serviceRoot;
+
+  @Before
+  public void start() throws Exception {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) {
+        try {
+          final String path = exchange.getRequestURI().getPath();
+          final String key = path.substring(path.indexOf('(') + 1, path.indexOf(')'));
+          final String etag = "W/\"" + key + "\"";
+
+          exchange.getResponseHeaders().add("ETag", etag);
+          if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+          } else {
+            final byte[] body = ("{\"@odata.context\":\"$metadata#ESAllPrim/$entity\",\"PropertyInt16\":" + key + "}")
+                .getBytes(Constants.UTF8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json;odata.metadata=minimal");
+            exchange.sendResponseHeaders(200, body.length);
+            final OutputStream output = exchange.getResponseBody();
+            output.write(body);
+            output.close();
+          }
+        } catch (Exception e) {
+          // ignore: the client will fail
+        } finally {
+          exchange.close();
+        }
+      }
+    });
+    server.start();
+    serviceRoot = "http://localhost:" + server.getAddress().getPort() + "/odata.svc";
+  }
+
+  @After
+  public void stop() {
+    server.stop(0);
+  }
+
+  private Object read(final ODataClient client, final int key) {
+    final ODataEntityRequest<ClientEntity> request = client.getRetrieveRequestFactory().getEntityRequest(
+        URI.create(serviceRoot + "/ESAllPrim(" + key + ")"));
+    final ODataRetrieveResponse<ClientEntity> response = request.execute();
+    assertEquals(200, response.getStatusCode());
+    return response.getBody().getProperty("PropertyInt16").getPrimitiveValue().toValue();
+  }
+
+  @Test
+  public void revalidation() {
+    final ODataClient client = ODataClientFactory.getClient();
+    final DefaultHttpResponseCache cache = new DefaultHttpResponseCache(1024 * 1024, 1024);
+    client.getConfiguration().setResponseCache(cache);
+
+    assertEquals(1, read(client, 1));
+    assertEquals(1, read(client, 1));
+    assertEquals(1, read(client, 1));
+
+    assertEquals(2, notModified.get());
+    assertEquals(2, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.size());
+
+    cache.invalidate(URI.create(serviceRoot + "/ESAllPrim(1)"));
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getCachedBytes());
+    assertEquals(1, read(client, 1));
+    assertEquals(2, cache.getMissCount());
+  }
+
+  @Test
+  public void eviction() {
+    final ODataClient client = ODataClientFactory.getClient();
+    // room for two payloads only
+    final DefaultHttpResponseCache cache = new DefaultHttpResponseCache(140, 1024);
+    client.getConfiguration().setResponseCache(cache);
+
+    read(client, 1);
+    read(client, 2);
+    read(client, 1);
+    read(client, 3);
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+
+    // 2 was the least recently used
+    read(client, 1);
+    read(client, 2);
+    assertEquals(2, cache.getHitCount());
+    assertEquals(4, cache.getMissCount());
+  }
+
+  @Test
+  public void tooLargeNotCached() {
+    final ODataClient client = ODataClientFactory.getClient();
+    final DefaultHttpResponseCache cache = new DefaultHttpResponseCache(1024, 10);
+    client.getConfiguration().setResponseCache(cache);
+
+    assertEquals(1, read(client, 1));
+    assertEquals(1, read(client, 1));
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getHitCount());
+  }
+}
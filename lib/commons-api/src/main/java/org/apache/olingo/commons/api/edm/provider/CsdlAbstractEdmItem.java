@@ -18,14 +18,19 @@
  */
 package org.apache.olingo.commons.api.edm.provider;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
 /**
- * Super type of all CsdlEdmItems
+ * Super type of all CsdlEdmItems.
+ * <p>
+ * CSDL items are serializable, so that a parsed metadata document can be stored and loaded again without parsing.
  */
-public abstract class CsdlAbstractEdmItem {
+public abstract class CsdlAbstractEdmItem implements Serializable {
+
+  private static final long serialVersionUID = 6911298526993434568L;
 
   /**
    * Gets one by name.
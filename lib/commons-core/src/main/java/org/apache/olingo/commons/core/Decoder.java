@@ -31,7 +31,7 @@ public class Decoder {
    * Decodes a percent-encoded UTF-8 String value into a Java String
    * (in its internal UTF-16 encoding).
    * @param value the encoded String
-   * @return the Java String
+   * @return the Java String; the value itself if it does not contain any percent-encoded character
    * @throws IllegalArgumentException if value contains characters not representing UTF-8 bytes
    * or ends with an unfinished percent-encoded character
    * @throws NumberFormatException if the two characters after a percent character
@@ -41,6 +41,44 @@ public class Decoder {
     if (value == null) {
       return value;
     }
+    return decode(value, 0, value.length());
+  }
+
+  /**
+   * Decodes the part of a percent-encoded UTF-8 String value between the given indices
+   * into a Java String (in its internal UTF-16 encoding).
+   * Decoding the part directly avoids creating the encoded substring first;
+   * if the part does not contain any percent-encoded character, it is just cut out of the value.
+   * @param value the encoded String
+   * @param beginIndex the beginning index, inclusive
+   * @param endIndex the ending index, exclusive
+   * @return the Java String
+   * @throws IllegalArgumentException if the part contains characters not representing UTF-8 bytes
+   * or ends with an unfinished percent-encoded character
+   * @throws NumberFormatException if the two characters after a percent character
+   * are not hexadecimal digits
+   * @throws IndexOutOfBoundsException if the indices do not denote a part of the value
+   */
+  public static String decode(final String value, final int beginIndex, final int endIndex)
+      throws IllegalArgumentException, NumberFormatException {
+    if (beginIndex < 0 || endIndex > value.length() || beginIndex > endIndex) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    // Scan for the first percent character; everything before it is taken as it is.
+    int index = beginIndex;
+    while (index < endIndex) {
+      final char c = value.charAt(index);
+      if (c == '%') {
+        break;
+      } else if (c > Byte.MAX_VALUE) {
+        throw new IllegalArgumentException();
+      }
+      index++;
+    }
+    if (index == endIndex) {
+      return value.substring(beginIndex, endIndex);
+    }
 
     // Use a tiny finite-state machine to handle decoding on byte level.
     // There are only three states:
@@ -48,10 +86,14 @@ public class Decoder {
     // -1: a byte representing the percent character has been read
     // >= 0: a byte representing the first half-byte of a percent-encoded byte has been read
     // The variable holding the state is also used to store the value of the first half-byte.
-    byte[] result = new byte[value.length()];
+    byte[] result = new byte[endIndex - beginIndex];
     int position = 0;
+    for (int i = beginIndex; i < index; i++) {
+      result[position++] = (byte) value.charAt(i);
+    }
     byte encodedPart = -2;
-    for (final char c : value.toCharArray()) {
+    for (; index < endIndex; index++) {
+      final char c = value.charAt(index);
       if (c <= Byte.MAX_VALUE) {
         if (c == '%') {
           if (encodedPart == -2) {
@@ -62,12 +104,7 @@ public class Decoder {
         } else if (encodedPart == -1) {
           encodedPart = (byte) c;
         } else if (encodedPart >= 0) {
-          final int i = Integer.parseInt(String.valueOf(new char[] { (char) encodedPart, c }), 16);
-          if (i >= 0) {
-            result[position++] = (byte) i;
-          } else {
-            throw new NumberFormatException();
-          }
+          result[position++] = (byte) parseHex((char) encodedPart, c);
           encodedPart = -2;
         } else {
           result[position++] = (byte) c;
@@ -87,4 +124,23 @@ public class Decoder {
       throw new IllegalArgumentException(e);
     }
   }
+
+  /**
+   * Parses two characters as hexadecimal number.
+   * In order to stay compatible with the former implementation based on
+   * {@link Integer#parseInt(String, int)}, a leading sign is accepted
+   * as long as the resulting number is not negative.
+   */
+  private static int parseHex(final char first, final char second) throws NumberFormatException {
+    final int low = Character.digit(second, 16);
+    if (low >= 0) {
+      final int high = Character.digit(first, 16);
+      if (high >= 0) {
+        return high << 4 | low;
+      } else if (first == '+' || first == '-' && low == 0) {
+        return low;
+      }
+    }
+    throw new NumberFormatException();
+  }
 }
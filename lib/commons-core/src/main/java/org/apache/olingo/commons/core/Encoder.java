@@ -18,8 +18,6 @@
  */
 package org.apache.olingo.commons.core;
 
-import java.io.UnsupportedEncodingException;
-
 /**
  * Encodes a Java String (in its internal UTF-16 encoding) into its
  * percent-encoded UTF-8 representation according to
@@ -35,12 +33,27 @@ public class Encoder {
    * <a href="http://www.ietf.org/rfc/rfc3986.txt">RFC 3986</a>,
    * suitable for parts of an OData path segment.
    * @param value the Java String
-   * @return the encoded String
+   * @return the encoded String; the value itself if it does not contain any character that has to be encoded
    */
   public static String encode(final String value) {
     return encoder.encodeInternal(value);
   }
 
+  /**
+   * Appends the percent-encoded UTF-8 representation of a Java String
+   * (in its internal UTF-16 encoding) to the given StringBuilder.
+   * This avoids creating an intermediate String when the encoded value
+   * is only part of a larger result such as a key predicate or a URL.
+   * @param value the Java String
+   * @param result the StringBuilder the encoded representation is appended to
+   * @return the given StringBuilder
+   * @see #encode(String)
+   */
+  public static StringBuilder encode(final String value, final StringBuilder result) {
+    encoder.appendEncoded(value, 0, result);
+    return result;
+  }
+
   // OData has special handling for "'", so we allow that to remain unencoded.
   // Other sub-delims not used neither by JAX-RS nor by OData could be added
   // if the encoding is considered to be too aggressive.
@@ -52,23 +65,10 @@ public class Encoder {
   private final static String UNRESERVED = "-._~"; // + ALPHA + DIGIT
   // RFC 3986 says: "For consistency, URI producers and normalizers should
   // use uppercase hexadecimal digits for all percent-encodings."
-  private final static String[] hex = { "%00", "%01", "%02", "%03", "%04", "%05", "%06", "%07", "%08", "%09", "%0A",
-    "%0B", "%0C", "%0D", "%0E", "%0F", "%10", "%11", "%12", "%13", "%14", "%15", "%16", "%17", "%18", "%19", "%1A",
-    "%1B", "%1C", "%1D", "%1E", "%1F", "%20", "%21", "%22", "%23", "%24", "%25", "%26", "%27", "%28", "%29", "%2A",
-    "%2B", "%2C", "%2D", "%2E", "%2F", "%30", "%31", "%32", "%33", "%34", "%35", "%36", "%37", "%38", "%39", "%3A",
-    "%3B", "%3C", "%3D", "%3E", "%3F", "%40", "%41", "%42", "%43", "%44", "%45", "%46", "%47", "%48", "%49", "%4A",
-    "%4B", "%4C", "%4D", "%4E", "%4F", "%50", "%51", "%52", "%53", "%54", "%55", "%56", "%57", "%58", "%59", "%5A",
-    "%5B", "%5C", "%5D", "%5E", "%5F", "%60", "%61", "%62", "%63", "%64", "%65", "%66", "%67", "%68", "%69", "%6A",
-    "%6B", "%6C", "%6D", "%6E", "%6F", "%70", "%71", "%72", "%73", "%74", "%75", "%76", "%77", "%78", "%79", "%7A",
-    "%7B", "%7C", "%7D", "%7E", "%7F", "%80", "%81", "%82", "%83", "%84", "%85", "%86", "%87", "%88",
-    "%89", "%8A", "%8B", "%8C", "%8D", "%8E", "%8F", "%90", "%91", "%92", "%93", "%94", "%95", "%96", "%97", "%98",
-    "%99", "%9A", "%9B", "%9C", "%9D", "%9E", "%9F", "%A0", "%A1", "%A2", "%A3", "%A4", "%A5", "%A6", "%A7", "%A8",
-    "%A9", "%AA", "%AB", "%AC", "%AD", "%AE", "%AF", "%B0", "%B1", "%B2", "%B3", "%B4", "%B5", "%B6", "%B7", "%B8",
-    "%B9", "%BA", "%BB", "%BC", "%BD", "%BE", "%BF", "%C0", "%C1", "%C2", "%C3", "%C4", "%C5", "%C6", "%C7", "%C8",
-    "%C9", "%CA", "%CB", "%CC", "%CD", "%CE", "%CF", "%D0", "%D1", "%D2", "%D3", "%D4", "%D5", "%D6", "%D7", "%D8",
-    "%D9", "%DA", "%DB", "%DC", "%DD", "%DE", "%DF", "%E0", "%E1", "%E2", "%E3", "%E4", "%E5", "%E6", "%E7", "%E8",
-    "%E9", "%EA", "%EB", "%EC", "%ED", "%EE", "%EF", "%F0", "%F1", "%F2", "%F3", "%F4", "%F5", "%F6", "%F7", "%F8",
-    "%F9", "%FA", "%FB", "%FC", "%FD", "%FE", "%FF" };
+  private final static char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  /** the byte the UTF-8 encoder of the Java runtime substitutes for unpaired surrogate characters */
+  private static final int REPLACEMENT_BYTE = '?';
 
   private static final Encoder encoder = new Encoder(ODATA_UNENCODED);
 
@@ -81,40 +81,81 @@ public class Encoder {
 
   /**
    * <p>Returns the percent-encoded UTF-8 representation of a String.</p>
+   * <p>If no character of the input has to be encoded, the input itself is returned
+   * so that the common case of simple names and key values does not allocate anything.
+   * Otherwise the unchanged prefix is copied and the rest is encoded with
+   * {@link #appendEncoded(String, int, StringBuilder)}.</p>
+   * @param input input String
+   * @return encoded representation
+   */
+  private String encodeInternal(final String input) {
+    final int length = input.length();
+    int index = 0;
+    while (index < length && isUnchanged(input.charAt(index))) {
+      index++;
+    }
+    if (index == length) {
+      return input;
+    }
+
+    // Most characters that have to be encoded are single-byte characters
+    // taking three characters in their encoded form.
+    StringBuilder resultStr = new StringBuilder(length + 2 * (length - index));
+    resultStr.append(input, 0, index);
+    appendEncoded(input, index, resultStr);
+    return resultStr.toString();
+  }
+
+  /**
+   * <p>Appends the percent-encoded UTF-8 representation of a String,
+   * starting at the given index, to the given StringBuilder.</p>
    * <p>In order to avoid producing percent-encoded CESU-8 (as described in
    * the Unicode Consortium's <a href="http://www.unicode.org/reports/tr26/">
-   * Technical Report #26</a>), this is done in two steps:
-   * <ol>
-   * <li>Re-encode the characters from their Java-internal UTF-16 representations
-   * into their UTF-8 representations.</li>
-   * <li>Percent-encode each of the bytes in the UTF-8 representation.
+   * Technical Report #26</a>), surrogate pairs are combined to their code point
+   * before the code point is re-encoded into its UTF-8 representation.
+   * Each byte of the UTF-8 representation is then percent-encoded.
    * This is possible on byte level because all characters that do not have
-   * a <code>%xx</code> representation are represented in one byte in UTF-8.</li>
-   * </ol></p>
+   * a <code>%xx</code> representation are represented in one byte in UTF-8.
+   * Unpaired surrogate characters are encoded as question mark, exactly as
+   * <code>String.getBytes("UTF-8")</code> would do.</p>
    * @param input input String
-   * @return encoded representation
+   * @param start index of the first character to be encoded
+   * @param result the StringBuilder the encoded representation is appended to
    */
-  private String encodeInternal(final String input) {
-    StringBuilder resultStr = new StringBuilder();
-
-    try {
-      for (byte utf8Byte : input.getBytes("UTF-8")) {
-        final char character = (char) utf8Byte;
-        if (isUnreserved(character)) {
-          resultStr.append(character);
-        } else if (isUnencoded(character)) {
-          resultStr.append(character);
-        } else if (utf8Byte >= 0) {
-          resultStr.append(hex[utf8Byte]);
-        } else {
-          // case UTF-8 continuation byte
-          resultStr.append(hex[256 + utf8Byte]); // index adjusted for the usage of signed bytes
-        }
+  private void appendEncoded(final String input, final int start, final StringBuilder result) {
+    final int length = input.length();
+    for (int index = start; index < length; index++) {
+      final char character = input.charAt(index);
+      if (isUnchanged(character)) {
+        result.append(character);
+      } else if (character < 0x80) {
+        appendHex(character, result);
+      } else if (character < 0x800) {
+        appendHex(0xC0 | character >> 6, result);
+        appendHex(0x80 | character & 0x3F, result);
+      } else if (character < Character.MIN_SURROGATE || character > Character.MAX_SURROGATE) {
+        appendHex(0xE0 | character >> 12, result);
+        appendHex(0x80 | character >> 6 & 0x3F, result);
+        appendHex(0x80 | character & 0x3F, result);
+      } else if (Character.isHighSurrogate(character)
+          && index + 1 < length && Character.isLowSurrogate(input.charAt(index + 1))) {
+        final int codePoint = Character.toCodePoint(character, input.charAt(++index));
+        appendHex(0xF0 | codePoint >> 18, result);
+        appendHex(0x80 | codePoint >> 12 & 0x3F, result);
+        appendHex(0x80 | codePoint >> 6 & 0x3F, result);
+        appendHex(0x80 | codePoint & 0x3F, result);
+      } else {
+        appendHex(REPLACEMENT_BYTE, result);
       }
-    } catch (final UnsupportedEncodingException e) { // should never happen; UTF-8 is always there
-      return null;
     }
-    return resultStr.toString();
+  }
+
+  private static void appendHex(final int utf8Byte, final StringBuilder result) {
+    result.append('%').append(HEX_DIGITS[utf8Byte >> 4]).append(HEX_DIGITS[utf8Byte & 0x0F]);
+  }
+
+  private boolean isUnchanged(final char character) {
+    return isUnreserved(character) || isUnencoded(character);
   }
 
   private static boolean isUnreserved(final char character) {
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.commons.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Object input stream for reading back the library's own serialized snapshots (e.g. of parsed metadata):
+ * only Olingo classes, <code>java.lang</code> and <code>java.util</code> value types, <code>java.net.URI</code>
+ * and arrays of them are resolved.
+ * <br/>
+ * Any other class, dynamic proxies included, is rejected with an {@link InvalidClassException}, before an instance
+ * of it is created.
+ */
+public class RestrictedObjectInputStream extends ObjectInputStream {
+
+  private static final String OLINGO_PACKAGE = "org.apache.olingo.";
+
+  private static final Set<String> VALUE_TYPES = new HashSet<String>(Arrays.asList(
+      "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Double", "java.lang.Enum",
+      "java.lang.Float", "java.lang.Integer", "java.lang.Long", "java.lang.Number", "java.lang.Short",
+      "java.lang.String",
+      "java.net.URI",
+      "java.util.ArrayList", "java.util.Arrays$ArrayList", "java.util.Collections$EmptyList",
+      "java.util.Collections$EmptyMap", "java.util.Collections$EmptySet", "java.util.HashMap", "java.util.HashSet",
+      "java.util.LinkedHashMap", "java.util.LinkedHashSet", "java.util.LinkedList"));
+
+  public RestrictedObjectInputStream(final InputStream input) throws IOException {
+    super(input);
+  }
+
+  /**
+   * Checks whether instances of the given class may be read.
+   * @param name class name, as in {@link ObjectStreamClass#getName()}
+   * @return whether the class is allowed
+   */
+  public static boolean isAllowed(final String name) {
+    int dimensions = 0;
+    while (dimensions < name.length() && name.charAt(dimensions) == '[') {
+      dimensions++;
+    }
+    if (dimensions == 0) {
+      return name.startsWith(OLINGO_PACKAGE) || VALUE_TYPES.contains(name);
+    }
+    final String component = name.substring(dimensions);
+    return component.length() == 1 // primitive type
+        || component.length() > 2 && component.charAt(0) == 'L' && component.endsWith(";")
+        && isAllowed(component.substring(1, component.length() - 1));
+  }
+
+  @Override
+  protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+    if (!isAllowed(desc.getName())) {
+      throw new InvalidClassException(desc.getName(), "Class not allowed in a snapshot");
+    }
+    return super.resolveClass(desc);
+  }
+
+  @Override
+  protected Class<?> resolveProxyClass(final String[] interfaces) throws IOException, ClassNotFoundException {
+    throw new InvalidClassException(Arrays.toString(interfaces), "Proxy classes not allowed in a snapshot");
+  }
+}
@@ -90,6 +90,41 @@ abstract class AbstractPrimitiveType implements EdmPrimitiveType {
       Boolean isNullable, Integer maxLength, Integer precision, Integer scale,
       Boolean isUnicode) throws EdmPrimitiveTypeException;
 
+  /**
+   * Appends the string representation of the given value to the given buffer.
+   * Types with a direct formatter do so without creating an intermediate {@link String};
+   * the result is always equal to the one of
+   * {@link #valueToString(Object, Boolean, Integer, Integer, Integer, Boolean)}.
+   * @param value the Java value as Object; its type must be one of the value types of this EDM primitive type
+   * @param isNullable whether the value is nullable
+   * @param maxLength the maximum length of the value
+   * @param precision the precision of the value
+   * @param scale the scale of the value
+   * @param isUnicode whether non-ASCII characters are allowed
+   * @param result the buffer to append to; its content is undefined if an exception is thrown
+   * @return <code>false</code> if the value is <code>null</code> (and nothing has been appended),
+   *         <code>true</code> otherwise
+   * @throws EdmPrimitiveTypeException if the value is not valid
+   */
+  public final boolean appendValue(final Object value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode, final StringBuilder result) throws EdmPrimitiveTypeException {
+    if (value == null) {
+      if (isNullable != null && !isNullable) {
+        throw new EdmPrimitiveTypeException("The value NULL is not allowed.");
+      }
+      return false;
+    }
+    internalAppendValue(value, isNullable, maxLength, precision, scale, isUnicode, result);
+    return true;
+  }
+
+  protected <T> void internalAppendValue(final T value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode, final StringBuilder result) throws EdmPrimitiveTypeException {
+    result.append(internalValueToString(value, isNullable, maxLength, precision, scale, isUnicode));
+  }
+
   @Override
   public String toUriLiteral(final String literal) {
     return literal == null ? null :
@@ -19,8 +19,8 @@
 package org.apache.olingo.commons.core.edm.primitivetype;
 
 import java.util.Calendar;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Date;
+import java.util.TimeZone;
 
 import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
 
@@ -29,8 +29,6 @@ import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
  */
 public final class EdmDate extends SingletonPrimitiveType {
 
-  private static final Pattern PATTERN = Pattern.compile("(-?\\p{Digit}{4,})-(\\p{Digit}{2})-(\\p{Digit}{2})");
-
   private static final EdmDate INSTANCE = new EdmDate();
 
   public static EdmDate getInstance() {
@@ -47,18 +45,23 @@ public final class EdmDate extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode, final Class<T> returnType) throws EdmPrimitiveTypeException {
 
-    final Calendar dateTimeValue = Calendar.getInstance();
-    dateTimeValue.clear();
-
-    final Matcher matcher = PATTERN.matcher(value);
-    if (!matcher.matches()) {
+    // Hand-written parser for the pattern (-?\p{Digit}{4,})-(\p{Digit}{2})-(\p{Digit}{2})
+    final int yearStart = LiteralScanner.isAt(value, 0, '-') ? 1 : 0;
+    final int yearEnd = LiteralScanner.skipDigits(value, yearStart);
+    if (yearEnd - yearStart < 4 || value.length() != yearEnd + 6
+        || !LiteralScanner.isAt(value, yearEnd, '-') || !LiteralScanner.hasDigits(value, yearEnd + 1, 2)
+        || !LiteralScanner.isAt(value, yearEnd + 3, '-') || !LiteralScanner.hasDigits(value, yearEnd + 4, 2)) {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
     }
 
+    final Calendar dateTimeValue = Calendar.getInstance();
+    dateTimeValue.clear();
     dateTimeValue.set(
-        Integer.parseInt(matcher.group(1)),
-        Byte.parseByte(matcher.group(2)) - 1, // month is zero-based
-        Byte.parseByte(matcher.group(3)));
+        yearEnd - yearStart == 4
+            ? (yearStart == 0 ? 1 : -1) * LiteralScanner.parseDigits(value, yearStart, yearEnd)
+            : Integer.parseInt(value.substring(0, yearEnd)),
+        LiteralScanner.parseDigits(value, yearEnd + 1, yearEnd + 3) - 1, // month is zero-based
+        LiteralScanner.parseDigits(value, yearEnd + 4, yearEnd + 6));
 
     try {
       return EdmDateTimeOffset.convertDateTime(dateTimeValue, 0, returnType);
@@ -74,9 +77,28 @@ public final class EdmDate extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
 
+    final StringBuilder result = new StringBuilder(10); // Ten characters are enough for "normal" dates.
+    internalAppendValue(value, isNullable, maxLength, precision, scale, isUnicode, result);
+    return result.toString();
+  }
+
+  @Override
+  protected <T> void internalAppendValue(final T value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode, final StringBuilder result) throws EdmPrimitiveTypeException {
+
+    if (value instanceof Long || value instanceof Date) {
+      // Values without own time zone are formatted in the default time zone; this needs no Calendar.
+      final long millis = value instanceof Long ? (Long) value : ((Date) value).getTime();
+      final long localMillis = millis + TimeZone.getDefault().getOffset(millis);
+      if (EdmDateTimeOffset.isInDirectRange(localMillis)) {
+        EdmDateTimeOffset.appendDate(result, localMillis);
+        return;
+      }
+    }
+
     final Calendar dateTimeValue = EdmDateTimeOffset.createDateTime(value, true);
 
-    final StringBuilder result = new StringBuilder(10); // Ten characters are enough for "normal" dates.
     final int year = dateTimeValue.get(Calendar.YEAR);
     if (year < 0 || year >= 10000) {
       result.append(year);
@@ -88,6 +110,5 @@ public final class EdmDate extends SingletonPrimitiveType {
     EdmDateTimeOffset.appendTwoDigits(result, dateTimeValue.get(Calendar.MONTH) + 1); // month is zero-based
     result.append('-');
     EdmDateTimeOffset.appendTwoDigits(result, dateTimeValue.get(Calendar.DAY_OF_MONTH));
-    return result.toString();
   }
 }
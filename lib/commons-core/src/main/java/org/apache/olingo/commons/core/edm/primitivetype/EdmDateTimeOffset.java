@@ -23,8 +23,6 @@ import java.sql.Timestamp;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
 
@@ -33,10 +31,13 @@ import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
  */
 public final class EdmDateTimeOffset extends SingletonPrimitiveType {
 
-  private static final Pattern PATTERN = Pattern.compile(
-      "(-?\\p{Digit}{4,})-(\\p{Digit}{2})-(\\p{Digit}{2})"
-          + "T(\\p{Digit}{2}):(\\p{Digit}{2})(?::(\\p{Digit}{2})(\\.(\\p{Digit}{0,12}?)0*)?)?"
-          + "(Z|([-+]\\p{Digit}{2}:\\p{Digit}{2}))?");
+  private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+  /** 1600-01-01T00:00:00Z; earlier values are formatted via {@link Calendar}. */
+  private static final long MIN_DIRECT_MILLIS = -11676096000000L;
+
+  /** 9999-12-31T00:00:00Z; later values are formatted via {@link Calendar}. */
+  private static final long MAX_DIRECT_MILLIS = 253402214400000L;
 
   private static final EdmDateTimeOffset INSTANCE = new EdmDateTimeOffset();
 
@@ -54,47 +55,87 @@ public final class EdmDateTimeOffset extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode, final Class<T> returnType) throws EdmPrimitiveTypeException {
 
-    final Matcher matcher = PATTERN.matcher(value);
-    if (!matcher.matches()) {
+    // Hand-written parser for the pattern
+    // (-?\p{Digit}{4,})-(\p{Digit}{2})-(\p{Digit}{2})T(\p{Digit}{2}):(\p{Digit}{2})
+    // (?::(\p{Digit}{2})(\.(\p{Digit}{0,12}?)0*)?)?(Z|([-+]\p{Digit}{2}:\p{Digit}{2}))?
+    final int yearStart = LiteralScanner.isAt(value, 0, '-') ? 1 : 0;
+    int index = LiteralScanner.skipDigits(value, yearStart);
+    if (index - yearStart < 4
+        || !LiteralScanner.isAt(value, index, '-') || !LiteralScanner.hasDigits(value, index + 1, 2)
+        || !LiteralScanner.isAt(value, index + 3, '-') || !LiteralScanner.hasDigits(value, index + 4, 2)
+        || !LiteralScanner.isAt(value, index + 6, 'T') || !LiteralScanner.hasDigits(value, index + 7, 2)
+        || !LiteralScanner.isAt(value, index + 9, ':') || !LiteralScanner.hasDigits(value, index + 10, 2)) {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
     }
+    final int yearEnd = index;
+    final int month = LiteralScanner.parseDigits(value, index + 1, index + 3);
+    final int day = LiteralScanner.parseDigits(value, index + 4, index + 6);
+    final int hour = LiteralScanner.parseDigits(value, index + 7, index + 9);
+    final int minute = LiteralScanner.parseDigits(value, index + 10, index + 12);
+    index += 12;
 
-    final String timeZoneOffset = matcher.group(9) == null || matcher.group(10) == null
-        || matcher.group(10).matches("[-+]0+:0+") ? "" : matcher.group(10);
-    final Calendar dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone("GMT" + timeZoneOffset));
-    if (dateTimeValue.get(Calendar.ZONE_OFFSET) == 0 && !timeZoneOffset.isEmpty()) {
+    int second = 0;
+    int fractionStart = -1;
+    int fractionEnd = -1;
+    if (LiteralScanner.isAt(value, index, ':')) {
+      if (!LiteralScanner.hasDigits(value, index + 1, 2)) {
+        throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+      }
+      second = LiteralScanner.parseDigits(value, index + 1, index + 3);
+      index += 3;
+      if (LiteralScanner.isAt(value, index, '.')) {
+        fractionStart = index + 1;
+        fractionEnd = LiteralScanner.skipDigits(value, fractionStart);
+        index = fractionEnd;
+      }
+    }
+
+    int offsetInMinutes = 0;
+    if (LiteralScanner.isAt(value, index, 'Z')) {
+      index++;
+    } else if (LiteralScanner.isAt(value, index, '+') || LiteralScanner.isAt(value, index, '-')) {
+      if (!LiteralScanner.hasDigits(value, index + 1, 2) || !LiteralScanner.isAt(value, index + 3, ':')
+          || !LiteralScanner.hasDigits(value, index + 4, 2)) {
+        throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+      }
+      final int offsetHours = LiteralScanner.parseDigits(value, index + 1, index + 3);
+      final int offsetMinutes = LiteralScanner.parseDigits(value, index + 4, index + 6);
+      // Only offsets that are valid custom time-zone IDs are allowed.
+      if (offsetHours > 23 || offsetMinutes > 59) {
+        throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+      }
+      offsetInMinutes = (value.charAt(index) == '-' ? -1 : 1) * (offsetHours * 60 + offsetMinutes);
+      index += 6;
+    }
+    if (index != value.length()) {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
     }
-    dateTimeValue.clear();
 
-    dateTimeValue.set(
-        Short.parseShort(matcher.group(1)),
-        Byte.parseByte(matcher.group(2)) - 1, // month is zero-based
-        Byte.parseByte(matcher.group(3)),
-        Byte.parseByte(matcher.group(4)),
-        Byte.parseByte(matcher.group(5)),
-        matcher.group(6) == null ? 0 : Byte.parseByte(matcher.group(6)));
+    // Years outside the range of Short are not supported.
+    final int year = yearEnd - yearStart == 4
+        ? (yearStart == 0 ? 1 : -1) * LiteralScanner.parseDigits(value, yearStart, yearEnd)
+        : Short.parseShort(value.substring(0, yearEnd));
 
     int nanoSeconds = 0;
-    if (matcher.group(7) != null) {
-      if (matcher.group(7).length() == 1 || matcher.group(7).length() > 13) {
+    int milliSeconds = 0;
+    if (fractionStart >= 0) {
+      if (fractionEnd == fractionStart || fractionEnd - fractionStart > 12) {
         throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
       }
-      final String decimals = matcher.group(8);
-      if (decimals.length() > (precision == null ? 0 : precision)) {
+      final int decimalsEnd = LiteralScanner.stripTrailingZeros(value, fractionStart, fractionEnd);
+      if (decimalsEnd - fractionStart > (precision == null ? 0 : precision)) {
         throw new EdmPrimitiveTypeException("The literal '" + value + "' does not match the facets' constraints.");
       }
       if (returnType.isAssignableFrom(Timestamp.class)) {
-        if (decimals.length() <= 9) {
-          nanoSeconds = Integer.parseInt(decimals + "000000000".substring(decimals.length()));
+        if (decimalsEnd - fractionStart <= 9) {
+          nanoSeconds = LiteralScanner.parseFraction(value, fractionStart, decimalsEnd, 9);
         } else {
           throw new EdmPrimitiveTypeException("The literal '" + value
               + "' cannot be converted to value type " + returnType + ".");
         }
       } else {
-        if (decimals.length() <= 3) {
-          final String milliSeconds = decimals + "000".substring(decimals.length());
-          dateTimeValue.set(Calendar.MILLISECOND, Short.parseShort(milliSeconds));
+        if (decimalsEnd - fractionStart <= 3) {
+          milliSeconds = LiteralScanner.parseFraction(value, fractionStart, decimalsEnd, 3);
         } else {
           throw new EdmPrimitiveTypeException("The literal '" + value
               + "' cannot be converted to value type " + returnType + ".");
@@ -102,6 +143,41 @@ public final class EdmDateTimeOffset extends SingletonPrimitiveType {
       }
     }
 
+    if ((returnType == Long.class || returnType == Date.class || returnType == Timestamp.class)
+        && year >= 1600 && year <= 9999) {
+      // The time zone has a fixed offset, so the instant can be computed without a Calendar.
+      if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+          || hour > 23 || minute > 59 || second > 59) {
+        throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+      }
+      final long millis = daysSinceEpoch(year, month, day) * MILLIS_PER_DAY
+          + ((hour * 60L + minute - offsetInMinutes) * 60 + second) * 1000 + milliSeconds;
+      if (returnType == Long.class) {
+        return returnType.cast(millis);
+      } else if (returnType == Date.class) {
+        return returnType.cast(new Date(millis));
+      } else {
+        final Timestamp timestamp = new Timestamp(millis);
+        timestamp.setNanos(nanoSeconds);
+        return returnType.cast(timestamp);
+      }
+    }
+
+    final Calendar dateTimeValue = Calendar.getInstance(offsetInMinutes == 0
+        ? TimeZone.getTimeZone("GMT")
+        : TimeZone.getTimeZone("GMT" + value.substring(index - 6, index)));
+    dateTimeValue.clear();
+    dateTimeValue.set(
+        year,
+        month - 1, // month is zero-based
+        day,
+        hour,
+        minute,
+        second);
+    if (fractionStart >= 0 && !returnType.isAssignableFrom(Timestamp.class)) {
+      dateTimeValue.set(Calendar.MILLISECOND, milliSeconds);
+    }
+
     try {
       return convertDateTime(dateTimeValue, nanoSeconds, returnType);
     } catch (final IllegalArgumentException e) {
@@ -111,6 +187,25 @@ public final class EdmDateTimeOffset extends SingletonPrimitiveType {
     }
   }
 
+  private static int daysInMonth(final int year, final int month) {
+    return month == 2
+        ? year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28
+        : month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+  }
+
+  /**
+   * Computes the number of days between 1970-01-01 and the given date in the Gregorian calendar.
+   * See Howard Hinnant's "chrono-Compatible Low-Level Date Algorithms".
+   */
+  private static long daysSinceEpoch(final int year, final int month, final int day) {
+    final int shiftedYear = month <= 2 ? year - 1 : year; // years starting with March
+    final int era = shiftedYear / 400; // the year is positive
+    final int yearOfEra = shiftedYear - era * 400;
+    final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097L + dayOfEra - 719468;
+  }
+
   /**
    * <p>Converts a {@link Calendar} value into the requested return type if possible.</p>
    * <p>It is expected that the {@link Calendar} value will already be in the desired time zone.</p>
@@ -170,9 +265,35 @@ public final class EdmDateTimeOffset extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
 
+    final StringBuilder result = new StringBuilder(35); // enough for nanoseconds and a time-zone offset
+    internalAppendValue(value, isNullable, maxLength, precision, scale, isUnicode, result);
+    return result.toString();
+  }
+
+  @Override
+  protected <T> void internalAppendValue(final T value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode, final StringBuilder result) throws EdmPrimitiveTypeException {
+
+    final boolean isNano = value instanceof Timestamp;
+    final long millis = value instanceof Long ? (Long) value : value instanceof Date ? ((Date) value).getTime() : 0;
+    if ((value instanceof Long || value instanceof Date) && isInDirectRange(millis)) {
+      // Values without own time zone are formatted in GMT; this needs no Calendar.
+      appendDate(result, millis);
+      result.append('T');
+      appendTime(result, millis);
+      try {
+        appendFractionalSeconds(result, isNano ? ((Timestamp) value).getNanos() : millisOfSecond(millis), isNano,
+            precision);
+      } catch (final IllegalArgumentException e) {
+        throw new EdmPrimitiveTypeException("The value '" + value + "' does not match the facets' constraints.", e);
+      }
+      result.append('Z');
+      return;
+    }
+
     final Calendar dateTimeValue = createDateTime(value, false);
 
-    StringBuilder result = new StringBuilder();
     final int year = dateTimeValue.get(Calendar.YEAR);
     appendTwoDigits(result, year / 100);
     appendTwoDigits(result, year % 100);
@@ -187,23 +308,25 @@ public final class EdmDateTimeOffset extends SingletonPrimitiveType {
     result.append(':');
     appendTwoDigits(result, dateTimeValue.get(Calendar.SECOND));
 
-    final int fractionalSecs = value instanceof Timestamp ?
+    final int fractionalSecs = isNano ?
         ((Timestamp) value).getNanos() :
         dateTimeValue.get(Calendar.MILLISECOND);
     try {
-      appendFractionalSeconds(result, fractionalSecs, value instanceof Timestamp, precision);
+      appendFractionalSeconds(result, fractionalSecs, isNano, precision);
     } catch (final IllegalArgumentException e) {
       throw new EdmPrimitiveTypeException("The value '" + value + "' does not match the facets' constraints.", e);
     }
 
     final int offsetInMinutes = (dateTimeValue.get(Calendar.ZONE_OFFSET)
         + dateTimeValue.get(Calendar.DST_OFFSET)) / 60 / 1000;
-    final int offsetHours = offsetInMinutes / 60;
-    final int offsetMinutes = Math.abs(offsetInMinutes % 60);
-    final String offsetString = offsetInMinutes == 0 ? "Z" : String.format("%+03d:%02d", offsetHours, offsetMinutes);
-    result.append(offsetString);
-
-    return result.toString();
+    if (offsetInMinutes == 0) {
+      result.append('Z');
+    } else {
+      result.append(offsetInMinutes < 0 ? '-' : '+');
+      appendTwoDigits(result, Math.abs(offsetInMinutes) / 60);
+      result.append(':');
+      appendTwoDigits(result, Math.abs(offsetInMinutes) % 60);
+    }
   }
 
   /**
@@ -230,6 +353,72 @@ public final class EdmDateTimeOffset extends SingletonPrimitiveType {
     return dateTimeValue;
   }
 
+  /**
+   * Determines whether the given instant can be formatted with {@link #appendDate(StringBuilder, long)}
+   * and {@link #appendTime(StringBuilder, long)}, i.e., whether it lies well after the switch from the Julian
+   * to the Gregorian calendar (as done by {@link java.util.GregorianCalendar}) and before the year 10000.
+   * @param millis milliseconds since the epoch (possibly shifted by a time-zone offset)
+   * @return whether the fast formatting methods can be used
+   */
+  protected static boolean isInDirectRange(final long millis) {
+    return millis >= MIN_DIRECT_MILLIS && millis < MAX_DIRECT_MILLIS;
+  }
+
+  /**
+   * Appends the date part of the given instant in the format <code>yyyy-MM-dd</code>,
+   * computed arithmetically in the Gregorian calendar without creating a {@link Calendar}.
+   * @param result a {@link StringBuilder}
+   * @param millis milliseconds since the epoch (possibly shifted by a time-zone offset),
+   *               must satisfy {@link #isInDirectRange(long)}
+   */
+  protected static void appendDate(final StringBuilder result, final long millis) {
+    // Days since 0000-03-01; see Howard Hinnant's "chrono-Compatible Low-Level Date Algorithms".
+    final long days = floorDiv(millis, MILLIS_PER_DAY) + 719468;
+    final long era = days / 146097;
+    final long dayOfEra = days - era * 146097;
+    final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    final long monthIndex = (5 * dayOfYear + 2) / 153; // starting with March
+    final int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+    final int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+    appendTwoDigits(result, year / 100);
+    appendTwoDigits(result, year % 100);
+    result.append('-');
+    appendTwoDigits(result, month);
+    result.append('-');
+    appendTwoDigits(result, (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1));
+  }
+
+  /**
+   * Appends the time-of-day part of the given instant in the format <code>HH:mm:ss</code>,
+   * without fractional seconds and without creating a {@link Calendar}.
+   * @param result a {@link StringBuilder}
+   * @param millis milliseconds since the epoch (possibly shifted by a time-zone offset)
+   */
+  protected static void appendTime(final StringBuilder result, final long millis) {
+    final int secondOfDay = (int) ((millis - floorDiv(millis, MILLIS_PER_DAY) * MILLIS_PER_DAY) / 1000);
+    appendTwoDigits(result, secondOfDay / 3600);
+    result.append(':');
+    appendTwoDigits(result, secondOfDay / 60 % 60);
+    result.append(':');
+    appendTwoDigits(result, secondOfDay % 60);
+  }
+
+  /**
+   * Returns the milliseconds within the second of the given instant.
+   * @param millis milliseconds since the epoch
+   * @return a value between 0 and 999
+   */
+  protected static int millisOfSecond(final long millis) {
+    return (int) (millis - floorDiv(millis, 1000) * 1000);
+  }
+
+  private static long floorDiv(final long dividend, final long divisor) {
+    final long quotient = dividend / divisor;
+    return dividend % divisor < 0 ? quotient - 1 : quotient;
+  }
+
   /**
    * Appends the given number to the given string builder, assuming that the number has at most two digits,
    * performance-optimized.
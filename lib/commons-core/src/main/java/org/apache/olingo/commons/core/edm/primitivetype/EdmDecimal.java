@@ -20,8 +20,6 @@ package org.apache.olingo.commons.core.edm.primitivetype;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
 import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
@@ -31,8 +29,6 @@ import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
  */
 public final class EdmDecimal extends SingletonPrimitiveType {
 
-  private static final Pattern PATTERN = Pattern.compile("(?:\\+|-)?(?:0*(\\p{Digit}+?))(?:\\.(\\p{Digit}+?)0*)?");
-
   private static final EdmDecimal INSTANCE = new EdmDecimal();
 
   public static EdmDecimal getInstance() {
@@ -63,22 +59,46 @@ public final class EdmDecimal extends SingletonPrimitiveType {
 
     return value == null
         ? isNullable == null || isNullable
-        : validateLiteral(value) && validatePrecisionAndScale(value, precision, scale);
+        : validateLiteral(value, precision, scale);
   }
 
-  private static boolean validateLiteral(final String value) {
-    return PATTERN.matcher(value).matches();
+  private static boolean validateLiteral(final String value, final Integer precision, final Integer scale) {
+    final int[] digits = scan(value);
+    return digits != null && validatePrecisionAndScale(digits, precision, scale);
   }
 
-  private static boolean validatePrecisionAndScale(final String value, final Integer precision,
-      final Integer scale) {
+  /**
+   * Scans the literal according to the pattern
+   * <code>(?:\+|-)?(?:0*(\p{Digit}+?))(?:\.(\p{Digit}+?)0*)?</code>.
+   * @param value the literal
+   * @return the numbers of significant integer digits and of decimals (at least one if there is a decimal point),
+   *         or <code>null</code> if the literal is not valid
+   */
+  private static int[] scan(final String value) {
+    final int integerStart = LiteralScanner.isAt(value, 0, '+') || LiteralScanner.isAt(value, 0, '-') ? 1 : 0;
+    final int integerEnd = LiteralScanner.skipDigits(value, integerStart);
+    if (integerEnd == integerStart) {
+      return null;
+    }
+    int significantStart = integerStart;
+    while (significantStart < integerEnd && value.charAt(significantStart) == '0') {
+      significantStart++;
+    }
+    int decimals = 0;
+    if (integerEnd < value.length()) {
+      final int fractionEnd = LiteralScanner.skipDigits(value, integerEnd + 1);
+      if (value.charAt(integerEnd) != '.' || fractionEnd == integerEnd + 1 || fractionEnd != value.length()) {
+        return null;
+      }
+      decimals = Math.max(1, LiteralScanner.stripTrailingZeros(value, integerEnd + 1, fractionEnd) - integerEnd - 1);
+    }
+    return new int[] { integerEnd - significantStart, decimals };
+  }
 
-    final Matcher matcher = PATTERN.matcher(value);
-    matcher.matches();
-    final int significantIntegerDigits = matcher.group(1).equals("0") ? 0 : matcher.group(1).length();
-    final int decimals = matcher.group(2) == null ? 0 : matcher.group(2).length();
-    return (precision == null || precision >= significantIntegerDigits + decimals)
-        && (decimals <= (scale == null ? 0 : scale));
+  private static boolean validatePrecisionAndScale(final int[] digits, final Integer precision,
+      final Integer scale) {
+    return (precision == null || precision >= digits[0] + digits[1])
+        && (digits[1] <= (scale == null ? 0 : scale));
   }
 
   @Override
@@ -86,10 +106,11 @@ public final class EdmDecimal extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode, final Class<T> returnType) throws EdmPrimitiveTypeException {
 
-    if (!validateLiteral(value)) {
+    final int[] digits = scan(value);
+    if (digits == null) {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
     }
-    if (!validatePrecisionAndScale(value, precision, scale)) {
+    if (!validatePrecisionAndScale(digits, precision, scale)) {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' does not match the facets' constraints.");
     }
 
@@ -20,17 +20,11 @@ package org.apache.olingo.commons.core.edm.primitivetype;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
 
 public class EdmDuration extends SingletonPrimitiveType {
 
-  private static final Pattern PATTERN = Pattern.compile(
-      "[-+]?P(?:(\\p{Digit}+)D)?(?:T(?:(\\p{Digit}+)H)?(?:(\\p{Digit}+)M)?"
-          + "(?:(\\p{Digit}+(?:\\.(?:\\p{Digit}+?)0*)?)S)?)?");
-
   private static final EdmDuration INSTANCE = new EdmDuration();
 
   {
@@ -52,20 +46,67 @@ public class EdmDuration extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode, final Class<T> returnType) throws EdmPrimitiveTypeException {
 
-    final Matcher matcher = PATTERN.matcher(value);
-    if (!matcher.matches()
-        || matcher.group(1) == null && matcher.group(2) == null && matcher.group(3) == null
-        && matcher.group(4) == null) {
+    // Hand-written parser for the pattern
+    // [-+]?P(?:(\p{Digit}+)D)?(?:T(?:(\p{Digit}+)H)?(?:(\p{Digit}+)M)?(?:(\p{Digit}+(?:\.(?:\p{Digit}+?)0*)?)S)?)?
+    // where at least one of the groups must be present
+    int index = LiteralScanner.isAt(value, 0, '-') || LiteralScanner.isAt(value, 0, '+') ? 1 : 0;
+    if (!LiteralScanner.isAt(value, index, 'P')) {
+      throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+    }
+    index++;
+    // start and end indices of the digits of days, hours, minutes, and seconds
+    final int[] starts = { -1, -1, -1, -1 };
+    final int[] ends = { -1, -1, -1, -1 };
+    int end = LiteralScanner.skipDigits(value, index);
+    if (end > index && LiteralScanner.isAt(value, end, 'D')) {
+      starts[0] = index;
+      ends[0] = end;
+      index = end + 1;
+    }
+    if (LiteralScanner.isAt(value, index, 'T')) {
+      index++;
+      end = LiteralScanner.skipDigits(value, index);
+      if (end > index && LiteralScanner.isAt(value, end, 'H')) {
+        starts[1] = index;
+        ends[1] = end;
+        index = end + 1;
+        end = LiteralScanner.skipDigits(value, index);
+      }
+      if (end > index && LiteralScanner.isAt(value, end, 'M')) {
+        starts[2] = index;
+        ends[2] = end;
+        index = end + 1;
+        end = LiteralScanner.skipDigits(value, index);
+      }
+      if (end > index && LiteralScanner.isAt(value, end, '.')) {
+        final int fractionEnd = LiteralScanner.skipDigits(value, end + 1);
+        end = fractionEnd > end + 1 ? fractionEnd : index;
+      }
+      if (end > index && LiteralScanner.isAt(value, end, 'S')) {
+        starts[3] = index;
+        ends[3] = end;
+        index = end + 1;
+      }
+    }
+    if (index != value.length() || starts[0] < 0 && starts[1] < 0 && starts[2] < 0 && starts[3] < 0) {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
     }
 
-    BigDecimal result = (matcher.group(1) == null ? BigDecimal.ZERO
-        : new BigDecimal(matcher.group(1)).multiply(BigDecimal.valueOf(24 * 60 * 60))).
-        add(matcher.group(2) == null ? BigDecimal.ZERO
-            : new BigDecimal(matcher.group(2)).multiply(BigDecimal.valueOf(60 * 60))).
-            add(matcher.group(3) == null ? BigDecimal.ZERO
-                : new BigDecimal(matcher.group(3)).multiply(BigDecimal.valueOf(60))).
-                add(matcher.group(4) == null ? BigDecimal.ZERO : new BigDecimal(matcher.group(4)));
+    // Days, hours, and minutes are summed up as whole seconds, with long arithmetic if they are small enough.
+    final long[] factors = { 24 * 60 * 60, 60 * 60, 60 };
+    BigDecimal result = starts[3] < 0 ? BigDecimal.ZERO : new BigDecimal(value.substring(starts[3], ends[3]));
+    long seconds = 0;
+    for (int group = 0; group < 3; group++) {
+      if (starts[group] < 0) {
+        continue;
+      } else if (ends[group] - starts[group] <= 9) {
+        seconds += LiteralScanner.parseDigits(value, starts[group], ends[group]) * factors[group];
+      } else {
+        result = result.add(new BigDecimal(value.substring(starts[group], ends[group]))
+            .multiply(BigDecimal.valueOf(factors[group])));
+      }
+    }
+    result = result.add(BigDecimal.valueOf(seconds));
 
     if (result.scale() <= (precision == null ? 0 : precision)) {
       result = value.charAt(0) == '-' ? result.negate() : result;
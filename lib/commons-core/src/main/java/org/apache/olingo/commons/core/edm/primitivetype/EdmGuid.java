@@ -27,8 +27,6 @@ import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
  */
 public final class EdmGuid extends SingletonPrimitiveType {
 
-  private static final String PATTERN = "\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}";
-
   private static final EdmGuid INSTANCE = new EdmGuid();
 
   public static EdmGuid getInstance() {
@@ -47,8 +45,29 @@ public final class EdmGuid extends SingletonPrimitiveType {
     return value == null ? isNullable == null || isNullable : validateLiteral(value);
   }
 
+  /**
+   * Checks the literal against the pattern
+   * <code>\p{XDigit}{8}-\p{XDigit}{4}-\p{XDigit}{4}-\p{XDigit}{4}-\p{XDigit}{12}</code>.
+   */
   private boolean validateLiteral(final String value) {
-    return value.matches(PATTERN);
+    if (value.length() != 36) {
+      return false;
+    }
+    for (int i = 0; i < 36; i++) {
+      final boolean isSeparator = i == 8 || i == 13 || i == 18 || i == 23;
+      if (isSeparator ? value.charAt(i) != '-' : !LiteralScanner.isHexDigit(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long parseHex(final String value, final int start, final int end, final long initial) {
+    long result = initial;
+    for (int i = start; i < end; i++) {
+      result = (result << 4) | Character.digit(value.charAt(i), 16);
+    }
+    return result;
   }
 
   @Override
@@ -59,7 +78,9 @@ public final class EdmGuid extends SingletonPrimitiveType {
 
     UUID result;
     if (validateLiteral(value)) {
-      result = UUID.fromString(value);
+      result = new UUID(
+          parseHex(value, 14, 18, parseHex(value, 9, 13, parseHex(value, 0, 8, 0))),
+          parseHex(value, 24, 36, parseHex(value, 19, 23, 0)));
     } else {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
     }
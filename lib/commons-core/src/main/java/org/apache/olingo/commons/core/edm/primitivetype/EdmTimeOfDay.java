@@ -20,16 +20,13 @@ package org.apache.olingo.commons.core.edm.primitivetype;
 
 import java.sql.Timestamp;
 import java.util.Calendar;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Date;
+import java.util.TimeZone;
 
 import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
 
 public final class EdmTimeOfDay extends SingletonPrimitiveType {
 
-  private static final Pattern PATTERN = Pattern.compile(
-      "(\\p{Digit}{2}):(\\p{Digit}{2})(?::(\\p{Digit}{2})(\\.(\\p{Digit}{0,}?)0*)?)?");
-
   private static final EdmTimeOfDay INSTANCE = new EdmTimeOfDay();
 
   public static EdmTimeOfDay getInstance() {
@@ -46,37 +43,58 @@ public final class EdmTimeOfDay extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode, final Class<T> returnType) throws EdmPrimitiveTypeException {
 
-    final Matcher matcher = PATTERN.matcher(value);
-    if (!matcher.matches()) {
+    // Hand-written parser for the pattern
+    // (\p{Digit}{2}):(\p{Digit}{2})(?::(\p{Digit}{2})(\.(\p{Digit}{0,}?)0*)?)?
+    if (!LiteralScanner.hasDigits(value, 0, 2) || !LiteralScanner.isAt(value, 2, ':')
+        || !LiteralScanner.hasDigits(value, 3, 2)) {
+      throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+    }
+    int index = 5;
+    int second = 0;
+    int fractionStart = -1;
+    int fractionEnd = -1;
+    if (LiteralScanner.isAt(value, index, ':')) {
+      if (!LiteralScanner.hasDigits(value, index + 1, 2)) {
+        throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+      }
+      second = LiteralScanner.parseDigits(value, index + 1, index + 3);
+      index += 3;
+      if (LiteralScanner.isAt(value, index, '.')) {
+        fractionStart = index + 1;
+        fractionEnd = LiteralScanner.skipDigits(value, fractionStart);
+        index = fractionEnd;
+      }
+    }
+    if (index != value.length()) {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
     }
 
     final Calendar dateTimeValue = Calendar.getInstance();
     dateTimeValue.clear();
-    dateTimeValue.set(Calendar.HOUR_OF_DAY, Byte.parseByte(matcher.group(1)));
-    dateTimeValue.set(Calendar.MINUTE, Byte.parseByte(matcher.group(2)));
-    dateTimeValue.set(Calendar.SECOND, matcher.group(3) == null ? 0 : Byte.parseByte(matcher.group(3)));
+    dateTimeValue.set(Calendar.HOUR_OF_DAY, LiteralScanner.parseDigits(value, 0, 2));
+    dateTimeValue.set(Calendar.MINUTE, LiteralScanner.parseDigits(value, 3, 5));
+    dateTimeValue.set(Calendar.SECOND, second);
 
     int nanoSeconds = 0;
-    if (matcher.group(4) != null) {
-      if (matcher.group(4).length() == 1 || matcher.group(4).length() > 13) {
+    if (fractionStart >= 0) {
+      if (fractionEnd == fractionStart || fractionEnd - fractionStart > 12) {
         throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
       }
-      final String decimals = matcher.group(5);
-      if (decimals.length() > (precision == null ? 0 : precision)) {
+      final int decimals = LiteralScanner.stripTrailingZeros(value, fractionStart, fractionEnd) - fractionStart;
+      if (decimals > (precision == null ? 0 : precision)) {
         throw new EdmPrimitiveTypeException("The literal '" + value + "' does not match the facets' constraints.");
       }
       if (returnType.isAssignableFrom(Timestamp.class)) {
-        if (decimals.length() <= 9) {
-          nanoSeconds = Integer.parseInt(decimals + "000000000".substring(decimals.length()));
+        if (decimals <= 9) {
+          nanoSeconds = LiteralScanner.parseFraction(value, fractionStart, fractionStart + decimals, 9);
         } else {
           throw new EdmPrimitiveTypeException("The literal '" + value
               + "' cannot be converted to value type " + returnType + ".");
         }
       } else {
-        if (decimals.length() <= 3) {
-          final String milliSeconds = decimals + "000".substring(decimals.length());
-          dateTimeValue.set(Calendar.MILLISECOND, Short.parseShort(milliSeconds));
+        if (decimals <= 3) {
+          dateTimeValue.set(Calendar.MILLISECOND,
+              LiteralScanner.parseFraction(value, fractionStart, fractionStart + decimals, 3));
         } else {
           throw new EdmPrimitiveTypeException("The literal '" + value
               + "' cannot be converted to value type " + returnType + ".");
@@ -98,24 +116,39 @@ public final class EdmTimeOfDay extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
 
-    final Calendar dateTimeValue = EdmDateTimeOffset.createDateTime(value, true);
+    final StringBuilder result = new StringBuilder(18); // enough for nanoseconds
+    internalAppendValue(value, isNullable, maxLength, precision, scale, isUnicode, result);
+    return result.toString();
+  }
 
-    StringBuilder result = new StringBuilder();
-    EdmDateTimeOffset.appendTwoDigits(result, dateTimeValue.get(Calendar.HOUR_OF_DAY));
-    result.append(':');
-    EdmDateTimeOffset.appendTwoDigits(result, dateTimeValue.get(Calendar.MINUTE));
-    result.append(':');
-    EdmDateTimeOffset.appendTwoDigits(result, dateTimeValue.get(Calendar.SECOND));
+  @Override
+  protected <T> void internalAppendValue(final T value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode, final StringBuilder result) throws EdmPrimitiveTypeException {
+
+    final int fractionalSecs;
+    if (value instanceof Long || value instanceof Date) {
+      // Values without own time zone are formatted in the default time zone; this needs no Calendar.
+      final long millis = value instanceof Long ? (Long) value : ((Date) value).getTime();
+      final long localMillis = millis + TimeZone.getDefault().getOffset(millis);
+      EdmDateTimeOffset.appendTime(result, localMillis);
+      fractionalSecs = value instanceof Timestamp ?
+          ((Timestamp) value).getNanos() :
+          EdmDateTimeOffset.millisOfSecond(localMillis);
+    } else {
+      final Calendar dateTimeValue = EdmDateTimeOffset.createDateTime(value, true);
+      EdmDateTimeOffset.appendTwoDigits(result, dateTimeValue.get(Calendar.HOUR_OF_DAY));
+      result.append(':');
+      EdmDateTimeOffset.appendTwoDigits(result, dateTimeValue.get(Calendar.MINUTE));
+      result.append(':');
+      EdmDateTimeOffset.appendTwoDigits(result, dateTimeValue.get(Calendar.SECOND));
+      fractionalSecs = dateTimeValue.get(Calendar.MILLISECOND);
+    }
 
-    final int fractionalSecs = value instanceof Timestamp ?
-        ((Timestamp) value).getNanos() :
-        dateTimeValue.get(Calendar.MILLISECOND);
     try {
       EdmDateTimeOffset.appendFractionalSeconds(result, fractionalSecs, value instanceof Timestamp, precision);
     } catch (final IllegalArgumentException e) {
       throw new EdmPrimitiveTypeException("The value '" + value + "' does not match the facets' constraints.", e);
     }
-
-    return result.toString();
   }
 }
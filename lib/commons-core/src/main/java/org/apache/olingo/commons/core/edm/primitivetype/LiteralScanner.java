@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.commons.core.edm.primitivetype;
+
+/**
+ * Helper methods for the hand-written literal parsers of the primitive types.
+ * Digits are the ASCII digits only, as matched by <code>\p{Digit}</code> in regular expressions.
+ */
+final class LiteralScanner {
+
+  private LiteralScanner() {}
+
+  /**
+   * Determines whether the given character is an ASCII digit.
+   * @param c the character
+   * @return whether it is a digit
+   */
+  static boolean isDigit(final char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  /**
+   * Determines whether the given character is a hexadecimal digit (upper or lower case).
+   * @param c the character
+   * @return whether it is a hexadecimal digit
+   */
+  static boolean isHexDigit(final char c) {
+    return c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F';
+  }
+
+  /**
+   * Determines whether the given string has the given character at the given index.
+   * @param value the string
+   * @param index the index (may be out of range)
+   * @param c the expected character
+   * @return whether the character is at the index
+   */
+  static boolean isAt(final String value, final int index, final char c) {
+    return index < value.length() && value.charAt(index) == c;
+  }
+
+  /**
+   * Skips the digits starting at the given index.
+   * @param value the string
+   * @param index the start index
+   * @return the index of the first non-digit character or the length of the string
+   */
+  static int skipDigits(final String value, final int index) {
+    int end = index;
+    while (end < value.length() && isDigit(value.charAt(end))) {
+      end++;
+    }
+    return end;
+  }
+
+  /**
+   * Determines whether the given number of digits follows at the given index.
+   * @param value the string
+   * @param index the start index
+   * @param count the number of digits expected
+   * @return whether there are enough digits
+   */
+  static boolean hasDigits(final String value, final int index, final int count) {
+    if (index + count > value.length()) {
+      return false;
+    }
+    for (int i = index; i < index + count; i++) {
+      if (!isDigit(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses the digits between the given indices, which must have been checked before and must not overflow.
+   * @param value the string
+   * @param start the start index
+   * @param end the end index (exclusive)
+   * @return the number
+   */
+  static int parseDigits(final String value, final int start, final int end) {
+    int result = 0;
+    for (int i = start; i < end; i++) {
+      result = result * 10 + value.charAt(i) - '0';
+    }
+    return result;
+  }
+
+  /**
+   * Returns the end index of the given digits without trailing zeroes.
+   * @param value the string
+   * @param start the start index of the digits
+   * @param end the end index of the digits (exclusive)
+   * @return the end index of the significant digits, at least the start index
+   */
+  static int stripTrailingZeros(final String value, final int start, final int end) {
+    int significantEnd = end;
+    while (significantEnd > start && value.charAt(significantEnd - 1) == '0') {
+      significantEnd--;
+    }
+    return significantEnd;
+  }
+
+  /**
+   * Parses fractional-second digits, padded or truncated to the given number of digits.
+   * @param value the string
+   * @param start the start index of the digits
+   * @param end the end index of the digits (exclusive); at most <code>digits</code> after start
+   * @param digits the number of digits of the result, e.g. 3 for milliseconds
+   * @return the fractional seconds in the unit given by the number of digits
+   */
+  static int parseFraction(final String value, final int start, final int end, final int digits) {
+    int result = parseDigits(value, start, end);
+    for (int i = end - start; i < digits; i++) {
+      result *= 10;
+    }
+    return result;
+  }
+}
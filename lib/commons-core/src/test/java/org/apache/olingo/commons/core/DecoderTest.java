@@ -20,6 +20,7 @@ package org.apache.olingo.commons.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
 
@@ -39,6 +40,36 @@ public class DecoderTest {
     assertEquals(s, Decoder.decode(s));
   }
 
+  @Test
+  public void unchangedValue() {
+    final String s = "Customer-4711_'a.b'~";
+    assertSame(s, Decoder.decode(s));
+  }
+
+  @Test
+  public void part() {
+    assertEquals("b c", Decoder.decode("a/b%20c/d", 2, 7));
+    assertEquals("bc", Decoder.decode("a/bc/d", 2, 4));
+    assertEquals("", Decoder.decode("a/bc/d", 2, 2));
+  }
+
+  @Test
+  public void signedPercentNumber() {
+    // compatible with the former implementation based on Integer.parseInt
+    assertEquals("\u000F", Decoder.decode("%+F"));
+    assertEquals("\u0000", Decoder.decode("%-0"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void wrongCharacterInPart() {
+    Decoder.decode("a/bä/c", 2, 4);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void wrongPart() {
+    Decoder.decode("abc", 2, 4);
+  }
+
   @Test
   public void asciiControl() {
     assertEquals("\u0000\b\t\n\r", Decoder.decode("%00%08%09%0a%0d"));
@@ -19,9 +19,12 @@
 package org.apache.olingo.commons.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
+import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -43,6 +46,58 @@ public class EncoderTest {
     assertEquals(s, Encoder.encode(s));
   }
 
+  @Test
+  public void unchangedValue() {
+    final String s = "Customer-4711_'a.b'~";
+    assertSame(s, Encoder.encode(s));
+  }
+
+  @Test
+  public void appendToBuilder() {
+    final StringBuilder builder = new StringBuilder("Keys(");
+    assertSame(builder, Encoder.encode("a b", builder));
+    Encoder.encode("'\u20AC'", builder.append(',')).append(')');
+    assertEquals("Keys(a%20b,'%E2%82%AC')", builder.toString());
+  }
+
+  @Test
+  public void unpairedSurrogates() {
+    assertEquals("a%3Fb", Encoder.encode("a\uD83Db"));
+    assertEquals("a%3Fb", Encoder.encode("a\uDE03b"));
+    assertEquals("a%3F", Encoder.encode("a\uD83D"));
+    assertEquals("%3F%F0%9F%98%83", Encoder.encode("\uD83D\uD83D\uDE03"));
+  }
+
+  @Test
+  public void randomCharacters() throws Exception {
+    final char[] samples = { 'a', 'Z', '5', '-', '~', '\'', '%', ' ', '/', '\u007F', '\u0080', '\u00E4', '\u07FF',
+        '\u0800', '\u20AC', '\uD7FF', '\uD83D', '\uDBFF', '\uDC00', '\uDE03', '\uE000', '\uFFFF' };
+    Random random = new Random(4711);
+    for (int i = 0; i < 1000; i++) {
+      char[] value = new char[random.nextInt(8)];
+      for (int j = 0; j < value.length; j++) {
+        value[j] = samples[random.nextInt(samples.length)];
+      }
+      final String s = new String(value);
+      assertEquals(s, encodeBytes(s), Encoder.encode(s));
+    }
+  }
+
+  /** Encodes on byte level after letting the Java runtime create the UTF-8 representation. */
+  private static String encodeBytes(final String value) throws UnsupportedEncodingException {
+    StringBuilder result = new StringBuilder();
+    for (final byte utf8Byte : value.getBytes("UTF-8")) {
+      final char character = (char) utf8Byte;
+      if ('A' <= character && character <= 'Z' || 'a' <= character && character <= 'z'
+          || '0' <= character && character <= '9' || "-._~'".indexOf(character) >= 0) {
+        result.append(character);
+      } else {
+        result.append('%').append(String.format("%02X", utf8Byte & 0xFF));
+      }
+    }
+    return result.toString();
+  }
+
   @Test
   public void asciiControl() {
     assertEquals("%08%09%0A%0D", Encoder.encode("\b\t\n\r"));
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.commons.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.commons.api.edm.provider.CsdlProperty;
+import org.junit.Test;
+
+public class RestrictedObjectInputStreamTest {
+
+  private static Object roundTrip(final Object object) throws IOException, ClassNotFoundException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final ObjectOutputStream output = new ObjectOutputStream(bytes);
+    output.writeObject(object);
+    output.close();
+    final RestrictedObjectInputStream input =
+        new RestrictedObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    try {
+      return input.readObject();
+    } finally {
+      input.close();
+    }
+  }
+
+  @Test
+  public void allowedNames() {
+    assertTrue(RestrictedObjectInputStream.isAllowed("org.apache.olingo.commons.api.edm.FullQualifiedName"));
+    assertTrue(RestrictedObjectInputStream.isAllowed("java.lang.Integer"));
+    assertTrue(RestrictedObjectInputStream.isAllowed("java.util.ArrayList"));
+    assertTrue(RestrictedObjectInputStream.isAllowed("[I"));
+    assertTrue(RestrictedObjectInputStream.isAllowed("[[Ljava.lang.String;"));
+    assertTrue(RestrictedObjectInputStream.isAllowed("[Lorg.apache.olingo.commons.api.edm.FullQualifiedName;"));
+
+    assertFalse(RestrictedObjectInputStream.isAllowed("java.io.File"));
+    assertFalse(RestrictedObjectInputStream.isAllowed("java.util.PriorityQueue"));
+    assertFalse(RestrictedObjectInputStream.isAllowed("java.util.concurrent.ConcurrentHashMap"));
+    assertFalse(RestrictedObjectInputStream.isAllowed("[Ljava.io.File;"));
+    assertFalse(RestrictedObjectInputStream.isAllowed("org.apache.olingox.Other"));
+    assertFalse(RestrictedObjectInputStream.isAllowed("["));
+  }
+
+  @Test
+  public void olingoObjects() throws Exception {
+    final CsdlProperty property = new CsdlProperty().setName("Name").setType(new FullQualifiedName("Edm.String"))
+        .setMaxLength(10).setNullable(false);
+    final List<CsdlProperty> properties = new ArrayList<CsdlProperty>();
+    properties.add(property);
+    final Map<String, Object> map = new HashMap<String, Object>();
+    map.put("properties", properties);
+    map.put("names", new String[] { "a", "b" });
+
+    @SuppressWarnings("unchecked")
+    final Map<String, Object> copy = (Map<String, Object>) roundTrip(map);
+    @SuppressWarnings("unchecked")
+    final CsdlProperty copiedProperty = ((List<CsdlProperty>) copy.get("properties")).get(0);
+    assertEquals("Name", copiedProperty.getName());
+    assertEquals("Edm.String", copiedProperty.getType());
+    assertEquals(Integer.valueOf(10), copiedProperty.getMaxLength());
+    assertEquals("b", ((String[]) copy.get("names"))[1]);
+  }
+
+  @Test
+  public void otherClasses() throws Exception {
+    final List<Object> list = new ArrayList<Object>();
+    list.add(new File("snapshot"));
+    try {
+      roundTrip(list);
+      fail("Expected InvalidClassException");
+    } catch (final InvalidClassException e) {
+      assertEquals("java.io.File", e.classname);
+    }
+  }
+
+  @Test
+  public void proxies() throws Exception {
+    final Object proxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Serializable.class },
+        new Handler());
+    try {
+      roundTrip(proxy);
+      fail("Expected InvalidClassException");
+    } catch (final InvalidClassException e) {
+      assertTrue(e.getMessage().contains("Proxy"));
+    }
+  }
+
+  private static class Handler implements InvocationHandler, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+      return null;
+    }
+  }
+}
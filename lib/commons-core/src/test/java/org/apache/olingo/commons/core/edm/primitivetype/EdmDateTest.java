@@ -22,6 +22,7 @@ import static org.junit.Assert.assertEquals;
 
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Random;
 import java.util.TimeZone;
 
 import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
@@ -90,4 +91,25 @@ public class EdmDateTest extends PrimitiveTypeBaseTest {
 
     expectTypeErrorInValueOfString(instance, "2012-02-29");
   }
+
+  @Test
+  public void valueToStringWithoutCalendar() throws Exception {
+    // The direct formatting of epoch-based values must produce the same result as the formatting via Calendar.
+    final TimeZone defaultTimeZone = TimeZone.getDefault();
+    try {
+      for (final String timeZone : new String[] { "GMT", "GMT+11:00", "GMT-01:30", "America/New_York" }) {
+        TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+        final Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+          final long millis = -11676096000000L + (long) (random.nextDouble() * 265078310400000L);
+          final Calendar dateTime = Calendar.getInstance();
+          dateTime.setTimeInMillis(millis);
+          assertEquals(instance.valueToString(dateTime, null, null, null, null, null),
+              instance.valueToString(millis, null, null, null, null, null));
+        }
+      }
+    } finally {
+      TimeZone.setDefault(defaultTimeZone);
+    }
+  }
 }
@@ -19,11 +19,14 @@
 package org.apache.olingo.commons.core.edm.primitivetype;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Random;
 import java.util.TimeZone;
 
 import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
@@ -152,4 +155,38 @@ public class EdmDateTimeOffsetTest extends PrimitiveTypeBaseTest {
 
     expectTypeErrorInValueOfString(instance, "2012-02-29T01:02:03Z");
   }
+
+  @Test
+  public void valueToStringWithoutCalendar() throws Exception {
+    // The direct formatting of epoch-based values must produce the same result as the formatting via Calendar.
+    final Random random = new Random(42);
+    final long min = -11676096000000L; // 1600-01-01
+    final long max = 253402214400000L; // 9999-12-31
+    final long[] values = new long[1000];
+    values[0] = min;
+    values[1] = max - 1;
+    values[2] = min - 1;
+    values[3] = max;
+    values[4] = -12219292800001L; // just before the Gregorian calendar reform
+    for (int i = 5; i < values.length; i++) {
+      values[i] = min + (long) (random.nextDouble() * (max - min));
+    }
+    for (final long millis : values) {
+      final Calendar dateTime = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+      dateTime.setTimeInMillis(millis);
+      final String expected = instance.valueToString(dateTime, null, null, 3, null, null);
+      assertEquals(expected, instance.valueToString(millis, null, null, 3, null, null));
+      assertEquals(expected, instance.valueToString(new Date(millis), null, null, 3, null, null));
+    }
+  }
+
+  @Test
+  public void appendValue() throws Exception {
+    final StringBuilder result = new StringBuilder("x");
+    assertTrue(((SingletonPrimitiveType) instance).appendValue(1330558323007L, null, null, 3, null, null, result));
+    assertEquals("x2012-02-29T23:32:03.007Z", result.toString());
+
+    assertFalse(((SingletonPrimitiveType) instance).appendValue(null, null, null, null, null, null, result));
+    assertEquals("x2012-02-29T23:32:03.007Z", result.toString());
+  }
 }
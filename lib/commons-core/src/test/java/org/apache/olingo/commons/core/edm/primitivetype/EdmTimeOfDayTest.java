@@ -23,6 +23,7 @@ import static org.junit.Assert.assertEquals;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Calendar;
+import java.util.Random;
 import java.util.TimeZone;
 
 import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
@@ -132,4 +133,27 @@ public class EdmTimeOfDayTest extends PrimitiveTypeBaseTest {
     instance.validate("12:34:55", null, null, null, null, null);
   }
 
+
+  @Test
+  public void valueToStringWithoutCalendar() throws Exception {
+    // The direct formatting of epoch-based values must produce the same result as the formatting via Calendar.
+    final TimeZone defaultTimeZone = TimeZone.getDefault();
+    try {
+      for (final String timeZone : new String[] { "GMT", "GMT+11:00", "GMT-01:30", "Europe/Berlin" }) {
+        TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+        final Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+          final long millis = (long) ((random.nextDouble() - 0.5) * 1E13);
+          final Calendar dateTime = Calendar.getInstance();
+          dateTime.setTimeInMillis(millis);
+          assertEquals(instance.valueToString(dateTime, null, null, 3, null, null),
+              instance.valueToString(millis, null, null, 3, null, null));
+          assertEquals(instance.valueToString(dateTime, null, null, 3, null, null),
+              instance.valueToString(new Time(millis), null, null, 3, null, null));
+        }
+      }
+    } finally {
+      TimeZone.setDefault(defaultTimeZone);
+    }
+  }
 }
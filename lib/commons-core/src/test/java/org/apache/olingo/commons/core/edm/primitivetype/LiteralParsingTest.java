@@ -0,0 +1,417 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.commons.core.edm.primitivetype;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.junit.Test;
+
+/**
+ * Compares the hand-written literal parsers with the former implementations based on regular expressions,
+ * which are kept here as reference, on valid literals and on randomly mutated ones.
+ */
+public class LiteralParsingTest {
+
+  private static final String MUTATION_CHARACTERS = "0123456789-+:.TZPDHMSaefF ";
+
+  private static final Integer[] PRECISIONS = { null, 0, 3, 9, 12 };
+
+  private interface Reference {
+    Object valueOfString(String value, Integer precision, Integer scale, Class<?> returnType)
+        throws EdmPrimitiveTypeException;
+  }
+
+  @Test
+  public void dateTimeOffset() {
+    compare(EdmDateTimeOffset.getInstance(), new Reference() {
+      @Override
+      public Object valueOfString(final String value, final Integer precision, final Integer scale,
+          final Class<?> returnType) throws EdmPrimitiveTypeException {
+        return referenceDateTimeOffset(value, precision, returnType);
+      }
+    }, new String[] { "2012-02-29T01:02:03Z", "2012-02-29T01:02:03+11:00", "2012-02-29T01:02:03.000123-01:30",
+        "1600-01-01T00:00Z", "1599-12-31T23:59:59.999Z", "9999-12-31T23:59:59.9999999+14:00", "-0001-01-01T00:00Z",
+        "12345-06-07T08:09:10.5", "2013-02-29T00:00:00Z", "2012-04-31T24:00:60.1230Z", "2012-02-29T01:02:03-00:00",
+        "2012-02-29T01:02:03+23:59", "2012-02-29T01:02:03+24:00", "2012-02-29T01:02:03.1234567890120Z",
+        "1970-01-01T00:00:00.", "2012-02-29T01:02:03.0000000000000Z" },
+        Calendar.class, Long.class, Date.class, Timestamp.class, Time.class, java.sql.Date.class, Object.class,
+        Integer.class);
+  }
+
+  @Test
+  public void date() {
+    compare(EdmDate.getInstance(), new Reference() {
+      @Override
+      public Object valueOfString(final String value, final Integer precision, final Integer scale,
+          final Class<?> returnType) throws EdmPrimitiveTypeException {
+        return referenceDate(value, returnType);
+      }
+    }, new String[] { "2012-02-29", "2013-02-29", "0001-01-01", "-0042-12-31", "12345-01-01", "2012-13-01",
+        "1582-10-10", "2012-00-05" },
+        Calendar.class, Long.class, Date.class, Timestamp.class, java.sql.Date.class, Integer.class);
+  }
+
+  @Test
+  public void timeOfDay() {
+    compare(EdmTimeOfDay.getInstance(), new Reference() {
+      @Override
+      public Object valueOfString(final String value, final Integer precision, final Integer scale,
+          final Class<?> returnType) throws EdmPrimitiveTypeException {
+        return referenceTimeOfDay(value, precision, returnType);
+      }
+    }, new String[] { "01:02:03", "23:59", "24:00:00", "11:12:13.123456789012", "11:12:13.1230000000000",
+        "00:00:00.", "12:60:00", "01:02:03.000" },
+        Calendar.class, Long.class, Date.class, Timestamp.class, Time.class, Integer.class);
+  }
+
+  @Test
+  public void duration() {
+    compare(EdmDuration.getInstance(), new Reference() {
+      @Override
+      public Object valueOfString(final String value, final Integer precision, final Integer scale,
+          final Class<?> returnType) throws EdmPrimitiveTypeException {
+        return referenceDuration(value, precision, returnType);
+      }
+    }, new String[] { "P1DT2H3M4.5S", "-PT1S", "+P12345678901234D", "PT1.0S", "P1DT", "PT", "P", "PT1.S",
+        "PT99999999999M", "P0DT0H0M0.000S", "PT1H1H", "PT1S1M" },
+        BigDecimal.class, BigInteger.class, Long.class, Double.class, Integer.class, String.class);
+  }
+
+  @Test
+  public void guid() {
+    compare(EdmGuid.getInstance(), new Reference() {
+      @Override
+      public Object valueOfString(final String value, final Integer precision, final Integer scale,
+          final Class<?> returnType) throws EdmPrimitiveTypeException {
+        return referenceGuid(value, returnType);
+      }
+    }, new String[] { "aabbccdd-aabb-ccdd-eeff-aabbccddeeff", "AABBCCDD-AABB-CCDD-EEFF-AABBCCDDEEFF",
+        "01234567-89ab-cdef-0123-456789abcdef", "ffffffff-ffff-ffff-ffff-ffffffffffff" },
+        UUID.class, Object.class, String.class);
+  }
+
+  @Test
+  public void decimal() {
+    compare(EdmDecimal.getInstance(), new Reference() {
+      @Override
+      public Object valueOfString(final String value, final Integer precision, final Integer scale,
+          final Class<?> returnType) throws EdmPrimitiveTypeException {
+        return referenceDecimal(value, precision, scale, returnType);
+      }
+    }, new String[] { "0", "-0.0", "+000123.4500", "1.0", "12345678901234567890.123456789", "007", ".5", "5.",
+        "-1234.5678" },
+        BigDecimal.class, Double.class, Float.class, BigInteger.class, Long.class, Integer.class, Byte.class,
+        String.class);
+
+    final EdmPrimitiveType instance = EdmDecimal.getInstance();
+    for (final String literal : mutate(new String[] { "+000123.4500", "1.0", "-0.0", "98765.4321" }, 500)) {
+      for (final Integer precision : PRECISIONS) {
+        for (final Integer scale : PRECISIONS) {
+          boolean expected;
+          try {
+            referenceDecimal(literal, precision, scale, BigDecimal.class);
+            expected = true;
+          } catch (final EdmPrimitiveTypeException e) {
+            expected = false;
+          }
+          assertEquals(literal, expected, instance.validate(literal, null, null, precision, scale, null));
+        }
+      }
+    }
+  }
+
+  private void compare(final EdmPrimitiveType instance, final Reference reference, final String[] literals,
+      final Class<?>... returnTypes) {
+    for (final String literal : mutate(literals, 300)) {
+      for (final Integer precision : PRECISIONS) {
+        for (final Class<?> returnType : returnTypes) {
+          Object expected;
+          try {
+            expected = reference.valueOfString(literal, precision, precision, returnType);
+          } catch (final EdmPrimitiveTypeException e) {
+            expected = e.getMessage();
+          } catch (final RuntimeException e) {
+            expected = e.getClass();
+          }
+          Object actual;
+          try {
+            actual = instance.valueOfString(literal, null, null, precision, precision, null, returnType);
+            assertNotNull(actual);
+          } catch (final EdmPrimitiveTypeException e) {
+            actual = e.getMessage();
+          } catch (final RuntimeException e) {
+            actual = e.getClass();
+          }
+          if (expected instanceof BigDecimal && actual instanceof BigDecimal) {
+            // same value and same scale
+            assertEquals(literal, expected.toString(), actual.toString());
+          } else if (!expected.equals(actual)) {
+            fail("'" + literal + "' with precision " + precision + " as " + returnType.getSimpleName()
+                + ": expected <" + expected + "> but was <" + actual + ">");
+          }
+        }
+      }
+    }
+  }
+
+  /** Returns the given literals followed by randomly mutated versions of them. */
+  private static List<String> mutate(final String[] literals, final int mutationsPerLiteral) {
+    final Random random = new Random(4711);
+    final List<String> result = new ArrayList<String>();
+    for (final String literal : literals) {
+      result.add(literal);
+      for (int i = 0; i < mutationsPerLiteral; i++) {
+        final StringBuilder mutated = new StringBuilder(literal);
+        for (int count = 1 + random.nextInt(2); count > 0; count--) {
+          final int position = mutated.length() == 0 ? 0 : random.nextInt(mutated.length());
+          final char c = MUTATION_CHARACTERS.charAt(random.nextInt(MUTATION_CHARACTERS.length()));
+          switch (random.nextInt(4)) {
+          case 0:
+            if (mutated.length() > 0) {
+              mutated.setCharAt(position, c);
+            }
+            break;
+          case 1:
+            mutated.insert(position, c);
+            break;
+          case 2:
+            if (mutated.length() > 0) {
+              mutated.deleteCharAt(position);
+            }
+            break;
+          default:
+            mutated.setLength(position);
+            break;
+          }
+        }
+        result.add(mutated.toString());
+      }
+    }
+    return result;
+  }
+
+  // Former implementations based on regular expressions
+
+  private static final Pattern DATE_TIME_OFFSET_PATTERN = Pattern.compile(
+      "(-?\\p{Digit}{4,})-(\\p{Digit}{2})-(\\p{Digit}{2})"
+          + "T(\\p{Digit}{2}):(\\p{Digit}{2})(?::(\\p{Digit}{2})(\\.(\\p{Digit}{0,12}?)0*)?)?"
+          + "(Z|([-+]\\p{Digit}{2}:\\p{Digit}{2}))?");
+
+  private static Object referenceDateTimeOffset(final String value, final Integer precision,
+      final Class<?> returnType) throws EdmPrimitiveTypeException {
+    final Matcher matcher = DATE_TIME_OFFSET_PATTERN.matcher(value);
+    if (!matcher.matches()) {
+      throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+    }
+
+    final String timeZoneOffset = matcher.group(9) == null || matcher.group(10) == null
+        || matcher.group(10).matches("[-+]0+:0+") ? "" : matcher.group(10);
+    final Calendar dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone("GMT" + timeZoneOffset));
+    if (dateTimeValue.get(Calendar.ZONE_OFFSET) == 0 && !timeZoneOffset.isEmpty()) {
+      throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+    }
+    dateTimeValue.clear();
+
+    dateTimeValue.set(
+        Short.parseShort(matcher.group(1)),
+        Byte.parseByte(matcher.group(2)) - 1,
+        Byte.parseByte(matcher.group(3)),
+        Byte.parseByte(matcher.group(4)),
+        Byte.parseByte(matcher.group(5)),
+        matcher.group(6) == null ? 0 : Byte.parseByte(matcher.group(6)));
+
+    final int nanoSeconds = referenceFraction(value, matcher.group(7), matcher.group(8), precision, returnType,
+        dateTimeValue);
+    return referenceConversion(value, dateTimeValue, nanoSeconds, returnType);
+  }
+
+  private static final Pattern DATE_PATTERN = Pattern.compile("(-?\\p{Digit}{4,})-(\\p{Digit}{2})-(\\p{Digit}{2})");
+
+  private static Object referenceDate(final String value, final Class<?> returnType)
+      throws EdmPrimitiveTypeException {
+    final Calendar dateTimeValue = Calendar.getInstance();
+    dateTimeValue.clear();
+
+    final Matcher matcher = DATE_PATTERN.matcher(value);
+    if (!matcher.matches()) {
+      throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+    }
+
+    dateTimeValue.set(
+        Integer.parseInt(matcher.group(1)),
+        Byte.parseByte(matcher.group(2)) - 1,
+        Byte.parseByte(matcher.group(3)));
+    return referenceConversion(value, dateTimeValue, 0, returnType);
+  }
+
+  private static final Pattern TIME_OF_DAY_PATTERN = Pattern.compile(
+      "(\\p{Digit}{2}):(\\p{Digit}{2})(?::(\\p{Digit}{2})(\\.(\\p{Digit}{0,}?)0*)?)?");
+
+  private static Object referenceTimeOfDay(final String value, final Integer precision, final Class<?> returnType)
+      throws EdmPrimitiveTypeException {
+    final Matcher matcher = TIME_OF_DAY_PATTERN.matcher(value);
+    if (!matcher.matches()) {
+      throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+    }
+
+    final Calendar dateTimeValue = Calendar.getInstance();
+    dateTimeValue.clear();
+    dateTimeValue.set(Calendar.HOUR_OF_DAY, Byte.parseByte(matcher.group(1)));
+    dateTimeValue.set(Calendar.MINUTE, Byte.parseByte(matcher.group(2)));
+    dateTimeValue.set(Calendar.SECOND, matcher.group(3) == null ? 0 : Byte.parseByte(matcher.group(3)));
+
+    final int nanoSeconds = referenceFraction(value, matcher.group(4), matcher.group(5), precision, returnType,
+        dateTimeValue);
+    return referenceConversion(value, dateTimeValue, nanoSeconds, returnType);
+  }
+
+  private static int referenceFraction(final String value, final String fraction, final String decimals,
+      final Integer precision, final Class<?> returnType, final Calendar dateTimeValue)
+      throws EdmPrimitiveTypeException {
+    int nanoSeconds = 0;
+    if (fraction != null) {
+      if (fraction.length() == 1 || fraction.length() > 13) {
+        throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+      }
+      if (decimals.length() > (precision == null ? 0 : precision)) {
+        throw new EdmPrimitiveTypeException("The literal '" + value + "' does not match the facets' constraints.");
+      }
+      if (returnType.isAssignableFrom(Timestamp.class)) {
+        if (decimals.length() <= 9) {
+          nanoSeconds = Integer.parseInt(decimals + "000000000".substring(decimals.length()));
+        } else {
+          throw new EdmPrimitiveTypeException("The literal '" + value
+              + "' cannot be converted to value type " + returnType + ".");
+        }
+      } else {
+        if (decimals.length() <= 3) {
+          final String milliSeconds = decimals + "000".substring(decimals.length());
+          dateTimeValue.set(Calendar.MILLISECOND, Short.parseShort(milliSeconds));
+        } else {
+          throw new EdmPrimitiveTypeException("The literal '" + value
+              + "' cannot be converted to value type " + returnType + ".");
+        }
+      }
+    }
+    return nanoSeconds;
+  }
+
+  private static Object referenceConversion(final String value, final Calendar dateTimeValue,
+      final int nanoSeconds, final Class<?> returnType) throws EdmPrimitiveTypeException {
+    try {
+      return EdmDateTimeOffset.convertDateTime(dateTimeValue, nanoSeconds, returnType);
+    } catch (final IllegalArgumentException e) {
+      throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.", e);
+    } catch (final ClassCastException e) {
+      throw new EdmPrimitiveTypeException("The value type " + returnType + " is not supported.", e);
+    }
+  }
+
+  private static final Pattern DURATION_PATTERN = Pattern.compile(
+      "[-+]?P(?:(\\p{Digit}+)D)?(?:T(?:(\\p{Digit}+)H)?(?:(\\p{Digit}+)M)?"
+          + "(?:(\\p{Digit}+(?:\\.(?:\\p{Digit}+?)0*)?)S)?)?");
+
+  private static Object referenceDuration(final String value, final Integer precision, final Class<?> returnType)
+      throws EdmPrimitiveTypeException {
+    final Matcher matcher = DURATION_PATTERN.matcher(value);
+    if (!matcher.matches()
+        || matcher.group(1) == null && matcher.group(2) == null && matcher.group(3) == null
+        && matcher.group(4) == null) {
+      throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+    }
+
+    BigDecimal result = (matcher.group(1) == null ? BigDecimal.ZERO
+        : new BigDecimal(matcher.group(1)).multiply(BigDecimal.valueOf(24 * 60 * 60))).
+        add(matcher.group(2) == null ? BigDecimal.ZERO
+            : new BigDecimal(matcher.group(2)).multiply(BigDecimal.valueOf(60 * 60))).
+            add(matcher.group(3) == null ? BigDecimal.ZERO
+                : new BigDecimal(matcher.group(3)).multiply(BigDecimal.valueOf(60))).
+                add(matcher.group(4) == null ? BigDecimal.ZERO : new BigDecimal(matcher.group(4)));
+
+    if (result.scale() <= (precision == null ? 0 : precision)) {
+      result = value.charAt(0) == '-' ? result.negate() : result;
+    } else {
+      throw new EdmPrimitiveTypeException("The literal '" + value + "' does not match the facets' constraints.");
+    }
+    return referenceDecimalConversion(value, result, returnType);
+  }
+
+  private static Object referenceGuid(final String value, final Class<?> returnType)
+      throws EdmPrimitiveTypeException {
+    UUID result;
+    if (value.matches("\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}")) {
+      result = UUID.fromString(value);
+    } else {
+      throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+    }
+    if (returnType.isAssignableFrom(UUID.class)) {
+      return result;
+    } else {
+      throw new EdmPrimitiveTypeException("The value type " + returnType + " is not supported.");
+    }
+  }
+
+  private static final Pattern DECIMAL_PATTERN =
+      Pattern.compile("(?:\\+|-)?(?:0*(\\p{Digit}+?))(?:\\.(\\p{Digit}+?)0*)?");
+
+  private static Object referenceDecimal(final String value, final Integer precision, final Integer scale,
+      final Class<?> returnType) throws EdmPrimitiveTypeException {
+    final Matcher matcher = DECIMAL_PATTERN.matcher(value);
+    if (!matcher.matches()) {
+      throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+    }
+    final int significantIntegerDigits = matcher.group(1).equals("0") ? 0 : matcher.group(1).length();
+    final int decimals = matcher.group(2) == null ? 0 : matcher.group(2).length();
+    if (!((precision == null || precision >= significantIntegerDigits + decimals)
+        && (decimals <= (scale == null ? 0 : scale)))) {
+      throw new EdmPrimitiveTypeException("The literal '" + value + "' does not match the facets' constraints.");
+    }
+    return referenceDecimalConversion(value, new BigDecimal(value), returnType);
+  }
+
+  private static Object referenceDecimalConversion(final String value, final BigDecimal result,
+      final Class<?> returnType) throws EdmPrimitiveTypeException {
+    try {
+      return EdmDecimal.convertDecimal(result, returnType);
+    } catch (final IllegalArgumentException e) {
+      throw new EdmPrimitiveTypeException("The literal '" + value
+          + "' cannot be converted to value type " + returnType + ".", e);
+    } catch (final ClassCastException e) {
+      throw new EdmPrimitiveTypeException("The value type " + returnType + " is not supported.", e);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Media content backed by a file channel.
+ * <p/>
+ * The content is written with {@link FileChannel#transferTo(long, long, WritableByteChannel)}
+ * so that the operating system can move the bytes directly if the target channel allows it.
+ */
+public class FileMediaContent implements ODataMediaContent {
+
+  private final FileChannel channel;
+  private final long length;
+
+  /**
+   * Creates media content for the complete content of a file.
+   * @param file the file
+   * @throws IOException if the file could not be opened
+   */
+  public FileMediaContent(final File file) throws IOException {
+    this(new RandomAccessFile(file, "r").getChannel());
+  }
+
+  /**
+   * Creates media content for the content of a file channel.
+   * The channel is closed when the content is closed.
+   * @param channel the channel
+   * @throws IOException if the size of the channel could not be determined
+   */
+  public FileMediaContent(final FileChannel channel) throws IOException {
+    this.channel = channel;
+    length = channel.size();
+  }
+
+  @Override
+  public long getLength() {
+    return length;
+  }
+
+  @Override
+  public void transferTo(final long position, final long count, final WritableByteChannel target)
+      throws IOException {
+    long offset = position;
+    long remaining = count;
+    while (remaining > 0) {
+      final long transferred = channel.transferTo(offset, remaining, target);
+      if (transferred <= 0) {
+        throw new IOException("Unexpected end of content at position " + offset + ".");
+      }
+      offset += transferred;
+      remaining -= transferred;
+    }
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return Channels.newInputStream(channel);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -27,6 +27,8 @@ import org.apache.olingo.commons.api.edm.provider.CsdlEdmProvider;
 import org.apache.olingo.commons.api.edmx.EdmxReference;
 import org.apache.olingo.commons.api.ex.ODataRuntimeException;
 import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.server.api.cache.ResponseCache;
+import org.apache.olingo.server.api.cache.ResponseCacheSupport;
 import org.apache.olingo.server.api.debug.DebugResponseHelper;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
 import org.apache.olingo.server.api.deserializer.FixedFormatDeserializer;
@@ -168,6 +170,22 @@ public abstract class OData {
    */
   public abstract Preferences createPreferences(Collection<String> preferHeaders);
 
+  /**
+   * <p>Creates a cache for the serialized responses of GET requests.
+   * It has to be registered at the ODataHttpHandler of each request;
+   * see {@link ResponseCache} for details.</p>
+   * <p>Without a support object, all requests share the same entries
+   * except requests with an <code>Authorization</code> header, which are not cached at all.</p>
+   * @param maxEntries maximum number of cached responses
+   * @param maxBodySize maximum size in bytes of a cached response body; larger responses are not cached
+   * @param timeToLive time in milliseconds a response stays cached; zero or negative for unlimited
+   * @param weakETags whether computed ETags are marked as weak
+   * @param support decides about the tenant key of a request; <code>null</code> for the default behavior
+   * @return a new response cache
+   */
+  public abstract ResponseCache createResponseCache(int maxEntries, int maxBodySize, long timeToLive,
+      boolean weakETags, ResponseCacheSupport support);
+
   /**
    * Creates a DebugResponseHelper for the given debugFormat.
    * If the format is not supported no exception is thrown.
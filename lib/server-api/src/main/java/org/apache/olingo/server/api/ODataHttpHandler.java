@@ -46,6 +46,26 @@ public interface ODataHttpHandler extends ODataHandler {
    */
   void setSplit(int split);
 
+  /**
+   * <p>Enables streaming compression of response bodies for clients accepting
+   * the content coding <code>gzip</code> or <code>deflate</code>.
+   * Compression is disabled by default.</p>
+   * <p>Request bodies with one of these content codings are decompressed in any case.</p>
+   * @param minimumSize responses with fewer bytes are sent uncompressed;
+   * a negative value disables compression
+   * @param level compression level from 1 (fastest) to 9 (best compression), 0 (no compression),
+   * or -1 for the default level
+   */
+  void setCompression(int minimumSize, int level);
+
+  /**
+   * Sets the maximum size of a compressed request body after decompression.
+   * Requests whose body expands beyond it are answered with status code 413 (Payload Too Large).
+   * The default is 64 MiB.
+   * @param maxSize maximum number of decompressed bytes; a negative value removes the limit
+   */
+  void setMaxDecompressedRequestSize(long maxSize);
+
 
   /**
    * Registers the debug support handler.
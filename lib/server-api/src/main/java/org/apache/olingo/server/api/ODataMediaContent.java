@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Media content of known length which can be read starting at arbitrary positions,
+ * e.g., the content of a file.
+ * <p/>
+ * Responses with such content support HTTP range requests (<code>Range</code> and <code>If-Range</code>
+ * headers) and are written without copying the content through the Java heap where possible.
+ * @see ODataResponse#setMediaContent(ODataMediaContent)
+ * @see FileMediaContent
+ */
+public interface ODataMediaContent extends Closeable {
+
+  /**
+   * Gets the length of the content.
+   * @return the number of bytes
+   */
+  long getLength();
+
+  /**
+   * Writes a part of the content into the given channel.
+   * @param position the position of the first byte to write
+   * @param count the number of bytes to write
+   * @param target channel in which the content is written
+   * @throws IOException if the content could not be read or written
+   */
+  void transferTo(long position, long count, WritableByteChannel target) throws IOException;
+
+  /**
+   * Gets the complete content as stream, for consumers which cannot make use of ranges.
+   * Closing the stream releases the content.
+   * @return the content as {@link InputStream}
+   */
+  InputStream getInputStream();
+}
@@ -32,6 +32,7 @@ public class ODataResponse {
   private int statusCode = HttpStatusCode.INTERNAL_SERVER_ERROR.getStatusCode();
   private final HttpHeaders headers = new HttpHeaders();
   private InputStream content;
+  private ODataMediaContent mediaContent;
 
   /**
    * Sets the status code.
@@ -121,6 +122,7 @@ public class ODataResponse {
    */
   public void setContent(final InputStream content) {
     this.content = content;
+    mediaContent = null;
   }
 
   /**
@@ -131,6 +133,26 @@ public class ODataResponse {
     return content;
   }
 
+  /**
+   * <p>Sets media content (body) which supports reading arbitrary byte ranges,
+   * e.g., for media entities or stream properties stored in files.</p>
+   * <p>Such content is sent with support for HTTP range requests; it is also available
+   * as stream through {@link #getContent()}.</p>
+   * @param mediaContent the content as {@link ODataMediaContent}
+   */
+  public void setMediaContent(final ODataMediaContent mediaContent) {
+    this.mediaContent = mediaContent;
+    content = mediaContent == null ? null : mediaContent.getInputStream();
+  }
+
+  /**
+   * Gets the media content (body) if it has been set with {@link #setMediaContent(ODataMediaContent)}.
+   * @return the content as {@link ODataMediaContent} or <code>null</code>
+   */
+  public ODataMediaContent getMediaContent() {
+    return mediaContent;
+  }
+
   private ODataContent odataContent;
 
   public void setODataContent(ODataContent result) {
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.cache;
+
+import org.apache.olingo.server.api.OlingoExtension;
+
+/**
+ * <p>Cache for the serialized responses of GET requests, created with
+ * {@link org.apache.olingo.server.api.OData#createResponseCache(int, int, long, boolean, ResponseCacheSupport)}.</p>
+ * <p>If registered at the ODataHttpHandler, successful responses are stored by normalized request URI,
+ * requested format, preferences, and tenant key, and repeated requests are answered without dispatching them
+ * to the processors. Responses without an ETag, e.g., for entity collections, get one computed from their
+ * content, and requests with a matching <code>If-None-Match</code> header are answered with
+ * "304 Not Modified".</p>
+ * <p>Change requests (POST, PUT, PATCH, MERGE, DELETE) dispatched by a handler with the cache registered
+ * invalidate the cached responses of the entity sets and singletons they target; changes made outside
+ * of such requests have to be announced with {@link #invalidate(String)} or {@link #invalidateAll()}.
+ * Entries are evicted least-recently-used first and after their time to live.</p>
+ * <p>One instance is meant to be shared by all handlers of a service; it is thread-safe.</p>
+ */
+public interface ResponseCache extends OlingoExtension {
+
+  /**
+   * Invalidates all cached responses depending on the given entity set or singleton.
+   * @param entitySetOrSingletonName name of the entity set or singleton
+   */
+  void invalidate(String entitySetOrSingletonName);
+
+  /**
+   * Invalidates all cached responses.
+   */
+  void invalidateAll();
+
+  /**
+   * Gets the number of cached responses.
+   */
+  int size();
+
+  /**
+   * Gets the number of requests answered from the cache, including "304 Not Modified" responses.
+   */
+  long getHitCount();
+
+  /**
+   * Gets the number of cacheable requests that had to be dispatched to the processors.
+   */
+  long getMissCount();
+
+  /**
+   * Gets the number of "304 Not Modified" responses, either from the cache or after dispatching.
+   */
+  long getNotModifiedCount();
+
+  /**
+   * Gets the number of responses removed because the cache was full or their time to live had passed.
+   */
+  long getEvictionCount();
+
+  /**
+   * Gets the ratio of hits to all cacheable requests.
+   * @return the hit rate between 0 and 1; 0 if there has not been any cacheable request
+   */
+  double getHitRate();
+}
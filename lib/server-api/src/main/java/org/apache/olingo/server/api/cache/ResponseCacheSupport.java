@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.cache;
+
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.uri.UriInfo;
+
+/**
+ * Decides for a {@link ResponseCache} whether and for which tenant the response to a request may be cached.
+ */
+public interface ResponseCacheSupport {
+
+  /**
+   * Gets the key of the partition of the cache responsible for the given request.
+   * Responses are only shared between requests with the same key, so it must distinguish all
+   * requesters that may get different responses, e.g., tenants or users with different authorizations.
+   * @param request the GET request
+   * @param uriInfo the parsed request URI
+   * @return the tenant key, or <code>null</code> if the response must not be cached
+   */
+  String getTenantKey(ODataRequest request, UriInfo uriInfo);
+}
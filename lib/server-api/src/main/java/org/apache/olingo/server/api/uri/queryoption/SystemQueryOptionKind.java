@@ -87,7 +87,12 @@ public enum SystemQueryOptionKind {
   /**
    * @see ApplyOption
    */
-  APPLY("$apply");
+  APPLY("$apply"),
+
+  /**
+   * @see DeltaTokenOption
+   */
+  DELTATOKEN("$deltatoken");
 
   private final String syntax;
 
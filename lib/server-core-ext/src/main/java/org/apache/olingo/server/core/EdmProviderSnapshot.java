@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Reader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.olingo.commons.api.Constants;
+import org.apache.olingo.commons.core.RestrictedObjectInputStream;
+
+/**
+ * Binary snapshot of a parsed metadata document, stored in a file together with a key
+ * identifying the document content and the parser settings it was parsed with.
+ */
+final class EdmProviderSnapshot {
+
+  private static final String FORMAT = "olingo-edm-snapshot-1";
+
+  private EdmProviderSnapshot() {}
+
+  /**
+   * Reads the complete content of a metadata document.
+   */
+  static String read(final Reader csdl) throws IOException {
+    final StringBuilder content = new StringBuilder();
+    final char[] buffer = new char[8192];
+    int count;
+    while ((count = csdl.read(buffer)) != -1) {
+      content.append(buffer, 0, count);
+    }
+    return content.toString();
+  }
+
+  /**
+   * Computes the key of a metadata document: a hash of its content and the given settings.
+   */
+  static String key(final String csdl, final String settings) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(settings.getBytes(Constants.UTF8));
+      digest.update((byte) 0);
+      final byte[] hash = digest.digest(csdl.getBytes(Constants.UTF8));
+      final StringBuilder key = new StringBuilder(hash.length * 2);
+      for (final byte b : hash) {
+        key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return key.toString();
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Loads the snapshot stored in the given file.
+   * @return the stored provider, or <code>null</code> if there is no readable snapshot for the given key
+   */
+  static SchemaBasedEdmProvider load(final File file, final String key) {
+    if (!file.isFile()) {
+      return null;
+    }
+    ObjectInputStream input = null;
+    try {
+      // Only library classes can be read back: a tampered snapshot cannot instantiate anything else.
+      input = new RestrictedObjectInputStream(new BufferedInputStream(new FileInputStream(file), 65536));
+      if (!FORMAT.equals(input.readUTF()) || !key.equals(input.readUTF())) {
+        return null;
+      }
+      return (SchemaBasedEdmProvider) input.readObject();
+    } catch (final IOException e) {
+      // A damaged, outdated, or disallowed snapshot is as good as none; it is replaced after parsing.
+      return null;
+    } catch (final ClassNotFoundException e) {
+      return null;
+    } catch (final ClassCastException e) {
+      return null;
+    } finally {
+      close(input);
+    }
+  }
+
+  /**
+   * Stores a snapshot in the given file; the file is replaced atomically, so that
+   * concurrently starting instances never read a partial snapshot.
+   * Failures are ignored, as the document can always be parsed again.
+   */
+  static void store(final File file, final String key, final SchemaBasedEdmProvider provider) {
+    File temp = null;
+    ObjectOutputStream output = null;
+    try {
+      final File directory = file.getAbsoluteFile().getParentFile();
+      if (!directory.isDirectory() && !directory.mkdirs()) {
+        return;
+      }
+      temp = File.createTempFile(file.getName(), ".tmp", directory);
+      output = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 65536));
+      output.writeUTF(FORMAT);
+      output.writeUTF(key);
+      output.writeObject(provider);
+      output.close();
+      output = null;
+      if (temp.renameTo(file) || file.delete() && temp.renameTo(file)) {
+        temp = null;
+      }
+    } catch (final IOException e) {
+      // Ignored; see above.
+    } finally {
+      close(output);
+      if (temp != null && !temp.delete()) {
+        temp.deleteOnExit();
+      }
+    }
+  }
+
+  private static void close(final Closeable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (final IOException e) {
+        // Ignored; the content has been read or written completely or not at all.
+      }
+    }
+  }
+}
@@ -18,9 +18,11 @@
  */
 package org.apache.olingo.server.core;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.StringReader;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -100,6 +102,7 @@ public class MetadataParser {
   private ReferenceResolver referenceResolver = new DefaultReferenceResolver();
   private boolean useLocalCoreVocabularies = true;
   private boolean implicitlyLoadCoreVocabularies = false;
+  private File snapshotFile;
   
   /**
    * Avoid reading the annotations in the $metadata 
@@ -141,6 +144,19 @@ public class MetadataParser {
     return this;
   }
   
+  /**
+   * Keep a binary snapshot of the parsed metadata in the given file, to avoid parsing at later startups.
+   * The snapshot is used as long as the CSDL document and the parser settings are unchanged;
+   * otherwise the document is parsed and the snapshot is replaced. Referenced documents
+   * are part of the snapshot but are not compared, so delete the file when only they change.
+   * @param file snapshot file; <code>null</code> to always parse
+   * @return this parser, for chaining
+   */
+  public MetadataParser snapshotFile(File file) {
+    this.snapshotFile = file;
+    return this;
+  }
+
   public ServiceMetadata buildServiceMetadata(Reader csdl) throws XMLStreamException {
     SchemaBasedEdmProvider provider = buildEdmProvider(csdl, this.referenceResolver,
         this.implicitlyLoadCoreVocabularies, this.useLocalCoreVocabularies);
@@ -148,20 +164,42 @@ public class MetadataParser {
   }
 
   public SchemaBasedEdmProvider buildEdmProvider(Reader csdl) throws XMLStreamException {
-    XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
-    XMLEventReader reader = xmlInputFactory.createXMLEventReader(csdl);    
-    return buildEdmProvider(reader, this.referenceResolver,
+    return buildEdmProvider(csdl, this.referenceResolver,
         this.implicitlyLoadCoreVocabularies, this.useLocalCoreVocabularies);
   }
   
   protected SchemaBasedEdmProvider buildEdmProvider(Reader csdl,
       ReferenceResolver resolver, boolean loadCore, boolean useLocal)
       throws XMLStreamException {
+    if (this.snapshotFile != null) {
+      return buildEdmProviderWithSnapshot(csdl, resolver, loadCore, useLocal);
+    }
     XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
     XMLEventReader reader = xmlInputFactory.createXMLEventReader(csdl);    
     return buildEdmProvider(reader, resolver, loadCore, useLocal);
   }
     
+  private SchemaBasedEdmProvider buildEdmProviderWithSnapshot(Reader csdl,
+      ReferenceResolver resolver, boolean loadCore, boolean useLocal)
+      throws XMLStreamException {
+    final String content;
+    try {
+      content = EdmProviderSnapshot.read(csdl);
+    } catch (IOException e) {
+      throw new XMLStreamException(e);
+    }
+    final String key = EdmProviderSnapshot.key(content,
+        "annotations=" + this.parseAnnotations + ",core=" + loadCore + ",local=" + useLocal);
+    SchemaBasedEdmProvider provider = EdmProviderSnapshot.load(this.snapshotFile, key);
+    if (provider == null) {
+      XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+      XMLEventReader reader = xmlInputFactory.createXMLEventReader(new StringReader(content));
+      provider = buildEdmProvider(reader, resolver, loadCore, useLocal);
+      EdmProviderSnapshot.store(this.snapshotFile, key, provider);
+    }
+    return provider;
+  }
+
   protected SchemaBasedEdmProvider buildEdmProvider(InputStream csdl,
       ReferenceResolver resolver, boolean loadCore, boolean useLocal)
       throws XMLStreamException {
@@ -71,8 +71,14 @@ public class OData4HttpHandler extends ODataHttpHandlerImpl {
       ErrorHandler handler = new ErrorHandler(this.odata, this.serviceMetadata,
           this.handler, ContentType.JSON);
       handler.handleException(e, request, response);
-    }    
-    convertToHttp(httpResponse, response);
+    }
+    if (request != null && HttpCompression.isSizeExceeded(request.getBody())) {
+      // whatever the service made of the truncated body, the request itself is rejected
+      response = new ODataResponse();
+      new ErrorHandler(this.odata, this.serviceMetadata, this.handler, ContentType.JSON)
+          .handleException(HttpCompression.sizeExceeded(request.getBody()), request, response);
+    }
+    convertToHttp(httpRequest, httpResponse, response);
   }
 
 
@@ -81,7 +87,7 @@ public class OData4HttpHandler extends ODataHttpHandlerImpl {
     try {
       ODataRequest odRequest = new ODataRequest();
 
-      odRequest.setBody(httpRequest.getInputStream());
+      odRequest.setBody(decodeBody(httpRequest));
       copyHeaders(odRequest, httpRequest);
       odRequest.setMethod(extractMethod(httpRequest));
       fillUriInformation(odRequest, httpRequest, split);
@@ -18,7 +18,12 @@
  */
 package org.apache.olingo.server.core;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -45,13 +50,41 @@ import org.apache.olingo.commons.api.edmx.EdmxReference;
 import org.apache.olingo.commons.api.edmx.EdmxReferenceInclude;
 import org.apache.olingo.commons.api.ex.ODataException;
 
-public class SchemaBasedEdmProvider implements CsdlEdmProvider {
+/**
+ * CSDL provider for schemas read from metadata documents by {@link MetadataParser}.
+ * It is serializable, so that the parsed schemas can be stored as a snapshot.
+ */
+public class SchemaBasedEdmProvider implements CsdlEdmProvider, Serializable {
+  private static final long serialVersionUID = 4519318853712651349L;
+
   private final List<CsdlSchema> edmSchemas = new ArrayList<CsdlSchema>();
-  private final Map<String, EdmxReference> references = new ConcurrentHashMap<String, EdmxReference>();
-  private final Map<String, SchemaBasedEdmProvider> referenceSchemas = 
+  // serialized as plain maps, see writeObject
+  private transient Map<String, EdmxReference> references = new ConcurrentHashMap<String, EdmxReference>();
+  private transient Map<String, SchemaBasedEdmProvider> referenceSchemas =
       new ConcurrentHashMap<String, SchemaBasedEdmProvider>();
-  private final Map<String, SchemaBasedEdmProvider> coreVocabularySchemas = 
+  private transient Map<String, SchemaBasedEdmProvider> coreVocabularySchemas =
       new ConcurrentHashMap<String, SchemaBasedEdmProvider>();
+
+  /**
+   * Writes the concurrent maps as hash maps, so that snapshots only hold types allowed when reading them back.
+   */
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeObject(new HashMap<String, EdmxReference>(references));
+    out.writeObject(new HashMap<String, SchemaBasedEdmProvider>(referenceSchemas));
+    out.writeObject(new HashMap<String, SchemaBasedEdmProvider>(coreVocabularySchemas));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    references = new ConcurrentHashMap<String, EdmxReference>((Map<String, EdmxReference>) in.readObject());
+    referenceSchemas = new ConcurrentHashMap<String, SchemaBasedEdmProvider>(
+        (Map<String, SchemaBasedEdmProvider>) in.readObject());
+    coreVocabularySchemas = new ConcurrentHashMap<String, SchemaBasedEdmProvider>(
+        (Map<String, SchemaBasedEdmProvider>) in.readObject());
+  }
+
   
   protected void addSchema(CsdlSchema schema) {
     this.edmSchemas.add(schema);
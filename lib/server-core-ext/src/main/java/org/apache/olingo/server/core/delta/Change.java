@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.delta;
+
+/**
+ * A change of a single entity recorded by a {@link DeltaTracker}.
+ */
+public final class Change {
+
+  /** The kind of a change. */
+  public enum Kind {
+    /** The entity has been created or its data has changed. */
+    CHANGED,
+    /** The entity has been deleted. */
+    DELETED
+  }
+
+  private final long sequence;
+  private final Kind kind;
+  private final String entityId;
+
+  Change(final long sequence, final Kind kind, final String entityId) {
+    this.sequence = sequence;
+    this.kind = kind;
+    this.entityId = entityId;
+  }
+
+  /**
+   * Gets the position of the change in the change log of its entity set.
+   * @return the sequence number, increasing with every recorded change
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * Gets the id of the changed entity, as given when the change was recorded.
+   * @return the entity id
+   */
+  public String getEntityId() {
+    return entityId;
+  }
+
+  @Override
+  public String toString() {
+    return sequence + " " + kind + " " + entityId;
+  }
+}
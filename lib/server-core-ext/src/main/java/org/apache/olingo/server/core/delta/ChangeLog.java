@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.delta;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+
+/**
+ * Append-only change log of one entity set.
+ * <br/>
+ * Changes are appended to an array which is never modified in place: growing and compacting the log create a new
+ * array, so readers can work on a snapshot without locking. Compaction keeps only the latest change of each entity;
+ * this does not invalidate delta tokens, because the latest change of an entity is always newer than the ones it
+ * replaces. If more than the maximum number of entries remain, the oldest ones are dropped, and delta tokens older
+ * than the dropped entries expire.
+ * <br/>
+ * If a file is given, every change is appended to it and the log is restored from it on creation; the file is
+ * rewritten on compaction. Delta tokens stay valid across restarts in this case.
+ */
+final class ChangeLog {
+
+  private static final String FORMAT = "olingo-delta-log-1";
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final int MIN_COMPACTION_SIZE = 64;
+
+  private final File file;
+  private final int maxEntries;
+
+  private String epoch;
+  private Change[] entries = new Change[16];
+  private int size = 0;
+  private long lastSequence = 0;
+  /** Sequence of the newest change dropped from the log; older delta tokens have expired. */
+  private long expired = 0;
+  private int compactionSize = MIN_COMPACTION_SIZE;
+  private Writer writer;
+
+  ChangeLog(final File file, final int maxEntries) {
+    this.file = file;
+    this.maxEntries = maxEntries;
+    if (file != null && file.isFile()) {
+      load();
+    }
+    if (epoch == null) {
+      epoch = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, Character.MAX_RADIX);
+      entries = new Change[16];
+      size = 0;
+      lastSequence = 0;
+      expired = 0;
+      rewrite();
+    }
+  }
+
+  synchronized void append(final Change.Kind kind, final String entityId) {
+    if (entityId.indexOf('\n') >= 0 || entityId.indexOf('\r') >= 0) {
+      throw new IllegalArgumentException("Entity ids must not contain line breaks.");
+    }
+    final Change change = new Change(++lastSequence, kind, entityId);
+    add(change);
+    if (writer != null) {
+      try {
+        writer.write(toLine(change));
+        writer.flush();
+      } catch (final IOException e) {
+        throw new ODataRuntimeException("Error on writing the change log " + file, e);
+      }
+    }
+    if (size >= compactionSize) {
+      compact();
+    }
+  }
+
+  synchronized String getDeltaToken() {
+    return epoch + '.' + Long.toString(lastSequence, Character.MAX_RADIX);
+  }
+
+  /**
+   * Gets the changes since the given delta token.
+   * @return the changes, or null if the token has not been issued by this log or has expired
+   */
+  DeltaChanges getChanges(final String deltaToken) {
+    final Change[] snapshot;
+    final int end;
+    final String token;
+    final long since;
+    synchronized (this) {
+      since = parseToken(deltaToken);
+      if (since < expired || since > lastSequence) {
+        return null;
+      }
+      snapshot = entries;
+      end = size;
+      token = getDeltaToken();
+    }
+    // binary search for the first change after the token
+    int low = 0;
+    int high = end;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (snapshot[middle].getSequence() <= since) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return new DeltaChanges(token, snapshot, low, end);
+  }
+
+  synchronized void close() {
+    if (writer != null) {
+      try {
+        writer.close();
+      } catch (final IOException e) {
+        // ignore
+      }
+      writer = null;
+    }
+  }
+
+  private long parseToken(final String deltaToken) {
+    final int dot = deltaToken == null ? -1 : deltaToken.lastIndexOf('.');
+    if (dot < 0 || !epoch.equals(deltaToken.substring(0, dot))) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(deltaToken.substring(dot + 1), Character.MAX_RADIX);
+    } catch (final NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private void add(final Change change) {
+    if (size == entries.length) {
+      final Change[] grown = new Change[size * 2];
+      System.arraycopy(entries, 0, grown, 0, size);
+      entries = grown;
+    }
+    entries[size++] = change;
+  }
+
+  private void compact() {
+    final Map<String, Long> latest = new HashMap<String, Long>();
+    for (int i = 0; i < size; i++) {
+      latest.put(entries[i].getEntityId(), entries[i].getSequence());
+    }
+    Change[] compacted = new Change[Math.max(16, latest.size() * 2)];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (latest.get(entries[i].getEntityId()) == entries[i].getSequence()) {
+        compacted[count++] = entries[i];
+      }
+    }
+    if (count > maxEntries) {
+      final int dropped = count - maxEntries;
+      expired = compacted[dropped - 1].getSequence();
+      final Change[] retained = new Change[Math.max(16, maxEntries * 2)];
+      System.arraycopy(compacted, dropped, retained, 0, maxEntries);
+      compacted = retained;
+      count = maxEntries;
+    }
+    entries = compacted;
+    size = count;
+    compactionSize = Math.max(MIN_COMPACTION_SIZE, Math.min(count * 2, maxEntries + maxEntries / 2 + 1));
+    if (file != null) {
+      rewrite();
+    }
+  }
+
+  private void load() {
+    BufferedReader reader = null;
+    try {
+      reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8));
+      final String[] header = reader.readLine().split(" ");
+      if (header.length != 4 || !FORMAT.equals(header[0])) {
+        return;
+      }
+      final String fileEpoch = header[1];
+      lastSequence = Long.parseLong(header[2]);
+      expired = Long.parseLong(header[3]);
+      String line;
+      while ((line = reader.readLine()) != null) {
+        final int first = line.indexOf(' ');
+        final int second = first < 0 ? -1 : line.indexOf(' ', first + 1);
+        if (second < 0) {
+          // incomplete last line
+          break;
+        }
+        final long sequence = Long.parseLong(line.substring(0, first));
+        add(new Change(sequence,
+            Change.Kind.valueOf(line.substring(first + 1, second)), line.substring(second + 1)));
+        lastSequence = Math.max(lastSequence, sequence);
+      }
+      epoch = fileEpoch;
+    } catch (final IOException e) {
+      // start a new log
+    } catch (final RuntimeException e) {
+      // start a new log; covers a missing header and unparsable entries
+    } finally {
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (final IOException e) {
+          // ignore
+        }
+      }
+    }
+    if (epoch != null) {
+      compact();
+    }
+  }
+
+  /**
+   * Writes the complete log to a temporary file which then replaces the log file, and reopens it for appending.
+   */
+  private void rewrite() {
+    if (file == null) {
+      return;
+    }
+    close();
+    final File temp = new File(file.getPath() + ".tmp");
+    try {
+      Writer out = new OutputStreamWriter(new FileOutputStream(temp), UTF_8);
+      try {
+        out.write(FORMAT + ' ' + epoch + ' ' + lastSequence + ' ' + expired + '\n');
+        for (int i = 0; i < size; i++) {
+          out.write(toLine(entries[i]));
+        }
+      } finally {
+        out.close();
+      }
+      if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+        throw new IOException("Cannot replace " + file);
+      }
+      writer = new OutputStreamWriter(new FileOutputStream(file, true), UTF_8);
+    } catch (final IOException e) {
+      throw new ODataRuntimeException("Error on writing the change log " + file, e);
+    }
+  }
+
+  private static String toLine(final Change change) {
+    return Long.toString(change.getSequence()) + ' ' + change.getKind().name() + ' ' + change.getEntityId() + '\n';
+  }
+}
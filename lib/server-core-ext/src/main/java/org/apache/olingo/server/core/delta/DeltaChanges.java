@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.delta;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.olingo.commons.api.data.DeletedEntity;
+import org.apache.olingo.commons.api.data.DeletedEntity.Reason;
+import org.apache.olingo.commons.api.data.Delta;
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.server.api.ODataApplicationException;
+
+/**
+ * The changes of an entity set since a delta token, in the order they have been recorded.
+ * <br/>
+ * Only the latest change of each entity is returned. The changes are read from an immutable snapshot of the
+ * change log, so iterating over them neither blocks nor is affected by changes recorded meanwhile; those are
+ * returned for the {@link #getDeltaToken() next delta token}.
+ */
+public class DeltaChanges implements Iterable<Change> {
+
+  private final String deltaToken;
+  private final Change[] entries;
+  private final int start;
+  private final int end;
+
+  DeltaChanges(final String deltaToken, final Change[] entries, final int start, final int end) {
+    this.deltaToken = deltaToken;
+    this.entries = entries;
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Gets the delta token for the changes following these ones, to be used in the delta link of the response.
+   * @return the delta token
+   */
+  public String getDeltaToken() {
+    return deltaToken;
+  }
+
+  /**
+   * Checks whether there are no changes.
+   * @return true if nothing has changed since the delta token
+   */
+  public boolean isEmpty() {
+    return start == end;
+  }
+
+  @Override
+  public Iterator<Change> iterator() {
+    // The uncompacted tail of the log may contain several changes of the same entity.
+    final Map<String, Long> latest = new HashMap<String, Long>();
+    for (int i = start; i < end; i++) {
+      latest.put(entries[i].getEntityId(), entries[i].getSequence());
+    }
+    return new Iterator<Change>() {
+      private int index = advance(start);
+
+      private int advance(final int from) {
+        int i = from;
+        while (i < end && latest.get(entries[i].getEntityId()) != entries[i].getSequence()) {
+          i++;
+        }
+        return i;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return index < end;
+      }
+
+      @Override
+      public Change next() {
+        if (index >= end) {
+          throw new NoSuchElementException();
+        }
+        final Change change = entries[index];
+        index = advance(index + 1);
+        return change;
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * Builds a delta payload for the changes. Changed entities are loaded in their current state; deleted entities
+   * and entities the loader does not find anymore are reported as deleted.
+   * The delta link is left to the caller, see {@link #getDeltaToken()}.
+   * @param loader loader for the changed entities
+   * @return the delta
+   * @throws ODataApplicationException
+   */
+  public Delta toDelta(final EntityLoader loader) throws ODataApplicationException {
+    final Delta delta = new Delta();
+    for (final Change change : this) {
+      final Entity entity = change.getKind() == Change.Kind.CHANGED ? loader.loadEntity(change.getEntityId()) : null;
+      if (entity == null) {
+        final DeletedEntity deletedEntity = new DeletedEntity();
+        deletedEntity.setId(URI.create(change.getEntityId()));
+        deletedEntity.setReason(Reason.deleted);
+        delta.getDeletedEntities().add(deletedEntity);
+      } else {
+        delta.getEntities().add(entity);
+      }
+    }
+    return delta;
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.delta;
+
+import java.io.File;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.DeltaTokenOption;
+
+/**
+ * Tracks changes of entities per entity set and answers delta requests, so that clients can synchronize
+ * with the service by reading only what has changed instead of the complete entity sets.
+ * <br/>
+ * The service records every creation, update, and deletion with {@link #entityChanged(String, String)} and
+ * {@link #entityDeleted(String, String)}. A response to a request with the preference
+ * <code>odata.track-changes</code> carries a delta link with the current {@link #getDeltaToken(String) delta token};
+ * a request with <code>$deltatoken</code> is answered with the {@link #getChanges(String, String) changes} since
+ * that token, together with the next delta link.
+ * <br/>
+ * Delta tokens are opaque to clients. They are rejected with status 410 (Gone) if they have not been issued by this
+ * tracker, e.g., after a restart without a directory, or if they have expired, i.e., changes after them have been
+ * dropped from a log that has grown beyond its maximum size. Clients have to read the complete entity set then.
+ */
+public class DeltaTracker {
+
+  /** Default maximum number of entries kept per entity set after compaction. */
+  public static final int DEFAULT_MAX_ENTRIES = 100000;
+
+  private static final String FILE_EXTENSION = ".changes";
+
+  private final File directory;
+  private final int maxEntries;
+  private final ConcurrentMap<String, ChangeLog> logs = new ConcurrentHashMap<String, ChangeLog>();
+
+  /**
+   * Creates a tracker keeping its change logs in memory only.
+   */
+  public DeltaTracker() {
+    this(null, DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * Creates a tracker.
+   * @param directory directory for the change logs, one file per entity set; null to keep them in memory only
+   * @param maxEntries maximum number of changes kept per entity set after compaction; if more entities have changed,
+   * the oldest changes are dropped and delta tokens issued before them expire
+   */
+  public DeltaTracker(final File directory, final int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("At least one entry has to be kept.");
+    }
+    if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+      throw new IllegalArgumentException("Cannot create directory " + directory);
+    }
+    this.directory = directory;
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Records that an entity has been created or changed.
+   * @param entitySetName name of the entity set
+   * @param entityId id of the entity, as to be used in the <code>@odata.id</code> of delta responses
+   */
+  public void entityChanged(final String entitySetName, final String entityId) {
+    getLog(entitySetName).append(Change.Kind.CHANGED, entityId);
+  }
+
+  /**
+   * Records that an entity has been deleted.
+   * @param entitySetName name of the entity set
+   * @param entityId id of the entity, as to be used in the <code>@odata.id</code> of delta responses
+   */
+  public void entityDeleted(final String entitySetName, final String entityId) {
+    getLog(entitySetName).append(Change.Kind.DELETED, entityId);
+  }
+
+  /**
+   * Gets a delta token representing the current state of an entity set.
+   * @param entitySetName name of the entity set
+   * @return the delta token
+   */
+  public String getDeltaToken(final String entitySetName) {
+    return getLog(entitySetName).getDeltaToken();
+  }
+
+  /**
+   * Gets the changes of an entity set since the given delta token.
+   * @param entitySetName name of the entity set
+   * @param deltaToken delta token previously issued for this entity set
+   * @return the changes
+   * @throws ODataApplicationException with status 410 (Gone) if the token is unknown or has expired
+   */
+  public DeltaChanges getChanges(final String entitySetName, final String deltaToken)
+      throws ODataApplicationException {
+    final DeltaChanges changes = getLog(entitySetName).getChanges(deltaToken);
+    if (changes == null) {
+      throw new ODataApplicationException("The delta token is not valid anymore.",
+          HttpStatusCode.GONE.getStatusCode(), Locale.ROOT);
+    }
+    return changes;
+  }
+
+  /**
+   * Gets the changes of an entity set since the delta token of a request.
+   * @param entitySetName name of the entity set
+   * @param deltaTokenOption the $deltatoken option of the request
+   * @return the changes
+   * @throws ODataApplicationException with status 410 (Gone) if the token is unknown or has expired
+   * @see #getChanges(String, String)
+   */
+  public DeltaChanges getChanges(final String entitySetName, final DeltaTokenOption deltaTokenOption)
+      throws ODataApplicationException {
+    return getChanges(entitySetName, deltaTokenOption.getValue());
+  }
+
+  /**
+   * Closes the files of the change logs. The tracker must not be used afterwards.
+   */
+  public void close() {
+    for (ChangeLog log : logs.values()) {
+      log.close();
+    }
+  }
+
+  private ChangeLog getLog(final String entitySetName) {
+    ChangeLog log = logs.get(entitySetName);
+    if (log == null) {
+      synchronized (logs) {
+        log = logs.get(entitySetName);
+        if (log == null) {
+          log = new ChangeLog(directory == null ? null : new File(directory, entitySetName + FILE_EXTENSION),
+              maxEntries);
+          logs.put(entitySetName, log);
+        }
+      }
+    }
+    return log;
+  }
+}
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.expand;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.Link;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceNavigation;
+import org.apache.olingo.server.api.uri.queryoption.ExpandItem;
+import org.apache.olingo.server.api.uri.queryoption.ExpandOption;
+
+/**
+ * Applies an {@link ExpandOption} to entities through a {@link NavigationLoader}.
+ * <br/>
+ * The expand tree is walked level by level: at each level every expanded navigation property is loaded with one
+ * call for all the source entities reached so far, and the results are stitched into their navigation links as
+ * inline entities or entity collections. Given an executor, the navigation properties of the same level are loaded
+ * in parallel; links are always set on the calling thread.
+ */
+public class ExpandExecutor {
+
+  private final NavigationLoader loader;
+
+  private final ExecutorService executor;
+
+  public ExpandExecutor(final NavigationLoader loader) {
+    this(loader, null);
+  }
+
+  /**
+   * @param loader navigation loader
+   * @param executor executor for loading the navigation properties of the same level in parallel; null for none
+   */
+  public ExpandExecutor(final NavigationLoader loader, final ExecutorService executor) {
+    this.loader = loader;
+    this.executor = executor;
+  }
+
+  public void expand(final EntityCollection entitySet, final EdmEntityType entityType, final ExpandOption expand)
+      throws ODataApplicationException {
+    expand(entitySet.getEntities(), entityType, expand);
+  }
+
+  public void expand(final Entity entity, final EdmEntityType entityType, final ExpandOption expand)
+      throws ODataApplicationException {
+    expand(Collections.singletonList(entity), entityType, expand);
+  }
+
+  /**
+   * Expands the given entities, all of the given type or one derived from it.
+   * @param entities entities to be expanded
+   * @param entityType entity type
+   * @param expand expand option, possibly null
+   * @throws ODataApplicationException
+   */
+  public void expand(final List<Entity> entities, final EdmEntityType entityType, final ExpandOption expand)
+      throws ODataApplicationException {
+    List<Expansion> level = getExpansions(entities, entityType, expand);
+
+    while (!level.isEmpty()) {
+      load(level);
+
+      final List<Expansion> next = new ArrayList<Expansion>();
+      for (Expansion expansion : level) {
+        final List<Entity> related = expansion.stitch();
+        next.addAll(getExpansions(related, expansion.navigationProperty.getType(),
+            expansion.expandItem.getExpandOption()));
+      }
+      level = next;
+    }
+  }
+
+  private void load(final List<Expansion> level) throws ODataApplicationException {
+    if (executor == null || level.size() == 1) {
+      for (Expansion expansion : level) {
+        expansion.call();
+      }
+      return;
+    }
+
+    final List<Future<Void>> futures = new ArrayList<Future<Void>>(level.size());
+    try {
+      for (Expansion expansion : level) {
+        futures.add(executor.submit(expansion));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ODataRuntimeException(e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof ODataApplicationException) {
+        throw (ODataApplicationException) e.getCause();
+      } else if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new ODataRuntimeException(e);
+    } finally {
+      for (Future<Void> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  private List<Expansion> getExpansions(final List<Entity> sources, final EdmEntityType entityType,
+      final ExpandOption expand) throws ODataApplicationException {
+    if (sources.isEmpty() || expand == null || expand.getExpandItems() == null) {
+      return Collections.emptyList();
+    }
+
+    // explicitly expanded navigation properties take precedence over '*'
+    final Map<String, Expansion> expansions = new LinkedHashMap<String, Expansion>();
+    ExpandItem starItem = null;
+    for (ExpandItem item : expand.getExpandItems()) {
+      if (item.getLevelsOption() != null) {
+        throw new ODataApplicationException("$levels is not implemented",
+            HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), Locale.ROOT);
+      }
+
+      if (item.isStar()) {
+        starItem = item;
+      } else {
+        final EdmNavigationProperty navigationProperty = getNavigationProperty(item);
+        if (navigationProperty != null && !expansions.containsKey(navigationProperty.getName())) {
+          expansions.put(navigationProperty.getName(), new Expansion(sources, navigationProperty, item));
+        }
+      }
+    }
+    if (starItem != null) {
+      for (String name : entityType.getNavigationPropertyNames()) {
+        if (!expansions.containsKey(name)) {
+          expansions.put(name, new Expansion(sources, entityType.getNavigationProperty(name), starItem));
+        }
+      }
+    }
+
+    return new ArrayList<Expansion>(expansions.values());
+  }
+
+  private EdmNavigationProperty getNavigationProperty(final ExpandItem item) {
+    if (item.getResourcePath() != null) {
+      for (UriResource resource : item.getResourcePath().getUriResourceParts()) {
+        if (resource instanceof UriResourceNavigation) {
+          return ((UriResourceNavigation) resource).getProperty();
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Expansion of one navigation property for all the source entities of a level.
+   */
+  private class Expansion implements Callable<Void> {
+
+    private final List<Entity> sources;
+
+    private final EdmNavigationProperty navigationProperty;
+
+    private final ExpandItem expandItem;
+
+    private List<EntityCollection> related;
+
+    Expansion(final List<Entity> sources, final EdmNavigationProperty navigationProperty,
+        final ExpandItem expandItem) {
+      this.sources = sources;
+      this.navigationProperty = navigationProperty;
+      this.expandItem = expandItem;
+    }
+
+    @Override
+    public Void call() throws ODataApplicationException {
+      related = loader.loadNavigation(sources, navigationProperty, expandItem);
+      if (related == null || related.size() != sources.size()) {
+        throw new ODataApplicationException("Navigation property " + navigationProperty.getName()
+            + " loaded for " + (related == null ? 0 : related.size()) + " out of " + sources.size() + " entities",
+            HttpStatusCode.INTERNAL_SERVER_ERROR.getStatusCode(), Locale.ROOT);
+      }
+      return null;
+    }
+
+    /**
+     * Sets the loaded entities into the navigation links of the sources.
+     * @return loaded entities, each only once
+     */
+    List<Entity> stitch() {
+      final String name = navigationProperty.getName();
+      final Set<Entity> loaded = Collections.newSetFromMap(new IdentityHashMap<Entity, Boolean>());
+      final List<Entity> result = new ArrayList<Entity>();
+
+      for (int i = 0; i < sources.size(); i++) {
+        final Entity source = sources.get(i);
+        final EntityCollection entities = related.get(i) == null ? new EntityCollection() : related.get(i);
+
+        Link link = source.getNavigationLink(name);
+        if (link == null) {
+          link = new Link();
+          link.setTitle(name);
+          source.getNavigationLinks().add(link);
+        }
+        if (navigationProperty.isCollection()) {
+          link.setInlineEntitySet(entities);
+        } else {
+          link.setInlineEntity(entities.getEntities().isEmpty() ? null : entities.getEntities().get(0));
+        }
+
+        for (Entity entity : entities.getEntities()) {
+          if (loaded.add(entity)) {
+            result.add(entity);
+          }
+        }
+      }
+
+      return result;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.expand;
+
+import java.util.List;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.ExpandItem;
+
+/**
+ * Loads related entities for many source entities at once, so that expanding a navigation property costs one backend
+ * call per expansion level instead of one per source entity.
+ * @see ExpandExecutor
+ */
+public interface NavigationLoader {
+
+  /**
+   * Loads the entities related to each of the given source entities through the given navigation property.
+   * <br/>
+   * The source entities carry their key properties (and possibly the foreign keys needed to resolve the navigation);
+   * when the expand item is a type-cast one, sources not of the cast type are to be given no related entities.
+   * @param sources source entities, all of the navigation property's declaring type or one derived from it
+   * @param navigationProperty navigation property to be loaded
+   * @param expandItem expand item with the options ($filter, $orderby, $skip, $top, $count, ...) to be applied to
+   * the related entities of each source; nested $expand is left to the caller
+   * @return for each source entity, at the same position, its related entities; null or empty if none
+   * @throws ODataApplicationException
+   */
+  List<EntityCollection> loadNavigation(List<Entity> sources, EdmNavigationProperty navigationProperty,
+      ExpandItem expandItem) throws ODataApplicationException;
+}
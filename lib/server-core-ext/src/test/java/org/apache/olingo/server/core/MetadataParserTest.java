@@ -21,12 +21,21 @@ package org.apache.olingo.server.core;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
 import java.util.List;
 
+import org.apache.commons.io.FileUtils;
+
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
 import org.apache.olingo.commons.api.edm.provider.CsdlAction;
@@ -188,4 +197,72 @@ public class MetadataParserTest {
     MetadataParser parser = new MetadataParser();
     provider = (CsdlEdmProvider) parser.buildEdmProvider(new FileReader("src/test/resources/skip-annotation.xml"));
   }  
+
+  @Test
+  public void testSnapshot() throws Exception {
+    File snapshot = File.createTempFile("trippin", ".edm");
+    try {
+      MetadataParser parser = new MetadataParser().parseAnnotations(true).implicitlyLoadCoreVocabularies(true)
+          .snapshotFile(snapshot);
+      SchemaBasedEdmProvider parsed = parser.buildEdmProvider(new FileReader("src/test/resources/trippin.xml"));
+      byte[] content = FileUtils.readFileToByteArray(snapshot);
+
+      SchemaBasedEdmProvider loaded = parser.buildEdmProvider(new FileReader("src/test/resources/trippin.xml"));
+      assertNotSame(parsed, loaded);
+      assertEquals(parsed.getSchemas().size(), loaded.getSchemas().size());
+      assertEquals(EC, loaded.getEntityContainerInfo(null).getContainerName());
+      assertEquals(parsed.getEntityType(new FullQualifiedName(NS, "Person")).getProperties().size(),
+          loaded.getEntityType(new FullQualifiedName(NS, "Person")).getProperties().size());
+      assertNotNull(loaded.getTerm(new FullQualifiedName("Org.OData.Core.V1", "Description")));
+      assertTrue(Arrays.equals(content, FileUtils.readFileToByteArray(snapshot)));
+
+      // other settings lead to parsing again and replacing the snapshot
+      parser.parseAnnotations(false).buildEdmProvider(new FileReader("src/test/resources/trippin.xml"));
+      assertFalse(Arrays.equals(content, FileUtils.readFileToByteArray(snapshot)));
+
+      // an unreadable snapshot is ignored
+      FileOutputStream out = new FileOutputStream(snapshot);
+      out.write(new byte[] { 1, 2, 3 });
+      out.close();
+      loaded = parser.buildEdmProvider(new FileReader("src/test/resources/trippin.xml"));
+      assertNotNull(loaded.getEntityType(new FullQualifiedName(NS, "Person")));
+    } finally {
+      snapshot.delete();
+    }
+  }
+
+  @Test
+  public void testSnapshotWithDisallowedClass() throws Exception {
+    File snapshot = File.createTempFile("trippin", ".edm");
+    try {
+      MetadataParser parser = new MetadataParser().snapshotFile(snapshot);
+      parser.buildEdmProvider(new FileReader("src/test/resources/trippin.xml"));
+      byte[] content = FileUtils.readFileToByteArray(snapshot);
+
+      ObjectInputStream in = new ObjectInputStream(new FileInputStream(snapshot));
+      String format = in.readUTF();
+      String key = in.readUTF();
+      in.close();
+      // the snapshot of a parsed document only holds allowed classes
+      assertNotNull(EdmProviderSnapshot.load(snapshot, key));
+
+      // a snapshot holding any other class is parsed again and replaced
+      ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(snapshot));
+      out.writeUTF(format);
+      out.writeUTF(key);
+      out.writeObject(new TamperedEdmProvider());
+      out.close();
+      SchemaBasedEdmProvider loaded = parser.buildEdmProvider(new FileReader("src/test/resources/trippin.xml"));
+      assertFalse(loaded instanceof TamperedEdmProvider);
+      assertNotNull(loaded.getEntityType(new FullQualifiedName(NS, "Person")));
+      assertTrue(Arrays.equals(content, FileUtils.readFileToByteArray(snapshot)));
+    } finally {
+      snapshot.delete();
+    }
+  }
+
+  private static class TamperedEdmProvider extends SchemaBasedEdmProvider {
+    private static final long serialVersionUID = 1L;
+    private final File payload = new File("payload");
+  }
 }
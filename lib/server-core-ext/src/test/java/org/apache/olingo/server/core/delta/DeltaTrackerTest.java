@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.delta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.olingo.commons.api.data.DeletedEntity;
+import org.apache.olingo.commons.api.data.Delta;
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.junit.Test;
+
+public class DeltaTrackerTest {
+
+  @Test
+  public void changesSinceToken() throws Exception {
+    final DeltaTracker tracker = new DeltaTracker();
+    tracker.entityChanged("People", "People('a')");
+    final String token = tracker.getDeltaToken("People");
+    assertTrue(tracker.getChanges("People", token).isEmpty());
+
+    tracker.entityChanged("People", "People('b')");
+    tracker.entityChanged("People", "People('a')");
+    tracker.entityDeleted("People", "People('c')");
+    tracker.entityChanged("People", "People('b')");
+    tracker.entityChanged("Airlines", "Airlines('x')");
+
+    final DeltaChanges changes = tracker.getChanges("People", token);
+    assertEquals("[3 CHANGED People('a'), 4 DELETED People('c'), 5 CHANGED People('b')]", toString(changes));
+    assertEquals(tracker.getDeltaToken("People"), changes.getDeltaToken());
+    assertTrue(tracker.getChanges("People", changes.getDeltaToken()).isEmpty());
+
+    tracker.entityDeleted("People", "People('a')");
+    assertEquals("[6 DELETED People('a')]", toString(tracker.getChanges("People", changes.getDeltaToken())));
+    // the snapshot read before is not affected
+    assertEquals(3, toList(changes).size());
+  }
+
+  @Test
+  public void toDelta() throws Exception {
+    final DeltaTracker tracker = new DeltaTracker();
+    final String token = tracker.getDeltaToken("People");
+    tracker.entityChanged("People", "People('a')");
+    tracker.entityChanged("People", "People('gone')");
+    tracker.entityDeleted("People", "People('c')");
+
+    final Delta delta = tracker.getChanges("People", token).toDelta(new EntityLoader() {
+      @Override
+      public Entity loadEntity(final String entityId) {
+        if (entityId.contains("gone")) {
+          return null;
+        }
+        final Entity entity = new Entity();
+        entity.addProperty(new Property(null, "Id", ValueType.PRIMITIVE, entityId));
+        return entity;
+      }
+    });
+    assertEquals(1, delta.getEntities().size());
+    assertEquals("People('a')", delta.getEntities().get(0).getProperty("Id").getValue());
+    assertEquals(2, delta.getDeletedEntities().size());
+    assertEquals("People('gone')", delta.getDeletedEntities().get(0).getId().toString());
+    assertEquals("People('c')", delta.getDeletedEntities().get(1).getId().toString());
+    assertEquals(DeletedEntity.Reason.deleted, delta.getDeletedEntities().get(1).getReason());
+  }
+
+  @Test
+  public void compaction() throws Exception {
+    final DeltaTracker tracker = new DeltaTracker(null, 50);
+    final String start = tracker.getDeltaToken("People");
+    for (int i = 0; i < 1000; i++) {
+      tracker.entityChanged("People", "People(" + i % 10 + ")");
+    }
+    // compaction keeps the latest change of each entity, so old tokens stay valid
+    final List<Change> changes = toList(tracker.getChanges("People", start));
+    assertEquals(10, changes.size());
+    assertEquals(991, changes.get(0).getSequence());
+    assertEquals(1000, changes.get(9).getSequence());
+
+    for (int i = 0; i < 200; i++) {
+      tracker.entityChanged("People", "People(" + (100 + i) + ")");
+    }
+    // more entities changed than entries are kept: old tokens expire
+    assertGone(tracker, "People", start);
+    final String token = tracker.getDeltaToken("People");
+    tracker.entityChanged("People", "People(1)");
+    assertEquals("[1201 CHANGED People(1)]", toString(tracker.getChanges("People", token)));
+  }
+
+  @Test
+  public void invalidTokens() throws Exception {
+    final DeltaTracker tracker = new DeltaTracker();
+    assertGone(tracker, "People", "abc");
+    assertGone(tracker, "People", "abc.1");
+    assertGone(tracker, "People", tracker.getDeltaToken("Airlines"));
+    assertGone(tracker, "People", tracker.getDeltaToken("People") + "zz");
+    assertGone(tracker, "People", new DeltaTracker().getDeltaToken("People"));
+  }
+
+  @Test
+  public void fileBacked() throws Exception {
+    final File directory = File.createTempFile("delta", "");
+    directory.delete();
+    try {
+      DeltaTracker tracker = new DeltaTracker(directory, 100);
+      final String token = tracker.getDeltaToken("People");
+      for (int i = 0; i < 100; i++) {
+        tracker.entityChanged("People", "People(" + i % 3 + ")");
+      }
+      tracker.entityDeleted("People", "People(1)");
+      tracker.close();
+
+      // a new tracker continues the log
+      tracker = new DeltaTracker(directory, 100);
+      assertEquals("[99 CHANGED People(2), 100 CHANGED People(0), 101 DELETED People(1)]",
+          toString(tracker.getChanges("People", token)));
+      tracker.entityChanged("People", "People(3)");
+      assertEquals(102, toList(tracker.getChanges("People", token)).get(3).getSequence());
+      tracker.close();
+
+      // a damaged log is started anew, invalidating its tokens
+      FileUtils.writeStringToFile(new File(directory, "People.changes"), "garbage", "UTF-8");
+      tracker = new DeltaTracker(directory, 100);
+      assertGone(tracker, "People", token);
+      assertNotEquals(token, tracker.getDeltaToken("People"));
+      tracker.close();
+    } finally {
+      FileUtils.deleteDirectory(directory);
+    }
+  }
+
+  private static void assertGone(final DeltaTracker tracker, final String entitySetName, final String token) {
+    try {
+      tracker.getChanges(entitySetName, token);
+      fail("Expected an ODataApplicationException");
+    } catch (final ODataApplicationException e) {
+      assertEquals(410, e.getStatusCode());
+    }
+  }
+
+  private static List<Change> toList(final DeltaChanges changes) {
+    final List<Change> list = new ArrayList<Change>();
+    for (Change change : changes) {
+      list.add(change);
+    }
+    return list;
+  }
+
+  private static String toString(final DeltaChanges changes) {
+    return toList(changes).toString();
+  }
+}
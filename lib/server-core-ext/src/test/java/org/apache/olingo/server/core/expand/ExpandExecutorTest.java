@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.expand;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.FileReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.commons.api.edm.provider.CsdlEdmProvider;
+import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.ExpandItem;
+import org.apache.olingo.server.api.uri.queryoption.ExpandOption;
+import org.apache.olingo.server.core.MetadataParser;
+import org.apache.olingo.server.core.uri.parser.Parser;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExpandExecutorTest {
+  private static final String NS = "Microsoft.OData.SampleService.Models.TripPin";
+
+  private OData odata;
+  private Edm edm;
+  private EdmEntityType personType;
+  private final List<String> calls = Collections.synchronizedList(new ArrayList<String>());
+
+  /** Gives each source two related entities per collection and one per single-valued navigation property. */
+  private final NavigationLoader loader = new NavigationLoader() {
+    @Override
+    public List<EntityCollection> loadNavigation(final List<Entity> sources,
+        final EdmNavigationProperty navigationProperty, final ExpandItem expandItem) {
+      calls.add(navigationProperty.getName() + ":" + sources.size());
+      final List<EntityCollection> result = new ArrayList<EntityCollection>();
+      for (Entity source : sources) {
+        final EntityCollection related = new EntityCollection();
+        for (int i = 0; i < (navigationProperty.isCollection() ? 2 : 1); i++) {
+          related.getEntities().add(
+              newEntity(navigationProperty.getName(), source.getProperty("Id").getValue() + "/" + i));
+        }
+        result.add(related);
+      }
+      return result;
+    }
+  };
+
+  @Before
+  public void setUp() throws Exception {
+    odata = OData.newInstance();
+    final CsdlEdmProvider provider = (CsdlEdmProvider) new MetadataParser()
+        .buildEdmProvider(new FileReader("src/test/resources/trippin.xml"));
+    edm = odata.createServiceMetadata(provider, Collections.<EdmxReference> emptyList()).getEdm();
+    personType = edm.getEntityType(new FullQualifiedName(NS, "Person"));
+  }
+
+  @Test
+  public void expandLevelByLevel() throws Exception {
+    final List<Entity> people = newPeople(3);
+    new ExpandExecutor(loader).expand(people, personType, parseExpand("Friends,Trips($expand=Photos),Photo"));
+
+    assertEquals(4, calls.size());
+    assertTrue(calls.subList(0, 3).containsAll(Arrays.asList("Friends:3", "Trips:3", "Photo:3")));
+    assertEquals("Photos:6", calls.get(3));
+
+    final Entity person = people.get(1);
+    assertEquals(2, person.getNavigationLink("Friends").getInlineEntitySet().getEntities().size());
+    assertEquals("Photo:1/0", person.getNavigationLink("Photo").getInlineEntity().getProperty("Id").getValue());
+    final Entity trip = person.getNavigationLink("Trips").getInlineEntitySet().getEntities().get(1);
+    assertEquals("Trips:1/1", trip.getProperty("Id").getValue());
+    assertEquals("Photos:Trips:1/1/1",
+        trip.getNavigationLink("Photos").getInlineEntitySet().getEntities().get(1).getProperty("Id").getValue());
+    // not expanded
+    assertNull(person.getNavigationLink("Friends").getInlineEntitySet().getEntities().get(0)
+        .getNavigationLink("Trips"));
+  }
+
+  @Test
+  public void expandStar() throws Exception {
+    final Entity person = newPeople(1).get(0);
+    new ExpandExecutor(loader).expand(person, personType, parseExpand("*"));
+
+    assertEquals(3, calls.size());
+    assertEquals(2, person.getNavigationLink("Friends").getInlineEntitySet().getEntities().size());
+    assertEquals(2, person.getNavigationLink("Trips").getInlineEntitySet().getEntities().size());
+    assertEquals("Photo:0/0", person.getNavigationLink("Photo").getInlineEntity().getProperty("Id").getValue());
+  }
+
+  @Test
+  public void expandInParallel() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final EntityCollection people = new EntityCollection();
+      people.getEntities().addAll(newPeople(5));
+      new ExpandExecutor(loader, executor).expand(people, personType,
+          parseExpand("Friends($expand=Photo),Trips($expand=Photos,PlanItems)"));
+
+      assertEquals(5, calls.size());
+      assertTrue(calls.containsAll(Arrays.asList(
+          "Friends:5", "Trips:5", "Photo:10", "Photos:10", "PlanItems:10")));
+      for (Entity person : people.getEntities()) {
+        for (Entity friend : person.getNavigationLink("Friends").getInlineEntitySet().getEntities()) {
+          assertEquals("Photo", friend.getNavigationLink("Photo").getInlineEntity().getType());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void levelsNotSupported() throws Exception {
+    try {
+      new ExpandExecutor(loader).expand(newPeople(1), personType, parseExpand("Friends($levels=2)"));
+      fail("Expected an ODataApplicationException");
+    } catch (final ODataApplicationException e) {
+      assertEquals(501, e.getStatusCode());
+      assertTrue(calls.isEmpty());
+    }
+  }
+
+  @Test
+  public void nothingToExpand() throws Exception {
+    new ExpandExecutor(loader).expand(Collections.<Entity> emptyList(), personType, parseExpand("Friends"));
+    new ExpandExecutor(loader).expand(newPeople(1), personType, null);
+    assertTrue(calls.isEmpty());
+  }
+
+  private ExpandOption parseExpand(final String expand) throws Exception {
+    return new Parser(edm, odata).parseUri("People", "$expand=" + expand, null, null).getExpandOption();
+  }
+
+  private static List<Entity> newPeople(final int count) {
+    final List<Entity> people = new ArrayList<Entity>();
+    for (int i = 0; i < count; i++) {
+      people.add(newEntity(null, String.valueOf(i)));
+    }
+    return people;
+  }
+
+  private static Entity newEntity(final String type, final String id) {
+    final Entity entity = new Entity();
+    entity.setType(type);
+    entity.addProperty(new Property(null, "Id", ValueType.PRIMITIVE, type == null ? id : type + ":" + id));
+    return entity;
+  }
+}
@@ -45,6 +45,13 @@ public final class ContentNegotiator {
           ContentType.APPLICATION_ATOM_XML,
           ContentType.APPLICATION_XML));
 
+  private static final HeaderValueCache<List<AcceptType>> ACCEPT_TYPES = new HeaderValueCache<List<AcceptType>>(256) {
+    @Override
+    protected List<AcceptType> parse(final String value) {
+      return Collections.unmodifiableList(AcceptType.create(value));
+    }
+  };
+
   private ContentNegotiator() {}
 
   private static List<ContentType> getDefaultSupportedContentTypes(final RepresentationType type) {
@@ -104,7 +111,7 @@ public final class ContentNegotiator {
       }
     } else if (acceptHeaderValue != null) {
       try {
-        result = getAcceptedType(AcceptType.create(acceptHeaderValue), supportedContentTypes);
+        result = getAcceptedType(ACCEPT_TYPES.get(acceptHeaderValue), supportedContentTypes);
       } catch (final IllegalArgumentException e) {
         result = null;
       }
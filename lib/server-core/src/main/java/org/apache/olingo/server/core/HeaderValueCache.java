@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Bounded, thread-safe cache of parsed HTTP header values, keyed by the raw header value.</p>
+ * <p>Clients tend to send the same few values of headers like <code>Accept</code> or <code>Prefer</code>
+ * with every request, so each distinct value is parsed only once and the result is shared by all requests,
+ * processors, and batch parts asking for it; parsed values must therefore be immutable.
+ * When full, the cache is cleared, which keeps lookups free of locks; values longer than
+ * {@link #MAX_VALUE_LENGTH} characters and values failing to parse are never cached.</p>
+ * @param <T> type of the parsed values
+ */
+public abstract class HeaderValueCache<T> {
+
+  public static final int MAX_VALUE_LENGTH = 1024;
+
+  private final int maxEntries;
+  private final ConcurrentMap<String, T> values = new ConcurrentHashMap<String, T>();
+
+  /**
+   * @param maxEntries maximum number of cached values
+   */
+  protected HeaderValueCache(final int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Gets the parsed form of the given header value, parsing it if it is not cached.
+   * @param value raw header value
+   * @return the parsed value
+   */
+  public T get(final String value) {
+    T result = values.get(value);
+    if (result == null) {
+      result = parse(value);
+      if (result != null && value.length() <= MAX_VALUE_LENGTH) {
+        if (values.size() >= maxEntries) {
+          values.clear();
+        }
+        values.put(value, result);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the number of cached values.
+   */
+  public int size() {
+    return values.size();
+  }
+
+  /**
+   * Parses a header value.
+   * @param value raw header value
+   * @return the immutable parsed value
+   */
+  protected abstract T parse(String value);
+}
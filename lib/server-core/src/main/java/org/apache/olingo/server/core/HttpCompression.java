@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataResponse;
+
+/**
+ * Streaming support for the HTTP content codings <code>gzip</code> and <code>deflate</code>.
+ * Response bodies are compressed while they are written; request bodies are decompressed
+ * while they are read.
+ */
+final class HttpCompression {
+
+  static final String GZIP = "gzip";
+  static final String DEFLATE = "deflate";
+  private static final String X_GZIP = "x-gzip";
+  private static final String IDENTITY = "identity";
+
+  private final int minimumSize;
+  private final int level;
+
+  /**
+   * @param minimumSize responses with fewer bytes are sent uncompressed
+   * @param level compression level from 0 to 9, or -1 for the default level
+   */
+  HttpCompression(final int minimumSize, final int level) {
+    if (minimumSize < 0) {
+      throw new IllegalArgumentException("Minimum size must not be negative.");
+    }
+    if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+      throw new IllegalArgumentException("Invalid compression level: " + level);
+    }
+    this.minimumSize = minimumSize;
+    this.level = level;
+  }
+
+  /**
+   * Selects the content coding of a response.
+   * @param acceptEncoding value of the Accept-Encoding header of the request, may be <code>null</code>
+   * @param odResponse the response
+   * @return <code>gzip</code>, <code>deflate</code>, or <code>null</code> if the response is sent as it is
+   */
+  String selectCoding(final String acceptEncoding, final ODataResponse odResponse) {
+    if (!hasBody(odResponse)
+        || odResponse.getHeader(HttpHeader.CONTENT_ENCODING) != null) {
+      return null;
+    }
+    final long length = getContentLength(odResponse);
+    if (length >= 0 && length < minimumSize) {
+      return null;
+    }
+    return negotiate(acceptEncoding);
+  }
+
+  /**
+   * Opens the stream the response body is written to. For responses of unknown length the decision
+   * whether to compress is taken as soon as the minimum size has been reached or the stream is closed;
+   * the Content-Encoding header is set on the servlet response at that point.
+   * @param response the servlet response
+   * @param coding the content coding as returned by {@link #selectCoding(String, ODataResponse)}
+   * @param odResponse the response
+   */
+  OutputStream open(final HttpServletResponse response, final String coding, final ODataResponse odResponse)
+      throws IOException {
+    if (minimumSize == 0 || getContentLength(odResponse) >= 0) {
+      response.setHeader(HttpHeader.CONTENT_ENCODING, coding);
+      return compress(response.getOutputStream(), coding);
+    }
+    return new DeferredOutputStream(response, coding);
+  }
+
+  boolean hasBody(final ODataResponse odResponse) {
+    final int status = odResponse.getStatusCode();
+    return (odResponse.getContent() != null || odResponse.getODataContent() != null)
+        && status >= HttpStatusCode.OK.getStatusCode()
+        && status != HttpStatusCode.NO_CONTENT.getStatusCode()
+        && status != HttpStatusCode.NOT_MODIFIED.getStatusCode();
+  }
+
+  OutputStream compress(final OutputStream out, final String coding) throws IOException {
+    if (GZIP.equals(coding)) {
+      return new GZIPOutputStream(out, ODataHttpHandlerImpl.COPY_BUFFER_SIZE) {
+        {
+          def.setLevel(level);
+        }
+      };
+    } else {
+      final Deflater deflater = new Deflater(level);
+      return new DeflaterOutputStream(out, deflater, ODataHttpHandlerImpl.COPY_BUFFER_SIZE) {
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          } finally {
+            deflater.end();
+          }
+        }
+      };
+    }
+  }
+
+  /**
+   * Selects the preferred supported coding from an Accept-Encoding header value.
+   * Ties are resolved in favor of <code>gzip</code>.
+   * @return <code>gzip</code>, <code>deflate</code>, or <code>null</code> if none of them is acceptable
+   */
+  static String negotiate(final String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return null;
+    }
+    float gzip = -1;
+    float deflate = -1;
+    float any = -1;
+    for (final String element : acceptEncoding.split(",")) {
+      final int semicolon = element.indexOf(';');
+      final String coding = (semicolon < 0 ? element : element.substring(0, semicolon))
+          .trim().toLowerCase(Locale.ROOT);
+      final float quality = semicolon < 0 ? 1 : parseQuality(element.substring(semicolon + 1));
+      if (GZIP.equals(coding) || X_GZIP.equals(coding)) {
+        gzip = Math.max(gzip, quality);
+      } else if (DEFLATE.equals(coding)) {
+        deflate = Math.max(deflate, quality);
+      } else if ("*".equals(coding)) {
+        any = quality;
+      }
+    }
+    if (gzip < 0) {
+      gzip = any;
+    }
+    if (deflate < 0) {
+      deflate = any;
+    }
+    return gzip > 0 && gzip >= deflate ? GZIP : deflate > 0 ? DEFLATE : null;
+  }
+
+  private static float parseQuality(final String parameters) {
+    for (final String parameter : parameters.split(";")) {
+      final int equals = parameter.indexOf('=');
+      if (equals > 0 && "q".equalsIgnoreCase(parameter.substring(0, equals).trim())) {
+        try {
+          return Float.parseFloat(parameter.substring(equals + 1).trim());
+        } catch (final NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  /**
+   * Wraps a request body according to its Content-Encoding header.
+   * Codings are removed in the reverse order of their application.
+   * @param contentEncoding value of the Content-Encoding header, may be <code>null</code>
+   * @param body the request body
+   * @param maxSize maximum number of decoded bytes, or a negative value for no limit;
+   * reading beyond it fails, see {@link #isSizeExceeded(InputStream)}
+   * @return the decoded request body
+   * @throws ODataHandlerException if a coding is not supported
+   */
+  static InputStream decode(final String contentEncoding, final InputStream body, final long maxSize)
+      throws IOException, ODataHandlerException {
+    if (contentEncoding == null || body == null) {
+      return body;
+    }
+    final String[] codings = contentEncoding.split(",");
+    InputStream result = body;
+    boolean decoded = false;
+    for (int i = codings.length - 1; i >= 0; i--) {
+      final String coding = codings[i].trim().toLowerCase(Locale.ROOT);
+      if (GZIP.equals(coding) || X_GZIP.equals(coding)) {
+        result = new GZIPInputStream(result, ODataHttpHandlerImpl.COPY_BUFFER_SIZE);
+        decoded = true;
+      } else if (DEFLATE.equals(coding)) {
+        result = new InflaterInputStream(result);
+        decoded = true;
+      } else if (!IDENTITY.equals(coding) && !coding.isEmpty()) {
+        throw new ODataHandlerException("Unsupported content encoding: " + coding,
+            ODataHandlerException.MessageKeys.UNSUPPORTED_CONTENT_ENCODING, coding);
+      }
+    }
+    return decoded && maxSize >= 0 ? new LimitedInputStream(result, maxSize) : result;
+  }
+
+  /**
+   * Tells whether more than the maximum number of bytes has been read from a request body
+   * returned by {@link #decode(String, InputStream, long)}.
+   * Processors see this as an I/O error and report it in their own way, so the handler
+   * checks it to answer with the proper status code instead.
+   * @param body the request body, may be <code>null</code>
+   */
+  static boolean isSizeExceeded(final InputStream body) {
+    return body instanceof LimitedInputStream && ((LimitedInputStream) body).exceeded;
+  }
+
+  /**
+   * Creates the exception for a request body exceeding the maximum size after decoding.
+   */
+  static ODataHandlerException sizeExceeded(final InputStream body) {
+    final String maxSize = String.valueOf(((LimitedInputStream) body).maxSize);
+    return new ODataHandlerException("Decoded request body exceeds " + maxSize + " bytes.",
+        ODataHandlerException.MessageKeys.PAYLOAD_TOO_LARGE, maxSize);
+  }
+
+  private static long getContentLength(final ODataResponse odResponse) {
+    final String value = odResponse.getHeader(HttpHeader.CONTENT_LENGTH);
+    if (value != null) {
+      try {
+        return Long.parseLong(value.trim());
+      } catch (final NumberFormatException e) {
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Stops reading a decoded request body once it exceeds the maximum size, so that a small
+   * compressed body cannot expand to an arbitrary amount of data.
+   */
+  private static class LimitedInputStream extends FilterInputStream {
+    private final long maxSize;
+    private long count = 0;
+    private boolean exceeded = false;
+
+    LimitedInputStream(final InputStream in, final long maxSize) {
+      super(in);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int b = super.read();
+      if (b >= 0) {
+        count(1);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+      final int n = super.read(b, off, len);
+      if (n > 0) {
+        count(n);
+      }
+      return n;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+      final long skipped = super.skip(n);
+      if (skipped > 0) {
+        count(skipped);
+      }
+      return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+
+    private void count(final long n) throws IOException {
+      count += n;
+      if (count > maxSize) {
+        exceeded = true;
+        throw new IOException("Decoded request body exceeds " + maxSize + " bytes.");
+      }
+    }
+  }
+
+  /**
+   * Buffers the beginning of a response body of unknown length until it is known whether the
+   * minimum size for compression is reached.
+   */
+  private class DeferredOutputStream extends OutputStream {
+    private final HttpServletResponse response;
+    private final String coding;
+    private byte[] buffer = new byte[minimumSize];
+    private int count = 0;
+    private OutputStream target;
+
+    DeferredOutputStream(final HttpServletResponse response, final String coding) {
+      this.response = response;
+      this.coding = coding;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      if (target != null) {
+        target.write(b, off, len);
+      } else if (count + len < minimumSize) {
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+      } else {
+        response.setHeader(HttpHeader.CONTENT_ENCODING, coding);
+        target = compress(response.getOutputStream(), coding);
+        target.write(buffer, 0, count);
+        buffer = null;
+        target.write(b, off, len);
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      // Flushing before the decision would commit the response without a content coding.
+      if (target != null) {
+        target.flush();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (target == null) {
+        target = response.getOutputStream();
+        target.write(buffer, 0, count);
+        buffer = null;
+      }
+      target.close();
+    }
+  }
+}
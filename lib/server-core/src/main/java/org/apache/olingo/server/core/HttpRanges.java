@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.UUID;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataMediaContent;
+import org.apache.olingo.server.api.ODataResponse;
+
+/**
+ * Writes {@link ODataMediaContent} with support for HTTP range requests
+ * (see <a href="http://www.rfc-editor.org/rfc/rfc7233.txt">RFC 7233</a>).
+ * Single ranges are answered with a 206 response containing the requested bytes,
+ * multiple ranges with a <code>multipart/byteranges</code> body.
+ */
+final class HttpRanges {
+
+  /** Range requests with more ranges are answered with the complete content. */
+  static final int MAX_RANGES = 16;
+
+  private static final String BYTES_UNIT = "bytes";
+  private static final String CRLF = "\r\n";
+  private static final Charset ASCII = Charset.forName("US-ASCII");
+
+  private HttpRanges() {
+    // utility class
+  }
+
+  /**
+   * Writes the media content of the response, taking range requests into account.
+   * The media content is closed afterwards.
+   * @param request the servlet request or <code>null</code> if ranges are not supported
+   * @param response the servlet response
+   * @param odResponse the response with media content
+   */
+  static void write(final HttpServletRequest request, final HttpServletResponse response,
+      final ODataResponse odResponse) {
+    final ODataMediaContent content = odResponse.getMediaContent();
+    final long length = content.getLength();
+    final boolean ok = odResponse.getStatusCode() == HttpStatusCode.OK.getStatusCode();
+    List<long[]> ranges = null;
+    if (ok && request != null
+        && HttpMethod.GET.name().equals(request.getMethod())
+        && ifRangeMatches(request.getHeader(HttpHeader.IF_RANGE), odResponse)) {
+      ranges = parse(request.getHeader(HttpHeader.RANGE), length);
+    }
+    final String contentType = odResponse.getHeader(HttpHeader.CONTENT_TYPE);
+    final String boundary = ranges != null && ranges.size() > 1 ? "byteranges_" + UUID.randomUUID() : null;
+
+    for (Entry<String, List<String>> entry : odResponse.getAllHeaders().entrySet()) {
+      if (!HttpHeader.CONTENT_LENGTH.equalsIgnoreCase(entry.getKey())
+          && !(boundary != null && HttpHeader.CONTENT_TYPE.equalsIgnoreCase(entry.getKey()))) {
+        for (String headerValue : entry.getValue()) {
+          response.addHeader(entry.getKey(), headerValue);
+        }
+      }
+    }
+    if (ok) {
+      response.setHeader(HttpHeader.ACCEPT_RANGES, BYTES_UNIT);
+    }
+
+    WritableByteChannel output = null;
+    try {
+      if (ranges == null) {
+        response.setStatus(odResponse.getStatusCode());
+        response.setHeader(HttpHeader.CONTENT_LENGTH, Long.toString(length));
+        output = Channels.newChannel(response.getOutputStream());
+        content.transferTo(0, length, output);
+      } else if (ranges.isEmpty()) {
+        response.setStatus(HttpStatusCode.RANGE_NOT_SATISFIABLE.getStatusCode());
+        response.setHeader(HttpHeader.CONTENT_RANGE, BYTES_UNIT + " */" + length);
+        response.setHeader(HttpHeader.CONTENT_LENGTH, "0");
+      } else if (boundary == null) {
+        final long[] range = ranges.get(0);
+        response.setStatus(HttpStatusCode.PARTIAL_CONTENT.getStatusCode());
+        response.setHeader(HttpHeader.CONTENT_RANGE, contentRange(range, length));
+        response.setHeader(HttpHeader.CONTENT_LENGTH, Long.toString(range[1] - range[0] + 1));
+        output = Channels.newChannel(response.getOutputStream());
+        content.transferTo(range[0], range[1] - range[0] + 1, output);
+      } else {
+        writeMultipart(response, content, ranges, contentType, boundary);
+      }
+    } catch (IOException e) {
+      throw new ODataRuntimeException("Error on writing media content", e);
+    } finally {
+      closeQuietly(output);
+      try {
+        content.close();
+      } catch (IOException e) {
+        // ignore
+      }
+    }
+  }
+
+  private static void writeMultipart(final HttpServletResponse response, final ODataMediaContent content,
+      final List<long[]> ranges, final String contentType, final String boundary) throws IOException {
+    final long length = content.getLength();
+    final byte[][] partHeaders = new byte[ranges.size()][];
+    long total = 0;
+    for (int i = 0; i < ranges.size(); i++) {
+      final long[] range = ranges.get(i);
+      partHeaders[i] = ((i == 0 ? "" : CRLF) + "--" + boundary + CRLF
+          + (contentType == null ? "" : HttpHeader.CONTENT_TYPE + ": " + contentType + CRLF)
+          + HttpHeader.CONTENT_RANGE + ": " + contentRange(range, length) + CRLF
+          + CRLF).getBytes(ASCII);
+      total += partHeaders[i].length + range[1] - range[0] + 1;
+    }
+    final byte[] end = (CRLF + "--" + boundary + "--" + CRLF).getBytes(ASCII);
+    total += end.length;
+
+    response.setStatus(HttpStatusCode.PARTIAL_CONTENT.getStatusCode());
+    response.setHeader(HttpHeader.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+    response.setHeader(HttpHeader.CONTENT_LENGTH, Long.toString(total));
+    final WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+    try {
+      for (int i = 0; i < ranges.size(); i++) {
+        final long[] range = ranges.get(i);
+        writeFully(output, partHeaders[i]);
+        content.transferTo(range[0], range[1] - range[0] + 1, output);
+      }
+      writeFully(output, end);
+    } finally {
+      closeQuietly(output);
+    }
+  }
+
+  private static void writeFully(final WritableByteChannel output, final byte[] bytes) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    while (buffer.hasRemaining()) {
+      output.write(buffer);
+    }
+  }
+
+  private static String contentRange(final long[] range, final long length) {
+    return BYTES_UNIT + ' ' + range[0] + '-' + range[1] + '/' + length;
+  }
+
+  /**
+   * Checks the If-Range precondition: a range request is only served if the validator
+   * is a strong entity tag equal to the ETag of the response or a date equal to its Last-Modified date.
+   */
+  static boolean ifRangeMatches(final String ifRange, final ODataResponse odResponse) {
+    if (ifRange == null) {
+      return true;
+    }
+    final String validator = ifRange.trim();
+    if (validator.startsWith("W/")) {
+      return false;
+    } else if (validator.startsWith("\"")) {
+      final String eTag = odResponse.getHeader(HttpHeader.ETAG);
+      return eTag != null && validator.equals(eTag.trim());
+    } else {
+      final String lastModified = odResponse.getHeader(HttpHeader.LAST_MODIFIED);
+      return lastModified != null && validator.equals(lastModified.trim());
+    }
+  }
+
+  /**
+   * Parses the value of a Range header.
+   * @param header the header value, may be <code>null</code>
+   * @param length the length of the content
+   * @return the satisfiable ranges as pairs of first and last byte position (inclusive),
+   * an empty list if none of the ranges is satisfiable, or <code>null</code> if the header
+   * is absent, syntactically invalid, uses another unit than bytes, or contains too many ranges
+   */
+  static List<long[]> parse(final String header, final long length) {
+    if (header == null) {
+      return null;
+    }
+    final String value = header.trim();
+    if (!value.regionMatches(true, 0, BYTES_UNIT + '=', 0, BYTES_UNIT.length() + 1)) {
+      return null;
+    }
+    final String[] specs = value.substring(BYTES_UNIT.length() + 1).split(",");
+    if (specs.length > MAX_RANGES) {
+      return null;
+    }
+    List<long[]> ranges = new ArrayList<long[]>();
+    boolean empty = true;
+    for (final String element : specs) {
+      final String spec = element.trim();
+      if (spec.isEmpty()) {
+        continue;
+      }
+      empty = false;
+      final int dash = spec.indexOf('-');
+      if (dash < 0) {
+        return null;
+      }
+      final long first = parsePosition(spec.substring(0, dash));
+      final long last = parsePosition(spec.substring(dash + 1));
+      if (first < 0 && last < 0 || dash > 0 && first < 0 || dash < spec.length() - 1 && last < 0) {
+        return null;
+      }
+      if (first < 0) {
+        // suffix range: the last bytes of the content
+        if (last > 0 && length > 0) {
+          ranges.add(new long[] { Math.max(0, length - last), length - 1 });
+        }
+      } else if (last >= 0 && last < first) {
+        return null;
+      } else if (first < length) {
+        ranges.add(new long[] { first, last < 0 ? length - 1 : Math.min(last, length - 1) });
+      }
+    }
+    return empty ? null : ranges;
+  }
+
+  private static long parsePosition(final String value) {
+    if (value.isEmpty() || value.length() > 18) {
+      return -1;
+    }
+    long result = 0;
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      result = result * 10 + c - '0';
+    }
+    return result;
+  }
+
+  private static void closeQuietly(final WritableByteChannel channel) {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // ignore
+      }
+    }
+  }
+}
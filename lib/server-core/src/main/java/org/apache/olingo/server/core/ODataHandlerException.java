@@ -42,7 +42,11 @@ public class ODataHandlerException extends ODataLibraryException {
     /** parameter: content type */
     INVALID_CONTENT_TYPE,
     /** parameter: version */
-    ODATA_VERSION_NOT_SUPPORTED;
+    ODATA_VERSION_NOT_SUPPORTED,
+    /** parameter: content coding */
+    UNSUPPORTED_CONTENT_ENCODING,
+    /** parameter: maximum size in bytes */
+    PAYLOAD_TOO_LARGE;
 
     @Override
     public String getKey() {
@@ -65,6 +65,7 @@ public class ODataHandlerImpl implements ODataHandler {
 
   private CustomContentTypeSupport customContentTypeSupport;
   private CustomETagSupport customETagSupport;
+  private ResponseCacheImpl responseCache;
 
   private UriInfo uriInfo;
   private Exception lastThrownException;
@@ -157,7 +158,11 @@ public class ODataHandlerImpl implements ODataHandler {
 
     final int measurementDispatcher = debugger.startRuntimeMeasurement("ODataDispatcher", "dispatch");
     try {
-      new ODataDispatcher(uriInfo, this).dispatch(request, response);
+      if (responseCache == null) {
+        new ODataDispatcher(uriInfo, this).dispatch(request, response);
+      } else {
+        responseCache.process(request, response, uriInfo, new ODataDispatcher(uriInfo, this));
+      }
     } finally {
       debugger.stopRuntimeMeasurement(measurementDispatcher);
       debugger.stopRuntimeMeasurement(measurementHandle);
@@ -246,6 +251,8 @@ public class ODataHandlerImpl implements ODataHandler {
       this.customContentTypeSupport = (CustomContentTypeSupport) extension;
     } else if(extension instanceof CustomETagSupport) {
       this.customETagSupport = (CustomETagSupport) extension;
+    } else if(extension instanceof ResponseCacheImpl) {
+      this.responseCache = (ResponseCacheImpl) extension;
     } else {
       throw new ODataRuntimeException("Got not supported exception with class name " +
           extension.getClass().getSimpleName());
@@ -20,6 +20,7 @@ package org.apache.olingo.server.core;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
@@ -57,11 +58,14 @@ import org.apache.olingo.server.core.debug.ServerCoreDebugger;
 public class ODataHttpHandlerImpl implements ODataHttpHandler {
 
   public static final int COPY_BUFFER_SIZE = 8192;
+  public static final long DEFAULT_MAX_DECOMPRESSED_REQUEST_SIZE = 64L * 1024 * 1024;
 
   private final ODataHandlerImpl handler;
   private final ServerCoreDebugger debugger;
 
   private int split = 0;
+  private HttpCompression compression;
+  private long maxDecompressedRequestSize = DEFAULT_MAX_DECOMPRESSED_REQUEST_SIZE;
 
   public ODataHttpHandlerImpl(final OData odata, final ServiceMetadata serviceMetadata) {
     debugger = new ServerCoreDebugger(odata);
@@ -85,6 +89,9 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
       fillODataRequest(odRequest, request, split);
 
       odResponse = process(odRequest);
+      if (HttpCompression.isSizeExceeded(odRequest.getBody())) {
+        throw HttpCompression.sizeExceeded(odRequest.getBody());
+      }
       // ALL future methods after process must not throw exceptions!
     } catch (Exception e) {
       exception = e;
@@ -103,7 +110,7 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
               serverEnvironmentVariables);
     }
 
-    convertToHttp(response, odResponse);
+    convertToHttp(request, response, odResponse);
   }
 
   private Map<String, String> createEnvironmentVariablesMap(final HttpServletRequest request) {
@@ -134,6 +141,16 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
     this.split = split;
   }
 
+  @Override
+  public void setCompression(final int minimumSize, final int level) {
+    compression = minimumSize < 0 ? null : new HttpCompression(minimumSize, level);
+  }
+
+  @Override
+  public void setMaxDecompressedRequestSize(final long maxSize) {
+    maxDecompressedRequestSize = maxSize;
+  }
+
   private ODataResponse handleException(final ODataRequest odRequest, final Exception e) {
     ODataResponse resp = new ODataResponse();
     ODataServerError serverError;
@@ -148,9 +165,69 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
     return resp;
   }
 
+  /**
+   * Writes the response to the servlet response, compressed if compression is enabled
+   * and accepted by the client. Media content is sent uncompressed, honoring range requests.
+   */
+  void convertToHttp(final HttpServletRequest request, final HttpServletResponse response,
+      final ODataResponse odResponse) {
+    if (odResponse.getMediaContent() != null) {
+      HttpRanges.write(request, response, odResponse);
+      return;
+    }
+    if (compression == null || !compression.hasBody(odResponse)) {
+      convertToHttp(response, odResponse);
+      return;
+    }
+    final String coding = compression.selectCoding(request.getHeader(HttpHeader.ACCEPT_ENCODING), odResponse);
+    response.addHeader(HttpHeader.VARY, HttpHeader.ACCEPT_ENCODING);
+    if (coding == null) {
+      convertToHttp(response, odResponse);
+      return;
+    }
+
+    response.setStatus(odResponse.getStatusCode());
+    for (Entry<String, List<String>> entry : odResponse.getAllHeaders().entrySet()) {
+      if (HttpHeader.ETAG.equalsIgnoreCase(entry.getKey())) {
+        // The encoded representation differs byte-wise, so only a weak validator still holds.
+        // Preconditions compare entity tags weakly, so the weakened tag keeps matching.
+        for (String headerValue : entry.getValue()) {
+          response.addHeader(entry.getKey(), headerValue.startsWith("W/") ? headerValue : "W/" + headerValue);
+        }
+      } else if (!HttpHeader.CONTENT_LENGTH.equalsIgnoreCase(entry.getKey())) {
+        for (String headerValue : entry.getValue()) {
+          response.addHeader(entry.getKey(), headerValue);
+        }
+      }
+    }
+
+    ReadableByteChannel input = null;
+    WritableByteChannel output = null;
+    try {
+      final OutputStream stream = compression.open(response, coding, odResponse);
+      output = Channels.newChannel(stream);
+      if (odResponse.getContent() != null) {
+        input = Channels.newChannel(odResponse.getContent());
+        copyContent(input, output);
+      } else {
+        odResponse.getODataContent().write(output);
+      }
+    } catch (IOException e) {
+      throw new ODataRuntimeException("Error on writing compressed response content", e);
+    } finally {
+      closeStream(input);
+      closeStream(output);
+    }
+  }
+
   static void convertToHttp(final HttpServletResponse response, final ODataResponse odResponse) {
     response.setStatus(odResponse.getStatusCode());
 
+    if (odResponse.getMediaContent() != null) {
+      HttpRanges.write(null, response, odResponse);
+      return;
+    }
+
     for (Entry<String, List<String>> entry : odResponse.getAllHeaders().entrySet()) {
       for (String headerValue : entry.getValue()) {
         response.addHeader(entry.getKey(), headerValue);
@@ -180,13 +257,8 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
   static void copyContent(final ReadableByteChannel input, final HttpServletResponse servletResponse) {
     WritableByteChannel output = null;
     try {
-      ByteBuffer inBuffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
       output = Channels.newChannel(servletResponse.getOutputStream());
-      while (input.read(inBuffer) > 0) {
-        inBuffer.flip();
-        output.write(inBuffer);
-        inBuffer.clear();
-      }
+      copyContent(input, output);
     } catch (IOException e) {
       throw new ODataRuntimeException("Error on reading request content", e);
     } finally {
@@ -195,6 +267,16 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
     }
   }
 
+  private static void copyContent(final ReadableByteChannel input, final WritableByteChannel output)
+      throws IOException {
+    ByteBuffer inBuffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+    while (input.read(inBuffer) > 0) {
+      inBuffer.flip();
+      output.write(inBuffer);
+      inBuffer.clear();
+    }
+  }
+
   private static void closeStream(final Channel closeable) {
     if (closeable != null) {
       try {
@@ -209,7 +291,7 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
       final int split) throws ODataLibraryException {
     final int requestHandle = debugger.startRuntimeMeasurement("ODataHttpHandlerImpl", "fillODataRequest");
     try {
-      odRequest.setBody(httpRequest.getInputStream());
+      odRequest.setBody(decodeBody(httpRequest));
       odRequest.setProtocol(httpRequest.getProtocol());
       odRequest.setMethod(extractMethod(httpRequest));
       int innerHandle = debugger.startRuntimeMeasurement("ODataHttpHandlerImpl", "copyHeaders");
@@ -228,6 +310,14 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
     }
   }
 
+  /**
+   * Returns the body of the request, decompressed according to its Content-Encoding header.
+   */
+  InputStream decodeBody(final HttpServletRequest httpRequest) throws IOException, ODataLibraryException {
+    return HttpCompression.decode(httpRequest.getHeader(HttpHeader.CONTENT_ENCODING), httpRequest.getInputStream(),
+        maxDecompressedRequestSize);
+  }
+
   static HttpMethod extractMethod(final HttpServletRequest httpRequest) throws ODataLibraryException {
     final HttpMethod httpRequestMethod;
     try {
@@ -31,6 +31,8 @@ import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataHandler;
 import org.apache.olingo.server.api.ODataHttpHandler;
 import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.cache.ResponseCache;
+import org.apache.olingo.server.api.cache.ResponseCacheSupport;
 import org.apache.olingo.server.api.debug.DebugResponseHelper;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
 import org.apache.olingo.server.api.deserializer.FixedFormatDeserializer;
@@ -170,6 +172,12 @@ public class ODataImpl extends OData {
     return new PreferencesImpl(preferHeaders);
   }
 
+  @Override
+  public ResponseCache createResponseCache(final int maxEntries, final int maxBodySize, final long timeToLive,
+      final boolean weakETags, final ResponseCacheSupport support) {
+    return new ResponseCacheImpl(maxEntries, maxBodySize, timeToLive, weakETags, support);
+  }
+
   @Override
   public DebugResponseHelper createDebugResponseHelper(final String debugFormat) {
     // TODO: What should we do with invalid formats?
@@ -0,0 +1,539 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.olingo.commons.api.edm.EdmBindingTarget;
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataLibraryException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.cache.ResponseCache;
+import org.apache.olingo.server.api.cache.ResponseCacheSupport;
+import org.apache.olingo.server.api.serializer.SerializerException;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriInfoKind;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceComplexProperty;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.api.uri.UriResourceNavigation;
+import org.apache.olingo.server.api.uri.UriResourceSingleton;
+import org.apache.olingo.server.api.uri.queryoption.ExpandItem;
+import org.apache.olingo.server.api.uri.queryoption.ExpandOption;
+import org.apache.olingo.server.api.uri.queryoption.SystemQueryOption;
+import org.apache.olingo.server.core.etag.ETagHelperImpl;
+
+/**
+ * <p>Response cache in front of the {@link ODataDispatcher}.</p>
+ * <p>Each cached response records the entity sets and singletons it has been read from, together with their
+ * invalidation generations at the time the request was dispatched; a response is only served while none of these
+ * has been invalidated since. Responses whose dependencies cannot be determined from the URI, e.g., of functions
+ * or with navigation in <code>$filter</code> or <code>$orderby</code>, depend on every entity set.
+ * Invalidated responses are removed when they are looked up or evicted.</p>
+ */
+class ResponseCacheImpl implements ResponseCache {
+
+  private static final String[] CONDITIONAL_HEADERS = {
+      HttpHeader.IF_MATCH, HttpHeader.IF_MODIFIED_SINCE, HttpHeader.IF_UNMODIFIED_SINCE };
+  private static final String[] KEY_HEADERS = { HttpHeader.ACCEPT, HttpHeader.ACCEPT_CHARSET, HttpHeader.PREFER };
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final int maxBodySize;
+  private final long timeToLive;
+  private final boolean weakETags;
+  private final ResponseCacheSupport support;
+
+  private final Map<String, Entry> entries;
+
+  /** Generations of the entity sets and singletons, incremented on their invalidation. */
+  private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<String, AtomicLong>();
+  /** Incremented on every invalidation. */
+  private final AtomicLong generation = new AtomicLong();
+  /** Incremented on the invalidation of all responses. */
+  private final AtomicLong globalGeneration = new AtomicLong();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong notModified = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  ResponseCacheImpl(final int maxEntries, final int maxBodySize, final long timeToLive, final boolean weakETags,
+      final ResponseCacheSupport support) {
+    if (maxEntries <= 0 || maxBodySize < 0) {
+      throw new ODataRuntimeException("Invalid response-cache size: " + maxEntries + " entries of "
+          + maxBodySize + " bytes");
+    }
+    this.maxBodySize = maxBodySize;
+    this.timeToLive = timeToLive;
+    this.weakETags = weakETags;
+    this.support = support;
+    entries = new LinkedHashMap<String, Entry>(16, 0.75F, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+        if (size() > maxEntries) {
+          evictions.incrementAndGet();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Dispatches the request unless its response is cached, and caches the response if possible.
+   * Change requests invalidate the responses depending on their targets.
+   */
+  void process(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
+      final ODataDispatcher dispatcher) throws ODataApplicationException, ODataLibraryException {
+    final HttpMethod method = request.getMethod();
+    if (method == HttpMethod.GET) {
+      final String key = getKey(request, uriInfo);
+      if (key == null) {
+        dispatcher.dispatch(request, response);
+      } else {
+        processRead(key, request, response, uriInfo, dispatcher);
+      }
+    } else if (method == HttpMethod.HEAD || uriInfo.getKind() == UriInfoKind.batch) {
+      // The parts of a batch request are processed and invalidate on their own.
+      dispatcher.dispatch(request, response);
+    } else {
+      try {
+        dispatcher.dispatch(request, response);
+      } finally {
+        invalidate(getTargets(uriInfo));
+      }
+    }
+  }
+
+  private void processRead(final String key, final ODataRequest request, final ODataResponse response,
+      final UriInfo uriInfo, final ODataDispatcher dispatcher) throws ODataApplicationException,
+      ODataLibraryException {
+    if (!hasCacheDirective(request.getHeaders(HttpHeader.CACHE_CONTROL), "no-cache")) {
+      final Entry entry = get(key);
+      if (entry != null) {
+        hits.incrementAndGet();
+        for (final Map.Entry<String, List<String>> header : entry.headers.entrySet()) {
+          setHeader(response, header.getKey(), header.getValue());
+        }
+        respond(request, response, entry.eTag, entry.body);
+        return;
+      }
+    }
+    misses.incrementAndGet();
+
+    // The generations are taken before dispatching so that changes made meanwhile invalidate the response.
+    final Snapshot snapshot = new Snapshot(getTargets(uriInfo));
+    dispatcher.dispatch(request, response);
+    if (response.getStatusCode() != HttpStatusCode.OK.getStatusCode()
+        || response.getContent() == null || response.getMediaContent() != null || response.getODataContent() != null
+        || hasCacheDirective(request.getHeaders(HttpHeader.CACHE_CONTROL), "no-store")
+        || hasCacheDirective(response.getHeaders(HttpHeader.CACHE_CONTROL), "no-store")
+        || hasCacheDirective(response.getHeaders(HttpHeader.CACHE_CONTROL), "private")) {
+      return;
+    }
+
+    final byte[] body = readBody(response);
+    if (body == null) {
+      return;
+    }
+    String eTag = response.getHeader(HttpHeader.ETAG);
+    if (eTag == null) {
+      eTag = computeETag(body);
+      response.setHeader(HttpHeader.ETAG, eTag);
+    }
+    final Entry entry = new Entry(body, response.getAllHeaders(), eTag,
+        timeToLive > 0 ? currentTimeMillis() + timeToLive : Long.MAX_VALUE, snapshot);
+    synchronized (entries) {
+      entries.put(key, entry);
+    }
+    respond(request, response, eTag, body);
+  }
+
+  private void respond(final ODataRequest request, final ODataResponse response, final String eTag,
+      final byte[] body) throws ODataLibraryException {
+    if (new ETagHelperImpl().checkReadPreconditions(eTag, null, request.getHeaders(HttpHeader.IF_NONE_MATCH))) {
+      notModified.incrementAndGet();
+      response.setStatusCode(HttpStatusCode.NOT_MODIFIED.getStatusCode());
+      response.setContent(null);
+    } else {
+      response.setStatusCode(HttpStatusCode.OK.getStatusCode());
+      response.setContent(new ByteArrayInputStream(body));
+    }
+  }
+
+  private Entry get(final String key) {
+    synchronized (entries) {
+      final Entry entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      } else if (entry.expires <= currentTimeMillis()) {
+        entries.remove(key);
+        evictions.incrementAndGet();
+        return null;
+      } else if (!entry.snapshot.isCurrent()) {
+        entries.remove(key);
+        return null;
+      }
+      return entry;
+    }
+  }
+
+  /**
+   * Gets the cache key of a GET request.
+   * @return the key, or <code>null</code> if the response must not be cached
+   */
+  private String getKey(final ODataRequest request, final UriInfo uriInfo) {
+    for (final String name : CONDITIONAL_HEADERS) {
+      if (request.getHeader(name) != null) {
+        return null;
+      }
+    }
+    final String tenant;
+    if (support == null) {
+      tenant = request.getHeader(HttpHeader.AUTHORIZATION) == null ? "" : null;
+    } else {
+      tenant = support.getTenantKey(request, uriInfo);
+    }
+    if (tenant == null) {
+      return null;
+    }
+
+    final StringBuilder key = new StringBuilder(tenant)
+        .append('\n').append(request.getRawBaseUri())
+        .append('\n').append(request.getRawServiceResolutionUri())
+        .append('\n').append(request.getRawODataPath());
+    final String query = request.getRawQueryPath();
+    if (query != null && !query.isEmpty()) {
+      // The order of query options is not significant.
+      final String[] options = query.split("&");
+      Arrays.sort(options);
+      char separator = '?';
+      for (final String option : options) {
+        if (!option.isEmpty()) {
+          key.append(separator).append(option);
+          separator = '&';
+        }
+      }
+    }
+    for (final String name : KEY_HEADERS) {
+      final List<String> values = request.getHeaders(name);
+      key.append('\n').append(values == null ? "" : values.toString());
+    }
+    return key.toString();
+  }
+
+  /**
+   * Reads the content of the response if it is not larger than the maximum body size;
+   * otherwise the content is left to be read from the response.
+   * @return the content, or <code>null</code> if it is too large
+   */
+  private byte[] readBody(final ODataResponse response) throws SerializerException {
+    final InputStream content = response.getContent();
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    final byte[] chunk = new byte[8192];
+    try {
+      int count;
+      while ((count = content.read(chunk, 0,
+          (int) Math.min(chunk.length, (long) maxBodySize + 1 - buffer.size()))) > 0) {
+        buffer.write(chunk, 0, count);
+      }
+      if (buffer.size() > maxBodySize) {
+        response.setContent(new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), content));
+        return null;
+      }
+      content.close();
+      return buffer.toByteArray();
+    } catch (final IOException e) {
+      throw new SerializerException("An I/O exception occurred.", e, SerializerException.MessageKeys.IO_EXCEPTION);
+    }
+  }
+
+  private String computeETag(final byte[] body) {
+    final byte[] digest;
+    try {
+      digest = MessageDigest.getInstance("MD5").digest(body);
+    } catch (final NoSuchAlgorithmException e) {
+      throw new ODataRuntimeException(e);
+    }
+    final StringBuilder eTag = new StringBuilder(weakETags ? "W/\"" : "\"");
+    for (final byte b : digest) {
+      eTag.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+    }
+    return eTag.append('"').toString();
+  }
+
+  /**
+   * Gets the names of the entity sets and singletons the resource addressed by the URI depends on.
+   * @return the names, or <code>null</code> if they cannot be determined
+   */
+  private static Set<String> getTargets(final UriInfo uriInfo) {
+    switch (uriInfo.getKind()) {
+    case metadata:
+    case service:
+      return Collections.emptySet();
+    case resource:
+      final Set<String> targets = new HashSet<String>();
+      final EdmBindingTarget target = addTargets(uriInfo.getUriResourceParts(), null, targets);
+      return target == null || !uriInfo.getAliases().isEmpty()
+          || navigates(uriInfo.getFilterOption()) || navigates(uriInfo.getOrderByOption())
+          || uriInfo.getExpandOption() != null && !addTargets(uriInfo.getExpandOption(), target, targets) ?
+          null : targets;
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * Adds the entity sets and singletons along the resource path.
+   * @return the last entity set or singleton, or <code>null</code> if the path cannot be followed
+   */
+  private static EdmBindingTarget addTargets(final List<UriResource> parts, final EdmBindingTarget start,
+      final Set<String> targets) {
+    EdmBindingTarget target = start;
+    String path = "";
+    for (final UriResource part : parts) {
+      switch (part.getKind()) {
+      case entitySet:
+        target = ((UriResourceEntitySet) part).getEntitySet();
+        path = "";
+        break;
+      case singleton:
+        target = ((UriResourceSingleton) part).getSingleton();
+        path = "";
+        break;
+      case navigationProperty:
+        target = target == null ? null :
+            target.getRelatedBindingTarget(path + ((UriResourceNavigation) part).getProperty().getName());
+        path = "";
+        break;
+      case complexProperty:
+        path += ((UriResourceComplexProperty) part).getProperty().getName() + '/';
+        break;
+      case function:
+      case action:
+        return null;
+      default:
+        break;
+      }
+      if (target == null) {
+        return null;
+      }
+      targets.add(target.getName());
+    }
+    return target;
+  }
+
+  private static boolean addTargets(final ExpandOption expand, final EdmBindingTarget target,
+      final Set<String> targets) {
+    for (final ExpandItem item : expand.getExpandItems()) {
+      if (item.isStar() || item.getResourcePath() == null || item.getLevelsOption() != null
+          || navigates(item.getFilterOption()) || navigates(item.getOrderByOption())) {
+        return false;
+      }
+      final EdmBindingTarget related = addTargets(item.getResourcePath().getUriResourceParts(), target, targets);
+      if (related == null
+          || item.getExpandOption() != null && !addTargets(item.getExpandOption(), related, targets)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Whether the option may refer to other entity sets; expand-item options have no text and count as such. */
+  private static boolean navigates(final SystemQueryOption option) {
+    return option != null && (option.getText() == null || option.getText().indexOf('/') >= 0);
+  }
+
+  private static boolean hasCacheDirective(final List<String> values, final String directive) {
+    if (values != null) {
+      for (final String value : values) {
+        for (final String part : value.split(",")) {
+          if (part.trim().toLowerCase().startsWith(directive)) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  private static void setHeader(final ODataResponse response, final String name, final List<String> values) {
+    response.setHeader(name, values.get(0));
+    if (values.size() > 1) {
+      response.addHeader(name, values.subList(1, values.size()));
+    }
+  }
+
+  private void invalidate(final Set<String> targets) {
+    if (targets == null) {
+      invalidateAll();
+    } else {
+      for (final String target : targets) {
+        invalidate(target);
+      }
+    }
+  }
+
+  private AtomicLong getGeneration(final String name) {
+    AtomicLong result = generations.get(name);
+    if (result == null) {
+      final AtomicLong created = new AtomicLong();
+      result = generations.putIfAbsent(name, created);
+      if (result == null) {
+        result = created;
+      }
+    }
+    return result;
+  }
+
+  /** Gets the current time; tests can override this. */
+  long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  @Override
+  public void invalidate(final String entitySetOrSingletonName) {
+    getGeneration(entitySetOrSingletonName).incrementAndGet();
+    generation.incrementAndGet();
+  }
+
+  @Override
+  public void invalidateAll() {
+    globalGeneration.incrementAndGet();
+    generation.incrementAndGet();
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  @Override
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  @Override
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  @Override
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  @Override
+  public long getNotModifiedCount() {
+    return notModified.get();
+  }
+
+  @Override
+  public long getEvictionCount() {
+    return evictions.get();
+  }
+
+  @Override
+  public double getHitRate() {
+    final long hitCount = hits.get();
+    final long total = hitCount + misses.get();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  /** Invalidation generations of the entity sets and singletons a response depends on. */
+  private final class Snapshot {
+    private final long global;
+    /** The dependencies; <code>null</code> for all entity sets and singletons. */
+    private final String[] targets;
+    private final long[] values;
+
+    Snapshot(final Set<String> targets) {
+      global = globalGeneration.get();
+      if (targets == null) {
+        this.targets = null;
+        values = new long[] { generation.get() };
+      } else {
+        this.targets = targets.toArray(new String[targets.size()]);
+        values = new long[this.targets.length];
+        for (int i = 0; i < values.length; i++) {
+          values[i] = getGeneration(this.targets[i]).get();
+        }
+      }
+    }
+
+    boolean isCurrent() {
+      if (global != globalGeneration.get()) {
+        return false;
+      } else if (targets == null) {
+        return values[0] == generation.get();
+      }
+      for (int i = 0; i < targets.length; i++) {
+        if (values[i] != getGeneration(targets[i]).get()) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static final class Entry {
+    private final byte[] body;
+    private final Map<String, List<String>> headers = new LinkedHashMap<String, List<String>>();
+    private final String eTag;
+    private final long expires;
+    private final Snapshot snapshot;
+
+    Entry(final byte[] body, final Map<String, List<String>> headers, final String eTag, final long expires,
+        final Snapshot snapshot) {
+      this.body = body;
+      for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+        if (!header.getValue().isEmpty()) {
+          this.headers.put(header.getKey(), new ArrayList<String>(header.getValue()));
+        }
+      }
+      this.eTag = eTag;
+      this.expires = expires;
+      this.snapshot = snapshot;
+    }
+  }
+}
@@ -118,6 +118,10 @@ public class DebugTabUri implements DebugTab {
       gen.writeStringField("skiptoken", uriInfo.getSkipTokenOption().getValue());
     }
 
+    if (uriInfo.getDeltaTokenOption() != null) {
+      gen.writeStringField("deltatoken", uriInfo.getDeltaTokenOption().getValue());
+    }
+
     appendCommonJsonObjects(gen, uriInfo.getCountOption(), uriInfo.getSkipOption(), uriInfo.getTopOption(),
         uriInfo.getFilterOption(), uriInfo.getOrderByOption(), uriInfo.getSelectOption(), uriInfo.getExpandOption(),
         uriInfo.getSearchOption(), uriInfo.getApplyOption());
@@ -578,6 +582,7 @@ public class DebugTabUri implements DebugTab {
     if (uriInfo.getCountOption() != null
         || uriInfo.getSkipOption() != null
         || uriInfo.getSkipTokenOption() != null
+        || uriInfo.getDeltaTokenOption() != null
         || uriInfo.getTopOption() != null
         || uriInfo.getFormatOption() != null
         || uriInfo.getIdOption() != null) {
@@ -586,6 +591,7 @@ public class DebugTabUri implements DebugTab {
           uriInfo.getCountOption(),
           uriInfo.getSkipOption(),
           uriInfo.getSkipTokenOption(),
+          uriInfo.getDeltaTokenOption(),
           uriInfo.getTopOption(),
           uriInfo.getFormatOption(),
           uriInfo.getIdOption())));
@@ -25,6 +25,8 @@ import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.olingo.server.core.HeaderValueCache;
+
 /**
  * <p>Parses the values of HTTP header fields that contain a list of entity tags or a
  * single star character, i.e., <code>If-Match</code> and <code>If-None-Match</code>.</p>
@@ -44,6 +46,13 @@ public class ETagParser {
 
   private static final Pattern ETAG = Pattern.compile("\\s*(,\\s*)+|((?:W/)?\"[!#-~\\x80-\\xFF]*\")");
 
+  private static final HeaderValueCache<Collection<String>> VALUES = new HeaderValueCache<Collection<String>>(256) {
+    @Override
+    protected Collection<String> parse(final String value) {
+      return ETagParser.parse(value);
+    }
+  };
+
   private ETagParser() {
     // Private constructor for utility classes
   }
@@ -53,9 +62,12 @@ public class ETagParser {
       return Collections.<String> emptySet();
     }
 
+    if (values.size() == 1) {
+      return VALUES.get(values.iterator().next());
+    }
     Set<String> result = new HashSet<String>();
     for (final String value : values) {
-      final Collection<String> part = parse(value);
+      final Collection<String> part = VALUES.get(value);
       if (part.size() == 1 && part.iterator().next().equals("*")) {
         return part;
       } else {
@@ -84,7 +96,7 @@ public class ETagParser {
           return Collections.<String> emptySet();
         }
       }
-      return matcher.hitEnd() ? result : Collections.<String> emptySet();
+      return matcher.hitEnd() ? Collections.unmodifiableSet(result) : Collections.<String> emptySet();
     }
   }
 }
\ No newline at end of file
@@ -27,6 +27,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.olingo.server.api.prefer.Preferences.Preference;
+import org.apache.olingo.server.core.HeaderValueCache;
 
 /**
  * <p>Parses the values of <code>Prefer</code> HTTP header fields.</p>
@@ -59,6 +60,14 @@ public class PreferParser {
       + "(?:" + NAMED_VALUE + "((?:\\s*;\\s*(?:" + NAMED_VALUE + ")?)*))");
   private static final Pattern PARAMETER = Pattern.compile("\\s*(;\\s*)+|(?:" + NAMED_VALUE + ")");
 
+  private static final HeaderValueCache<Map<String, Preference>> VALUES =
+      new HeaderValueCache<Map<String, Preference>>(256) {
+    @Override
+    protected Map<String, Preference> parse(final String value) {
+      return PreferParser.parse(value);
+    }
+  };
+
   private PreferParser() {
     // Private constructor for utility classes
   }
@@ -68,16 +77,25 @@ public class PreferParser {
       return Collections.emptyMap();
     }
 
+    if (values.size() == 1) {
+      final String value = values.iterator().next();
+      return value == null || value.isEmpty() ? Collections.<String, Preference> emptyMap() : VALUES.get(value);
+    }
     Map<String, Preference> result = new HashMap<String, Preference>();
     for (final String value : values) {
       if (value != null && !value.isEmpty()) {
-        parse(value, result);
+        // Here we also have to keep already existing preferences.
+        for (final Map.Entry<String, Preference> entry : VALUES.get(value).entrySet()) {
+          if (!result.containsKey(entry.getKey())) {
+            result.put(entry.getKey(), entry.getValue());
+          }
+        }
       }
     }
     return result;
   }
 
-  private static void parse(final String value, final Map<String, Preference> result) {
+  private static Map<String, Preference> parse(final String value) {
     Map<String, Preference> partResult = new HashMap<String, Preference>();
     String separator = "";
     int start = 0;
@@ -101,17 +119,10 @@ public class PreferParser {
         }
         separator = null;
       } else {
-        return;
-      }
-    }
-    if (matcher.hitEnd()) {
-      // Here we also have to keep already existing preferences.
-      for (final Map.Entry<String, Preference> entry : partResult.entrySet()) {
-        if (!result.containsKey(entry.getKey())) {
-          result.put(entry.getKey(), entry.getValue());
-        }
+        return Collections.emptyMap();
       }
     }
+    return matcher.hitEnd() ? Collections.unmodifiableMap(partResult) : Collections.<String, Preference> emptyMap();
   }
 
   private static Map<String, String> parseParameters(final String parameters) {
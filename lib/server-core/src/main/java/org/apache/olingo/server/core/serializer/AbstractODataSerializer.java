@@ -20,14 +20,106 @@ package org.apache.olingo.server.core.serializer;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.apache.olingo.commons.core.edm.primitivetype.EdmDate;
+import org.apache.olingo.commons.core.edm.primitivetype.EdmDateTimeOffset;
+import org.apache.olingo.commons.core.edm.primitivetype.EdmTimeOfDay;
+import org.apache.olingo.commons.core.edm.primitivetype.SingletonPrimitiveType;
 import org.apache.olingo.server.api.serializer.ODataSerializer;
 import org.apache.olingo.server.api.serializer.SerializerException;
+import org.apache.olingo.server.api.uri.queryoption.SelectOption;
+import org.apache.olingo.server.core.serializer.utils.ExpandSelectHelper;
+import org.apache.olingo.server.core.serializer.utils.ProjectionPlan;
 
 public abstract class AbstractODataSerializer implements ODataSerializer {
 
   protected static final String IO_EXCEPTION_TEXT = "An I/O exception occurred.";
 
+  // Per-thread buffers for directly formatted values; they hold JDK classes only,
+  // so they do not keep the class loader of a web application alive.
+  private static final ThreadLocal<StringBuilder> FORMAT_BUFFER = new ThreadLocal<StringBuilder>();
+  private static final ThreadLocal<char[]> FORMATTED_CHARS = new ThreadLocal<char[]>();
+
+  // $select options belong to requests, so only a few recent ones are worth keeping
+  private static final int MAX_PROJECTION_PLANS = 64;
+
+  private final ConcurrentMap<SelectOption, ProjectionPlan> projectionPlans =
+      new ConcurrentHashMap<SelectOption, ProjectionPlan>();
+
+  /**
+   * Gets the projection plan of the given $select option, compiled on first use;
+   * all entities serialized with the same option share it.
+   * @param select $select option
+   * @return the plan, or <code>null</code> if all properties are selected
+   */
+  protected ProjectionPlan getProjectionPlan(final SelectOption select) {
+    if (ExpandSelectHelper.isAll(select)) {
+      return null;
+    }
+    ProjectionPlan plan = projectionPlans.get(select);
+    if (plan == null) {
+      if (projectionPlans.size() >= MAX_PROJECTION_PLANS) {
+        projectionPlans.clear();
+      }
+      plan = ProjectionPlan.compile(select);
+      projectionPlans.put(select, plan);
+    }
+    return plan;
+  }
+
+  /**
+   * Determines whether values of the given type can be formatted with
+   * {@link #formatDirectly(EdmPrimitiveType, Object, Boolean, Integer, Integer, Integer, Boolean)}.
+   * These are the date and time types, whose string representation is costly to create.
+   * @param type the primitive type
+   * @return whether the type can be formatted directly
+   */
+  protected static boolean isDirectlyFormatted(final EdmPrimitiveType type) {
+    return type == EdmDateTimeOffset.getInstance()
+        || type == EdmDate.getInstance()
+        || type == EdmTimeOfDay.getInstance();
+  }
+
+  /**
+   * Formats a value into a per-thread character buffer, without intermediate strings.
+   * The characters are available via {@link #getFormattedChars()} until the next call in the same thread.
+   * @return the number of characters of the formatted value or -1 if the value is <code>null</code>
+   */
+  protected static int formatDirectly(final EdmPrimitiveType type, final Object value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision, final Integer scale,
+      final Boolean isUnicode) throws EdmPrimitiveTypeException {
+    StringBuilder buffer = FORMAT_BUFFER.get();
+    if (buffer == null) {
+      buffer = new StringBuilder(64);
+      FORMAT_BUFFER.set(buffer);
+    }
+    buffer.setLength(0);
+    if (!((SingletonPrimitiveType) type).appendValue(value, isNullable, maxLength, precision, scale, isUnicode,
+        buffer)) {
+      return -1;
+    }
+    final int length = buffer.length();
+    char[] chars = FORMATTED_CHARS.get();
+    if (chars == null || chars.length < length) {
+      chars = new char[Math.max(64, length)];
+      FORMATTED_CHARS.set(chars);
+    }
+    buffer.getChars(0, length, chars, 0);
+    return length;
+  }
+
+  /**
+   * Returns the per-thread character buffer filled by
+   * {@link #formatDirectly(EdmPrimitiveType, Object, Boolean, Integer, Integer, Integer, Boolean)}.
+   */
+  protected static char[] getFormattedChars() {
+    return FORMATTED_CHARS.get();
+  }
+
   protected void closeCircleStreamBufferOutput(final OutputStream outputStream,
       final SerializerException cachedException)
       throws SerializerException {
@@ -84,6 +84,7 @@ import org.apache.olingo.server.core.serializer.utils.CircleStreamBuffer;
 import org.apache.olingo.server.core.serializer.utils.ContentTypeHelper;
 import org.apache.olingo.server.core.serializer.utils.ContextURLBuilder;
 import org.apache.olingo.server.core.serializer.utils.ExpandSelectHelper;
+import org.apache.olingo.server.core.serializer.utils.ProjectionPlan;
 import org.apache.olingo.server.core.uri.UriHelperImpl;
 import org.apache.olingo.server.core.uri.queryoption.ExpandOptionImpl;
 
@@ -323,12 +324,12 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
   }
 
   private boolean areKeyPredicateNamesSelected(SelectOption select, EdmEntityType type) {
-    if (select == null || ExpandSelectHelper.isAll(select)) {
+    final ProjectionPlan projection = getProjectionPlan(select);
+    if (projection == null) {
       return true;
     }
-    final Set<String> selected = ExpandSelectHelper.getSelectedPropertyNames(select.getSelectItems());
     for (String key : type.getKeyPredicateNames()) {
-      if (!selected.contains(key)) {
+      if (!projection.isSelected(key)) {
         return false;
       }
     }
@@ -468,16 +469,22 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
       final List<Property> properties,
       final SelectOption select, final JsonGenerator json)
       throws IOException, SerializerException {
-    final boolean all = ExpandSelectHelper.isAll(select);
-    final Set<String> selected = all ? new HashSet<String>() :
-        ExpandSelectHelper.getSelectedPropertyNames(select.getSelectItems());
-    for (final String propertyName : type.getPropertyNames()) {
-      if (all || selected.contains(propertyName)) {
-        final EdmProperty edmProperty = type.getStructuralProperty(propertyName);
-        final Property property = findProperty(propertyName, properties);
-        final Set<List<String>> selectedPaths = all || edmProperty.isPrimitive() ? null :
-            ExpandSelectHelper.getSelectedPaths(select.getSelectItems(), propertyName);
-        writeProperty(metadata, edmProperty, property, selectedPaths, json);
+    writeProperties(metadata, type, properties, getProjectionPlan(select), json);
+  }
+
+  private void writeProperties(final ServiceMetadata metadata, final EdmStructuredType type,
+      final List<Property> properties, final ProjectionPlan projection, final JsonGenerator json)
+      throws IOException, SerializerException {
+    if (projection == null) {
+      for (final String propertyName : type.getPropertyNames()) {
+        writeProperty(metadata, type.getStructuralProperty(propertyName), findProperty(propertyName, properties),
+            null, json);
+      }
+    } else {
+      for (final EdmProperty edmProperty : projection.getSelectedProperties(type)) {
+        final String propertyName = edmProperty.getName();
+        writeProperty(metadata, edmProperty, findProperty(propertyName, properties),
+            edmProperty.isPrimitive() ? null : projection.getMemberPlan(propertyName), json);
       }
     }
   }
@@ -606,7 +613,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
 
   protected void writeProperty(final ServiceMetadata metadata,
       final EdmProperty edmProperty, final Property property,
-      final Set<List<String>> selectedPaths, final JsonGenerator json)
+      final ProjectionPlan projection, final JsonGenerator json)
       throws IOException, SerializerException {
     boolean isStreamProperty = isStreamProperty(edmProperty);
     writePropertyType(edmProperty, json);
@@ -628,7 +635,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
         }
       }
     } else {
-      writePropertyValue(metadata, edmProperty, property, selectedPaths, json);
+      writePropertyValue(metadata, edmProperty, property, projection, json);
     }
   }
   
@@ -670,7 +677,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
   }
 
   private void writePropertyValue(final ServiceMetadata metadata, final EdmProperty edmProperty,
-      final Property property, final Set<List<String>> selectedPaths, final JsonGenerator json)
+      final Property property, final ProjectionPlan projection, final JsonGenerator json)
       throws IOException, SerializerException {
     final EdmType type = edmProperty.getType();
     try {
@@ -687,9 +694,9 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
         }
       } else if (property.isComplex()) {
         if (edmProperty.isCollection()) {
-          writeComplexCollection(metadata, (EdmComplexType) type, property, selectedPaths, json);
+          writeComplexCollection(metadata, (EdmComplexType) type, property, projection, json);
         } else {
-         writeComplex(metadata, (EdmComplexType) type, property, selectedPaths, json);
+         writeComplex(metadata, (EdmComplexType) type, property, projection, json);
         }
       } else {
         throw new SerializerException("Property type not yet supported!",
@@ -703,7 +710,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
   }
 
   private void writeComplex(final ServiceMetadata metadata, final EdmComplexType type,
-      final Property property, final Set<List<String>> selectedPaths, final JsonGenerator json) 
+      final Property property, final ProjectionPlan projection, final JsonGenerator json) 
           throws IOException, SerializerException{
         json.writeStartObject();        
         String derivedName = property.getType();
@@ -711,7 +718,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
         if (!isODataMetadataNone && !resolvedType.equals(type) || isODataMetadataFull) {
            json.writeStringField(Constants.JSON_TYPE, "#" + property.getType());
         }          
-        writeComplexValue(metadata, resolvedType, property.asComplex().getValue(), selectedPaths,
+        writeComplexValue(metadata, resolvedType, property.asComplex().getValue(), projection,
              json);
         json.writeEndObject();
   }
@@ -745,7 +752,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
 
   private void writeComplexCollection(final ServiceMetadata metadata, final EdmComplexType type,
       final Property property,
-      final Set<List<String>> selectedPaths, final JsonGenerator json)
+      final ProjectionPlan projection, final JsonGenerator json)
       throws IOException, SerializerException {
     json.writeStartArray();
     for (Object value : property.asCollection()) {
@@ -756,7 +763,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
              json.writeStringField(Constants.JSON_TYPE, "#" + 
                      type.getFullQualifiedName().getFullQualifiedNameAsString());
         }
-        writeComplexValue(metadata, type, ((ComplexValue) value).getValue(), selectedPaths, json);
+        writeComplexValue(metadata, type, ((ComplexValue) value).getValue(), projection, json);
         json.writeEndObject();
         break;
       default:
@@ -788,6 +795,15 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
   protected void writePrimitiveValue(final String name, final EdmPrimitiveType type, final Object primitiveValue,
       final Boolean isNullable, final Integer maxLength, final Integer precision, final Integer scale,
       final Boolean isUnicode, final JsonGenerator json) throws EdmPrimitiveTypeException, IOException {
+    if (isDirectlyFormatted(type)) {
+      final int length = formatDirectly(type, primitiveValue, isNullable, maxLength, precision, scale, isUnicode);
+      if (length < 0) {
+        json.writeNull();
+      } else {
+        json.writeString(getFormattedChars(), 0, length);
+      }
+      return;
+    }
     final String value = type.valueToString(primitiveValue,
         isNullable, maxLength, precision, scale, isUnicode);
     if (value == null) {
@@ -924,17 +940,9 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
 
   protected void writeComplexValue(final ServiceMetadata metadata,
       final EdmComplexType type, final List<Property> properties,
-      final Set<List<String>> selectedPaths, final JsonGenerator json)
+      final ProjectionPlan projection, final JsonGenerator json)
       throws IOException, SerializerException {
-
-    for (final String propertyName : type.getPropertyNames()) {
-      final Property property = findProperty(propertyName, properties);
-      if (selectedPaths == null || ExpandSelectHelper.isSelected(selectedPaths, propertyName)) {
-        writeProperty(metadata, (EdmProperty) type.getProperty(propertyName), property,
-            selectedPaths == null ? null : ExpandSelectHelper.getReducedSelectedPaths(selectedPaths, propertyName),
-            json);
-      }
-    }
+    writeProperties(metadata, type, properties, projection, json);
   }
 
   private Property findProperty(final String propertyName, final List<Property> properties) {
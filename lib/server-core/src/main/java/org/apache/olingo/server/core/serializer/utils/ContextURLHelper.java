@@ -78,7 +78,7 @@ public final class ContextURLHelper {
           final EdmProperty edmProperty = type.getStructuralProperty(propertyName);
           final Set<List<String>> selectedPaths = ExpandSelectHelper.getSelectedPaths(selectItems, propertyName);
           if (selectedPaths == null) {
-            result.append(Encoder.encode(propertyName));
+            Encoder.encode(propertyName, result);
           } else {
             final List<List<String>> complexSelectedPaths = getComplexSelectedPaths(edmProperty, selectedPaths);
             boolean first = true;
@@ -95,7 +95,7 @@ public final class ContextURLHelper {
                 } else {
                   result.append('/');
                 }
-                result.append(Encoder.encode(name));
+                Encoder.encode(name, result);
               }
             }
           }
@@ -119,7 +119,7 @@ public final class ContextURLHelper {
             if (result.length() > 0) {
               result.append(',');
             }
-            result.append(Encoder.encode(propertyName)).append('(').append(innerSelectList).append(')');
+            Encoder.encode(propertyName, result).append('(').append(innerSelectList).append(')');
           }
         } else {
           final List<UriResource> resourceParts = expandItem.getResourcePath().getUriResourceParts();
@@ -129,7 +129,7 @@ public final class ContextURLHelper {
             }
             final List<String> path = getPropertyPath(resourceParts);
             String propertyPath = buildPropertyPath(path);
-            result.append(Encoder.encode(propertyName));
+            Encoder.encode(propertyName, result);
             result.append("/").append(propertyPath);
           }
         }
@@ -195,7 +195,8 @@ public final class ContextURLHelper {
         if (result.length() > 0) {
           result.append(',');
         }
-        result.append(Encoder.encode(key.getName())).append('=').append(Encoder.encode(key.getText()));
+        Encoder.encode(key.getName(), result).append('=');
+        Encoder.encode(key.getText(), result);
       }
       return result.toString();
     }
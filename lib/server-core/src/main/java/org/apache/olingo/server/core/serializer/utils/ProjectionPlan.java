@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.serializer.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.EdmStructuredType;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceProperty;
+import org.apache.olingo.server.api.uri.queryoption.SelectItem;
+import org.apache.olingo.server.api.uri.queryoption.SelectOption;
+
+/**
+ * Compiled $select projection of a structured value: the selected properties and, for each of them, the projection
+ * of its own value (<code>null</code> if the whole value is selected).
+ * <br/>
+ * It replaces the evaluation of the selected paths for every property of every serialized value: the selected
+ * properties of a type are computed once, in the order of the type, and the plans of nested values are built along
+ * with the plan itself.
+ */
+public final class ProjectionPlan {
+
+  private final Map<String, ProjectionPlan> members = new HashMap<String, ProjectionPlan>();
+
+  private final ConcurrentMap<EdmStructuredType, EdmProperty[]> selectedProperties =
+      new ConcurrentHashMap<EdmStructuredType, EdmProperty[]>(4);
+
+  private ProjectionPlan() {}
+
+  /**
+   * Compiles the given $select option.
+   * @param select $select option
+   * @return the plan, or <code>null</code> if all properties are selected
+   */
+  public static ProjectionPlan compile(final SelectOption select) {
+    if (ExpandSelectHelper.isAll(select)) {
+      return null;
+    }
+    final ProjectionPlan plan = new ProjectionPlan();
+    for (final SelectItem item : select.getSelectItems()) {
+      final List<UriResource> parts = item.getResourcePath().getUriResourceParts();
+      if (parts.get(0) instanceof UriResourceProperty) {
+        final List<String> path = new ArrayList<String>(parts.size());
+        for (final UriResource part : parts) {
+          if (part instanceof UriResourceProperty) {
+            path.add(((UriResourceProperty) part).getProperty().getName());
+          }
+        }
+        plan.add(path, 0);
+      }
+    }
+    return plan;
+  }
+
+  private void add(final List<String> path, final int index) {
+    final String name = path.get(index);
+    if (members.containsKey(name) && members.get(name) == null) {
+      return;  // the whole value is selected already
+    }
+    if (index == path.size() - 1) {
+      members.put(name, null);
+    } else {
+      ProjectionPlan member = members.get(name);
+      if (member == null) {
+        member = new ProjectionPlan();
+        members.put(name, member);
+      }
+      member.add(path, index + 1);
+    }
+  }
+
+  /**
+   * Gets the selected structural properties of the given type, in the order of the type.
+   * @param type structured type
+   * @return selected properties
+   */
+  public EdmProperty[] getSelectedProperties(final EdmStructuredType type) {
+    EdmProperty[] properties = selectedProperties.get(type);
+    if (properties == null) {
+      final List<EdmProperty> selected = new ArrayList<EdmProperty>();
+      for (final String propertyName : type.getPropertyNames()) {
+        if (members.containsKey(propertyName)) {
+          selected.add(type.getStructuralProperty(propertyName));
+        }
+      }
+      properties = selected.toArray(new EdmProperty[selected.size()]);
+      selectedProperties.put(type, properties);
+    }
+    return properties;
+  }
+
+  public boolean isSelected(final String propertyName) {
+    return members.containsKey(propertyName);
+  }
+
+  /**
+   * Gets the projection of the value of the given property.
+   * @param propertyName property name
+   * @return the plan, or <code>null</code> if the whole value is selected
+   */
+  public ProjectionPlan getMemberPlan(final String propertyName) {
+    return members.get(propertyName);
+  }
+}
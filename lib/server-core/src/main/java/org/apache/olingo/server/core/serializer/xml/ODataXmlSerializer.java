@@ -78,6 +78,7 @@ import org.apache.olingo.server.core.serializer.SerializerResultImpl;
 import org.apache.olingo.server.core.serializer.utils.CircleStreamBuffer;
 import org.apache.olingo.server.core.serializer.utils.ContextURLBuilder;
 import org.apache.olingo.server.core.serializer.utils.ExpandSelectHelper;
+import org.apache.olingo.server.core.serializer.utils.ProjectionPlan;
 import org.apache.olingo.server.core.uri.queryoption.ExpandOptionImpl;
 
 public class ODataXmlSerializer extends AbstractODataSerializer {
@@ -613,16 +614,23 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
   protected void writeProperties(final ServiceMetadata metadata, final EdmStructuredType type,
       final List<Property> properties, final SelectOption select, final String xml10InvalidCharReplacement, 
       final XMLStreamWriter writer) throws XMLStreamException, SerializerException {
-    final boolean all = ExpandSelectHelper.isAll(select);
-    final Set<String> selected = all ? new HashSet<String>() :
-        ExpandSelectHelper.getSelectedPropertyNames(select.getSelectItems());
-    for (final String propertyName : type.getPropertyNames()) {
-      if (all || selected.contains(propertyName)) {
-        final EdmProperty edmProperty = type.getStructuralProperty(propertyName);
-        final Property property = findProperty(propertyName, properties);
-        final Set<List<String>> selectedPaths = all || edmProperty.isPrimitive() ? null :
-            ExpandSelectHelper.getSelectedPaths(select.getSelectItems(), propertyName);
-        writeProperty(metadata, edmProperty, property, selectedPaths, xml10InvalidCharReplacement, writer);
+    writeProperties(metadata, type, properties, getProjectionPlan(select), xml10InvalidCharReplacement, writer);
+  }
+
+  private void writeProperties(final ServiceMetadata metadata, final EdmStructuredType type,
+      final List<Property> properties, final ProjectionPlan projection, final String xml10InvalidCharReplacement,
+      final XMLStreamWriter writer) throws XMLStreamException, SerializerException {
+    if (projection == null) {
+      for (final String propertyName : type.getPropertyNames()) {
+        writeProperty(metadata, type.getStructuralProperty(propertyName), findProperty(propertyName, properties),
+            null, xml10InvalidCharReplacement, writer);
+      }
+    } else {
+      for (final EdmProperty edmProperty : projection.getSelectedProperties(type)) {
+        final String propertyName = edmProperty.getName();
+        writeProperty(metadata, edmProperty, findProperty(propertyName, properties),
+            edmProperty.isPrimitive() ? null : projection.getMemberPlan(propertyName),
+            xml10InvalidCharReplacement, writer);
       }
     }
   }
@@ -778,7 +786,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
 
   protected void writeProperty(final ServiceMetadata metadata,
       final EdmProperty edmProperty, final Property property,
-      final Set<List<String>> selectedPaths,
+      final ProjectionPlan projection,
       final String xml10InvalidCharReplacement, final XMLStreamWriter writer)
       throws XMLStreamException, SerializerException {
     writer.writeStartElement(DATA, edmProperty.getName(), NS_DATA);
@@ -790,7 +798,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
             SerializerException.MessageKeys.MISSING_PROPERTY, edmProperty.getName());
       }
     } else {
-      writePropertyValue(metadata, edmProperty, property, selectedPaths, xml10InvalidCharReplacement, writer);
+      writePropertyValue(metadata, edmProperty, property, projection, xml10InvalidCharReplacement, writer);
     }
     writer.writeEndElement();
   }
@@ -816,7 +824,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
 
   private void writePropertyValue(final ServiceMetadata metadata,
       final EdmProperty edmProperty, final Property property,
-      final Set<List<String>> selectedPaths,
+      final ProjectionPlan projection,
       final String xml10InvalidCharReplacement, final XMLStreamWriter writer)
       throws XMLStreamException, SerializerException {
     try {
@@ -841,10 +849,10 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
       } else if (property.isComplex()) {
         if (edmProperty.isCollection()) {
           writer.writeAttribute(METADATA, NS_METADATA, Constants.ATTR_TYPE, collectionType(edmProperty.getType()));
-          writeComplexCollection(metadata, (EdmComplexType) edmProperty.getType(), property, selectedPaths, 
+          writeComplexCollection(metadata, (EdmComplexType) edmProperty.getType(), property, projection, 
               xml10InvalidCharReplacement, writer);
         } else {
-            writeComplex(metadata, edmProperty, property, selectedPaths, xml10InvalidCharReplacement, writer);
+            writeComplex(metadata, edmProperty, property, projection, xml10InvalidCharReplacement, writer);
         }
       } else {
         throw new SerializerException("Property type not yet supported!",
@@ -859,7 +867,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
 
   private void writeComplex(final ServiceMetadata metadata,
       final EdmProperty edmProperty, final Property property,
-      final Set<List<String>> selectedPaths,
+      final ProjectionPlan projection,
       final String xml10InvalidCharReplacement, final XMLStreamWriter writer) 
           throws XMLStreamException, SerializerException{
       
@@ -871,7 +879,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
         (EdmComplexType) edmProperty.getType(), derivedName);
        
         writeComplexValue(metadata, resolvedType, property.asComplex().getValue(),
-           selectedPaths, xml10InvalidCharReplacement, writer);
+           projection, xml10InvalidCharReplacement, writer);
   }
   private void writePrimitiveCollection(final EdmPrimitiveType type, final Property property,
       final Boolean isNullable, final Integer maxLength, final Integer precision, final Integer scale,
@@ -897,7 +905,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
   }
 
   private void writeComplexCollection(final ServiceMetadata metadata,
-      final EdmComplexType type, final Property property, final Set<List<String>> selectedPaths,
+      final EdmComplexType type, final Property property, final ProjectionPlan projection,
       final String xml10InvalidCharReplacement, final XMLStreamWriter writer)
       throws XMLStreamException, SerializerException {
     for (Object value : property.asCollection()) {
@@ -908,7 +916,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
       switch (property.getValueType()) {
       case COLLECTION_COMPLEX:
         writeComplexValue(metadata, type,
-            ((ComplexValue) value).getValue(), selectedPaths,
+            ((ComplexValue) value).getValue(), projection,
             xml10InvalidCharReplacement, writer);
         break;
       default:
@@ -950,6 +958,16 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
       final Boolean isNullable, final Integer maxLength, final Integer precision, final Integer scale,
       final Boolean isUnicode, final String xml10InvalidCharReplacement,
       final XMLStreamWriter writer) throws EdmPrimitiveTypeException, XMLStreamException {
+    if (isDirectlyFormatted(type)) {
+      // Date and time values never contain characters invalid in XML 1.0.
+      final int length = formatDirectly(type, primitiveValue, isNullable, maxLength, precision, scale, isUnicode);
+      if (length < 0) {
+        writer.writeAttribute(METADATA, NS_METADATA, Constants.ATTR_NULL, "true");
+      } else {
+        writer.writeCharacters(getFormattedChars(), 0, length);
+      }
+      return;
+    }
     final String value = type.valueToString(primitiveValue,
         isNullable, maxLength, precision, scale, isUnicode);
     if (value == null) {
@@ -963,17 +981,9 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
 
   protected void writeComplexValue(final ServiceMetadata metadata,
       final EdmComplexType type, final List<Property> properties, 
-      final Set<List<String>> selectedPaths, final String xml10InvalidCharReplacement, 
+      final ProjectionPlan projection, final String xml10InvalidCharReplacement, 
       final XMLStreamWriter writer) throws XMLStreamException, SerializerException {   
-    
-    for (final String propertyName : type.getPropertyNames()) {
-      final Property property = findProperty(propertyName, properties);
-      if (selectedPaths == null || ExpandSelectHelper.isSelected(selectedPaths, propertyName)) {
-        writeProperty(metadata, (EdmProperty) type.getProperty(propertyName), property,
-            selectedPaths == null ? null : ExpandSelectHelper.getReducedSelectedPaths(selectedPaths, propertyName),
-            xml10InvalidCharReplacement, writer);
-      }
-    }
+    writeProperties(metadata, type, properties, projection, xml10InvalidCharReplacement, writer);
   }
 
   private Property findProperty(final String propertyName, final List<Property> properties) {
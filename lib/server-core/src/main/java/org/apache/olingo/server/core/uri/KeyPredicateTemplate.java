@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmKeyPropertyRef;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.core.Encoder;
+import org.apache.olingo.server.api.serializer.SerializerException;
+
+/**
+ * Precompiled key predicate of an entity type.
+ * <p>The key property references are resolved and the (encoded) key names are prepared once,
+ * so that building the key predicate of an entity only formats and appends its key values.</p>
+ */
+final class KeyPredicateTemplate {
+
+  private final List<KeyPart> parts;
+
+  private KeyPredicateTemplate(final List<KeyPart> parts) {
+    this.parts = parts;
+  }
+
+  /**
+   * Compiles the key predicate template of the given entity type.
+   * @param edmEntityType the entity type
+   * @return the template
+   */
+  static KeyPredicateTemplate create(final EdmEntityType edmEntityType) {
+    final List<String> keyNames = edmEntityType.getKeyPredicateNames();
+    List<KeyPart> parts = new ArrayList<KeyPart>(keyNames.size());
+    for (final String keyName : keyNames) {
+      StringBuilder prefix = new StringBuilder();
+      if (!parts.isEmpty()) {
+        prefix.append(',');
+      }
+      if (keyNames.size() > 1) {
+        Encoder.encode(keyName, prefix).append('=');
+      }
+      final EdmKeyPropertyRef refType = edmEntityType.getKeyPropertyRef(keyName);
+      parts.add(new KeyPart(keyName, prefix.toString(), splitPath(refType.getName()), refType.getProperty()));
+    }
+    return new KeyPredicateTemplate(parts);
+  }
+
+  /**
+   * Appends the key predicate of the given entity to the given StringBuilder.
+   * @param entity the entity
+   * @param result the StringBuilder the key predicate is appended to
+   * @return the given StringBuilder
+   * @throws SerializerException if a key property could not be found or has a wrong value
+   */
+  StringBuilder append(final Entity entity, final StringBuilder result) throws SerializerException {
+    for (final KeyPart part : parts) {
+      result.append(part.prefix);
+      part.appendValue(entity, result);
+    }
+    return result;
+  }
+
+  private static String[] splitPath(final String propertyPath) {
+    List<String> segments = new ArrayList<String>();
+    int start = 0;
+    int end;
+    while ((end = propertyPath.indexOf('/', start)) >= 0) {
+      segments.add(propertyPath.substring(start, end));
+      start = end + 1;
+    }
+    segments.add(propertyPath.substring(start));
+    return segments.toArray(new String[segments.size()]);
+  }
+
+  /** One key property with its resolved property path and facets. */
+  private static final class KeyPart {
+
+    private final String keyName;
+    private final String prefix;
+    private final String[] path;
+    private final EdmProperty edmProperty;
+    private final EdmPrimitiveType type;
+
+    private KeyPart(final String keyName, final String prefix, final String[] path, final EdmProperty edmProperty) {
+      this.keyName = keyName;
+      this.prefix = prefix;
+      this.path = path;
+      this.edmProperty = edmProperty;
+      type = edmProperty == null ? null : (EdmPrimitiveType) edmProperty.getType();
+    }
+
+    private void appendValue(final Entity entity, final StringBuilder result) throws SerializerException {
+      if (edmProperty == null) {
+        throw new SerializerException("Property not found (possibly an alias): " + keyName,
+            SerializerException.MessageKeys.MISSING_PROPERTY, keyName);
+      }
+      final Object propertyValue = findValue(entity);
+      try {
+        Encoder.encode(type.toUriLiteral(
+            type.valueToString(propertyValue,
+                edmProperty.isNullable(), edmProperty.getMaxLength(),
+                edmProperty.getPrecision(), edmProperty.getScale(), edmProperty.isUnicode())),
+            result);
+      } catch (final EdmPrimitiveTypeException e) {
+        throw new SerializerException("Wrong key value!", e,
+            SerializerException.MessageKeys.WRONG_PROPERTY_VALUE, edmProperty.getName(), propertyValue.toString());
+      }
+    }
+
+    private Object findValue(final Entity entity) {
+      Property property = entity.getProperty(path[0]);
+      for (int index = 1; index < path.length; index++) {
+        property = findProperty(path[index], property.asComplex().getValue());
+      }
+      return property.getValue();
+    }
+
+    private static Property findProperty(final String propertyName, final List<Property> properties) {
+      for (final Property property : properties) {
+        if (propertyName.equals(property.getName())) {
+          return property;
+        }
+      }
+      return null;
+    }
+  }
+}
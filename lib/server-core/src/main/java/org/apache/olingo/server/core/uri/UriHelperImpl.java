@@ -19,18 +19,14 @@
 package org.apache.olingo.server.core.uri;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.olingo.commons.api.data.Entity;
-import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
-import org.apache.olingo.commons.api.edm.EdmKeyPropertyRef;
-import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
-import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
-import org.apache.olingo.commons.api.edm.EdmProperty;
 import org.apache.olingo.commons.api.edm.EdmStructuredType;
-import org.apache.olingo.commons.core.Encoder;
 import org.apache.olingo.server.api.ODataLibraryException;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
 import org.apache.olingo.server.api.deserializer.DeserializerException.MessageKeys;
@@ -48,6 +44,10 @@ import org.apache.olingo.server.core.uri.parser.Parser;
 
 public class UriHelperImpl implements UriHelper {
 
+  /** Key predicate templates of the entity types this helper has already built key predicates for */
+  private final Map<EdmEntityType, KeyPredicateTemplate> keyPredicateTemplates =
+      new ConcurrentHashMap<EdmEntityType, KeyPredicateTemplate>();
+
   @Override
   public String buildContextURLSelectList(final EdmStructuredType type,
       final ExpandOption expand, final SelectOption select) throws SerializerException {
@@ -61,79 +61,24 @@ public class UriHelperImpl implements UriHelper {
 
   @Override
   public String buildCanonicalURL(final EdmEntitySet edmEntitySet, final Entity entity) throws SerializerException {
-    return edmEntitySet.getName() + '(' + buildKeyPredicate(edmEntitySet.getEntityType(), entity) + ')';
+    StringBuilder result = new StringBuilder(edmEntitySet.getName()).append('(');
+    return getKeyPredicateTemplate(edmEntitySet.getEntityType()).append(entity, result).append(')').toString();
   }
 
   @Override
   public String buildKeyPredicate(final EdmEntityType edmEntityType, final Entity entity) throws SerializerException {
-    StringBuilder result = new StringBuilder();
-    final List<String> keyNames = edmEntityType.getKeyPredicateNames();
-    boolean first = true;
-    for (final String keyName : keyNames) {
-      EdmKeyPropertyRef refType = edmEntityType.getKeyPropertyRef(keyName);
-      if (first) {
-        first = false;
-      } else {
-        result.append(',');
-      }
-      if (keyNames.size() > 1) {
-        result.append(Encoder.encode(keyName)).append('=');
-      }
-      final EdmProperty edmProperty =  refType.getProperty();
-      if (edmProperty == null) {
-        throw new SerializerException("Property not found (possibly an alias): " + keyName,
-            SerializerException.MessageKeys.MISSING_PROPERTY, keyName);
-      }
-      final EdmPrimitiveType type = (EdmPrimitiveType) edmProperty.getType();
-      final Object propertyValue = findPropertyRefValue(entity, refType);
-      try {
-        final String value = type.toUriLiteral(
-            type.valueToString(propertyValue,
-                edmProperty.isNullable(), edmProperty.getMaxLength(),
-                edmProperty.getPrecision(), edmProperty.getScale(), edmProperty.isUnicode()));
-        result.append(Encoder.encode(value));
-      } catch (final EdmPrimitiveTypeException e) {
-        throw new SerializerException("Wrong key value!", e,
-            SerializerException.MessageKeys.WRONG_PROPERTY_VALUE, edmProperty.getName(), propertyValue.toString());
-      }
-    }
-    return result.toString();
-  }
-  
-  private Object findPropertyRefValue(Entity entity, EdmKeyPropertyRef refType) {
-    final int INDEX_ERROR_CODE = -1;
-    final String propertyPath = refType.getName();
-    String tmpPropertyName;
-    int lastIndex;
-    int index = propertyPath.indexOf('/');
-    if (index == INDEX_ERROR_CODE) {
-        index  = propertyPath.length();
-    }
-    tmpPropertyName = propertyPath.substring(0, index);
-    //get first property
-    Property prop = entity.getProperty(tmpPropertyName);
-    //get following properties
-    while (index < propertyPath.length()) {
-        lastIndex = ++index;
-        index = propertyPath.indexOf('/', index+1);
-        if (index == INDEX_ERROR_CODE) {
-            index = propertyPath.length();
-        }
-        tmpPropertyName = propertyPath.substring(lastIndex, index);
-        prop = findProperty(tmpPropertyName, prop.asComplex().getValue());
-     }
-    return prop.getValue();
+    return getKeyPredicateTemplate(edmEntityType).append(entity, new StringBuilder()).toString();
   }
 
-  private Property findProperty(final String propertyName, final List<Property> properties) {
-    for (final Property property : properties) {
-      if (propertyName.equals(property.getName())) {
-        return property;
-      }
+  private KeyPredicateTemplate getKeyPredicateTemplate(final EdmEntityType edmEntityType) {
+    KeyPredicateTemplate template = keyPredicateTemplates.get(edmEntityType);
+    if (template == null) {
+      template = KeyPredicateTemplate.create(edmEntityType);
+      keyPredicateTemplates.put(edmEntityType, template);
     }
-    return null;
+    return template;
   }
-  
+
   @Override
   public UriResourceEntitySet parseEntityId(final Edm edm, final String entityId, final String rawServiceRoot)
       throws DeserializerException {
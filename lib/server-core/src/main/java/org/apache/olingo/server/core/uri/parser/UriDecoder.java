@@ -19,7 +19,6 @@
 package org.apache.olingo.server.core.uri.parser;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.apache.olingo.commons.core.Decoder;
@@ -31,9 +30,13 @@ public class UriDecoder {
   /** Splits the path string at '/' characters and percent-decodes the resulting path segments. */
   protected static List<String> splitAndDecodePath(final String path) throws UriParserSyntaxException {
     List<String> pathSegmentsDecoded = new ArrayList<String>();
-    for (final String segment : split(path, '/')) {
-      pathSegmentsDecoded.add(decode(segment));
+    int start = 0;
+    int end;
+    while ((end = path.indexOf('/', start)) >= 0) {
+      pathSegmentsDecoded.add(decode(path, start, end));
+      start = end + 1;
     }
+    pathSegmentsDecoded.add(decode(path, start, path.length()));
     return pathSegmentsDecoded;
   }
 
@@ -45,37 +48,35 @@ public class UriDecoder {
   protected static List<QueryOption> splitAndDecodeOptions(final String queryOptionString)
       throws UriParserSyntaxException {
     List<QueryOption> queryOptions = new ArrayList<QueryOption>();
-    for (final String option : split(queryOptionString, '&')) {
-      final int pos = option.indexOf('=');
-      final String name = pos >= 0 ? option.substring(0, pos)  : option;
-      //OLINGO-846 We trim the query option text to be more lenient to wrong uri constructors
-      final String text = pos >= 0 ? option.substring(pos + 1).trim() : "";
-      queryOptions.add(new CustomQueryOptionImpl()
-          .setName(decode(name))
-          .setText(decode(text)));
-    }
-    return queryOptions;
-  }
-
-  /**
-   * Splits the input string at the given character.
-   * @param input string to split
-   * @param c character at which to split
-   * @return list of elements (can be empty)
-   */
-  private static List<String> split(final String input, final char c) {
-    List<String> list = new LinkedList<String>();
-
+    final int length = queryOptionString.length();
     int start = 0;
-    int end;
-    while ((end = input.indexOf(c, start)) >= 0) {
-      list.add(input.substring(start, end));
+    while (start <= length) {
+      int end = queryOptionString.indexOf('&', start);
+      if (end < 0) {
+        end = length;
+      }
+      final int pos = queryOptionString.indexOf('=', start);
+      final CustomQueryOptionImpl option = new CustomQueryOptionImpl();
+      if (pos >= 0 && pos < end) {
+        // OLINGO-846 We trim the query option text to be more lenient to wrong uri constructors
+        int textStart = pos + 1;
+        int textEnd = end;
+        while (textStart < textEnd && queryOptionString.charAt(textStart) <= ' ') {
+          textStart++;
+        }
+        while (textStart < textEnd && queryOptionString.charAt(textEnd - 1) <= ' ') {
+          textEnd--;
+        }
+        option.setName(decode(queryOptionString, start, pos))
+            .setText(decode(queryOptionString, textStart, textEnd));
+      } else {
+        option.setName(decode(queryOptionString, start, end))
+            .setText("");
+      }
+      queryOptions.add(option);
       start = end + 1;
     }
-
-    list.add(input.substring(start));
-
-    return list;
+    return queryOptions;
   }
 
   public static String decode(final String encoded) throws UriParserSyntaxException {
@@ -85,4 +86,14 @@ public class UriDecoder {
       throw new UriParserSyntaxException("Wrong percent encoding!", e, UriParserSyntaxException.MessageKeys.SYNTAX);
     }
   }
+
+  /** Percent-decodes the part of the input between the given indices without cutting it out first. */
+  private static String decode(final String input, final int beginIndex, final int endIndex)
+      throws UriParserSyntaxException {
+    try {
+      return Decoder.decode(input, beginIndex, endIndex);
+    } catch (final IllegalArgumentException e) {
+      throw new UriParserSyntaxException("Wrong percent encoding!", e, UriParserSyntaxException.MessageKeys.SYNTAX);
+    }
+  }
 }
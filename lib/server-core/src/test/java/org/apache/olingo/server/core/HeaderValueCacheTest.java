@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class HeaderValueCacheTest {
+
+  private final List<String> parsed = new ArrayList<String>();
+
+  private final HeaderValueCache<List<String>> cache = new HeaderValueCache<List<String>>(2) {
+    @Override
+    protected List<String> parse(final String value) {
+      parsed.add(value);
+      if (value.isEmpty()) {
+        throw new IllegalArgumentException("empty");
+      }
+      return Collections.unmodifiableList(Arrays.asList(value.split(",")));
+    }
+  };
+
+  @Test
+  public void parseOnce() {
+    final List<String> first = cache.get("a,b");
+    assertEquals(Arrays.asList("a", "b"), first);
+    assertSame(first, cache.get("a,b"));
+    assertEquals(Collections.singletonList("a,b"), parsed);
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void bounded() {
+    cache.get("a");
+    cache.get("b");
+    assertEquals(2, cache.size());
+    cache.get("c");
+    assertEquals(1, cache.size());
+    cache.get("c");
+    cache.get("a");
+    assertEquals(Arrays.asList("a", "b", "c", "a"), parsed);
+  }
+
+  @Test
+  public void notCached() {
+    final StringBuilder longValue = new StringBuilder();
+    while (longValue.length() <= HeaderValueCache.MAX_VALUE_LENGTH) {
+      longValue.append("value,");
+    }
+    cache.get(longValue.toString());
+    assertEquals(0, cache.size());
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        cache.get("");
+        fail("Expected an IllegalArgumentException");
+      } catch (final IllegalArgumentException e) {
+        assertEquals(0, cache.size());
+      }
+    }
+    assertEquals(3, parsed.size());
+  }
+}
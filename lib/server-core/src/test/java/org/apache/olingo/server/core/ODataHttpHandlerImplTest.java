@@ -18,16 +18,45 @@
  */
 package org.apache.olingo.server.core;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.FileMediaContent;
+import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataLibraryException;
 import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
 import org.junit.Test;
 
 public class ODataHttpHandlerImplTest {
@@ -164,4 +193,345 @@ public class ODataHttpHandlerImplTest {
       assertEquals(rawServiceResolutionUri, odr.getRawServiceResolutionUri());
     }
   }
+
+  @Test
+  public void negotiateCompression() {
+    assertNull(HttpCompression.negotiate(null));
+    assertNull(HttpCompression.negotiate("identity"));
+    assertNull(HttpCompression.negotiate("gzip;q=0, deflate;q=0"));
+    assertNull(HttpCompression.negotiate("*;q=0"));
+    assertEquals(HttpCompression.GZIP, HttpCompression.negotiate("gzip"));
+    assertEquals(HttpCompression.GZIP, HttpCompression.negotiate("deflate, gzip"));
+    assertEquals(HttpCompression.GZIP, HttpCompression.negotiate("*"));
+    assertEquals(HttpCompression.GZIP, HttpCompression.negotiate("x-gzip"));
+    assertEquals(HttpCompression.DEFLATE, HttpCompression.negotiate("deflate"));
+    assertEquals(HttpCompression.DEFLATE, HttpCompression.negotiate("gzip;q=0.5, deflate"));
+    assertEquals(HttpCompression.DEFLATE, HttpCompression.negotiate("gzip;q=0, *"));
+  }
+
+  @Test
+  public void decodeRequestBody() throws Exception {
+    final byte[] content = "{\"PropertyString\":\"compressed\"}".getBytes("UTF-8");
+    final ODataHttpHandlerImpl handler = new ODataHttpHandlerImpl(OData.newInstance(), null);
+
+    ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+    compress(new GZIPOutputStream(gzip), content);
+    HttpServletRequest hr = mockRequest("gzip", new ByteArrayInputStream(gzip.toByteArray()));
+    assertArrayEquals(content, IOUtils.toByteArray(handler.decodeBody(hr)));
+
+    ByteArrayOutputStream deflate = new ByteArrayOutputStream();
+    compress(new DeflaterOutputStream(deflate), content);
+    hr = mockRequest("identity, deflate", new ByteArrayInputStream(deflate.toByteArray()));
+    assertArrayEquals(content, IOUtils.toByteArray(handler.decodeBody(hr)));
+
+    hr = mockRequest(null, new ByteArrayInputStream(content));
+    assertArrayEquals(content, IOUtils.toByteArray(handler.decodeBody(hr)));
+
+    try {
+      handler.decodeBody(mockRequest("br", new ByteArrayInputStream(content)));
+      fail("Expected an ODataHandlerException");
+    } catch (ODataHandlerException e) {
+      assertEquals(ODataHandlerException.MessageKeys.UNSUPPORTED_CONTENT_ENCODING, e.getMessageKey());
+    }
+  }
+
+  @Test
+  public void limitDecompressedRequestBody() throws Exception {
+    final byte[] content = new byte[5000];
+    Arrays.fill(content, (byte) 'a');
+    ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+    compress(new GZIPOutputStream(gzip), content);
+    ODataHttpHandlerImpl handler = new ODataHttpHandlerImpl(OData.newInstance(), null);
+
+    handler.setMaxDecompressedRequestSize(content.length);
+    InputStream body = handler.decodeBody(mockRequest("gzip", new ByteArrayInputStream(gzip.toByteArray())));
+    assertArrayEquals(content, IOUtils.toByteArray(body));
+    assertFalse(HttpCompression.isSizeExceeded(body));
+
+    handler.setMaxDecompressedRequestSize(content.length - 1);
+    body = handler.decodeBody(mockRequest("gzip", new ByteArrayInputStream(gzip.toByteArray())));
+    try {
+      IOUtils.toByteArray(body);
+      fail("Expected an IOException");
+    } catch (IOException e) {
+      assertTrue(HttpCompression.isSizeExceeded(body));
+    }
+
+    // uncompressed bodies are not limited
+    body = handler.decodeBody(mockRequest(null, new ByteArrayInputStream(content)));
+    assertArrayEquals(content, IOUtils.toByteArray(body));
+
+    handler.setMaxDecompressedRequestSize(-1);
+    body = handler.decodeBody(mockRequest("gzip", new ByteArrayInputStream(gzip.toByteArray())));
+    assertArrayEquals(content, IOUtils.toByteArray(body));
+  }
+
+  @Test
+  public void rejectDecompressedRequestBodyExceedingLimit() throws Exception {
+    final byte[] content = new byte[100000];
+    ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+    compress(new GZIPOutputStream(gzip), content);
+    // The processor reads the body and, like a deserializer, turns the I/O error into a response of its own.
+    ODataHttpHandlerImpl handler = new ODataHttpHandlerImpl(OData.newInstance(), null) {
+      @Override
+      public ODataResponse process(final ODataRequest request) {
+        ODataResponse response = new ODataResponse();
+        try {
+          IOUtils.toByteArray(request.getBody());
+          response.setStatusCode(HttpStatusCode.CREATED.getStatusCode());
+        } catch (final IOException e) {
+          response.setStatusCode(HttpStatusCode.BAD_REQUEST.getStatusCode());
+        }
+        return response;
+      }
+    };
+    handler.setMaxDecompressedRequestSize(1024);
+
+    HttpServletRequest hr = mockPostRequest("gzip", gzip.toByteArray());
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    mockOutput(response);
+    handler.process(hr, response);
+    verify(response).setStatus(HttpStatusCode.PAYLOAD_TOO_LARGE.getStatusCode());
+
+    handler.setMaxDecompressedRequestSize(-1);
+    hr = mockPostRequest("gzip", gzip.toByteArray());
+    response = mock(HttpServletResponse.class);
+    mockOutput(response);
+    handler.process(hr, response);
+    verify(response).setStatus(HttpStatusCode.CREATED.getStatusCode());
+  }
+
+  @Test
+  public void compressResponse() throws Exception {
+    byte[] content = new byte[5000];
+    Arrays.fill(content, (byte) 'a');
+    ODataHttpHandlerImpl handler = new ODataHttpHandlerImpl(OData.newInstance(), null);
+    handler.setCompression(1024, 9);
+
+    HttpServletRequest hr = mock(HttpServletRequest.class);
+    when(hr.getHeader(HttpHeader.ACCEPT_ENCODING)).thenReturn("gzip, deflate");
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    ByteArrayOutputStream out = mockOutput(response);
+    handler.convertToHttp(hr, response, createResponse(content));
+
+    verify(response).setHeader(HttpHeader.CONTENT_ENCODING, "gzip");
+    verify(response).addHeader(HttpHeader.VARY, HttpHeader.ACCEPT_ENCODING);
+    assertArrayEquals(content, IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))));
+
+    // below the minimum size
+    content = new byte[100];
+    response = mock(HttpServletResponse.class);
+    out = mockOutput(response);
+    handler.convertToHttp(hr, response, createResponse(content));
+    verify(response, never()).setHeader(HttpHeader.CONTENT_ENCODING, "gzip");
+    assertArrayEquals(content, out.toByteArray());
+
+    // not accepted by the client
+    content = new byte[2000];
+    when(hr.getHeader(HttpHeader.ACCEPT_ENCODING)).thenReturn(null);
+    response = mock(HttpServletResponse.class);
+    out = mockOutput(response);
+    handler.convertToHttp(hr, response, createResponse(content));
+    verify(response, never()).setHeader(HttpHeader.CONTENT_ENCODING, "gzip");
+    verify(response).addHeader(HttpHeader.VARY, HttpHeader.ACCEPT_ENCODING);
+    assertArrayEquals(content, out.toByteArray());
+
+    // disabled
+    handler.setCompression(-1, -1);
+    when(hr.getHeader(HttpHeader.ACCEPT_ENCODING)).thenReturn("gzip");
+    response = mock(HttpServletResponse.class);
+    out = mockOutput(response);
+    handler.convertToHttp(hr, response, createResponse(content));
+    verify(response, never()).addHeader(HttpHeader.VARY, HttpHeader.ACCEPT_ENCODING);
+    assertArrayEquals(content, out.toByteArray());
+  }
+
+  @Test
+  public void weakenETagOfCompressedResponse() throws Exception {
+    byte[] content = new byte[5000];
+    ODataHttpHandlerImpl handler = new ODataHttpHandlerImpl(OData.newInstance(), null);
+    handler.setCompression(1024, 9);
+    HttpServletRequest hr = mock(HttpServletRequest.class);
+    when(hr.getHeader(HttpHeader.ACCEPT_ENCODING)).thenReturn("gzip");
+
+    ODataResponse odResponse = createResponse(content);
+    odResponse.setHeader(HttpHeader.ETAG, "\"abc\"");
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    mockOutput(response);
+    handler.convertToHttp(hr, response, odResponse);
+    verify(response).setHeader(HttpHeader.CONTENT_ENCODING, "gzip");
+    verify(response).addHeader(HttpHeader.ETAG, "W/\"abc\"");
+    verify(response, never()).addHeader(HttpHeader.ETAG, "\"abc\"");
+
+    // weak entity tags are kept
+    odResponse = createResponse(content);
+    odResponse.setHeader(HttpHeader.ETAG, "W/\"abc\"");
+    response = mock(HttpServletResponse.class);
+    mockOutput(response);
+    handler.convertToHttp(hr, response, odResponse);
+    verify(response).addHeader(HttpHeader.ETAG, "W/\"abc\"");
+
+    // uncompressed responses keep the strong entity tag
+    when(hr.getHeader(HttpHeader.ACCEPT_ENCODING)).thenReturn(null);
+    odResponse = createResponse(content);
+    odResponse.setHeader(HttpHeader.ETAG, "\"abc\"");
+    response = mock(HttpServletResponse.class);
+    mockOutput(response);
+    handler.convertToHttp(hr, response, odResponse);
+    verify(response).addHeader(HttpHeader.ETAG, "\"abc\"");
+  }
+
+  @Test
+  public void parseRanges() {
+    assertNull(HttpRanges.parse(null, 100));
+    assertNull(HttpRanges.parse("lines=1-2", 100));
+    assertNull(HttpRanges.parse("bytes=", 100));
+    assertNull(HttpRanges.parse("bytes=5", 100));
+    assertNull(HttpRanges.parse("bytes=9-5", 100));
+    assertNull(HttpRanges.parse("bytes=a-5", 100));
+    assertNull(HttpRanges.parse("bytes=--5", 100));
+
+    List<long[]> ranges = HttpRanges.parse("bytes=0-9, 90-, -5, 95-200", 100);
+    assertEquals(4, ranges.size());
+    assertArrayEquals(new long[] { 0, 9 }, ranges.get(0));
+    assertArrayEquals(new long[] { 90, 99 }, ranges.get(1));
+    assertArrayEquals(new long[] { 95, 99 }, ranges.get(2));
+    assertArrayEquals(new long[] { 95, 99 }, ranges.get(3));
+
+    assertArrayEquals(new long[] { 0, 99 }, HttpRanges.parse("bytes=-500", 100).get(0));
+    assertTrue(HttpRanges.parse("bytes=100-", 100).isEmpty());
+    assertTrue(HttpRanges.parse("bytes=-0", 100).isEmpty());
+  }
+
+  @Test
+  public void mediaContentRanges() throws Exception {
+    File file = File.createTempFile("media", ".bin");
+    try {
+      FileUtils.writeStringToFile(file, "0123456789abcdefghij", "US-ASCII");
+      ODataHttpHandlerImpl handler = new ODataHttpHandlerImpl(OData.newInstance(), null);
+      HttpServletRequest hr = mock(HttpServletRequest.class);
+      when(hr.getMethod()).thenReturn("GET");
+
+      // complete content
+      HttpServletResponse response = mock(HttpServletResponse.class);
+      ByteArrayOutputStream out = mockOutput(response);
+      handler.convertToHttp(hr, response, createMediaResponse(file));
+      verify(response).setStatus(HttpStatusCode.OK.getStatusCode());
+      verify(response).setHeader(HttpHeader.ACCEPT_RANGES, "bytes");
+      verify(response).setHeader(HttpHeader.CONTENT_LENGTH, "20");
+      assertEquals("0123456789abcdefghij", out.toString("US-ASCII"));
+
+      // single range
+      when(hr.getHeader(HttpHeader.RANGE)).thenReturn("bytes=5-9");
+      response = mock(HttpServletResponse.class);
+      out = mockOutput(response);
+      handler.convertToHttp(hr, response, createMediaResponse(file));
+      verify(response).setStatus(HttpStatusCode.PARTIAL_CONTENT.getStatusCode());
+      verify(response).setHeader(HttpHeader.CONTENT_RANGE, "bytes 5-9/20");
+      verify(response).setHeader(HttpHeader.CONTENT_LENGTH, "5");
+      assertEquals("56789", out.toString("US-ASCII"));
+
+      // multiple ranges
+      when(hr.getHeader(HttpHeader.RANGE)).thenReturn("bytes=0-1,-2");
+      response = mock(HttpServletResponse.class);
+      out = mockOutput(response);
+      handler.convertToHttp(hr, response, createMediaResponse(file));
+      verify(response).setStatus(HttpStatusCode.PARTIAL_CONTENT.getStatusCode());
+      String body = out.toString("US-ASCII");
+      String boundary = body.substring(2, body.indexOf("\r\n"));
+      assertEquals("--" + boundary + "\r\n"
+          + "Content-Type: application/octet-stream\r\n"
+          + "Content-Range: bytes 0-1/20\r\n\r\n01\r\n"
+          + "--" + boundary + "\r\n"
+          + "Content-Type: application/octet-stream\r\n"
+          + "Content-Range: bytes 18-19/20\r\n\r\nij\r\n"
+          + "--" + boundary + "--\r\n", body);
+      verify(response).setHeader(HttpHeader.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+      verify(response).setHeader(HttpHeader.CONTENT_LENGTH, Integer.toString(body.length()));
+
+      // not satisfiable
+      when(hr.getHeader(HttpHeader.RANGE)).thenReturn("bytes=20-");
+      response = mock(HttpServletResponse.class);
+      out = mockOutput(response);
+      handler.convertToHttp(hr, response, createMediaResponse(file));
+      verify(response).setStatus(HttpStatusCode.RANGE_NOT_SATISFIABLE.getStatusCode());
+      verify(response).setHeader(HttpHeader.CONTENT_RANGE, "bytes */20");
+      assertEquals(0, out.size());
+
+      // If-Range does not match
+      when(hr.getHeader(HttpHeader.RANGE)).thenReturn("bytes=5-9");
+      when(hr.getHeader(HttpHeader.IF_RANGE)).thenReturn("\"2\"");
+      response = mock(HttpServletResponse.class);
+      out = mockOutput(response);
+      handler.convertToHttp(hr, response, createMediaResponse(file));
+      verify(response).setStatus(HttpStatusCode.OK.getStatusCode());
+      assertEquals(20, out.size());
+
+      // If-Range matches
+      when(hr.getHeader(HttpHeader.IF_RANGE)).thenReturn("\"1\"");
+      response = mock(HttpServletResponse.class);
+      out = mockOutput(response);
+      handler.convertToHttp(hr, response, createMediaResponse(file));
+      verify(response).setStatus(HttpStatusCode.PARTIAL_CONTENT.getStatusCode());
+      assertEquals("56789", out.toString("US-ASCII"));
+    } finally {
+      file.delete();
+    }
+  }
+
+  private static ODataResponse createMediaResponse(final File file) throws IOException {
+    ODataResponse response = new ODataResponse();
+    response.setStatusCode(HttpStatusCode.OK.getStatusCode());
+    response.setHeader(HttpHeader.CONTENT_TYPE, "application/octet-stream");
+    response.setHeader(HttpHeader.ETAG, "\"1\"");
+    response.setMediaContent(new FileMediaContent(file));
+    return response;
+  }
+
+  private static HttpServletRequest mockRequest(final String contentEncoding, final InputStream body)
+      throws IOException {
+    HttpServletRequest hr = mock(HttpServletRequest.class);
+    when(hr.getHeader(HttpHeader.CONTENT_ENCODING)).thenReturn(contentEncoding);
+    when(hr.getInputStream()).thenReturn(new ServletInputStream() {
+      @Override
+      public int read() throws IOException {
+        return body.read();
+      }
+    });
+    return hr;
+  }
+
+  private static HttpServletRequest mockPostRequest(final String contentEncoding, final byte[] body)
+      throws IOException {
+    HttpServletRequest hr = mockRequest(contentEncoding, new ByteArrayInputStream(body));
+    when(hr.getMethod()).thenReturn("POST");
+    when(hr.getHeaderNames()).thenReturn(Collections.enumeration(Collections.<String> emptyList()));
+    when(hr.getRequestURL()).thenReturn(new StringBuffer("http://localhost/odata/ESAllPrim"));
+    when(hr.getServletPath()).thenReturn("/odata");
+    when(hr.getContextPath()).thenReturn("");
+    return hr;
+  }
+
+  private static ByteArrayOutputStream mockOutput(final HttpServletResponse response) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+      @Override
+      public void write(final int b) throws IOException {
+        out.write(b);
+      }
+    });
+    return out;
+  }
+
+  private static ODataResponse createResponse(final byte[] content) {
+    ODataResponse response = new ODataResponse();
+    response.setStatusCode(HttpStatusCode.OK.getStatusCode());
+    response.setContent(new ByteArrayInputStream(content));
+    return response;
+  }
+
+  private static void compress(final OutputStream out, final byte[] content) throws IOException {
+    out.write(content);
+    out.close();
+  }
 }
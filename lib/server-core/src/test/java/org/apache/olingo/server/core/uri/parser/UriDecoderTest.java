@@ -74,6 +74,9 @@ public class UriDecoderTest {
 
     checkOption("a%62c=d%65f", "abc", "def");
     checkOption("a='%26%3D'", "a", "'&='");
+    checkOption("a=b=c&d", "a", "b=c");
+    checkOption("a= b%20 &c", "a", "b ");
+    checkOption("a=%20&c", "a", " ");
   }
 
   @Test(expected = UriParserSyntaxException.class)
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.tecsvc.processor.queryoptions;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.olingo.commons.api.data.Annotation;
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Link;
+import org.apache.olingo.commons.api.data.Operation;
+import org.apache.olingo.commons.api.data.Property;
+
+/**
+ * View of a shared entity, used for serialization instead of a copy.
+ * <br/>
+ * Everything but the navigation links is read from the underlying entity and cannot be modified through the view:
+ * the lists are unmodifiable and the setters throw an {@link UnsupportedOperationException}.
+ * The view starts without navigation links: only the expanded ones are added, with their own inline entities or
+ * entity collections, so that these can be trimmed per request without affecting the underlying entity.
+ */
+public class EntityView extends Entity {
+
+  private final Entity entity;
+
+  private final List<Link> navigationLinks = new ArrayList<Link>();
+
+  public EntityView(final Entity entity) {
+    this.entity = entity;
+  }
+
+  public Entity getEntity() {
+    return entity;
+  }
+
+  @Override
+  public List<Link> getNavigationLinks() {
+    return navigationLinks;
+  }
+
+  @Override
+  public Link getNavigationLink(final String name) {
+    return getOneByTitle(name, navigationLinks);
+  }
+
+  @Override
+  public List<Link> getAssociationLinks() {
+    return Collections.unmodifiableList(entity.getAssociationLinks());
+  }
+
+  @Override
+  public Link getAssociationLink(final String name) {
+    return entity.getAssociationLink(name);
+  }
+
+  @Override
+  public List<Link> getNavigationBindings() {
+    return Collections.unmodifiableList(entity.getNavigationBindings());
+  }
+
+  @Override
+  public Link getNavigationBinding(final String name) {
+    return entity.getNavigationBinding(name);
+  }
+
+  @Override
+  public List<Property> getProperties() {
+    return Collections.unmodifiableList(entity.getProperties());
+  }
+
+  @Override
+  public Property getProperty(final String name) {
+    return entity.getProperty(name);
+  }
+
+  @Override
+  public List<Annotation> getAnnotations() {
+    return Collections.unmodifiableList(entity.getAnnotations());
+  }
+
+  @Override
+  public List<Operation> getOperations() {
+    return Collections.unmodifiableList(entity.getOperations());
+  }
+
+  @Override
+  public List<Link> getMediaEditLinks() {
+    return Collections.unmodifiableList(entity.getMediaEditLinks());
+  }
+
+  @Override
+  public URI getId() {
+    return entity.getId();
+  }
+
+  @Override
+  public URI getBaseURI() {
+    return entity.getBaseURI();
+  }
+
+  @Override
+  public String getTitle() {
+    return entity.getTitle();
+  }
+
+  @Override
+  public String getType() {
+    return entity.getType();
+  }
+
+  @Override
+  public String getETag() {
+    return entity.getETag();
+  }
+
+  @Override
+  public Link getSelfLink() {
+    return entity.getSelfLink();
+  }
+
+  @Override
+  public Link getEditLink() {
+    return entity.getEditLink();
+  }
+
+  @Override
+  public String getMediaContentType() {
+    return entity.getMediaContentType();
+  }
+
+  @Override
+  public URI getMediaContentSource() {
+    return entity.getMediaContentSource();
+  }
+
+  @Override
+  public String getMediaETag() {
+    return entity.getMediaETag();
+  }
+
+  @Override
+  public boolean isMediaEntity() {
+    return entity.isMediaEntity();
+  }
+
+  @Override
+  public Entity addProperty(final Property property) {
+    throw unsupported();
+  }
+
+  @Override
+  public void setId(final URI id) {
+    throw unsupported();
+  }
+
+  @Override
+  public void setBaseURI(final URI baseURI) {
+    throw unsupported();
+  }
+
+  @Override
+  public void setCommonProperty(final String key, final String value) {
+    throw unsupported();
+  }
+
+  @Override
+  public void setType(final String type) {
+    throw unsupported();
+  }
+
+  @Override
+  public void setETag(final String eTag) {
+    throw unsupported();
+  }
+
+  @Override
+  public void setSelfLink(final Link selfLink) {
+    throw unsupported();
+  }
+
+  @Override
+  public void setEditLink(final Link editLink) {
+    throw unsupported();
+  }
+
+  @Override
+  public void setMediaContentType(final String mediaContentType) {
+    throw unsupported();
+  }
+
+  @Override
+  public void setMediaContentSource(final URI mediaContentSource) {
+    throw unsupported();
+  }
+
+  @Override
+  public void setMediaETag(final String eTag) {
+    throw unsupported();
+  }
+
+  private UnsupportedOperationException unsupported() {
+    return new UnsupportedOperationException("The entity view " + entity.getId() + " is read-only.");
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    return this == o;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(this);
+  }
+
+  @Override
+  public String toString() {
+    return entity.toString();
+  }
+}
@@ -157,9 +157,18 @@ public class ExpandSystemQueryOptionHandler {
     return newEntitySet;
   }
 
+  /**
+   * Returns the tree for serialization of the given entity, as controlled by the expand tree: entities are not
+   * copied but wrapped into {@link EntityView}s, holding only the expanded navigation links. Entities without
+   * navigation links are used as they are.
+   */
   public Entity transformEntityGraphToTree(final Entity entity, final EdmBindingTarget edmEntitySet,
       final ExpandOption expand, final ExpandItem parentExpandItem) throws ODataApplicationException {
-    final Entity newEntity = newEntity(entity);
+    if (entity.getNavigationLinks().isEmpty()) {
+      return entity;
+    }
+
+    final Entity newEntity = new EntityView(entity);
     if (hasExpandItems(expand)) {
       final boolean expandAll = expandAll(expand);
       final Set<String> expanded = expandAll ? null : getExpandedPropertyNames(expand.getExpandItems());
@@ -200,27 +209,6 @@ public class ExpandSystemQueryOptionHandler {
     return newEntitySet;
   }
 
-  private Entity newEntity(final Entity entity) {
-    Entity newEntity = new Entity();
-
-    newEntity.getProperties().addAll(entity.getProperties());
-    newEntity.getAnnotations().addAll(entity.getAnnotations());
-    newEntity.setId(entity.getId());
-    newEntity.setBaseURI(entity.getBaseURI());
-    newEntity.setType(entity.getType());
-    newEntity.setETag(entity.getETag());
-    newEntity.setMediaContentSource(entity.getMediaContentSource());
-    newEntity.setMediaContentType(entity.getMediaContentType());
-    newEntity.setMediaETag(entity.getMediaETag());
-    newEntity.setSelfLink(entity.getSelfLink());
-    newEntity.setEditLink(entity.getEditLink());
-    newEntity.getAssociationLinks().addAll(entity.getAssociationLinks());
-    newEntity.getNavigationBindings().addAll(entity.getNavigationBindings());
-    newEntity.getOperations().addAll(entity.getOperations());
-
-    return newEntity;
-  }
-
   private Link newLink(final Link link) {
     final Link newLink = new Link();
     newLink.setMediaETag(link.getMediaETag());
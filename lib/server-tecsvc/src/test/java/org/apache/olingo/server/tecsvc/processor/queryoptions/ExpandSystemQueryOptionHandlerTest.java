@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.tecsvc.processor.queryoptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Link;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataHandler;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.tecsvc.data.DataProvider;
+import org.apache.olingo.server.tecsvc.processor.TechnicalEntityProcessor;
+import org.apache.olingo.server.tecsvc.provider.EdmTechProvider;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExpandSystemQueryOptionHandlerTest {
+
+  private static final String QUERY =
+      "$expand=NavPropertyETTwoPrimMany($orderby=PropertyString desc;$top=1),NavPropertyETTwoPrimOne";
+
+  private final OData odata = OData.newInstance();
+  private final ServiceMetadata serviceMetadata =
+      odata.createServiceMetadata(new EdmTechProvider(), Collections.<EdmxReference> emptyList());
+
+  @Test
+  public void expandLeavesStoredEntitiesUnchanged() throws Exception {
+    final DataProvider dataProvider = new DataProvider(odata, serviceMetadata.getEdm());
+    final EdmEntitySet esAllPrim = serviceMetadata.getEdm().getEntityContainer().getEntitySet("ESAllPrim");
+    final Entity entity = dataProvider.readAll(esAllPrim).getEntities().get(2);
+    final List<Link> links = new ArrayList<Link>(entity.getNavigationLinks());
+    final Link link = entity.getNavigationLink("NavPropertyETTwoPrimMany");
+    final List<Entity> linkedEntities = new ArrayList<Entity>(link.getInlineEntitySet().getEntities());
+    Assert.assertEquals(3, linkedEntities.size());
+
+    ODataHandler handler = odata.createRawHandler(serviceMetadata);
+    handler.register(new TechnicalEntityProcessor(dataProvider, serviceMetadata));
+    final String first = read(handler, "/ESAllPrim");
+    final String second = read(handler, "/ESAllPrim");
+    Assert.assertTrue(first.contains("\"NavPropertyETTwoPrimMany\":[{"));
+    Assert.assertEquals(first, second);
+
+    Assert.assertEquals(links, entity.getNavigationLinks());
+    Assert.assertSame(link, entity.getNavigationLink("NavPropertyETTwoPrimMany"));
+    Assert.assertEquals(linkedEntities, link.getInlineEntitySet().getEntities());
+    for (final Entity linkedEntity : linkedEntities) {
+      Assert.assertFalse(linkedEntity instanceof EntityView);
+    }
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void viewCannotChangeEntity() {
+    final Entity entity = new Entity();
+    new EntityView(entity).getProperties().clear();
+  }
+
+  private String read(final ODataHandler handler, final String path) throws Exception {
+    ODataRequest request = new ODataRequest();
+    request.setMethod(HttpMethod.GET);
+    request.setRawBaseUri("http://localhost/odata");
+    request.setRawODataPath(path);
+    request.setRawQueryPath(QUERY);
+    request.setRawRequestUri("http://localhost/odata" + path + "?" + QUERY);
+    final ODataResponse response = handler.process(request);
+    Assert.assertEquals(HttpStatusCode.OK.getStatusCode(), response.getStatusCode());
+    return IOUtils.toString(response.getContent(), "UTF-8");
+  }
+}
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.cache.ResponseCache;
+import org.apache.olingo.server.api.cache.ResponseCacheSupport;
+import org.apache.olingo.server.api.processor.EntityCollectionProcessor;
+import org.apache.olingo.server.api.processor.EntityProcessor;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.core.debug.ServerCoreDebugger;
+import org.apache.olingo.server.tecsvc.provider.EdmTechProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResponseCacheTest {
+
+  private static final String BASE_URI = "http://localhost/odata";
+
+  private final OData odata = OData.newInstance();
+  private final ServiceMetadata metadata = odata.createServiceMetadata(
+      new EdmTechProvider(), Collections.<EdmxReference> emptyList());
+
+  /** The entity sets read by the processor, in order. */
+  private final List<String> reads = new ArrayList<String>();
+  private long now;
+
+  @Before
+  public void setUp() {
+    reads.clear();
+    now = 0;
+  }
+
+  @Test
+  public void cachedRead() throws Exception {
+    final ResponseCache cache = odata.createResponseCache(10, 1000, 0, false, null);
+    final ODataResponse first = dispatch(cache, HttpMethod.GET, "ESAllPrim", null);
+    final ODataResponse second = dispatch(cache, HttpMethod.GET, "ESAllPrim", null);
+
+    assertEquals(Collections.singletonList("ESAllPrim"), reads);
+    assertEquals(HttpStatusCode.OK.getStatusCode(), second.getStatusCode());
+    assertEquals("ESAllPrim 1", IOUtils.toString(first.getContent()));
+    assertEquals("ESAllPrim 1", IOUtils.toString(second.getContent()));
+    assertEquals(ContentType.TEXT_PLAIN.toContentTypeString(), second.getHeader(HttpHeader.CONTENT_TYPE));
+    final String eTag = first.getHeader(HttpHeader.ETAG);
+    assertTrue(eTag.matches("\"[0-9a-f]{32}\""));
+    assertEquals(eTag, second.getHeader(HttpHeader.ETAG));
+
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0.5, cache.getHitRate(), 0);
+
+    // The order of query options does not matter but the requested format does.
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", "$top=1&$skip=1");
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", "$skip=1&$top=1");
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null, HttpHeader.ACCEPT, "application/json");
+    assertEquals(3, reads.size());
+
+    // Requests with preconditions other than If-None-Match and revalidating requests are dispatched.
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null, HttpHeader.IF_MATCH, eTag);
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null, HttpHeader.CACHE_CONTROL, "no-cache");
+    assertEquals(5, reads.size());
+  }
+
+  @Test
+  public void notModified() throws Exception {
+    final ResponseCache cache = odata.createResponseCache(10, 1000, 0, true, null);
+    final ODataResponse response = dispatch(cache, HttpMethod.GET, "ESAllPrim", null);
+    final String eTag = response.getHeader(HttpHeader.ETAG);
+    assertTrue(eTag.startsWith("W/\""));
+
+    final ODataResponse cached = dispatch(cache, HttpMethod.GET, "ESAllPrim", null,
+        HttpHeader.IF_NONE_MATCH, "\"other\", " + eTag.substring(2));
+    assertEquals(HttpStatusCode.NOT_MODIFIED.getStatusCode(), cached.getStatusCode());
+    assertEquals(eTag, cached.getHeader(HttpHeader.ETAG));
+    assertNull(cached.getContent());
+
+    final ODataResponse fresh = dispatch(cache, HttpMethod.GET, "ESTwoPrim", null, HttpHeader.IF_NONE_MATCH, "*");
+    assertEquals(HttpStatusCode.NOT_MODIFIED.getStatusCode(), fresh.getStatusCode());
+    assertNull(fresh.getContent());
+
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getNotModifiedCount());
+    assertEquals(2, reads.size());
+  }
+
+  @Test
+  public void invalidation() throws Exception {
+    final ResponseCache cache = odata.createResponseCache(10, 1000, 0, false, null);
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null);
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", "$expand=NavPropertyETTwoPrimMany");
+    dispatch(cache, HttpMethod.GET, "ESTwoPrim", null);
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", "$filter=NavPropertyETTwoPrimOne/PropertyInt16 eq 1");
+
+    assertEquals(HttpStatusCode.NO_CONTENT.getStatusCode(),
+        dispatch(cache, HttpMethod.DELETE, "ESTwoPrim(1)", null).getStatusCode());
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null);
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", "$expand=NavPropertyETTwoPrimMany");
+    dispatch(cache, HttpMethod.GET, "ESTwoPrim", null);
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", "$filter=NavPropertyETTwoPrimOne/PropertyInt16 eq 1");
+    assertEquals(Arrays.asList("ESAllPrim", "ESTwoPrim", "ESAllPrim"), reads.subList(4, reads.size()));
+    assertEquals(1, cache.getHitCount());
+
+    cache.invalidate("ESAllPrim");
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null);
+    assertEquals(8, reads.size());
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+    dispatch(cache, HttpMethod.GET, "ESTwoPrim", null);
+    assertEquals(9, reads.size());
+  }
+
+  @Test
+  public void eviction() throws Exception {
+    final ResponseCache cache = new ResponseCacheImpl(2, 1000, 100, false, null) {
+      @Override
+      long currentTimeMillis() {
+        return now;
+      }
+    };
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null);
+    dispatch(cache, HttpMethod.GET, "ESTwoPrim", null);
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null);
+    dispatch(cache, HttpMethod.GET, "ESMixPrimCollComp", null);
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+    // least recently used
+    dispatch(cache, HttpMethod.GET, "ESTwoPrim", null);
+    assertEquals(4, reads.size());
+
+    now = 100;
+    dispatch(cache, HttpMethod.GET, "ESTwoPrim", null);
+    assertEquals(5, reads.size());
+    assertEquals(3, cache.getEvictionCount());
+  }
+
+  @Test
+  public void uncacheable() throws Exception {
+    final ResponseCache cache = odata.createResponseCache(10, 10, 0, false, null);
+    final ODataResponse large = dispatch(cache, HttpMethod.GET, "ESMixPrimCollComp", null);
+    assertEquals("ESMixPrimCollComp 1", IOUtils.toString(large.getContent()));
+    assertNull(large.getHeader(HttpHeader.ETAG));
+    dispatch(cache, HttpMethod.GET, "ESMixPrimCollComp", null);
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null, HttpHeader.AUTHORIZATION, "Basic dXNlcjpwYXNz");
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null, HttpHeader.AUTHORIZATION, "Basic dXNlcjpwYXNz");
+    assertEquals(4, reads.size());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void tenants() throws Exception {
+    final ResponseCache cache = odata.createResponseCache(10, 1000, 0, false, new ResponseCacheSupport() {
+      @Override
+      public String getTenantKey(final ODataRequest request, final UriInfo uriInfo) {
+        return request.getHeader(HttpHeader.AUTHORIZATION);
+      }
+    });
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null);
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null, HttpHeader.AUTHORIZATION, "a");
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null, HttpHeader.AUTHORIZATION, "b");
+    dispatch(cache, HttpMethod.GET, "ESAllPrim", null, HttpHeader.AUTHORIZATION, "a");
+    assertEquals(3, reads.size());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+    assertEquals(1.0 / 3, cache.getHitRate(), 1e-9);
+  }
+
+  private ODataResponse dispatch(final ResponseCache cache, final HttpMethod method, final String path,
+      final String query) {
+    return dispatch(cache, method, path, query, null, null);
+  }
+
+  private ODataResponse dispatch(final ResponseCache cache, final HttpMethod method, final String path,
+      final String query, final String headerName, final String headerValue) {
+    ODataRequest request = new ODataRequest();
+    request.setMethod(method);
+    request.setRawBaseUri(BASE_URI);
+    request.setRawODataPath(path);
+    request.setRawQueryPath(query);
+    if (headerName != null) {
+      request.addHeader(headerName, Collections.singletonList(headerValue));
+    }
+
+    ODataHandlerImpl handler = new ODataHandlerImpl(odata, metadata, new ServerCoreDebugger(odata));
+    handler.register(new TestProcessor());
+    handler.register(cache);
+    final ODataResponse response = handler.process(request);
+    assertNotNull(response);
+    return response;
+  }
+
+  /** Answers reads with the name of the entity set and the number of times it has been read. */
+  private class TestProcessor implements EntityCollectionProcessor, EntityProcessor {
+
+    @Override
+    public void init(final OData odata, final ServiceMetadata serviceMetadata) {}
+
+    @Override
+    public void readEntityCollection(final ODataRequest request, final ODataResponse response,
+        final UriInfo uriInfo, final ContentType responseFormat) {
+      final String name = ((UriResourceEntitySet) uriInfo.getUriResourceParts().get(0)).getEntitySet().getName();
+      reads.add(name);
+      response.setStatusCode(HttpStatusCode.OK.getStatusCode());
+      response.setHeader(HttpHeader.CONTENT_TYPE, ContentType.TEXT_PLAIN.toContentTypeString());
+      response.setContent(new ByteArrayInputStream(
+          (name + ' ' + Collections.frequency(reads, name)).getBytes()));
+    }
+
+    @Override
+    public void readEntity(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
+        final ContentType responseFormat) {
+      response.setStatusCode(HttpStatusCode.NOT_FOUND.getStatusCode());
+    }
+
+    @Override
+    public void createEntity(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
+        final ContentType requestFormat, final ContentType responseFormat) {
+      response.setStatusCode(HttpStatusCode.CREATED.getStatusCode());
+    }
+
+    @Override
+    public void updateEntity(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
+        final ContentType requestFormat, final ContentType responseFormat) {
+      response.setStatusCode(HttpStatusCode.NO_CONTENT.getStatusCode());
+    }
+
+    @Override
+    public void deleteEntity(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo) {
+      response.setStatusCode(HttpStatusCode.NO_CONTENT.getStatusCode());
+    }
+  }
+}
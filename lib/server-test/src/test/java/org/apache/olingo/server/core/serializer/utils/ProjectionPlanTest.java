@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.serializer.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.edm.EdmComplexType;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.uri.queryoption.SelectItem;
+import org.apache.olingo.server.core.serializer.ExpandSelectMock;
+import org.apache.olingo.server.tecsvc.provider.EdmTechProvider;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ProjectionPlanTest {
+
+  private static final Edm edm = OData.newInstance().createServiceMetadata(
+      new EdmTechProvider(), Collections.<EdmxReference> emptyList()).getEdm();
+
+  @Test
+  public void all() throws Exception {
+    assertNull(ProjectionPlan.compile(null));
+    SelectItem star = Mockito.mock(SelectItem.class);
+    Mockito.when(star.isStar()).thenReturn(true);
+    assertNull(ProjectionPlan.compile(ExpandSelectMock.mockSelectOption(Arrays.asList(star))));
+  }
+
+  @Test
+  public void primitive() throws Exception {
+    final EdmEntitySet entitySet = edm.getEntityContainer().getEntitySet("ESAllPrim");
+    final ProjectionPlan plan = ProjectionPlan.compile(ExpandSelectMock.mockSelectOption(Arrays.asList(
+        ExpandSelectMock.mockSelectItem(entitySet, "PropertyString"),
+        ExpandSelectMock.mockSelectItem(entitySet, "PropertyInt16"))));
+    assertNotNull(plan);
+    assertTrue(plan.isSelected("PropertyInt16"));
+    assertFalse(plan.isSelected("PropertyBoolean"));
+
+    final EdmProperty[] properties = plan.getSelectedProperties(entitySet.getEntityType());
+    assertEquals(2, properties.length);
+    assertEquals("PropertyInt16", properties[0].getName());
+    assertEquals("PropertyString", properties[1].getName());
+    assertSame(properties, plan.getSelectedProperties(entitySet.getEntityType()));
+  }
+
+  @Test
+  public void complex() throws Exception {
+    final EdmEntitySet entitySet = edm.getEntityContainer().getEntitySet("ESCompMixPrimCollComp");
+    final ProjectionPlan plan = ProjectionPlan.compile(ExpandSelectMock.mockSelectOption(Arrays.asList(
+        ExpandSelectMock.mockSelectItem(entitySet, "PropertyMixedPrimCollComp", "PropertyComp", "PropertyString"),
+        ExpandSelectMock.mockSelectItem(entitySet, "PropertyMixedPrimCollComp", "CollPropertyString"),
+        ExpandSelectMock.mockSelectItem(entitySet, "PropertyInt16"))));
+    assertNull(plan.getMemberPlan("PropertyInt16"));
+
+    final ProjectionPlan mixed = plan.getMemberPlan("PropertyMixedPrimCollComp");
+    assertNotNull(mixed);
+    final EdmComplexType mixedType = (EdmComplexType)
+        entitySet.getEntityType().getStructuralProperty("PropertyMixedPrimCollComp").getType();
+    final EdmProperty[] properties = mixed.getSelectedProperties(mixedType);
+    assertEquals(2, properties.length);
+    assertEquals("CollPropertyString", properties[0].getName());
+    assertEquals("PropertyComp", properties[1].getName());
+
+    final ProjectionPlan comp = mixed.getMemberPlan("PropertyComp");
+    assertTrue(comp.isSelected("PropertyString"));
+    assertFalse(comp.isSelected("PropertyInt16"));
+  }
+
+  @Test
+  public void wholeValueWins() throws Exception {
+    final EdmEntitySet entitySet = edm.getEntityContainer().getEntitySet("ESCompMixPrimCollComp");
+    final ProjectionPlan plan = ProjectionPlan.compile(ExpandSelectMock.mockSelectOption(Arrays.asList(
+        ExpandSelectMock.mockSelectItem(entitySet, "PropertyMixedPrimCollComp", "PropertyComp", "PropertyString"),
+        ExpandSelectMock.mockSelectItem(entitySet, "PropertyMixedPrimCollComp"),
+        ExpandSelectMock.mockSelectItem(entitySet, "PropertyMixedPrimCollComp", "CollPropertyString"))));
+    assertTrue(plan.isSelected("PropertyMixedPrimCollComp"));
+    assertNull(plan.getMemberPlan("PropertyMixedPrimCollComp"));
+  }
+}
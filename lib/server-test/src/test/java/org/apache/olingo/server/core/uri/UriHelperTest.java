@@ -71,6 +71,28 @@ public class UriHelperTest {
         helper.buildCanonicalURL(entitySet, entity));
   }
 
+  @Test
+  public void canonicalURLKeyAlias() throws Exception {
+    final EdmEntitySet entitySet = container.getEntitySet("ESFourKeyAlias");
+    final Entity entity = data.readAll(entitySet).getEntities().get(0);
+    Assert.assertEquals("ESFourKeyAlias(PropertyInt16=1,KeyAlias1=11,KeyAlias2='Num11',KeyAlias3='Num111')",
+        helper.buildCanonicalURL(entitySet, entity));
+  }
+
+  @Test
+  public void canonicalURLReusedTemplate() throws Exception {
+    final EdmEntitySet entitySet = container.getEntitySet("ESTwoKeyNav");
+    final UriHelper uriHelper = odata.createUriHelper();
+    for (final Entity entity : data.readAll(entitySet).getEntities()) {
+      final Object int16 = entity.getProperty("PropertyInt16").getValue();
+      final String string = (String) entity.getProperty("PropertyString").getValue();
+      Assert.assertEquals("ESTwoKeyNav(PropertyInt16=" + int16 + ",PropertyString='" + string + "')",
+          uriHelper.buildCanonicalURL(entitySet, entity));
+      Assert.assertEquals("PropertyInt16=" + int16 + ",PropertyString='" + string + "'",
+          uriHelper.buildKeyPredicate(entitySet.getEntityType(), entity));
+    }
+  }
+
   @Test(expected = SerializerException.class)
   public void canonicalURLWrong() throws Exception {
     final EdmEntitySet entitySet = container.getEntitySet("ESAllPrim");
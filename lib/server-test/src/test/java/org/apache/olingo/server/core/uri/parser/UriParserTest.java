@@ -601,6 +601,18 @@ public class UriParserTest {
         .isExSyntax(UriParserSyntaxException.MessageKeys.WRONG_VALUE_FOR_SYSTEM_QUERY_OPTION);
   }
 
+  @Test
+  public void deltatoken() throws Exception {
+    testUri.run("ESAllPrim", "$deltatoken=foo")
+        .isKind(UriInfoKind.resource)
+        .isDeltaTokenText("foo");
+
+    testUri.runEx("ESAllPrim", "$deltatoken=")
+        .isExSyntax(UriParserSyntaxException.MessageKeys.WRONG_VALUE_FOR_SYSTEM_QUERY_OPTION);
+    testUri.runEx("ESAllPrim(1)", "$deltatoken=foo")
+        .isExValidation(UriValidationException.MessageKeys.SYSTEM_QUERY_OPTION_NOT_ALLOWED);
+  }
+
   @Test
   public void notExistingSystemQueryOption() throws Exception {
     testUri.runEx("ESAllPrim", "$wrong=error")
@@ -195,6 +195,11 @@ public class TestUriValidator implements TestValidator {
     return this;
   }
 
+  public TestUriValidator isDeltaTokenText(final String deltaTokenText) {
+    assertEquals(deltaTokenText, uriInfo.getDeltaTokenOption().getValue());
+    return this;
+  }
+
   public TestUriValidator isSearchSerialized(final String serialized) {
     assertNotNull("no search found", uriInfo.getSearchOption());
     assertEquals(serialized, uriInfo.getSearchOption().getSearchExpression().toString());